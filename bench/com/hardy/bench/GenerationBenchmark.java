@@ -0,0 +1,242 @@
+package com.hardy.bench;
+
+import com.hardy.generator.JsonGenerator;
+import com.hardy.generator.JsonOutput;
+import com.hardy.generator.SampleGenerator;
+import com.hardy.generator.SchemaWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 生成性能压测, 对各类典型结构分别生成 json / schema, 输出吞吐量、分配速率与堆峰值
+ * 位于 bench 源码目录, 不打包进插件
+ * <p>
+ * java -cp bench-classes:json-tool.jar:gson.jar com.hardy.bench.GenerationBenchmark [--warmup n] [--iterations n] [--time ms] [filter]
+ **/
+public class GenerationBenchmark {
+
+    private int warmup = 3;
+    private int iterations = 5;
+    private long iterationMillis = 1000;
+    private String filter = "";
+
+    public GenerationBenchmark() {
+    }
+
+    public GenerationBenchmark(int warmup, int iterations, long iterationMillis) {
+        this.warmup = warmup;
+        this.iterations = iterations;
+        this.iterationMillis = iterationMillis;
+    }
+
+    public static void main(String[] args) throws IOException {
+        GenerationBenchmark benchmark = new GenerationBenchmark();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--warmup":
+                    benchmark.warmup = Integer.parseInt(args[++i]);
+                    break;
+                case "--iterations":
+                    benchmark.iterations = Integer.parseInt(args[++i]);
+                    break;
+                case "--time":
+                    benchmark.iterationMillis = Long.parseLong(args[++i]);
+                    break;
+                default:
+                    benchmark.filter = args[i];
+            }
+        }
+        benchmark.run();
+    }
+
+    /**
+     * 压测场景
+     */
+    public static Map<String, SyntheticModels> scenarios() {
+        Map<String, SyntheticModels> scenarios = new LinkedHashMap<>();
+        scenarios.put("wide-500", SyntheticModels.wide(500));
+        scenarios.put("deep-64", SyntheticModels.deep(64));
+        scenarios.put("dag-10x3", SyntheticModels.dag(10, 3));
+        scenarios.put("cycle-32", SyntheticModels.cycle(32));
+        scenarios.put("generics-200", SyntheticModels.generics(200));
+        scenarios.put("constraints-300", SyntheticModels.constraints(300));
+        return scenarios;
+    }
+
+    /**
+     * 生成的输出种类, SAMPLES 每次编译后单线程生成 SAMPLES_PER_OP 条随机示例
+     */
+    public enum Output {
+        JSON, SCHEMA, SCHEMA_DEFINITIONS, SAMPLES;
+
+        public static final int SAMPLES_PER_OP = 1000;
+
+        public long generate(SyntheticModels models) throws IOException {
+            if (this == SAMPLES) {
+                CountingOutputStream counter = new CountingOutputStream();
+                SampleGenerator.compile(models, models.getRoot()).generate(SAMPLES_PER_OP, 0, 1, counter, done -> {
+                });
+                return counter.count;
+            }
+
+            CountingWriter out = new CountingWriter();
+            switch (this) {
+                case JSON:
+                    new JsonGenerator(models).generate(models.getRoot(), JsonOutput.newWriter(out, false));
+                    break;
+                case SCHEMA:
+                    new SchemaWriter(models, false).generate(models.getRoot(), JsonOutput.newWriter(out, false));
+                    break;
+                default:
+                    new SchemaWriter(models, true).generate(models.getRoot(), JsonOutput.newWriter(out, false));
+            }
+            return out.count;
+        }
+    }
+
+    private void run() throws IOException {
+        System.out.printf("%-18s %-18s %12s %12s %12s %12s %12s%n",
+                "scenario", "output", "ops/s", "KB/op", "alloc KB/op", "alloc MB/s", "peak heap MB");
+
+        for (Map.Entry<String, SyntheticModels> scenario : scenarios().entrySet()) {
+            if (!scenario.getKey().contains(filter)) continue;
+
+            for (Output output : Output.values()) {
+                Result result = measure(scenario.getValue(), output);
+                System.out.printf("%-18s %-18s %12.1f %12.1f %12.1f %12.1f %12.1f%n",
+                        scenario.getKey(), output.name().toLowerCase(), result.opsPerSecond, result.outputBytes / 1024.0,
+                        result.allocatedPerOp / 1024.0, result.allocatedPerSecond / 1024 / 1024, result.peakHeap / 1024.0 / 1024);
+            }
+        }
+    }
+
+    /**
+     * 预热后按固定时间多轮执行, 取平均值
+     */
+    public Result measure(SyntheticModels models, Output output) throws IOException {
+        for (int i = 0; i < warmup; i++) {
+            iteration(models, output);
+        }
+
+        System.gc();
+        resetPeakHeap();
+
+        long ops = 0;
+        long nanos = 0;
+        long allocated = 0;
+        long outputBytes = 0;
+        for (int i = 0; i < iterations; i++) {
+            long allocatedBefore = allocatedBytes();
+            long start = System.nanoTime();
+            long[] iteration = iteration(models, output);
+            nanos += System.nanoTime() - start;
+            allocated += allocatedBytes() - allocatedBefore;
+            ops += iteration[0];
+            outputBytes = iteration[1];
+        }
+
+        Result result = new Result();
+        result.opsPerSecond = ops * 1e9 / nanos;
+        result.outputBytes = outputBytes;
+        result.allocatedPerOp = (double) allocated / ops;
+        result.allocatedPerSecond = allocated * 1e9 / nanos;
+        result.peakHeap = peakHeap();
+        return result;
+    }
+
+    // 返回 [次数, 单次输出字符数]
+    private long[] iteration(SyntheticModels models, Output output) throws IOException {
+        long deadline = System.nanoTime() + iterationMillis * 1_000_000;
+        long ops = 0;
+        long bytes = 0;
+        do {
+            bytes = output.generate(models);
+            ops++;
+        } while (System.nanoTime() < deadline);
+        return new long[]{ops, bytes};
+    }
+
+    // 当前线程累计分配的字节数, 不支持时为 0
+    private static long allocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    private static void resetPeakHeap() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) pool.resetPeakUsage();
+        }
+    }
+
+    private static long peakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) peak += pool.getPeakUsage().getUsed();
+        }
+        return peak;
+    }
+
+    public static class Result {
+        public double opsPerSecond;
+        public long outputBytes;
+        public double allocatedPerOp;
+        public double allocatedPerSecond;
+        public long peakHeap;
+    }
+
+    // 只计数的字节输出
+    private static class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) {
+            count += length;
+        }
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+    }
+
+    // 只计数的输出
+    private static class CountingWriter extends Writer {
+        private long count;
+
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            count += length;
+        }
+
+        @Override
+        public void write(String str, int offset, int length) {
+            count += length;
+        }
+
+        @Override
+        public void write(int c) {
+            count++;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
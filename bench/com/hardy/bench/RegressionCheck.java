@@ -0,0 +1,218 @@
+package com.hardy.bench;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.hardy.bench.GenerationBenchmark.Output;
+import com.hardy.generator.JsonOutput;
+import com.hardy.generator.SampleGenerator;
+import com.hardy.generator.SchemaGenerator;
+import com.hardy.model.ClassModel;
+import com.hardy.model.FieldModel;
+import com.hardy.validator.SchemaValidator;
+import com.hardy.validator.Violation;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 生成的回归检查, 对 GenerationBenchmark 的各场景先检查输出是否正确, 再检查单次耗时与分配量是否超出预算
+ * 有失败或超出预算时退出码为 1, 可在构建中执行; 机器较慢时用 --budget-scale 按比例放宽耗时预算
+ * 位于 bench 源码目录, 不打包进插件; IDE 中由源码生成的检查见 test 目录的 GenerationBudgetTest
+ * <p>
+ * java -cp bench-classes:json-tool.jar:gson.jar com.hardy.bench.RegressionCheck [--budget-scale x] [--iterations n] [--time ms] [filter]
+ **/
+public class RegressionCheck {
+
+    private static final Gson GSON = new Gson();
+
+    private static final long TIMEOUT_SECONDS = 60; // 单个场景检查的上限, 超时多为循环引用未终止
+
+    private static final int SAMPLES = 200; // 检查随机示例时生成的条数
+
+    private static final Map<String, Budget> BUDGETS = new HashMap<>();
+
+    // 每次生成的耗时(ms)与当前线程分配量(KB)上限, 约为实测值的 10 倍与 3 倍; SAMPLES 为生成 SAMPLES_PER_OP 条
+    static {
+        budget("wide-500", 2, 100, 5, 250, 5, 250, 400, 1200);
+        budget("deep-64", 2, 150, 2, 200, 2, 200, 40, 1000);
+        budget("dag-10x3", 120, 37000, 250, 39000, 1, 64, 350, 600);
+        budget("cycle-32", 1, 50, 15, 2000, 1, 80, 400, 700);
+        budget("generics-200", 1, 250, 1, 150, 1, 64, 700, 1000);
+        budget("constraints-300", 1, 100, 5, 350, 2, 350, 350, 2900);
+    }
+
+    private double budgetScale = 1;
+    private int iterations = 3;
+    private long iterationMillis = 200;
+    private String filter = "";
+
+    public static void main(String[] args) throws Exception {
+        RegressionCheck check = new RegressionCheck();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--budget-scale":
+                    check.budgetScale = Double.parseDouble(args[++i]);
+                    break;
+                case "--iterations":
+                    check.iterations = Integer.parseInt(args[++i]);
+                    break;
+                case "--time":
+                    check.iterationMillis = Long.parseLong(args[++i]);
+                    break;
+                default:
+                    check.filter = args[i];
+            }
+        }
+        System.exit(check.run());
+    }
+
+    // 依次为 JSON、SCHEMA、SCHEMA_DEFINITIONS、SAMPLES 的耗时与分配量预算
+    private static void budget(String scenario, long... limits) {
+        Output[] outputs = Output.values();
+        for (int i = 0; i < outputs.length; i++) {
+            BUDGETS.put(scenario + "/" + outputs[i], new Budget(limits[2 * i], limits[2 * i + 1]));
+        }
+    }
+
+    // 返回进程退出码, 有失败时为 1
+    private int run() throws Exception {
+        System.out.printf("%-18s %-18s %10s %10s %12s %12s  %s%n",
+                "scenario", "output", "ms/op", "budget", "alloc KB/op", "budget", "result");
+
+        GenerationBenchmark benchmark = new GenerationBenchmark(2, iterations, iterationMillis);
+        ExecutorService executor = newExecutor();
+
+        int failed = 0;
+        try {
+            for (Map.Entry<String, SyntheticModels> scenario : GenerationBenchmark.scenarios().entrySet()) {
+                if (!scenario.getKey().contains(filter)) continue;
+
+                for (Output output : Output.values()) {
+                    Budget budget = BUDGETS.get(scenario.getKey() + "/" + output);
+                    String result;
+                    GenerationBenchmark.Result measured = null;
+
+                    // 在单独的线程中执行, 未终止或栈溢出时记为失败并继续下一个场景
+                    Future<GenerationBenchmark.Result> future = executor.submit(() -> {
+                        check(scenario.getValue(), output);
+                        return benchmark.measure(scenario.getValue(), output);
+                    });
+                    try {
+                        measured = future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                        result = verdict(measured, budget);
+                    } catch (TimeoutException e) {
+                        future.cancel(true);
+                        // 未终止的线程无法结束, 换一个线程继续
+                        executor.shutdownNow();
+                        executor = newExecutor();
+                        result = "FAIL: not finished in " + TIMEOUT_SECONDS + " s";
+                    } catch (ExecutionException e) {
+                        result = "FAIL: " + e.getCause();
+                    }
+
+                    if (!result.equals("ok")) failed++;
+                    System.out.printf("%-18s %-18s %10s %10s %12s %12s  %s%n",
+                            scenario.getKey(), output.name().toLowerCase(),
+                            measured == null ? "-" : String.format("%.3f", 1000 / measured.opsPerSecond),
+                            budget == null ? "-" : String.format("%.2f", budget.millis * budgetScale),
+                            measured == null ? "-" : String.format("%.1f", measured.allocatedPerOp / 1024),
+                            budget == null ? "-" : String.valueOf(budget.allocatedKb),
+                            result);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        System.out.println(failed == 0 ? "All checks passed" : failed + " checks failed");
+        return failed == 0 ? 0 : 1;
+    }
+
+    private static ExecutorService newExecutor() {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "JsonTool regression check");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private String verdict(GenerationBenchmark.Result measured, Budget budget) {
+        if (budget == null) return "ok";
+
+        List<String> exceeded = new ArrayList<>();
+        double millis = 1000 / measured.opsPerSecond;
+        if (millis > budget.millis * budgetScale) exceeded.add(String.format("SLOW %.3f ms > %.2f ms", millis, budget.millis * budgetScale));
+        // 分配量不随机器快慢变化, 不按比例放宽; 不支持统计时为 0
+        double allocatedKb = measured.allocatedPerOp / 1024;
+        if (allocatedKb > budget.allocatedKb) exceeded.add(String.format("ALLOC %.1f KB > %d KB", allocatedKb, budget.allocatedKb));
+        return exceeded.isEmpty() ? "ok" : String.join(", ", exceeded);
+    }
+
+    /**
+     * 检查输出: 两次生成结果相同, json / schema 的顶层字段与类的字段一致,
+     * 逐个写出的 schema 与 SchemaGenerator 生成的相同, 随机示例都满足 schema; 不正确时抛出 IllegalStateException
+     */
+    static void check(SyntheticModels models, Output output) throws IOException {
+        ClassModel root = models.getRoot();
+        if (output == Output.SAMPLES) {
+            SchemaValidator validator = SchemaValidator.compile(models, root);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            SampleGenerator.compile(models, root).generate(SAMPLES, 0, 1, bytes, done -> {
+            });
+
+            BufferedReader lines = new BufferedReader(new StringReader(bytes.toString(StandardCharsets.UTF_8.name())));
+            int count = 0;
+            for (String line = lines.readLine(); line != null; line = lines.readLine()) {
+                List<Violation> violations = validator.validate(new StringReader(line));
+                if (!violations.isEmpty()) throw new IllegalStateException("sample " + (count + 1) + " " + violations.get(0));
+                count++;
+            }
+            if (count != SAMPLES) throw new IllegalStateException(count + " samples generated, expected " + SAMPLES);
+            return;
+        }
+
+        boolean schema = output != Output.JSON;
+        boolean useDefinitions = output == Output.SCHEMA_DEFINITIONS;
+        String json = generate(models, schema, useDefinitions);
+        if (!json.equals(generate(models, schema, useDefinitions))) throw new IllegalStateException("output is not deterministic");
+
+        JsonElement parsed = GSON.fromJson(json, JsonElement.class);
+        if (!parsed.isJsonObject()) throw new IllegalStateException("output is not a JSON object");
+        JsonObject object = parsed.getAsJsonObject();
+        if (schema) {
+            String expected = GSON.toJson(new SchemaGenerator(models, useDefinitions).generate(root));
+            if (!json.equals(expected)) throw new IllegalStateException("streamed schema differs from SchemaGenerator");
+            object = object.getAsJsonObject("properties");
+        }
+
+        List<String> names = new ArrayList<>();
+        for (FieldModel field : models.fields(root, !schema)) {
+            names.add(field.getName());
+        }
+        if (object == null || !new ArrayList<>(object.keySet()).equals(names)) {
+            throw new IllegalStateException("top-level fields " + (object == null ? null : object.keySet()) + ", expected " + names);
+        }
+    }
+
+    // 与转换操作相同的生成路径
+    private static String generate(SyntheticModels models, boolean schema, boolean useDefinitions) throws IOException {
+        StringWriter out = new StringWriter();
+        JsonOutput.generate(models, models.getRoot(), out, schema, useDefinitions, false);
+        return out.toString();
+    }
+
+    private static class Budget {
+        private final long millis;
+        private final long allocatedKb;
+
+        Budget(long millis, long allocatedKb) {
+            this.millis = millis;
+            this.allocatedKb = allocatedKb;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.hardy.bench;
+
+import com.hardy.model.*;
+
+import java.util.*;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 构造用于压测的类结构, 不依赖IDE
+ **/
+public class SyntheticModels implements ClassModelResolver {
+
+    private static final String PACKAGE = "bench.";
+
+    private final Map<String, ClassModel> models = new HashMap<>();
+
+    private final String root;
+
+    private SyntheticModels(String root) {
+        this.root = PACKAGE + root;
+    }
+
+    @Override
+    public ClassModel resolve(String qualifiedName) {
+        return models.get(qualifiedName);
+    }
+
+    public ClassModel getRoot() {
+        return models.get(root);
+    }
+
+    public int size() {
+        return models.size();
+    }
+
+    /**
+     * 字段很多的类
+     */
+    public static SyntheticModels wide(int fieldCount) {
+        SyntheticModels m = new SyntheticModels("Wide");
+        List<FieldModel> fields = new ArrayList<>();
+        for (int i = 0; i < fieldCount; i++) {
+            fields.add(field("field" + i, leaf(i), Collections.emptyList()));
+        }
+        m.add("Wide", null, fields);
+        return m;
+    }
+
+    /**
+     * 逐层嵌套, 每层带父类
+     */
+    public static SyntheticModels deep(int depth) {
+        SyntheticModels m = new SyntheticModels("Level0");
+        m.add("LevelBase", null, Arrays.asList(
+                field("id", TypeRef.normal("Long"), Collections.emptyList()),
+                field("createdAt", TypeRef.normal("Date"), Collections.emptyList())));
+        for (int i = 0; i < depth; i++) {
+            List<FieldModel> fields = new ArrayList<>();
+            fields.add(field("name", TypeRef.normal("String"), Collections.emptyList()));
+            fields.add(field("count", TypeRef.primitive("int"), Collections.emptyList()));
+            if (i + 1 < depth) fields.add(field("child", ref("Level" + (i + 1)), Collections.emptyList()));
+            m.add("Level" + i, PACKAGE + "LevelBase", fields);
+        }
+        return m;
+    }
+
+    /**
+     * 分层共享的类, 每层的每个类引用下一层的所有类; 内联展开时规模为 width^layers
+     */
+    public static SyntheticModels dag(int layers, int width) {
+        SyntheticModels m = new SyntheticModels("Node0_0");
+        for (int layer = layers - 1; layer >= 0; layer--) {
+            for (int w = 0; w < width; w++) {
+                List<FieldModel> fields = new ArrayList<>();
+                fields.add(field("label", TypeRef.normal("String"), Collections.emptyList()));
+                if (layer + 1 < layers) {
+                    for (int next = 0; next < width; next++) {
+                        fields.add(field("next" + next, ref("Node" + (layer + 1) + "_" + next), Collections.emptyList()));
+                    }
+                }
+                m.add("Node" + layer + "_" + w, null, fields);
+            }
+        }
+        return m;
+    }
+
+    /**
+     * 环形引用, 每个类同时引用自身与下一个类
+     */
+    public static SyntheticModels cycle(int size) {
+        SyntheticModels m = new SyntheticModels("Ring0");
+        for (int i = 0; i < size; i++) {
+            m.add("Ring" + i, null, Arrays.asList(
+                    field("value", TypeRef.normal("String"), Collections.emptyList()),
+                    field("self", ref("Ring" + i), Collections.emptyList()),
+                    field("next", ref("Ring" + ((i + 1) % size)), Collections.emptyList()),
+                    field("children", TypeRef.list("List", Collections.singletonList(ref("Ring" + i))), Collections.emptyList())));
+        }
+        return m;
+    }
+
+    /**
+     * 多层嵌套的泛型容器
+     */
+    public static SyntheticModels generics(int fieldCount) {
+        SyntheticModels m = new SyntheticModels("Generic");
+        m.add("Item", null, Arrays.asList(
+                field("sku", TypeRef.normal("String"), Collections.emptyList()),
+                field("price", TypeRef.normal("BigDecimal"), Collections.emptyList())));
+
+        TypeRef item = ref("Item");
+        TypeRef string = TypeRef.normal("String");
+        List<FieldModel> fields = new ArrayList<>();
+        for (int i = 0; i < fieldCount; i++) {
+            TypeRef type;
+            switch (i % 4) {
+                case 0:
+                    type = TypeRef.list("List", Collections.singletonList(
+                            TypeRef.map("Map", Arrays.asList(string, TypeRef.list("List", Collections.singletonList(item))))));
+                    break;
+                case 1:
+                    type = TypeRef.map("Map", Arrays.asList(string, TypeRef.map("Map", Arrays.asList(string, TypeRef.array(item)))));
+                    break;
+                case 2:
+                    type = TypeRef.array(TypeRef.array(TypeRef.list("List", Collections.singletonList(item))));
+                    break;
+                default:
+                    type = TypeRef.list("ArrayList", Collections.singletonList(TypeRef.list("List", Collections.singletonList(string))));
+            }
+            fields.add(field("nested" + i, type, Collections.emptyList()));
+        }
+        m.add("Generic", null, fields);
+        return m;
+    }
+
+    /**
+     * 每个字段都带有多个约束注解
+     */
+    public static SyntheticModels constraints(int fieldCount) {
+        SyntheticModels m = new SyntheticModels("Constrained");
+        List<FieldModel> fields = new ArrayList<>();
+        for (int i = 0; i < fieldCount; i++) {
+            switch (i % 3) {
+                case 0:
+                    fields.add(field("text" + i, TypeRef.normal("String"), Arrays.asList(
+                            annotation("NotNull"), annotation("NotBlank"),
+                            annotation("Size", "min", 1L, "max", 64L),
+                            annotation("Pattern", "regexp", "[a-z0-9_]+"))));
+                    break;
+                case 1:
+                    fields.add(field("count" + i, TypeRef.normal("Integer"), Arrays.asList(
+                            annotation("NotNull"), annotation("Min", "value", 0L),
+                            annotation("Max", "value", 1000L), annotation("PositiveOrZero"))));
+                    break;
+                default:
+                    fields.add(field("amount" + i, TypeRef.normal("Double"), Arrays.asList(
+                            annotation("NotNull"), annotation("DecimalMin", "value", "0.01", "inclusive", false),
+                            annotation("DecimalMax", "value", "99999.99", "inclusive", true), annotation("Positive"))));
+            }
+        }
+        m.add("Constrained", null, fields);
+        return m;
+    }
+
+    private void add(String name, String superName, List<FieldModel> fields) {
+        models.put(PACKAGE + name, new ClassModel(PACKAGE + name, name, superName, fields));
+    }
+
+    private static TypeRef ref(String name) {
+        return TypeRef.clazz(name, PACKAGE + name, Collections.emptyList());
+    }
+
+    private static TypeRef leaf(int i) {
+        switch (i % 8) {
+            case 0:
+                return TypeRef.normal("String");
+            case 1:
+                return TypeRef.primitive("int");
+            case 2:
+                return TypeRef.normal("Long");
+            case 3:
+                return TypeRef.normal("Double");
+            case 4:
+                return TypeRef.primitive("boolean");
+            case 5:
+                return TypeRef.normal("BigDecimal");
+            case 6:
+                return TypeRef.list("List", Collections.singletonList(TypeRef.normal("String")));
+            default:
+                return TypeRef.normal("Date");
+        }
+    }
+
+    private static FieldModel field(String name, TypeRef type, List<AnnotationModel> annotations) {
+        return new FieldModel(name, type, "// " + name, annotations, false);
+    }
+
+    private static AnnotationModel annotation(String name, Object... attributes) {
+        Map<String, Object> map = new HashMap<>();
+        for (int i = 0; i < attributes.length; i += 2) {
+            map.put((String) attributes[i], attributes[i + 1]);
+        }
+        return new AnnotationModel("javax.validation.constraints." + name, map);
+    }
+}
@@ -0,0 +1,149 @@
+package com.hardy.action;
+
+import com.google.gson.stream.JsonWriter;
+import com.hardy.generator.JsonOutput;
+import com.hardy.metrics.GenerationMetrics;
+import com.hardy.metrics.GenerationMetrics.Phase;
+import com.hardy.model.ClassModel;
+import com.hardy.service.TypeModelCache;
+import com.hardy.setting.JsonToolSettings;
+import com.hardy.util.ReadActionUtil;
+import com.intellij.notification.*;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.*;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.awt.*;
+import java.awt.datatransfer.Clipboard;
+import java.awt.datatransfer.StringSelection;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 转换动作基类, 解析在后台可取消的读操作中进行, 仅剪贴板与通知在UI线程
+ **/
+public abstract class AbstractConvertAction extends AnAction {
+
+    private static final Logger LOG = Logger.getInstance(AbstractConvertAction.class);
+
+    static final NotificationGroup notificationGroup = new NotificationGroup(
+            "JsonTool.NotificationGroup", NotificationDisplayType.BALLOON, true);
+
+    @Override
+    public void actionPerformed(AnActionEvent e) {
+        Project project = e.getData(CommonDataKeys.PROJECT);
+        if (project == null || e.getData(CommonDataKeys.EDITOR) == null || e.getData(CommonDataKeys.PSI_FILE) == null) return;
+
+        // 获取操作类
+        PsiClass selectedClass = selectedClass(e);
+        if (selectedClass == null) {
+            notifyError(project);
+            return;
+        }
+
+        // 后台线程中不能直接持有PSI, 使用指针在读操作中重新获取
+        SmartPsiElementPointer<PsiClass> pointer = SmartPointerManager.getInstance(project)
+                .createSmartPsiElementPointer(selectedClass);
+        String className = selectedClass.getName();
+        boolean pretty = JsonToolSettings.getInstance().prettyPrint;
+        String runName = getTemplatePresentation().getText() + " " + className;
+
+        ProgressManager.getInstance().run(new Task.Backgroundable(project, "Convert " + className + " to JSON", true) {
+            private String json;
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                indicator.setIndeterminate(true);
+                indicator.setText("Resolving " + className);
+                GenerationMetrics.Run run = GenerationMetrics.start(runName);
+
+                // 先并行解析引用的所有类放入缓存, 生成时只剩顺序写出
+                TypeModelCache cache = TypeModelCache.getInstance(project);
+                ClassModel root = ReadActionUtil.compute(() -> {
+                    PsiClass clazz = validClass(pointer);
+                    return clazz == null ? null : cache.get(clazz);
+                }, indicator);
+                if (root == null) throw new IllegalStateException("class is no longer valid");
+                int classes = cache.prefetch(root, indicator);
+
+                // 重新开始时丢弃已写出的内容
+                indicator.setText("Converting " + className + " (" + classes + " classes)");
+                json = ReadActionUtil.compute(() -> {
+                    PsiClass clazz = validClass(pointer);
+                    if (clazz == null) throw new IllegalStateException("class is no longer valid");
+
+                    StringWriter out = new StringWriter();
+                    long start = System.nanoTime();
+                    try {
+                        write(clazz, JsonOutput.newWriter(out, pretty));
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                    GenerationMetrics.addTime(Phase.GENERATE, start);
+                    return out.toString();
+                }, indicator);
+
+                LOG.info(run.finish(json.getBytes(StandardCharsets.UTF_8).length).summary());
+            }
+
+            @Override
+            public void onSuccess() {
+                StringSelection selection = new StringSelection(json);
+                Clipboard clipboard = Toolkit.getDefaultToolkit().getSystemClipboard();
+                clipboard.setContents(selection, selection);
+                String message = "Convert " + className + " to JSON success, copied to clipboard.";
+                Notification success = notificationGroup.createNotification(message, NotificationType.INFORMATION);
+                Notifications.Bus.notify(success, project);
+            }
+
+            @Override
+            public void onThrowable(@NotNull Throwable error) {
+                notifyError(project);
+            }
+        });
+    }
+
+    /**
+     * 编辑器中光标所在的类
+     */
+    static PsiClass selectedClass(AnActionEvent e) {
+        Editor editor = e.getData(CommonDataKeys.EDITOR);
+        PsiFile psiFile = e.getData(CommonDataKeys.PSI_FILE);
+        if (editor == null || psiFile == null) return null;
+
+        // 获取鼠标当前偏移
+        PsiElement element = psiFile.findElementAt(editor.getCaretModel().getOffset());
+        return PsiTreeUtil.getContextOfType(element, PsiClass.class);
+    }
+
+    /**
+     * 指针指向的类, 已失效时返回 null; 需在读操作中调用
+     */
+    static PsiClass validClass(SmartPsiElementPointer<PsiClass> pointer) {
+        PsiClass clazz = pointer.getElement();
+        return clazz == null || !clazz.isValid() ? null : clazz;
+    }
+
+    private static void notifyError(Project project) {
+        Notification error = notificationGroup.createNotification("Convert to JSON failed.", NotificationType.ERROR);
+        Notifications.Bus.notify(error, project);
+    }
+
+    /**
+     * 将类转换后写出, 在读操作中调用
+     */
+    protected abstract void write(PsiClass clazz, JsonWriter writer) throws IOException;
+}
@@ -0,0 +1,258 @@
+package com.hardy.action;
+
+import com.google.gson.Gson;
+import com.hardy.generator.JsonOutput;
+import com.hardy.index.BeanShape;
+import com.hardy.index.BeanShapeIndex;
+import com.hardy.metrics.GenerationMetrics;
+import com.hardy.model.ClassModel;
+import com.hardy.service.TypeModelCache;
+import com.hardy.setting.JsonToolSettings;
+import com.hardy.ui.BulkGenerateDialog;
+import com.hardy.util.ReadActionUtil;
+import com.intellij.concurrency.JobLauncher;
+import com.intellij.notification.Notification;
+import com.intellij.notification.NotificationType;
+import com.intellij.notification.Notifications;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.actionSystem.LangDataKeys;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.vfs.VfsUtil;
+import com.intellij.psi.*;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.GlobalSearchScopesCore;
+import com.intellij.psi.search.PackageScope;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 批量生成选中包/目录/模块下所有类的 json 或 schema, 多线程并发读取
+ **/
+public class BulkGenerateAction extends AnAction {
+
+    private static final Logger LOG = Logger.getInstance(BulkGenerateAction.class);
+
+    private static final Gson GSON = new Gson();
+
+    @Override
+    public void update(AnActionEvent e) {
+        Project project = e.getData(CommonDataKeys.PROJECT);
+        e.getPresentation().setEnabledAndVisible(project != null && selectionScope(e, project) != null);
+    }
+
+    @Override
+    public void actionPerformed(AnActionEvent e) {
+        Project project = e.getData(CommonDataKeys.PROJECT);
+        if (project == null) return;
+
+        GlobalSearchScope scope = selectionScope(e, project);
+        if (scope == null) return;
+
+        BulkGenerateDialog dialog = new BulkGenerateDialog(project);
+        if (!dialog.showAndGet()) return;
+
+        boolean schema = dialog.isSchema();
+        boolean bundle = dialog.isBundle();
+        String annotation = dialog.getAnnotation();
+        File outputDir = dialog.getOutputDir();
+        boolean useDefinitions = JsonToolSettings.getInstance().useDefinitions;
+        boolean pretty = JsonToolSettings.getInstance().prettyPrint;
+
+        ProgressManager.getInstance().run(new Task.Backgroundable(project, "Bulk generating JSON", true) {
+            private final AtomicInteger generated = new AtomicInteger();
+            private final AtomicInteger failed = new AtomicInteger();
+            private final AtomicLong bytes = new AtomicLong();
+            private long elapsed;
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                long start = System.currentTimeMillis();
+                GenerationMetrics.Run run = GenerationMetrics.start("Bulk generate " + (schema ? "schema" : "json"));
+
+                // 收集类, 索引需在索引完成后查询
+                indicator.setText("Collecting classes");
+                DumbService.getInstance(project).waitForSmartMode();
+                List<String> names = ReadActionUtil.compute(() -> collectClasses(scope, annotation), indicator);
+
+                if (!outputDir.isDirectory() && !outputDir.mkdirs()) {
+                    throw new IllegalStateException("Cannot create " + outputDir);
+                }
+
+                // 并发生成, 各线程共享同一个类结构缓存, 直接写入文件
+                // 合并为一个文件时先写入各自的临时文件, 最后按类名顺序拼接
+                TypeModelCache cache = TypeModelCache.getInstance(project);
+                Map<String, File> parts = new ConcurrentHashMap<>();
+                indicator.setText("Generating " + names.size() + " classes");
+                indicator.setIndeterminate(false);
+
+                JobLauncher.getInstance().invokeConcurrentlyUnderProgress(names, indicator, false, name -> {
+                    try {
+                        File file = bundle ? File.createTempFile("jsontool", ".json") : new File(outputDir, JsonOutput.fileName(name, schema));
+                        boolean found = ReadActionUtil.compute(() -> write(cache, name, file), indicator);
+
+                        if (!found) {
+                            failed.incrementAndGet();
+                            FileUtil.delete(file);
+                        } else if (bundle) {
+                            parts.put(name, file);
+                        } else {
+                            bytes.addAndGet(file.length());
+                        }
+                    } catch (ProcessCanceledException ex) {
+                        throw ex;
+                    } catch (Exception ex) {
+                        LOG.warn("Generate " + name + " failed", ex);
+                        failed.incrementAndGet();
+                    }
+
+                    indicator.setFraction((double) generated.incrementAndGet() / names.size());
+                    return true;
+                });
+
+                if (bundle) {
+                    indicator.setText("Writing bundle");
+                    File file = new File(outputDir, JsonOutput.fileName("bundle", schema));
+                    try {
+                        writeBundle(names, parts, file);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    } finally {
+                        parts.values().forEach(FileUtil::delete);
+                    }
+                    bytes.addAndGet(file.length());
+                }
+
+                generated.addAndGet(-failed.get());
+                elapsed = Math.max(System.currentTimeMillis() - start, 1);
+                LOG.info(run.finish(bytes.get()).summary());
+            }
+
+            // 生成单个类, 需在读操作中调用; 类不存在时返回 false
+            private boolean write(TypeModelCache cache, String name, File file) {
+                ClassModel model = cache.resolve(name);
+                if (model == null) return false;
+
+                try (Writer out = JsonOutput.newFileWriter(file)) {
+                    JsonOutput.generate(cache, model, out, schema, useDefinitions, pretty);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+                return true;
+            }
+
+            // 拼接为 {"类全名": 内容, ...}, 格式与整体序列化一致
+            private void writeBundle(List<String> names, Map<String, File> parts, File file) throws IOException {
+                String indent = pretty ? "  " : "";
+                try (Writer out = JsonOutput.newFileWriter(file)) {
+                    out.write('{');
+                    boolean first = true;
+                    for (String name : names) {
+                        File part = parts.get(name);
+                        if (part == null) continue;
+
+                        if (!first) out.write(',');
+                        if (pretty) out.write("\n  ");
+                        out.write(GSON.toJson(name));
+                        out.write(pretty ? ": " : ":");
+                        try (Reader in = new InputStreamReader(new FileInputStream(part), StandardCharsets.UTF_8)) {
+                            JsonOutput.copyIndented(in, out, indent);
+                        }
+                        first = false;
+                    }
+                    if (pretty && !first) out.write('\n');
+                    out.write('}');
+                }
+            }
+
+            @Override
+            public void onSuccess() {
+                VfsUtil.markDirtyAndRefresh(true, true, true, outputDir);
+
+                String message = String.format("Generated %d classes (%d failed) into %s in %d ms: %.1f classes/s, %.1f KB/s.",
+                        generated.get(), failed.get(), outputDir.getPath(), elapsed,
+                        generated.get() * 1000.0 / elapsed, bytes.get() * 1000.0 / 1024 / elapsed);
+                Notification success = AbstractConvertAction.notificationGroup.createNotification(message, NotificationType.INFORMATION);
+                Notifications.Bus.notify(success, project);
+            }
+
+            @Override
+            public void onThrowable(@NotNull Throwable error) {
+                LOG.warn(error);
+                Notification fail = AbstractConvertAction.notificationGroup.createNotification(
+                        "Bulk generate failed: " + error.getMessage(), NotificationType.ERROR);
+                Notifications.Bus.notify(fail, project);
+            }
+        });
+    }
+
+    // 根据项目视图中选中的模块/包/目录/文件确定范围
+    static GlobalSearchScope selectionScope(AnActionEvent e, Project project) {
+        Module module = e.getData(LangDataKeys.MODULE_CONTEXT);
+        if (module != null) return GlobalSearchScope.moduleScope(module);
+
+        PsiElement[] elements = e.getData(LangDataKeys.PSI_ELEMENT_ARRAY);
+        if (elements == null) {
+            PsiElement element = e.getData(CommonDataKeys.PSI_ELEMENT);
+            if (element == null) return null;
+            elements = new PsiElement[]{element};
+        }
+
+        GlobalSearchScope scope = null;
+        for (PsiElement element : elements) {
+            GlobalSearchScope s = null;
+            if (element instanceof PsiDirectory) {
+                s = GlobalSearchScopesCore.directoryScope((PsiDirectory) element, true);
+            } else if (element instanceof PsiPackage) {
+                s = PackageScope.packageScope((PsiPackage) element, true);
+            } else if (element instanceof PsiJavaFile) {
+                s = GlobalSearchScope.fileScope((PsiFile) element);
+            } else if (element instanceof PsiClass && element.getContainingFile() != null) {
+                s = GlobalSearchScope.fileScope(element.getContainingFile());
+            }
+            if (s != null) scope = scope == null ? s : scope.uniteWith(s);
+        }
+
+        // 只处理项目中的源码
+        return scope == null ? null : scope.intersectWith(GlobalSearchScope.projectScope(project));
+    }
+
+    // 从索引中收集范围内的类全名, 过滤掉接口/注解/枚举, 不需要解析PSI; 需在读操作中调用
+    static List<String> collectClasses(GlobalSearchScope scope, String annotation) {
+        List<String> names = new ArrayList<>();
+        for (BeanShape shape : BeanShapeIndex.getAll(scope)) {
+            if (shape.getKind() != BeanShape.CLASS) continue;
+            if (!annotation.isEmpty() && !hasAnnotation(shape, annotation)) continue;
+
+            names.add(shape.getQualifiedName());
+        }
+        Collections.sort(names);
+        return names;
+    }
+
+    // 索引中的注解名按 import 补全, 同时接受简单名匹配
+    private static boolean hasAnnotation(BeanShape shape, String annotation) {
+        String simpleName = annotation.substring(annotation.lastIndexOf('.') + 1);
+        for (String name : shape.getAnnotations()) {
+            if (name.equals(annotation) || name.equals(simpleName)) return true;
+        }
+        return false;
+    }
+}
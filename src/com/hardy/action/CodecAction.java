@@ -0,0 +1,140 @@
+package com.hardy.action;
+
+import com.hardy.generator.CodecSourceWriter;
+import com.hardy.generator.JsonOutput;
+import com.hardy.model.ClassModel;
+import com.hardy.service.TypeModelCache;
+import com.hardy.util.ReadActionUtil;
+import com.intellij.notification.Notification;
+import com.intellij.notification.NotificationType;
+import com.intellij.notification.Notifications;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.SmartPointerManager;
+import com.intellij.psi.SmartPsiElementPointer;
+import org.jetbrains.annotations.NotNull;
+
+import java.awt.*;
+import java.awt.datatransfer.StringSelection;
+import java.io.*;
+import java.util.List;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 为光标所在的类生成不使用反射的 json 编解码器源码(XxxJsonCodec), 写在类的源文件旁边并打开;
+ * 库中的类没有可写的目录, 复制到剪贴板
+ **/
+public class CodecAction extends AnAction {
+
+    private static final Logger LOG = Logger.getInstance(CodecAction.class);
+
+    @Override
+    public void actionPerformed(AnActionEvent e) {
+        Project project = e.getData(CommonDataKeys.PROJECT);
+        PsiClass selectedClass = AbstractConvertAction.selectedClass(e);
+        if (project == null || selectedClass == null || selectedClass.getQualifiedName() == null) return;
+
+        String className = selectedClass.getName();
+        File directory = sourceDirectory(selectedClass);
+        SmartPsiElementPointer<PsiClass> pointer = SmartPointerManager.getInstance(project)
+                .createSmartPsiElementPointer(selectedClass);
+
+        ProgressManager.getInstance().run(new Task.Backgroundable(project, "Generating JSON codec of " + className, true) {
+            private String source;
+            private File file;
+            private List<String> skipped;
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                indicator.setIndeterminate(true);
+                indicator.setText("Resolving " + className);
+
+                // 先并行解析引用的所有类, 生成时只剩顺序写出
+                TypeModelCache cache = TypeModelCache.getInstance(project);
+                ClassModel root = ReadActionUtil.compute(() -> {
+                    PsiClass clazz = AbstractConvertAction.validClass(pointer);
+                    return clazz == null ? null : cache.get(clazz);
+                }, indicator);
+                if (root == null) throw new IllegalStateException("class is no longer valid");
+                cache.prefetch(root, indicator);
+
+                indicator.setText("Generating " + CodecSourceWriter.codecName(root));
+                source = ReadActionUtil.compute(() -> {
+                    PsiClass clazz = AbstractConvertAction.validClass(pointer);
+                    if (clazz == null) throw new IllegalStateException("class is no longer valid");
+
+                    StringWriter out = new StringWriter();
+                    try {
+                        skipped = CodecSourceWriter.write(cache, cache.get(clazz), out);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                    return out.toString();
+                }, indicator);
+
+                if (directory == null) return;
+                file = new File(directory, CodecSourceWriter.codecName(root) + ".java");
+                try (Writer out = JsonOutput.newFileWriter(file)) {
+                    out.write(source);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }
+
+            @Override
+            public void onSuccess() {
+                String message;
+                if (file == null) {
+                    StringSelection selection = new StringSelection(source);
+                    Toolkit.getDefaultToolkit().getSystemClipboard().setContents(selection, selection);
+                    message = "Generated the JSON codec of " + className + ", copied to clipboard.";
+                } else {
+                    VirtualFile virtualFile = LocalFileSystem.getInstance().refreshAndFindFileByIoFile(file);
+                    if (virtualFile != null) FileEditorManager.getInstance(project).openFile(virtualFile, true);
+                    message = "Generated " + file.getName() + ".";
+                }
+                if (!skipped.isEmpty()) {
+                    message += " " + skipped.size() + " fields or classes are not written or not read, see the class comment.";
+                }
+
+                Notification success = AbstractConvertAction.notificationGroup.createNotification(message,
+                        skipped.isEmpty() ? NotificationType.INFORMATION : NotificationType.WARNING);
+                Notifications.Bus.notify(success, project);
+            }
+
+            @Override
+            public void onThrowable(@NotNull Throwable error) {
+                if (error instanceof ProcessCanceledException) return;
+
+                LOG.warn(error);
+                Notification fail = AbstractConvertAction.notificationGroup.createNotification(
+                        "Generate JSON codec failed: " + error.getMessage(), NotificationType.ERROR);
+                Notifications.Bus.notify(fail, project);
+            }
+        });
+    }
+
+    // 类的源文件所在的目录, 库中的类或不可写时返回 null
+    private static File sourceDirectory(PsiClass clazz) {
+        PsiFile psiFile = clazz.getContainingFile();
+        VirtualFile file = psiFile == null ? null : psiFile.getVirtualFile();
+        if (file == null || !file.isInLocalFileSystem() || !file.isWritable()) return null;
+
+        VirtualFile parent = file.getParent();
+        return parent == null ? null : VfsUtilCore.virtualToIoFile(parent);
+    }
+}
@@ -0,0 +1,142 @@
+package com.hardy.action;
+
+import com.google.gson.Gson;
+import com.hardy.generator.JsonOutput;
+import com.hardy.infer.BeanSourceWriter;
+import com.hardy.infer.SchemaInferrer;
+import com.hardy.model.Schema;
+import com.hardy.setting.JsonToolSettings;
+import com.intellij.notification.Notification;
+import com.intellij.notification.NotificationType;
+import com.intellij.notification.Notifications;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 由选中的 json / NDJSON 样本文件推断 schema, 可同时生成 Java bean 源码, 写在样本文件旁边
+ **/
+public class InferSchemaAction extends AnAction {
+
+    private static final Logger LOG = Logger.getInstance(InferSchemaAction.class);
+
+    private static final Gson GSON = new Gson();
+
+    @Override
+    public void update(AnActionEvent e) {
+        e.getPresentation().setEnabledAndVisible(e.getData(CommonDataKeys.PROJECT) != null && sampleFile(e) != null);
+    }
+
+    @Override
+    public void actionPerformed(AnActionEvent e) {
+        Project project = e.getData(CommonDataKeys.PROJECT);
+        VirtualFile sample = sampleFile(e);
+        if (project == null || sample == null) return;
+
+        String baseName = sample.getNameWithoutExtension();
+        String beanName = Messages.showInputDialog(project,
+                "Java bean class name (fully qualified), leave empty to infer the schema only:",
+                "Infer Schema from Samples", null, BeanSourceWriter.identifier(baseName, true), null);
+        if (beanName == null) return;
+        beanName = beanName.trim();
+
+        File input = VfsUtilCore.virtualToIoFile(sample);
+        File schemaFile = new File(input.getParentFile(), baseName + JsonOutput.SCHEMA_SUFFIX);
+        File beanFile = beanName.isEmpty() ? null : new File(input.getParentFile(), beanName.substring(beanName.lastIndexOf('.') + 1) + ".java");
+        String bean = beanName;
+        boolean pretty = JsonToolSettings.getInstance().prettyPrint;
+
+        ProgressManager.getInstance().run(new Task.Backgroundable(project, "Inferring schema from " + sample.getName(), true) {
+            private SchemaInferrer.Inference inference;
+            private long elapsed;
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                long start = System.currentTimeMillis();
+                indicator.setIndeterminate(false);
+
+                // 各块完成时更新进度, 取消时工作线程抛出 ProcessCanceledException
+                AtomicLong done = new AtomicLong();
+                long total = Math.max(input.length(), 1);
+                SchemaInferrer inferrer = new SchemaInferrer(Runtime.getRuntime().availableProcessors(), bytes -> {
+                    indicator.checkCanceled();
+                    indicator.setFraction((double) done.addAndGet(bytes) / total);
+                });
+
+                try {
+                    inference = inferrer.inferFile(input);
+                    if (inference.getSamples() == 0) throw new IllegalStateException("no JSON samples in " + input.getName());
+
+                    indicator.setText("Writing " + schemaFile.getName());
+                    try (Writer out = JsonOutput.newFileWriter(schemaFile)) {
+                        GSON.toJson(inference.getShape().toSchema(), Schema.class, JsonOutput.newWriter(out, pretty));
+                    }
+                    if (beanFile != null) {
+                        try (Writer out = JsonOutput.newFileWriter(beanFile)) {
+                            BeanSourceWriter.write(inference.getShape(), bean, inference.getSamples(), out);
+                        }
+                    }
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+                elapsed = Math.max(System.currentTimeMillis() - start, 1);
+            }
+
+            @Override
+            public void onSuccess() {
+                List<File> files = new ArrayList<>();
+                files.add(schemaFile);
+                if (beanFile != null) files.add(beanFile);
+                LocalFileSystem.getInstance().refreshIoFiles(files, true, false, null);
+
+                String message = String.format("Inferred %s from %d samples (%d malformed lines skipped) in %d ms: %.1f MB/s.",
+                        beanFile == null ? schemaFile.getName() : schemaFile.getName() + " and " + beanFile.getName(),
+                        inference.getSamples(), inference.getMalformed(), elapsed, input.length() * 1000.0 / 1024 / 1024 / elapsed);
+                Notification success = AbstractConvertAction.notificationGroup.createNotification(message, NotificationType.INFORMATION);
+                Notifications.Bus.notify(success, project);
+            }
+
+            @Override
+            public void onThrowable(@NotNull Throwable error) {
+                if (error instanceof ProcessCanceledException) return;
+
+                LOG.warn(error);
+                Notification fail = AbstractConvertAction.notificationGroup.createNotification(
+                        "Infer schema failed: " + error.getMessage(), NotificationType.ERROR);
+                Notifications.Bus.notify(fail, project);
+            }
+        });
+    }
+
+    // 选中的单个 .json / .ndjson / .jsonl 文件
+    private static VirtualFile sampleFile(AnActionEvent e) {
+        VirtualFile[] files = e.getData(CommonDataKeys.VIRTUAL_FILE_ARRAY);
+        if (files == null || files.length != 1 || files[0].isDirectory() || !files[0].isInLocalFileSystem()) return null;
+
+        String extension = files[0].getExtension();
+        if (extension == null) return null;
+        extension = extension.toLowerCase();
+        return extension.equals("json") || extension.equals("ndjson") || extension.equals("jsonl") ? files[0] : null;
+    }
+}
@@ -0,0 +1,174 @@
+package com.hardy.action;
+
+import com.hardy.generator.JsonOutput;
+import com.hardy.generator.OpenApiWriter;
+import com.hardy.index.BeanShape;
+import com.hardy.index.BeanShapeIndex;
+import com.hardy.metrics.GenerationMetrics;
+import com.hardy.metrics.GenerationMetrics.Phase;
+import com.hardy.model.Endpoint;
+import com.hardy.parser.EndpointScanner;
+import com.hardy.service.TypeModelCache;
+import com.hardy.setting.JsonToolSettings;
+import com.hardy.util.ReadActionUtil;
+import com.intellij.notification.Notification;
+import com.intellij.notification.NotificationType;
+import com.intellij.notification.Notifications;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.fileChooser.FileChooserFactory;
+import com.intellij.openapi.fileChooser.FileSaverDescriptor;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VfsUtil;
+import com.intellij.openapi.vfs.VirtualFileWrapper;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.search.GlobalSearchScope;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 为选中包/目录/模块下的所有 REST 控制器生成一份 OpenAPI 文档
+ **/
+public class OpenApiAction extends AnAction {
+
+    private static final Logger LOG = Logger.getInstance(OpenApiAction.class);
+
+    private static final String DEFAULT_FILE_NAME = "openapi.json";
+
+    @Override
+    public void update(AnActionEvent e) {
+        Project project = e.getData(CommonDataKeys.PROJECT);
+        e.getPresentation().setEnabledAndVisible(project != null && BulkGenerateAction.selectionScope(e, project) != null);
+    }
+
+    @Override
+    public void actionPerformed(AnActionEvent e) {
+        Project project = e.getData(CommonDataKeys.PROJECT);
+        if (project == null) return;
+
+        GlobalSearchScope scope = BulkGenerateAction.selectionScope(e, project);
+        if (scope == null) return;
+
+        FileSaverDescriptor descriptor = new FileSaverDescriptor("Generate OpenAPI", "Save the OpenAPI document", "json");
+        VirtualFileWrapper wrapper = FileChooserFactory.getInstance().createSaveFileDialog(descriptor, project)
+                .save(project.getBaseDir(), DEFAULT_FILE_NAME);
+        if (wrapper == null) return;
+
+        File file = wrapper.getFile();
+        boolean pretty = JsonToolSettings.getInstance().prettyPrint;
+
+        ProgressManager.getInstance().run(new Task.Backgroundable(project, "Generating OpenAPI", true) {
+            private int controllers;
+            private int endpoints;
+            private int classes;
+            private long elapsed;
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                long start = System.currentTimeMillis();
+                GenerationMetrics.Run run = GenerationMetrics.start("Generate OpenAPI");
+
+                // 先由索引按注解筛出候选类, 只解析这些类的PSI
+                indicator.setText("Collecting controllers");
+                DumbService.getInstance(project).waitForSmartMode();
+                List<String> names = ReadActionUtil.compute(() -> collectControllers(scope), indicator);
+
+                // 扫描接口与生成文档在同一个读操作中, 读操作被打断重试时整体重新生成
+                indicator.setText("Generating OpenAPI for " + names.size() + " controllers");
+                TypeModelCache cache = TypeModelCache.getInstance(project);
+                String json = ReadActionUtil.compute(() -> {
+                    List<Endpoint> all = new ArrayList<>();
+                    int found = 0;
+                    for (String name : names) {
+                        indicator.checkCanceled();
+                        PsiClass clazz = JavaPsiFacade.getInstance(project).findClass(name, GlobalSearchScope.projectScope(project));
+                        if (clazz == null || !EndpointScanner.isController(clazz)) continue;
+
+                        all.addAll(EndpointScanner.scan(clazz));
+                        found++;
+                    }
+
+                    OpenApiWriter writer = new OpenApiWriter(cache);
+                    StringWriter out = new StringWriter();
+                    long generateStart = System.nanoTime();
+                    try {
+                        writer.write(all, project.getName(), JsonOutput.newWriter(out, pretty));
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                    GenerationMetrics.addTime(Phase.GENERATE, generateStart);
+
+                    controllers = found;
+                    endpoints = all.size();
+                    classes = writer.resolvedClasses();
+                    return out.toString();
+                }, indicator);
+
+                indicator.setText("Writing " + file.getName());
+                try (Writer out = JsonOutput.newFileWriter(file)) {
+                    out.write(json);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+                elapsed = Math.max(System.currentTimeMillis() - start, 1);
+                LOG.info(run.finish(json.getBytes(StandardCharsets.UTF_8).length).summary());
+            }
+
+            @Override
+            public void onSuccess() {
+                VfsUtil.markDirtyAndRefresh(true, false, false, file);
+
+                String message = String.format("Generated %d endpoints of %d controllers (%d classes resolved) into %s in %d ms.",
+                        endpoints, controllers, classes, file.getPath(), elapsed);
+                Notification success = AbstractConvertAction.notificationGroup.createNotification(message, NotificationType.INFORMATION);
+                Notifications.Bus.notify(success, project);
+            }
+
+            @Override
+            public void onThrowable(@NotNull Throwable error) {
+                LOG.warn(error);
+                Notification fail = AbstractConvertAction.notificationGroup.createNotification(
+                        "Generate OpenAPI failed: " + error.getMessage(), NotificationType.ERROR);
+                Notifications.Bus.notify(fail, project);
+            }
+        });
+    }
+
+    // 从索引中收集带控制器注解的类, 注解名按 import 补全, 同时接受简单名匹配; 需在读操作中调用
+    private static List<String> collectControllers(GlobalSearchScope scope) {
+        List<String> names = new ArrayList<>();
+        for (BeanShape shape : BeanShapeIndex.getAll(scope)) {
+            if (shape.getKind() != BeanShape.CLASS) continue;
+
+            for (String annotation : shape.getAnnotations()) {
+                if (isControllerAnnotation(annotation)) {
+                    names.add(shape.getQualifiedName());
+                    break;
+                }
+            }
+        }
+        Collections.sort(names);
+        return names;
+    }
+
+    private static boolean isControllerAnnotation(String name) {
+        for (String annotation : EndpointScanner.CONTROLLER_ANNOTATIONS) {
+            if (name.equals(annotation) || name.equals(annotation.substring(annotation.lastIndexOf('.') + 1))) return true;
+        }
+        return false;
+    }
+}
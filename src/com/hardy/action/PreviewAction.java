@@ -0,0 +1,35 @@
+package com.hardy.action;
+
+import com.hardy.ui.PreviewPanel;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.wm.ToolWindow;
+import com.intellij.openapi.wm.ToolWindowManager;
+import com.intellij.psi.PsiClass;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 在预览窗口中打开光标所在的类, 嵌套的类展开时才解析
+ **/
+public class PreviewAction extends AnAction {
+
+    @Override
+    public void actionPerformed(AnActionEvent e) {
+        Project project = e.getData(CommonDataKeys.PROJECT);
+        PsiClass selectedClass = AbstractConvertAction.selectedClass(e);
+        if (project == null || selectedClass == null || selectedClass.getQualifiedName() == null) return;
+
+        String qualifiedName = selectedClass.getQualifiedName();
+        ToolWindow toolWindow = ToolWindowManager.getInstance(project).getToolWindow(PreviewPanel.TOOL_WINDOW_ID);
+        if (toolWindow == null) return;
+
+        // 窗口内容在首次打开时创建
+        toolWindow.activate(() -> {
+            PreviewPanel panel = PreviewPanel.of(toolWindow);
+            if (panel != null) panel.show(qualifiedName);
+        });
+    }
+}
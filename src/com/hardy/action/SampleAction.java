@@ -0,0 +1,118 @@
+package com.hardy.action;
+
+import com.hardy.generator.SampleGenerator;
+import com.hardy.model.ClassModel;
+import com.hardy.service.TypeModelCache;
+import com.hardy.ui.SampleDialog;
+import com.hardy.util.ReadActionUtil;
+import com.intellij.notification.Notification;
+import com.intellij.notification.NotificationType;
+import com.intellij.notification.Notifications;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.SmartPointerManager;
+import com.intellij.psi.SmartPsiElementPointer;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.util.Collections;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 为光标所在的类生成大量随机示例(NDJSON), 用于压测
+ * 只在读操作中编译一次, 生成时不持有读锁, 多线程生成
+ **/
+public class SampleAction extends AnAction {
+
+    private static final Logger LOG = Logger.getInstance(SampleAction.class);
+
+    @Override
+    public void actionPerformed(AnActionEvent e) {
+        Project project = e.getData(CommonDataKeys.PROJECT);
+        PsiClass selectedClass = AbstractConvertAction.selectedClass(e);
+        if (project == null || selectedClass == null || selectedClass.getQualifiedName() == null) return;
+
+        SampleDialog dialog = new SampleDialog(project, selectedClass.getName());
+        if (!dialog.showAndGet()) return;
+
+        long count = dialog.getCount();
+        long seed = dialog.getSeed();
+        File file = new File(dialog.getOutputDir(), selectedClass.getQualifiedName() + SampleGenerator.NDJSON_SUFFIX);
+        SmartPsiElementPointer<PsiClass> pointer = SmartPointerManager.getInstance(project)
+                .createSmartPsiElementPointer(selectedClass);
+
+        ProgressManager.getInstance().run(new Task.Backgroundable(project, "Generating " + count + " samples", true) {
+            private long bytes;
+            private long elapsed;
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                long start = System.currentTimeMillis();
+                indicator.setText("Resolving " + selectedClass.getName());
+                TypeModelCache cache = TypeModelCache.getInstance(project);
+                ClassModel root = ReadActionUtil.compute(() -> {
+                    PsiClass clazz = AbstractConvertAction.validClass(pointer);
+                    return clazz == null ? null : cache.get(clazz);
+                }, indicator);
+                if (root == null) throw new IllegalStateException("class is no longer valid");
+                cache.prefetch(root, indicator);
+
+                SampleGenerator generator = ReadActionUtil.compute(() -> {
+                    PsiClass clazz = AbstractConvertAction.validClass(pointer);
+                    if (clazz == null) throw new IllegalStateException("class is no longer valid");
+
+                    return SampleGenerator.compile(cache, cache.get(clazz));
+                }, indicator);
+
+                FileUtil.createParentDirs(file);
+                indicator.setText("Writing " + file.getName());
+                indicator.setIndeterminate(false);
+                boolean completed = false;
+                try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file), 64 * 1024)) {
+                    bytes = generator.generate(count, seed, Runtime.getRuntime().availableProcessors(), out, done -> {
+                        indicator.checkCanceled();
+                        indicator.setFraction((double) done / count);
+                    });
+                    completed = true;
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                } finally {
+                    // 取消或失败时不保留不完整的文件
+                    if (!completed) FileUtil.delete(file);
+                }
+                elapsed = Math.max(System.currentTimeMillis() - start, 1);
+            }
+
+            @Override
+            public void onSuccess() {
+                LocalFileSystem.getInstance().refreshIoFiles(Collections.singletonList(file), true, false, null);
+
+                String message = String.format("Generated %d samples into %s in %d ms: %.1f MB/s.",
+                        count, file.getPath(), elapsed, bytes * 1000.0 / 1024 / 1024 / elapsed);
+                Notification success = AbstractConvertAction.notificationGroup.createNotification(message, NotificationType.INFORMATION);
+                Notifications.Bus.notify(success, project);
+            }
+
+            @Override
+            public void onThrowable(@NotNull Throwable error) {
+                if (error instanceof ProcessCanceledException) return;
+
+                LOG.warn(error);
+                Notification fail = AbstractConvertAction.notificationGroup.createNotification(
+                        "Generate samples failed: " + error.getMessage(), NotificationType.ERROR);
+                Notifications.Bus.notify(fail, project);
+            }
+        });
+    }
+}
@@ -0,0 +1,174 @@
+package com.hardy.action;
+
+import com.hardy.compat.CompatibilityChecker;
+import com.hardy.compat.CompatibilityReport;
+import com.hardy.compat.SchemaChange;
+import com.hardy.generator.JsonOutput;
+import com.hardy.generator.SchemaBaseline;
+import com.hardy.service.TypeModelCache;
+import com.hardy.setting.JsonToolSettings;
+import com.hardy.util.ReadActionUtil;
+import com.intellij.notification.Notification;
+import com.intellij.notification.NotificationType;
+import com.intellij.notification.Notifications;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.fileChooser.FileChooserFactory;
+import com.intellij.openapi.fileChooser.FileSaverDescriptor;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.vfs.VfsUtil;
+import com.intellij.openapi.vfs.VirtualFileWrapper;
+import com.intellij.psi.search.GlobalSearchScope;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 保存选中包/目录/模块下所有类的 schema 基线, 或与已有基线比较兼容性
+ * 比较结果写在基线旁的 .changes.txt 中, 有破坏兼容的差异时以警告通知
+ **/
+public class SchemaBaselineAction extends AnAction {
+
+    private static final Logger LOG = Logger.getInstance(SchemaBaselineAction.class);
+
+    private static final String DEFAULT_FILE_NAME = "schema-baseline.json";
+
+    private static final String CHANGES_SUFFIX = ".changes.txt";
+
+    private static final int MAX_NOTIFIED = 5; // 通知中最多列出的差异数
+
+    @Override
+    public void update(AnActionEvent e) {
+        Project project = e.getData(CommonDataKeys.PROJECT);
+        e.getPresentation().setEnabledAndVisible(project != null && BulkGenerateAction.selectionScope(e, project) != null);
+    }
+
+    @Override
+    public void actionPerformed(AnActionEvent e) {
+        Project project = e.getData(CommonDataKeys.PROJECT);
+        if (project == null) return;
+
+        GlobalSearchScope scope = BulkGenerateAction.selectionScope(e, project);
+        if (scope == null) return;
+
+        FileSaverDescriptor descriptor = new FileSaverDescriptor("Schema Baseline", "Choose the schema baseline file", "json");
+        VirtualFileWrapper wrapper = FileChooserFactory.getInstance().createSaveFileDialog(descriptor, project)
+                .save(project.getBaseDir(), DEFAULT_FILE_NAME);
+        if (wrapper == null) return;
+
+        // 基线已存在时选择比较或覆盖
+        File file = wrapper.getFile();
+        boolean check = false;
+        if (file.exists()) {
+            int choice = Messages.showYesNoCancelDialog(project,
+                    "Compare the current schemas with " + file.getName() + ", or overwrite it with the current schemas?",
+                    "Schema Baseline", "Check Compatibility", "Update Baseline", "Cancel", Messages.getQuestionIcon());
+            if (choice == Messages.CANCEL) return;
+            check = choice == Messages.YES;
+        }
+        boolean compare = check;
+        File changesFile = new File(file.getParentFile(), file.getName().replaceFirst("\\.json$", "") + CHANGES_SUFFIX);
+        boolean pretty = JsonToolSettings.getInstance().prettyPrint;
+
+        ProgressManager.getInstance().run(new Task.Backgroundable(project, compare ? "Checking schema compatibility" : "Writing schema baseline", true) {
+            private SchemaBaseline current;
+            private CompatibilityReport report;
+            private long elapsed;
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                long start = System.currentTimeMillis();
+
+                // 先读取基线, 格式错误时不必生成
+                SchemaBaseline baseline = null;
+                if (compare) {
+                    try (Reader in = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+                        baseline = SchemaBaseline.read(new BufferedReader(in));
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                }
+
+                indicator.setText("Collecting classes");
+                DumbService.getInstance(project).waitForSmartMode();
+                List<String> names = ReadActionUtil.compute(() -> BulkGenerateAction.collectClasses(scope, ""), indicator);
+
+                // 在同一个读操作中生成, 读操作被打断重试时整体重新生成
+                indicator.setText("Generating schemas of " + names.size() + " classes");
+                TypeModelCache cache = TypeModelCache.getInstance(project);
+                current = ReadActionUtil.compute(() -> SchemaBaseline.generate(cache, names), indicator);
+
+                try {
+                    if (compare) {
+                        indicator.setText("Comparing with " + file.getName());
+                        report = CompatibilityChecker.compare(baseline, current);
+                        try (Writer out = JsonOutput.newFileWriter(changesFile)) {
+                            for (SchemaChange change : report.getChanges()) {
+                                out.write(change + "\n");
+                            }
+                        }
+                    } else {
+                        indicator.setText("Writing " + file.getName());
+                        try (Writer out = JsonOutput.newFileWriter(file)) {
+                            current.write(out, pretty);
+                        }
+                    }
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+                elapsed = Math.max(System.currentTimeMillis() - start, 1);
+            }
+
+            @Override
+            public void onSuccess() {
+                if (report == null) {
+                    VfsUtil.markDirtyAndRefresh(true, false, false, file);
+                    String message = String.format("Wrote the schema baseline of %d classes (%d with referenced classes) into %s in %d ms.",
+                            current.getRoots().size(), current.getClasses().size(), file.getPath(), elapsed);
+                    Notification success = AbstractConvertAction.notificationGroup.createNotification(message, NotificationType.INFORMATION);
+                    Notifications.Bus.notify(success, project);
+                    return;
+                }
+
+                VfsUtil.markDirtyAndRefresh(true, false, false, changesFile);
+                StringBuilder message = new StringBuilder(String.format(
+                        "Compared %d classes (%d unchanged) with %s in %d ms: %d changes, %d breaking, see %s.",
+                        report.getComparedClasses(), report.getUnchangedClasses(), file.getName(), elapsed,
+                        report.getChanges().size(), report.getBreakingCount(), changesFile.getName()));
+                List<SchemaChange> changes = report.getChanges();
+                for (int i = 0; i < changes.size() && i < MAX_NOTIFIED; i++) {
+                    message.append("<br>").append(escape(changes.get(i).toString()));
+                }
+                if (changes.size() > MAX_NOTIFIED) message.append("<br>...");
+
+                NotificationType type = report.hasBreaking() ? NotificationType.WARNING : NotificationType.INFORMATION;
+                Notification result = AbstractConvertAction.notificationGroup.createNotification(message.toString(), type);
+                Notifications.Bus.notify(result, project);
+            }
+
+            @Override
+            public void onThrowable(@NotNull Throwable error) {
+                LOG.warn(error);
+                Notification fail = AbstractConvertAction.notificationGroup.createNotification(
+                        "Schema baseline failed: " + error.getMessage(), NotificationType.ERROR);
+                Notifications.Bus.notify(fail, project);
+            }
+        });
+    }
+
+    // 通知内容按 html 显示, 类名中可能带有 <>
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
@@ -0,0 +1,459 @@
+package com.hardy.cli;
+
+import com.google.gson.Gson;
+import com.hardy.compat.CompatibilityChecker;
+import com.hardy.compat.CompatibilityReport;
+import com.hardy.compat.SchemaChange;
+import com.hardy.generator.CodecSourceWriter;
+import com.hardy.generator.JsonOutput;
+import com.hardy.generator.SampleGenerator;
+import com.hardy.generator.SchemaBaseline;
+import com.hardy.infer.BeanSourceWriter;
+import com.hardy.infer.SchemaInferrer;
+import com.hardy.metrics.GenerationMetrics;
+import com.hardy.metrics.RunMetrics;
+import com.hardy.model.ClassModel;
+import com.hardy.model.Schema;
+import com.hardy.parser.ReflectModelResolver;
+import com.hardy.parser.TypeClassifier;
+import com.hardy.validator.SchemaValidator;
+import com.hardy.validator.ValidationReport;
+import com.hardy.validator.Violation;
+
+import java.io.*;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 命令行生成, 不需要启动IDE, 从编译后的类生成 json / json schema
+ * <p>
+ * java -cp json-tool.jar:gson.jar com.hardy.cli.JsonToolCli [options] class... | @classes.txt
+ **/
+public class JsonToolCli {
+
+    private static final String USAGE = String.join("\n",
+            "Usage: JsonToolCli [options] <class>... | @<file with one class per line>",
+            "  --json              generate json example (default: json schema)",
+            "  --definitions       schema: emit each class once under definitions",
+            "  --minify            compact output",
+            "  --classpath <path>  directories/jars of the compiled classes, separated by " + File.pathSeparator,
+            "  --out <dir>         write one file per class into dir (default: stdout)",
+            "  --threads <n>       worker threads (default: available processors)",
+            "  --mapping <fqn=kind> classify a type as a common type name, List, Map, Object or Optional; repeatable",
+            "  --samples <n>       write n random constraint-respecting examples per class as NDJSON",
+            "  --seed <n>          random seed of --samples (default: 0)",
+            "  --validate <file>   validate an NDJSON file against the schema of the single given class",
+            "  --metrics           print classes, fields, resolve calls, cache hits/misses and phase timings to stderr",
+            "  --infer <file>      infer a schema from a JSON (top-level array: one sample per element) or NDJSON/JSONL file",
+            "  --bean <fqn>        with --infer: also write Java bean source of the inferred structure",
+            "  --baseline <file>   compare the classes against a saved schema baseline, exit 1 on breaking changes;",
+            "                      the baseline is written when the file does not exist",
+            "  --update-baseline   with --baseline: overwrite the baseline with the current schemas",
+            "  --codec             write the Java source of a reflection-free streaming JSON codec (Gson) per class");
+
+    private static final int MAX_REPORTED = 1000; // 校验时最多输出的违规数
+
+    private static final Gson GSON = new Gson();
+
+    private boolean schema = true;
+    private boolean useDefinitions = false;
+    private boolean pretty = true;
+    private String classpath = "";
+    private File outputDir;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private long samples;
+    private long seed;
+    private File validateFile;
+    private boolean metrics;
+    private File inferFile;
+    private String beanName;
+    private File baselineFile;
+    private boolean updateBaseline;
+    private boolean codec;
+    private final List<String> classes = new ArrayList<>();
+    private final Map<String, String> mappings = new LinkedHashMap<>();
+
+    public static void main(String[] args) throws Exception {
+        JsonToolCli cli = new JsonToolCli();
+        if (!cli.parse(args)) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        System.exit(cli.run());
+    }
+
+    private boolean parse(String[] args) throws IOException {
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            switch (arg) {
+                case "--json":
+                    schema = false;
+                    break;
+                case "--definitions":
+                    useDefinitions = true;
+                    break;
+                case "--minify":
+                    pretty = false;
+                    break;
+                case "--classpath":
+                    if (++i == args.length) return false;
+                    classpath = args[i];
+                    break;
+                case "--out":
+                    if (++i == args.length) return false;
+                    outputDir = new File(args[i]);
+                    break;
+                case "--threads":
+                    if (++i == args.length) return false;
+                    threads = Math.max(1, Integer.parseInt(args[i]));
+                    break;
+                case "--samples":
+                    if (++i == args.length) return false;
+                    samples = Long.parseLong(args[i]);
+                    if (samples <= 0) return false;
+                    break;
+                case "--seed":
+                    if (++i == args.length) return false;
+                    seed = Long.parseLong(args[i]);
+                    break;
+                case "--validate":
+                    if (++i == args.length) return false;
+                    validateFile = new File(args[i]);
+                    break;
+                case "--metrics":
+                    metrics = true;
+                    break;
+                case "--infer":
+                    if (++i == args.length) return false;
+                    inferFile = new File(args[i]);
+                    break;
+                case "--bean":
+                    if (++i == args.length) return false;
+                    beanName = args[i];
+                    break;
+                case "--baseline":
+                    if (++i == args.length) return false;
+                    baselineFile = new File(args[i]);
+                    break;
+                case "--update-baseline":
+                    updateBaseline = true;
+                    break;
+                case "--codec":
+                    codec = true;
+                    break;
+                case "--mapping": {
+                    if (++i == args.length) return false;
+                    Map<String, String> mapping = TypeClassifier.parseMappings(args[i]);
+                    if (mapping.isEmpty()) return false;
+                    mappings.putAll(mapping);
+                    break;
+                }
+                default:
+                    if (arg.startsWith("--")) return false;
+                    if (arg.startsWith("@")) readClassList(new File(arg.substring(1)));
+                    else classes.add(arg);
+            }
+        }
+        if (inferFile != null) return classes.isEmpty();
+        if (beanName != null) return false;
+        if (updateBaseline && baselineFile == null) return false;
+        return validateFile == null ? !classes.isEmpty() : classes.size() == 1;
+    }
+
+    private void readClassList(File file) throws IOException {
+        for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+            line = line.trim();
+            if (!line.isEmpty() && !line.startsWith("#")) classes.add(line);
+        }
+    }
+
+    // 返回进程退出码, 有类生成失败时为 1
+    private int run() throws Exception {
+        if (inferFile != null) return runInfer();
+
+        TypeClassifier.getInstance().setUserMappings(mappings);
+        ReflectModelResolver resolver = new ReflectModelResolver(classLoader());
+        if (samples > 0) return runSamples(resolver);
+        if (validateFile != null) return runValidate(resolver);
+        if (baselineFile != null) return runBaseline(resolver);
+        if (codec) return runCodec(resolver);
+
+        GenerationMetrics.Run run = GenerationMetrics.start(schema ? "schema" : "json");
+
+        // 输出到控制台时顺序生成
+        if (outputDir == null) {
+            CountingOutputStream counting = new CountingOutputStream(System.out);
+            Writer out = new BufferedWriter(new OutputStreamWriter(counting, StandardCharsets.UTF_8));
+            int failed = 0;
+            for (String name : classes) {
+                try {
+                    generate(resolver, model(resolver, name), out);
+                    out.write('\n');
+                } catch (Exception e) {
+                    System.err.println("Generate " + name + " failed: " + e);
+                    failed++;
+                }
+            }
+            out.flush();
+            printMetrics(run, counting.count);
+            return failed == 0 ? 0 : 1;
+        }
+
+        if (!outputDir.isDirectory() && !outputDir.mkdirs()) {
+            System.err.println("Cannot create " + outputDir);
+            return 1;
+        }
+
+        // 多线程生成, 共享同一个 resolver, 每个类只解析一次
+        long start = System.nanoTime();
+        AtomicLong bytes = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (String name : classes) {
+            futures.add(executor.submit(() -> {
+                ClassModel model = model(resolver, name);
+                File file = new File(outputDir, JsonOutput.fileName(name, schema));
+                try (Writer out = JsonOutput.newFileWriter(file)) {
+                    generate(resolver, model, out);
+                }
+                bytes.addAndGet(file.length());
+                return null;
+            }));
+        }
+
+        int failed = 0;
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                futures.get(i).get();
+            } catch (ExecutionException e) {
+                System.err.println("Generate " + classes.get(i) + " failed: " + e.getCause());
+                failed++;
+            }
+        }
+        executor.shutdown();
+
+        double seconds = Math.max(System.nanoTime() - start, 1) / 1e9;
+        int generated = classes.size() - failed;
+        System.err.printf("Generated %d classes (%d failed) into %s in %.2f s: %.1f classes/s, %.1f KB/s%n",
+                generated, failed, outputDir, seconds, generated / seconds, bytes.get() / 1024.0 / seconds);
+        printMetrics(run, bytes.get());
+        return failed == 0 ? 0 : 1;
+    }
+
+    // 逐个类生成随机示例, 每个类内部多线程生成
+    private int runSamples(ReflectModelResolver resolver) throws IOException {
+        if (outputDir != null && !outputDir.isDirectory() && !outputDir.mkdirs()) {
+            System.err.println("Cannot create " + outputDir);
+            return 1;
+        }
+
+        OutputStream stdout = new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), 64 * 1024);
+        int failed = 0;
+        for (String name : classes) {
+            long start = System.nanoTime();
+            long bytes;
+            try {
+                SampleGenerator generator = SampleGenerator.compile(resolver, model(resolver, name));
+                if (outputDir == null) {
+                    bytes = generator.generate(samples, seed, threads, stdout, done -> {
+                    });
+                    stdout.flush();
+                } else {
+                    File file = new File(outputDir, name + SampleGenerator.NDJSON_SUFFIX);
+                    try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file), 64 * 1024)) {
+                        bytes = generator.generate(samples, seed, threads, out, done -> {
+                        });
+                    }
+                }
+            } catch (Exception e) {
+                System.err.println("Generate " + name + " failed: " + e);
+                failed++;
+                continue;
+            }
+
+            double seconds = Math.max(System.nanoTime() - start, 1) / 1e9;
+            System.err.printf("Generated %d samples of %s in %.2f s: %.0f samples/s, %.1f MB/s%n",
+                    samples, name, seconds, samples / seconds, bytes / 1024.0 / 1024 / seconds);
+        }
+        return failed == 0 ? 0 : 1;
+    }
+
+    // 校验 NDJSON 文件, 违规输出到控制台, 有不合法的行时返回 1
+    private int runValidate(ReflectModelResolver resolver) throws IOException {
+        long start = System.nanoTime();
+        SchemaValidator validator = SchemaValidator.compile(resolver, model(resolver, classes.get(0)));
+        ValidationReport report = validator.validateNdjson(validateFile, threads, MAX_REPORTED);
+
+        PrintStream out = new PrintStream(new FileOutputStream(FileDescriptor.out), false, "UTF-8");
+        for (Violation violation : report.getViolations()) {
+            out.println(violation);
+        }
+        out.flush();
+
+        double seconds = Math.max(System.nanoTime() - start, 1) / 1e9;
+        System.err.printf("Validated %d lines in %.2f s: %d invalid, %d violations, %.1f MB/s%n",
+                report.getLines(), seconds, report.getInvalidLines(), report.getViolationCount(),
+                validateFile.length() / 1024.0 / 1024 / seconds);
+        return report.isValid() ? 0 : 1;
+    }
+
+    // 推断 schema, 输出到 --out 目录(文件名去掉扩展名)或控制台; 没有样本时返回 1
+    private int runInfer() throws IOException {
+        long start = System.nanoTime();
+        SchemaInferrer.Inference inference = new SchemaInferrer(threads, bytes -> {
+        }).inferFile(inferFile);
+        double seconds = Math.max(System.nanoTime() - start, 1) / 1e9;
+        System.err.printf("Inferred %d samples (%d malformed lines) from %s in %.2f s: %.1f MB/s%n",
+                inference.getSamples(), inference.getMalformed(), inferFile, seconds,
+                inferFile.length() / 1024.0 / 1024 / seconds);
+        if (inference.getSamples() == 0) return 1;
+
+        if (outputDir != null && !outputDir.isDirectory() && !outputDir.mkdirs()) {
+            System.err.println("Cannot create " + outputDir);
+            return 1;
+        }
+
+        Writer stdout = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(FileDescriptor.out), StandardCharsets.UTF_8));
+        String name = inferFile.getName();
+        if (name.lastIndexOf('.') > 0) name = name.substring(0, name.lastIndexOf('.'));
+        try (Writer out = outputDir == null ? null : JsonOutput.newFileWriter(new File(outputDir, name + JsonOutput.SCHEMA_SUFFIX))) {
+            GSON.toJson(inference.getShape().toSchema(), Schema.class, JsonOutput.newWriter(out == null ? stdout : out, pretty));
+        }
+        if (outputDir == null) stdout.write('\n');
+
+        if (beanName != null) {
+            String simpleName = beanName.substring(beanName.lastIndexOf('.') + 1);
+            try (Writer out = outputDir == null ? null : JsonOutput.newFileWriter(new File(outputDir, simpleName + ".java"))) {
+                BeanSourceWriter.write(inference.getShape(), beanName, inference.getSamples(), out == null ? stdout : out);
+            } catch (IllegalArgumentException e) {
+                System.err.println("Cannot generate " + beanName + ": " + e.getMessage());
+                stdout.flush();
+                return 1;
+            }
+        }
+        stdout.flush();
+        return 0;
+    }
+
+    // 与基线比较, 差异输出到控制台, 有破坏兼容的差异时返回 1; 基线不存在或要求更新时写出基线
+    private int runBaseline(ReflectModelResolver resolver) throws IOException {
+        long start = System.nanoTime();
+        SchemaBaseline current = SchemaBaseline.generate(resolver, classes);
+        if (current.getRoots().size() < new HashSet<>(classes).size()) {
+            System.err.println("Some classes were not found on the classpath");
+            return 1;
+        }
+
+        if (updateBaseline || !baselineFile.exists()) {
+            try (Writer out = JsonOutput.newFileWriter(baselineFile)) {
+                current.write(out, pretty);
+            }
+            System.err.printf("Wrote baseline of %d classes (%d with referenced classes) to %s%n",
+                    current.getRoots().size(), current.getClasses().size(), baselineFile);
+            return 0;
+        }
+
+        SchemaBaseline baseline;
+        try (Reader in = new InputStreamReader(new FileInputStream(baselineFile), StandardCharsets.UTF_8)) {
+            baseline = SchemaBaseline.read(new BufferedReader(in));
+        }
+        CompatibilityReport report = CompatibilityChecker.compare(baseline, current);
+
+        PrintStream out = new PrintStream(new FileOutputStream(FileDescriptor.out), false, "UTF-8");
+        for (SchemaChange change : report.getChanges()) {
+            out.println(change);
+        }
+        out.flush();
+
+        double seconds = Math.max(System.nanoTime() - start, 1) / 1e9;
+        System.err.printf("Compared %d classes (%d unchanged) in %.2f s: %d changes, %d breaking%n",
+                report.getComparedClasses(), report.getUnchangedClasses(), seconds,
+                report.getChanges().size(), report.getBreakingCount());
+        return report.hasBreaking() ? 1 : 0;
+    }
+
+    // 生成编解码器源码, 写到 --out 目录(XxxJsonCodec.java)或控制台; 无法生成的字段输出到 stderr
+    private int runCodec(ReflectModelResolver resolver) throws IOException {
+        if (outputDir != null && !outputDir.isDirectory() && !outputDir.mkdirs()) {
+            System.err.println("Cannot create " + outputDir);
+            return 1;
+        }
+
+        Writer stdout = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(FileDescriptor.out), StandardCharsets.UTF_8));
+        int failed = 0;
+        for (String name : classes) {
+            try {
+                ClassModel model = model(resolver, name);
+                // 先生成到内存, 无法生成时不留下空文件
+                StringWriter source = new StringWriter();
+                List<String> skipped = CodecSourceWriter.write(resolver, model, source);
+                if (outputDir == null) {
+                    stdout.write(source.toString());
+                } else {
+                    try (Writer out = JsonOutput.newFileWriter(new File(outputDir, CodecSourceWriter.codecName(model) + ".java"))) {
+                        out.write(source.toString());
+                    }
+                }
+                for (String field : skipped) {
+                    System.err.println("Skipped " + field + " in the codec of " + name);
+                }
+            } catch (Exception e) {
+                System.err.println("Generate " + name + " failed: " + e);
+                failed++;
+            }
+        }
+        stdout.flush();
+        return failed == 0 ? 0 : 1;
+    }
+
+    private void printMetrics(GenerationMetrics.Run run, long bytes) {
+        RunMetrics result = run.finish(bytes);
+        if (metrics) System.err.println(result.summary());
+    }
+
+    private static ClassModel model(ReflectModelResolver resolver, String name) {
+        ClassModel model = resolver.resolve(name);
+        if (model == null) throw new IllegalArgumentException("class not found: " + name);
+        return model;
+    }
+
+    private void generate(ReflectModelResolver resolver, ClassModel model, Writer out) throws IOException {
+        JsonOutput.generate(resolver, model, out, schema, useDefinitions, pretty);
+    }
+
+    private ClassLoader classLoader() throws IOException {
+        List<URL> urls = new ArrayList<>();
+        for (String path : classpath.split(File.pathSeparator)) {
+            if (!path.isEmpty()) urls.add(new File(path).toURI().toURL());
+        }
+        return new URLClassLoader(urls.toArray(new URL[0]), JsonToolCli.class.getClassLoader());
+    }
+
+    // 统计写出的字节数
+    private static class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) throws IOException {
+            out.write(buffer, offset, length);
+            count += length;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.hardy.compat;
+
+import com.hardy.generator.SchemaBaseline;
+import com.hardy.model.SchemaNode;
+import com.hardy.model.SchemaType;
+
+import java.util.*;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 比较基线与当前的 schema, 列出差异并区分是否破坏兼容
+ * 破坏兼容: 按基线合法的数据按当前 schema 可能不合法, 或按当前 schema 生成的数据按基线读取时可能不合法或缺少数据, 见 SchemaChange
+ * 两边都有的类逐个比较, 结构指纹相同的类与子树直接跳过; 引用只比较指向的类名, 被引用的类单独比较, 每处差异只报告一次
+ **/
+public class CompatibilityChecker {
+
+    private final List<SchemaChange> changes = new ArrayList<>();
+
+    private String className; // 正在比较的类
+
+    private CompatibilityChecker() {
+    }
+
+    public static CompatibilityReport compare(SchemaBaseline baseline, SchemaBaseline current) {
+        CompatibilityChecker checker = new CompatibilityChecker();
+
+        // 选中的类的增减, 其他类的增减体现在引用它的属性上
+        for (String root : baseline.getRoots()) {
+            if (current.get(root) == null) checker.add(root, "$", SchemaChange.Kind.CLASS_REMOVED, "class removed");
+        }
+        for (String root : current.getRoots()) {
+            if (baseline.get(root) == null) checker.add(root, "$", SchemaChange.Kind.CLASS_ADDED, "class added");
+        }
+
+        int compared = 0;
+        int unchanged = 0;
+        for (Map.Entry<String, SchemaNode> entry : baseline.getClasses().entrySet()) {
+            SchemaNode now = current.get(entry.getKey());
+            if (now == null) continue;
+
+            compared++;
+            if (entry.getValue().getFingerprint() == now.getFingerprint()) {
+                unchanged++;
+                continue;
+            }
+            checker.className = entry.getKey();
+            checker.compareNode("$", entry.getValue(), now);
+        }
+
+        // 按类名排序, 排序稳定, 同一类内保持属性顺序
+        List<SchemaChange> changes = checker.changes;
+        changes.sort(Comparator.comparing(SchemaChange::getClassName));
+        return new CompatibilityReport(compared, unchanged, changes);
+    }
+
+    private void compareNode(String path, SchemaNode old, SchemaNode now) {
+        if (old.getFingerprint() == now.getFingerprint()) return;
+
+        // 引用的类不同时不再比较其他内容
+        if (old.getRef() != null || now.getRef() != null) {
+            if (!Objects.equals(old.getRef(), now.getRef())) {
+                add(path, SchemaChange.Kind.TYPE_CHANGED, describe(old) + " -> " + describe(now));
+                return;
+            }
+        }
+
+        if (!Objects.equals(old.getType(), now.getType())) {
+            // integer 的值都是合法的 number, 不限类型时任何值都合法, 只影响旧读取方
+            boolean widened = now.getType() == null
+                    || SchemaType.INTEGER.val.equals(old.getType()) && SchemaType.NUMBER.val.equals(now.getType());
+            add(path, widened ? SchemaChange.Kind.TYPE_WIDENED : SchemaChange.Kind.TYPE_CHANGED, describe(old) + " -> " + describe(now));
+            return;
+        }
+
+        compareProperties(path, old, now);
+
+        if (old.getItems() != null && now.getItems() != null) {
+            compareNode(path + "[]", old.getItems(), now.getItems());
+        } else if (old.getItems() != null || now.getItems() != null) {
+            add(path + "[]", old.getItems() == null ? SchemaChange.Kind.CONSTRAINT_TIGHTENED : SchemaChange.Kind.CONSTRAINT_LOOSENED,
+                    old.getItems() == null ? "items constrained" : "items no longer constrained");
+        }
+
+        compareConstraints(path, old, now);
+    }
+
+    private void compareProperties(String path, SchemaNode old, SchemaNode now) {
+        Map<String, SchemaNode> oldProperties = properties(old);
+        Map<String, SchemaNode> newProperties = properties(now);
+        Set<String> oldRequired = required(old);
+        Set<String> newRequired = required(now);
+
+        for (Map.Entry<String, SchemaNode> entry : oldProperties.entrySet()) {
+            String name = entry.getKey();
+            String propertyPath = path + "." + name;
+            SchemaNode property = newProperties.get(name);
+            if (property == null) {
+                add(propertyPath, SchemaChange.Kind.PROPERTY_REMOVED, "property removed");
+                continue;
+            }
+
+            if (oldRequired.contains(name) && !newRequired.contains(name)) {
+                add(propertyPath, SchemaChange.Kind.NO_LONGER_REQUIRED, "no longer required");
+            } else if (!oldRequired.contains(name) && newRequired.contains(name)) {
+                add(propertyPath, SchemaChange.Kind.BECAME_REQUIRED, "became required");
+            }
+            compareNode(propertyPath, entry.getValue(), property);
+        }
+
+        for (Map.Entry<String, SchemaNode> entry : newProperties.entrySet()) {
+            String name = entry.getKey();
+            if (oldProperties.containsKey(name)) continue;
+
+            if (newRequired.contains(name)) {
+                add(path + "." + name, SchemaChange.Kind.REQUIRED_PROPERTY_ADDED, "required property added: " + describe(entry.getValue()));
+            } else {
+                add(path + "." + name, SchemaChange.Kind.PROPERTY_ADDED, "property added: " + describe(entry.getValue()));
+            }
+        }
+    }
+
+    private void compareConstraints(String path, SchemaNode old, SchemaNode now) {
+        // 长度: 下限变大、上限变小为收紧
+        compareBound(path, "minLength", toDouble(old.getMinLength()), false, toDouble(now.getMinLength()), false, true);
+        compareBound(path, "maxLength", toDouble(old.getMaxLength()), false, toDouble(now.getMaxLength()), false, false);
+        compareBound(path, "minimum", toDouble(old.getMinimum()), Boolean.TRUE.equals(old.getExclusiveMinimum()),
+                toDouble(now.getMinimum()), Boolean.TRUE.equals(now.getExclusiveMinimum()), true);
+        compareBound(path, "maximum", toDouble(old.getMaximum()), Boolean.TRUE.equals(old.getExclusiveMaximum()),
+                toDouble(now.getMaximum()), Boolean.TRUE.equals(now.getExclusiveMaximum()), false);
+
+        // 正则无法判断包含关系, 新增或修改都视为收紧
+        if (!Objects.equals(old.getPattern(), now.getPattern())) {
+            if (now.getPattern() == null) {
+                add(path, SchemaChange.Kind.CONSTRAINT_LOOSENED, "pattern removed");
+            } else {
+                add(path, SchemaChange.Kind.CONSTRAINT_TIGHTENED,
+                        old.getPattern() == null ? "pattern added: " + now.getPattern() : "pattern changed: " + old.getPattern() + " -> " + now.getPattern());
+            }
+        }
+
+        // format 改变说明取值的格式变了, 与 pattern 同样处理
+        if (!Objects.equals(old.getFormat(), now.getFormat())) {
+            if (now.getFormat() == null) {
+                add(path, SchemaChange.Kind.CONSTRAINT_LOOSENED, "format removed");
+            } else {
+                add(path, SchemaChange.Kind.CONSTRAINT_TIGHTENED,
+                        old.getFormat() == null ? "format added: " + now.getFormat() : "format changed: " + old.getFormat() + " -> " + now.getFormat());
+            }
+        }
+
+        if (!Objects.equals(old.getEnumValues(), now.getEnumValues())) {
+            if (now.getEnumValues() == null) {
+                add(path, SchemaChange.Kind.CONSTRAINT_LOOSENED, "enum removed");
+            } else if (old.getEnumValues() == null) {
+                add(path, SchemaChange.Kind.CONSTRAINT_TIGHTENED, "enum added: " + now.getEnumValues());
+            } else {
+                Set<String> removed = new LinkedHashSet<>(old.getEnumValues());
+                removed.removeAll(now.getEnumValues());
+                Set<String> added = new LinkedHashSet<>(now.getEnumValues());
+                added.removeAll(old.getEnumValues());
+                if (!removed.isEmpty()) add(path, SchemaChange.Kind.CONSTRAINT_TIGHTENED, "enum values removed: " + removed);
+                if (!added.isEmpty()) add(path, SchemaChange.Kind.CONSTRAINT_LOOSENED, "enum values added: " + added);
+            }
+        }
+    }
+
+    // lower 为 true 时是下限, 值变大为收紧; 相同时由不含变为不等为收紧
+    private void compareBound(String path, String name, Double old, boolean oldExclusive, Double now, boolean newExclusive, boolean lower) {
+        if (old == null && now == null) return;
+        if (old == null) {
+            add(path, SchemaChange.Kind.CONSTRAINT_TIGHTENED, name + " added: " + bound(now, newExclusive));
+            return;
+        }
+        if (now == null) {
+            add(path, SchemaChange.Kind.CONSTRAINT_LOOSENED, name + " removed");
+            return;
+        }
+
+        int order = Double.compare(now, old);
+        if (order == 0) order = Boolean.compare(newExclusive, oldExclusive);
+        else if (!lower) order = -order;
+        if (order == 0) return;
+
+        add(path, order > 0 ? SchemaChange.Kind.CONSTRAINT_TIGHTENED : SchemaChange.Kind.CONSTRAINT_LOOSENED,
+                name + " " + bound(old, oldExclusive) + " -> " + bound(now, newExclusive));
+    }
+
+    private void add(String path, SchemaChange.Kind kind, String message) {
+        add(className, path, kind, message);
+    }
+
+    private void add(String className, String path, SchemaChange.Kind kind, String message) {
+        changes.add(new SchemaChange(className, path, kind, message));
+    }
+
+    private static Map<String, SchemaNode> properties(SchemaNode node) {
+        Map<String, SchemaNode> properties = new LinkedHashMap<>();
+        for (int i = 0; i < node.getPropertyCount(); i++) {
+            properties.put(node.getPropertyName(i), node.getProperty(i));
+        }
+        return properties;
+    }
+
+    private static Set<String> required(SchemaNode node) {
+        return node.getRequired() == null ? Collections.emptySet() : new HashSet<>(node.getRequired());
+    }
+
+    // 类型的简短描述, 如 string、array、Order
+    private static String describe(SchemaNode node) {
+        if (node.getRef() != null) {
+            String name = SchemaBaseline.refName(node.getRef());
+            return name == null ? node.getRef() : name;
+        }
+        return node.getType() == null ? "any" : node.getType();
+    }
+
+    private static Double toDouble(Number number) {
+        return number == null ? null : number.doubleValue();
+    }
+
+    private static String bound(double value, boolean exclusive) {
+        String text = value == Math.rint(value) && !Double.isInfinite(value) ? String.valueOf((long) value) : String.valueOf(value);
+        return exclusive ? "(exclusive) " + text : text;
+    }
+}
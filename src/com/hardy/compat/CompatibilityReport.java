@@ -0,0 +1,44 @@
+package com.hardy.compat;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 基线与当前 schema 的比较结果
+ **/
+public class CompatibilityReport {
+
+    private final int comparedClasses; // 两边都有的类
+
+    private final int unchangedClasses; // 其中指纹相同、未逐项比较的类
+
+    private final List<SchemaChange> changes; // 按类名排序, 同一类内按属性顺序
+
+    CompatibilityReport(int comparedClasses, int unchangedClasses, List<SchemaChange> changes) {
+        this.comparedClasses = comparedClasses;
+        this.unchangedClasses = unchangedClasses;
+        this.changes = Collections.unmodifiableList(changes);
+    }
+
+    public int getComparedClasses() {
+        return comparedClasses;
+    }
+
+    public int getUnchangedClasses() {
+        return unchangedClasses;
+    }
+
+    public List<SchemaChange> getChanges() {
+        return changes;
+    }
+
+    public long getBreakingCount() {
+        return changes.stream().filter(SchemaChange::isBreaking).count();
+    }
+
+    public boolean hasBreaking() {
+        return getBreakingCount() > 0;
+    }
+}
@@ -0,0 +1,86 @@
+package com.hardy.compat;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 基线与当前 schema 之间的一处差异, 从两个方向判断兼容, 任一方向不兼容即为破坏兼容:
+ * 旧数据: 按基线合法的数据(旧版本调用方的请求、已存储的数据)按当前 schema 可能不合法
+ * 旧读取方: 按当前 schema 生成的数据, 按基线读取的一方(旧版本的客户端)可能无法解析或缺少数据
+ * schema 不限制额外属性, 多出的属性两个方向都不影响
+ **/
+public class SchemaChange {
+
+    public enum Kind {
+        CLASS_ADDED(false, false),
+        CLASS_REMOVED(true, true),
+        PROPERTY_ADDED(false, false),
+        PROPERTY_REMOVED(false, true),
+        REQUIRED_PROPERTY_ADDED(true, false),
+        BECAME_REQUIRED(true, false),
+        NO_LONGER_REQUIRED(false, true),
+        TYPE_CHANGED(true, true),
+        TYPE_WIDENED(false, true), // 如 integer -> number, 旧读取方可能收到小数
+        CONSTRAINT_TIGHTENED(true, false),
+        CONSTRAINT_LOOSENED(false, true); // 如范围放宽、新增枚举值, 旧读取方可能收到超出原约束的值
+
+        public final boolean breaksOldData;
+
+        public final boolean breaksOldReaders;
+
+        public final boolean breaking;
+
+        Kind(boolean breaksOldData, boolean breaksOldReaders) {
+            this.breaksOldData = breaksOldData;
+            this.breaksOldReaders = breaksOldReaders;
+            this.breaking = breaksOldData || breaksOldReaders;
+        }
+    }
+
+    private final String className; // 所在的类, definitions 中的名字
+
+    private final String path; // 类中的位置, 如 $.items[].name
+
+    private final Kind kind;
+
+    private final String message;
+
+    public SchemaChange(String className, String path, Kind kind, String message) {
+        this.className = className;
+        this.path = path;
+        this.kind = kind;
+        this.message = message;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public boolean isBreaking() {
+        return kind.breaking;
+    }
+
+    @Override
+    public String toString() {
+        return (kind.breaking ? "BREAKING " : "") + className + " " + path + ": " + message + impact();
+    }
+
+    // 破坏兼容的方向
+    private String impact() {
+        if (kind.breaksOldData && kind.breaksOldReaders) return " (old data and old readers)";
+        if (kind.breaksOldData) return " (old data)";
+        if (kind.breaksOldReaders) return " (old readers)";
+        return "";
+    }
+}
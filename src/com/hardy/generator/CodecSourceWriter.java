@@ -0,0 +1,923 @@
+package com.hardy.generator;
+
+import com.hardy.model.*;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 由类结构生成该类的 json 编解码器源码(XxxJsonCodec), 基于 Gson 的 JsonWriter / JsonReader 流式读写,
+ * 运行时不使用反射, 不经过中间的 Map / JsonElement; 字段名与 toJson 一致
+ * 每个类、集合、map、数组、枚举生成一对 write / read 方法, 读取时按字段名 switch, 未知字段跳过
+ * 字段优先通过公开的 getter / setter 访问(boolean 为 isXxx), 没有时直接访问可见的字段(final 字段只写出不读取);
+ * 编解码器与根类在同一个包中, 同一个包中的类的非私有字段均可访问; 读取时通过可访问的无参构造函数创建对象, 没有时 read 方法抛出异常
+ * Optional 与 toJson 一致按内容读写, 空的 Optional 不写出, null 读为空的 Optional
+ * 无法直接读写的字段(如 Thread、Class、用户映射的类型)、无法访问的字段及无法创建的类在源码中以注释列出;
+ * 有字段但没有一个可以读写的类(如只有 private 字段且没有 getter / setter)生成的编解码器没有意义, 抛出 IllegalArgumentException
+ **/
+public class CodecSourceWriter {
+
+    private static final String INDENT = "    ";
+
+    private static final String OBJECT = "java.lang.Object";
+
+    private static final String OPTIONAL = "java.util.Optional";
+
+    // 常用类型名 -> 未记录声明类型时的类全名
+    private static final Map<String, String> normalJavaTypes = new HashMap<>();
+
+    // 声明的集合类型 -> {读取时创建的类型, 方法名前缀}
+    private static final Map<String, String[]> collections = new HashMap<>();
+
+    private static final Map<String, String[]> maps = new HashMap<>();
+
+    // 类全名 -> 读写方式
+    private static final Map<String, Scalar> scalars = new HashMap<>();
+
+    static {
+        for (String name : new String[]{"Boolean", "Byte", "Short", "Integer", "Long", "Float", "Double", "String"}) {
+            normalJavaTypes.put(name, "java.lang." + name);
+        }
+        normalJavaTypes.put("BigDecimal", "java.math.BigDecimal");
+        normalJavaTypes.put("BigInteger", "java.math.BigInteger");
+        normalJavaTypes.put("Date", "java.util.Date");
+        normalJavaTypes.put("LocalDate", "java.time.LocalDate");
+        normalJavaTypes.put("UUID", "java.util.UUID");
+        normalJavaTypes.put("URI", "java.net.URI");
+        normalJavaTypes.put("Duration", "java.time.Duration");
+
+        for (String name : new String[]{"java.lang.Iterable", "java.util.Collection", "java.util.List", "java.util.ArrayList"})
+            collections.put(name, new String[]{"java.util.ArrayList", "List"});
+        collections.put("java.util.LinkedList", new String[]{"java.util.LinkedList", "LinkedList"});
+        for (String name : new String[]{"java.util.Queue", "java.util.Deque"})
+            collections.put(name, new String[]{"java.util.LinkedList", "LinkedList"});
+        collections.put("java.util.ArrayDeque", new String[]{"java.util.ArrayDeque", "ArrayDeque"});
+        for (String name : new String[]{"java.util.Set", "java.util.HashSet", "java.util.LinkedHashSet"})
+            collections.put(name, new String[]{"java.util.LinkedHashSet", "Set"});
+        for (String name : new String[]{"java.util.SortedSet", "java.util.NavigableSet", "java.util.TreeSet"})
+            collections.put(name, new String[]{"java.util.TreeSet", "SortedSet"});
+
+        for (String name : new String[]{"java.util.Map", "java.util.HashMap", "java.util.LinkedHashMap"})
+            maps.put(name, new String[]{"java.util.LinkedHashMap", "Map"});
+        for (String name : new String[]{"java.util.SortedMap", "java.util.NavigableMap", "java.util.TreeMap"})
+            maps.put(name, new String[]{"java.util.TreeMap", "SortedMap"});
+        for (String name : new String[]{"java.util.concurrent.ConcurrentMap", "java.util.concurrent.ConcurrentHashMap"})
+            maps.put(name, new String[]{"java.util.concurrent.ConcurrentHashMap", "ConcurrentMap"});
+
+        // JsonWriter.value 可直接写出(含 null)的类型
+        scalars.put("java.lang.String", Scalar.direct("in.nextString()", "%s"));
+        scalars.put("java.lang.Boolean", Scalar.direct("in.nextBoolean()", "Boolean.valueOf(%s)"));
+        scalars.put("java.lang.Byte", Scalar.direct("(byte) in.nextInt()", "Byte.valueOf(%s)"));
+        scalars.put("java.lang.Short", Scalar.direct("(short) in.nextInt()", "Short.valueOf(%s)"));
+        scalars.put("java.lang.Integer", Scalar.direct("in.nextInt()", "Integer.valueOf(%s)"));
+        scalars.put("java.lang.Long", Scalar.direct("in.nextLong()", "Long.valueOf(%s)"));
+        scalars.put("java.lang.Float", Scalar.direct("(float) in.nextDouble()", "Float.valueOf(%s)"));
+        scalars.put("java.lang.Double", Scalar.direct("in.nextDouble()", "Double.valueOf(%s)"));
+        scalars.put("java.lang.Number", Scalar.direct("in.nextDouble()", "Double.valueOf(%s)"));
+        scalars.put("java.math.BigDecimal", Scalar.direct("new java.math.BigDecimal(in.nextString())", "new java.math.BigDecimal(%s)"));
+        scalars.put("java.math.BigInteger", Scalar.direct("new java.math.BigInteger(in.nextString())", "new java.math.BigInteger(%s)"));
+
+        // 与 char 相同, 写为只有一个字符的字符串
+        scalars.put("java.lang.Character", Scalar.string("%s.toString()", "%s.charAt(0)"));
+
+        // 写出前需转换的数值与布尔值
+        scalars.put("java.util.concurrent.atomic.AtomicBoolean", new Scalar("%s.get()",
+                "new java.util.concurrent.atomic.AtomicBoolean(in.nextBoolean())", "new java.util.concurrent.atomic.AtomicBoolean(Boolean.parseBoolean(%s))"));
+        scalars.put("java.util.concurrent.atomic.AtomicInteger", new Scalar("%s.get()",
+                "new java.util.concurrent.atomic.AtomicInteger(in.nextInt())", "new java.util.concurrent.atomic.AtomicInteger(Integer.parseInt(%s))"));
+        scalars.put("java.util.concurrent.atomic.AtomicLong", new Scalar("%s.get()",
+                "new java.util.concurrent.atomic.AtomicLong(in.nextLong())", "new java.util.concurrent.atomic.AtomicLong(Long.parseLong(%s))"));
+        scalars.put("java.time.Year", new Scalar("%s.getValue()", "java.time.Year.of(in.nextInt())", "java.time.Year.parse(%s)"));
+
+        // 以字符串形式读写的类型, 时刻统一写为 ISO 8601(UTC), 读取时接受任意时区偏移
+        String instant = "java.time.OffsetDateTime.parse(%s).toInstant()";
+        scalars.put("java.util.Date", Scalar.string("java.time.Instant.ofEpochMilli(%s.getTime()).toString()",
+                "new java.util.Date(" + instant + ".toEpochMilli())"));
+        scalars.put("java.sql.Timestamp", Scalar.string("%s.toInstant().toString()", "java.sql.Timestamp.from(" + instant + ")"));
+        for (String name : new String[]{"java.util.Calendar", "java.util.GregorianCalendar"}) {
+            scalars.put(name, Scalar.string("%s.toInstant().toString()", "java.util.GregorianCalendar.from(java.time.ZonedDateTime.parse(%s))"));
+        }
+        scalars.put("java.time.Instant", Scalar.string("%s.toString()", instant));
+        scalars.put("java.time.ZonedDateTime", Scalar.string("%s.toOffsetDateTime().toString()", "java.time.ZonedDateTime.parse(%s)"));
+        for (String name : new String[]{"OffsetDateTime", "LocalDate", "LocalDateTime", "LocalTime", "OffsetTime", "YearMonth",
+                "MonthDay", "Duration", "Period"}) {
+            scalars.put("java.time." + name, Scalar.string("%s.toString()", "java.time." + name + ".parse(%s)"));
+        }
+        scalars.put("java.time.ZoneId", Scalar.string("%s.getId()", "java.time.ZoneId.of(%s)"));
+        scalars.put("java.time.ZoneOffset", Scalar.string("%s.getId()", "java.time.ZoneOffset.of(%s)"));
+        scalars.put("java.sql.Date", Scalar.string("%s.toString()", "java.sql.Date.valueOf(%s)"));
+        scalars.put("java.sql.Time", Scalar.string("%s.toString()", "java.sql.Time.valueOf(%s)"));
+        scalars.put("java.util.TimeZone", Scalar.string("%s.getID()", "java.util.TimeZone.getTimeZone(%s)"));
+        for (String name : new String[]{"DateTime", "Instant", "LocalDate", "LocalDateTime", "LocalTime", "Duration", "Period"}) {
+            scalars.put("org.joda.time." + name, Scalar.string("%s.toString()", "org.joda.time." + name + ".parse(%s)"));
+        }
+        scalars.put("org.joda.time.DateTimeZone", Scalar.string("%s.getID()", "org.joda.time.DateTimeZone.forID(%s)"));
+
+        scalars.put("java.util.UUID", Scalar.string("%s.toString()", "java.util.UUID.fromString(%s)"));
+        scalars.put("java.net.URI", Scalar.string("%s.toString()", "java.net.URI.create(%s)"));
+        scalars.put("java.net.URL", Scalar.string("%s.toString()", "new java.net.URL(%s)"));
+        scalars.put("java.util.Locale", Scalar.string("%s.toLanguageTag()", "java.util.Locale.forLanguageTag(%s)"));
+        scalars.put("java.util.Currency", Scalar.string("%s.getCurrencyCode()", "java.util.Currency.getInstance(%s)"));
+        scalars.put("java.util.regex.Pattern", Scalar.string("%s.pattern()", "java.util.regex.Pattern.compile(%s)"));
+        scalars.put("java.nio.charset.Charset", Scalar.string("%s.name()", "java.nio.charset.Charset.forName(%s)"));
+        scalars.put("java.io.File", Scalar.string("%s.getPath()", "new java.io.File(%s)"));
+        scalars.put("java.nio.file.Path", Scalar.string("%s.toString()", "java.nio.file.Paths.get(%s)"));
+        scalars.put("java.net.InetAddress", Scalar.string("%s.getHostAddress()", "java.net.InetAddress.getByName(%s)"));
+    }
+
+    private final ClassModelResolver resolver;
+
+    private final String packageName; // 编解码器所在的包
+
+    private final Map<String, String> packages = new HashMap<>(); // 类全名 -> 所在的包
+
+    private final Map<String, String> methodNames = new HashMap<>(); // 类型 -> 方法名后缀
+
+    private final Set<String> usedNames = new HashSet<>();
+
+    private final Deque<TypeRef> pending = new ArrayDeque<>(); // 待生成方法的类型
+
+    private final List<String> skipped = new ArrayList<>(); // 不生成或只生成一个方向的字段及无法创建的类, 如 Order.thread (java.lang.Thread)
+
+    private final List<String> inaccessible = new ArrayList<>(); // 有字段但没有一个可以读写的类
+
+    private final StringBuilder methods = new StringBuilder();
+
+    private boolean usesAny; // 是否用到 Object 的读写
+
+    private CodecSourceWriter(ClassModelResolver resolver, String packageName) {
+        this.resolver = resolver;
+        this.packageName = packageName;
+        usedNames.add("Any"); // writeAny / readAny
+    }
+
+    /**
+     * 编解码器的类名
+     */
+    public static String codecName(ClassModel root) {
+        return root.getName() + "JsonCodec";
+    }
+
+    /**
+     * 写出根类的编解码器源码, 返回不生成或只生成一个方向的字段及无法创建的类; 在IDE中需在读操作中调用
+     *
+     * @throws IllegalArgumentException 用到的类有字段但没有一个可以读写, 此时不写出
+     */
+    public static List<String> write(ClassModelResolver resolver, ClassModel root, Writer out) throws IOException {
+        String packageName = packageOf(resolver, root.getQualifiedName());
+        CodecSourceWriter writer = new CodecSourceWriter(resolver, packageName);
+        TypeRef rootType = TypeRef.clazz(root.getName(), root.getQualifiedName(), Collections.emptyList());
+        String rootName = writer.methodName(rootType);
+        for (TypeRef type = writer.pending.poll(); type != null; type = writer.pending.poll()) {
+            writer.writeMethods(type);
+        }
+        if (!writer.inaccessible.isEmpty()) {
+            throw new IllegalArgumentException("no field of " + String.join(", ", writer.inaccessible)
+                    + " can be read or written without reflection; add public getters / setters or make the fields non-private");
+        }
+
+        String codecName = codecName(root);
+        String rootClass = root.getQualifiedName();
+
+        StringBuilder sb = new StringBuilder();
+        if (!packageName.isEmpty()) sb.append("package ").append(packageName).append(";\n\n");
+        sb.append("import com.google.gson.stream.JsonReader;\n")
+                .append("import com.google.gson.stream.JsonToken;\n")
+                .append("import com.google.gson.stream.JsonWriter;\n\n")
+                .append("import java.io.IOException;\n")
+                .append("import java.io.StringReader;\n")
+                .append("import java.io.StringWriter;\n")
+                .append("import java.io.UncheckedIOException;\n\n");
+
+        sb.append("/**\n")
+                .append(" * JSON codec of {@link ").append(rootClass).append("}, generated by JsonTool.\n")
+                .append(" * Reads and writes with Gson's streaming JsonReader / JsonWriter, without reflection.\n")
+                .append(" * Fields are accessed through their public getters and setters, or directly when accessible;\n")
+                .append(" * unknown fields are skipped when reading.\n");
+        if (!writer.skipped.isEmpty()) {
+            sb.append(" * <p>\n * Not written or not read:\n");
+            for (String field : writer.skipped) {
+                sb.append(" * ").append(field).append('\n');
+            }
+        }
+        sb.append(" */\n");
+        // 泛型类按原始类型读写
+        if (!root.getTypeParameters().isEmpty()) sb.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+        sb.append("public final class ").append(codecName).append(" {\n\n")
+                .append(INDENT).append("private ").append(codecName).append("() {\n")
+                .append(INDENT).append("}\n\n");
+
+        // 对外的入口
+        sb.append(INDENT).append("public static String toJson(").append(rootClass).append(" value) {\n")
+                .append(INDENT).append(INDENT).append("StringWriter out = new StringWriter();\n")
+                .append(INDENT).append(INDENT).append("JsonWriter writer = new JsonWriter(out);\n")
+                .append(INDENT).append(INDENT).append("writer.setSerializeNulls(false); // same as Gson's default: omit null fields\n")
+                .append(INDENT).append(INDENT).append("try {\n")
+                .append(INDENT).append(INDENT).append(INDENT).append("write(writer, value);\n")
+                .append(INDENT).append(INDENT).append("} catch (IOException e) {\n")
+                .append(INDENT).append(INDENT).append(INDENT).append("throw new UncheckedIOException(e);\n")
+                .append(INDENT).append(INDENT).append("}\n")
+                .append(INDENT).append(INDENT).append("return out.toString();\n")
+                .append(INDENT).append("}\n\n");
+        sb.append(INDENT).append("public static ").append(rootClass).append(" fromJson(String json) throws IOException {\n")
+                .append(INDENT).append(INDENT).append("return read(new JsonReader(new StringReader(json)));\n")
+                .append(INDENT).append("}\n\n");
+        sb.append(INDENT).append("public static void write(JsonWriter out, ").append(rootClass).append(" value) throws IOException {\n")
+                .append(INDENT).append(INDENT).append("write").append(rootName).append("(out, value);\n")
+                .append(INDENT).append(INDENT).append("out.flush();\n")
+                .append(INDENT).append("}\n\n");
+        sb.append(INDENT).append("public static ").append(rootClass).append(" read(JsonReader in) throws IOException {\n")
+                .append(INDENT).append(INDENT).append("return read").append(rootName).append("(in);\n")
+                .append(INDENT).append("}\n");
+
+        sb.append(writer.methods);
+        writer.writeHelpers(sb);
+        sb.append("}\n");
+
+        out.write(sb.toString());
+        out.flush();
+        return writer.skipped;
+    }
+
+    // 类所在的包: 逐级去掉外层类; 特化后的全名去掉泛型参数
+    private static String packageOf(ClassModelResolver resolver, String qualifiedName) {
+        String name = qualifiedName.indexOf('<') > 0 ? qualifiedName.substring(0, qualifiedName.indexOf('<')) : qualifiedName;
+        int dot;
+        while ((dot = name.lastIndexOf('.')) > 0 && resolver.resolve(name.substring(0, dot)) != null) {
+            name = name.substring(0, dot);
+        }
+        return dot < 0 ? "" : name.substring(0, dot);
+    }
+
+    // 类型对应的方法名后缀, 首次使用时登记待生成
+    private String methodName(TypeRef type) {
+        String key = methodKey(type);
+        String name = methodNames.get(key);
+        if (name != null) return name;
+
+        String base = displayName(type);
+        name = base;
+        for (int i = 2; !usedNames.add(name); i++) name = base + i;
+        methodNames.put(key, name);
+        pending.add(type);
+        return name;
+    }
+
+    // 生成的方法相同的类型使用同一个 key: 集合按读取时创建的类型区分
+    private String methodKey(TypeRef type) {
+        if (optionalContent(type) != null) return javaType(type);
+        switch (type.getKind()) {
+            case LIST:
+            case MAP:
+                return readType(type);
+            default:
+                return javaType(type);
+        }
+    }
+
+    // 可读的方法名, 如 Order / ListOfOrder / MapOfStringAndLong / IntArray
+    private String displayName(TypeRef type) {
+        TypeRef content = optionalContent(type);
+        if (content != null) return "OptionalOf" + displayName(content);
+        switch (type.getKind()) {
+            case PRIMITIVE:
+                return Character.toUpperCase(type.getName().charAt(0)) + type.getName().substring(1);
+            case ARRAY:
+                return displayName(type.getArgument(0)) + "Array";
+            case LIST:
+                return collection(type)[1] + "Of" + displayName(element(type));
+            case MAP:
+                return maps.get(rawJavaType(type))[1] + "Of" + displayName(mapKey(type)) + "And" + displayName(mapValue(type));
+            default: {
+                String raw = rawJavaType(type);
+                StringBuilder sb = new StringBuilder(raw.substring(raw.lastIndexOf('.') + 1));
+                for (int i = 0; i < type.getArguments().size(); i++) {
+                    sb.append(i == 0 ? "Of" : "And").append(displayName(type.getArgument(i)));
+                }
+                return sb.toString();
+            }
+        }
+    }
+
+    // 生成一个类型的 write / read 方法
+    private void writeMethods(TypeRef type) {
+        if (optionalContent(type) != null) {
+            writeOptionalMethods(type);
+            return;
+        }
+        switch (type.getKind()) {
+            case CLASS:
+                writeClassMethods(type);
+                break;
+            case ENUM:
+                writeEnumMethods(type);
+                break;
+            case LIST:
+                writeCollectionMethods(type);
+                break;
+            case MAP:
+                writeMapMethods(type);
+                break;
+            case ARRAY:
+                writeArrayMethods(type);
+                break;
+            default:
+                writeScalarMethods(type);
+        }
+    }
+
+    private void writeClassMethods(TypeRef type) {
+        String name = methodNames.get(methodKey(type));
+        String javaType = javaType(type);
+        ClassModel model = resolver.resolve(type);
+
+        // 与 ClassModelResolver.fields 相同的合并规则, 同时记录字段所在的类, 用于判断能否直接访问
+        Map<String, FieldModel> fields = new LinkedHashMap<>();
+        Map<String, String> owners = new HashMap<>();
+        for (ClassModel c : resolver.hierarchy(model)) {
+            for (FieldModel field : c.getFields()) {
+                if (field.isStatic()) continue;
+                fields.put(field.getName(), field);
+                owners.put(field.getName(), c.getQualifiedName());
+            }
+        }
+
+        // 先确定每个字段的取值与赋值方式, 再生成读写
+        Map<FieldModel, String> getters = new LinkedHashMap<>(); // 字段 -> 取值表达式
+        Map<FieldModel, String> setters = new LinkedHashMap<>(); // 字段 -> 赋值语句, %s 为读取的值
+        for (FieldModel field : fields.values()) {
+            String label = model.getName() + "." + field.getName();
+            if (!supported(field.getType())) {
+                skipped.add(label + " (" + javaType(field.getType()) + ")");
+                continue;
+            }
+
+            boolean accessible = visible(field.getVisibility(), owners.get(field.getName()));
+            String getter = field.getGetter() != null ? "value." + field.getGetter() + "()"
+                    : accessible ? "value." + field.getName() : null;
+            String setter = field.getSetter() != null ? "value." + field.getSetter() + "(%s);"
+                    : accessible && !field.isFinal() ? "value." + field.getName() + " = %s;" : null;
+
+            if (getter == null && setter == null) skipped.add(label + " (no getter, setter or accessible field)");
+            else if (getter == null) skipped.add(label + " (no getter or accessible field, not written)");
+            else if (setter == null) skipped.add(label + " (no setter or writable field, not read)");
+            if (getter != null) getters.put(field, getter);
+            if (setter != null) setters.put(field, setter);
+        }
+        if (!fields.isEmpty() && getters.isEmpty() && setters.isEmpty()) inaccessible.add(model.getName());
+
+        StringBuilder w = begin("void", "write" + name, "JsonWriter out, " + javaType + " value");
+        writeNullCheck(w);
+        line(w, 2, "out.beginObject();");
+        for (Map.Entry<FieldModel, String> entry : getters.entrySet()) {
+            FieldModel field = entry.getKey();
+            String write = inlineWrite(field.getType(), entry.getValue());
+            if (write != null) {
+                line(w, 2, "out.name(\"" + field.getName() + "\")." + write + ";");
+            } else {
+                line(w, 2, "out.name(\"" + field.getName() + "\");");
+                line(w, 2, writeStatement(field.getType(), entry.getValue()));
+            }
+        }
+        line(w, 2, "out.endObject();");
+        end(w);
+
+        StringBuilder r = begin(javaType, "read" + name, "JsonReader in");
+        // 无法创建对象时只能写出
+        if (!visible(model.getNoArgConstructor(), model.getQualifiedName())) {
+            skipped.add(model.getName() + " (no accessible no-arg constructor, not read)");
+            line(r, 2, "throw new UnsupportedOperationException(\"" + model.getName() + " has no accessible no-arg constructor\");");
+            end(r);
+            return;
+        }
+        line(r, 2, "if (isNull(in)) return null;");
+        line(r, 2, javaType + " value = new " + javaType + "();");
+        line(r, 2, "in.beginObject();");
+        line(r, 2, "while (in.hasNext()) {");
+        line(r, 3, "switch (in.nextName()) {");
+        for (Map.Entry<FieldModel, String> entry : setters.entrySet()) {
+            FieldModel field = entry.getKey();
+            TypeRef fieldType = field.getType();
+            line(r, 4, "case \"" + field.getName() + "\":");
+            if (fieldType.getKind() == TypeKind.PRIMITIVE) {
+                // json 中为 null 时保留默认值
+                line(r, 5, "if (!isNull(in)) " + entry.getValue().replace("%s", readPrimitive(fieldType.getName())));
+            } else {
+                line(r, 5, entry.getValue().replace("%s", readExpression(fieldType)));
+            }
+            line(r, 5, "break;");
+        }
+        line(r, 4, "default:");
+        line(r, 5, "in.skipValue();");
+        line(r, 3, "}");
+        line(r, 2, "}");
+        line(r, 2, "in.endObject();");
+        line(r, 2, "return value;");
+        end(r);
+    }
+
+    // 编解码器中能否直接访问类 owner 中该可见性的成员; 同一个包中非私有的均可访问
+    private boolean visible(Visibility visibility, String owner) {
+        if (visibility == null || visibility == Visibility.PRIVATE) return false;
+        if (visibility == Visibility.PUBLIC) return true;
+        return packageName.equals(packages.computeIfAbsent(owner, name -> packageOf(resolver, name)));
+    }
+
+    private void writeEnumMethods(TypeRef type) {
+        String name = methodNames.get(methodKey(type));
+        String javaType = javaType(type);
+        ClassModel model = resolver.resolve(type.getQualifiedName());
+
+        StringBuilder w = begin("void", "write" + name, "JsonWriter out, " + javaType + " value");
+        line(w, 2, "out.value(value == null ? null : value.name());");
+        end(w);
+
+        StringBuilder r = begin(javaType, "read" + name, "JsonReader in");
+        line(r, 2, "return isNull(in) ? null : parse" + name + "(in.nextString());");
+        end(r);
+
+        // 按常量名 switch, 不使用 valueOf; 未知的常量为 null
+        StringBuilder p = begin(javaType, "parse" + name, "String name");
+        line(p, 2, "switch (name) {");
+        if (model != null) {
+            for (String constant : model.getEnumConstants()) {
+                line(p, 3, "case \"" + constant + "\":");
+                line(p, 4, "return " + javaType + "." + constant + ";");
+            }
+        }
+        line(p, 3, "default:");
+        line(p, 4, "return null;");
+        line(p, 2, "}");
+        end(p);
+    }
+
+    private void writeCollectionMethods(TypeRef type) {
+        String name = methodNames.get(methodKey(type));
+        TypeRef element = element(type);
+        String elementType = javaType(element);
+
+        StringBuilder w = begin("void", "write" + name, "JsonWriter out, Iterable<? extends " + elementType + "> value");
+        writeNullCheck(w);
+        line(w, 2, "out.beginArray();");
+        line(w, 2, "for (" + elementType + " element : value) {");
+        line(w, 3, writeStatement(element, "element"));
+        line(w, 2, "}");
+        line(w, 2, "out.endArray();");
+        end(w);
+
+        String readType = readType(type);
+        StringBuilder r = begin(readType, "read" + name, "JsonReader in");
+        line(r, 2, "if (isNull(in)) return null;");
+        line(r, 2, readType + " value = new " + collection(type)[0] + "<>();");
+        line(r, 2, "in.beginArray();");
+        line(r, 2, "while (in.hasNext()) {");
+        line(r, 3, "value.add(" + readExpression(element) + ");");
+        line(r, 2, "}");
+        line(r, 2, "in.endArray();");
+        line(r, 2, "return value;");
+        end(r);
+    }
+
+    private void writeMapMethods(TypeRef type) {
+        String name = methodNames.get(methodKey(type));
+        TypeRef key = mapKey(type);
+        TypeRef value = mapValue(type);
+        String entryType = "java.util.Map.Entry<? extends " + javaType(key) + ", ? extends " + javaType(value) + ">";
+
+        StringBuilder w = begin("void", "write" + name,
+                "JsonWriter out, java.util.Map<? extends " + javaType(key) + ", ? extends " + javaType(value) + "> value");
+        writeNullCheck(w);
+        line(w, 2, "out.beginObject();");
+        line(w, 2, "for (" + entryType + " entry : value.entrySet()) {");
+        line(w, 3, "out.name(" + keyToString(key, "entry.getKey()") + ");");
+        line(w, 3, writeStatement(value, "entry.getValue()"));
+        line(w, 2, "}");
+        line(w, 2, "out.endObject();");
+        end(w);
+
+        String readType = readType(type);
+        StringBuilder r = begin(readType, "read" + name, "JsonReader in");
+        line(r, 2, "if (isNull(in)) return null;");
+        line(r, 2, readType + " value = new " + maps.get(rawJavaType(type))[0] + "<>();");
+        line(r, 2, "in.beginObject();");
+        line(r, 2, "while (in.hasNext()) {");
+        line(r, 3, "value.put(" + keyFromString(key, "in.nextName()") + ", " + readExpression(value) + ");");
+        line(r, 2, "}");
+        line(r, 2, "in.endObject();");
+        line(r, 2, "return value;");
+        end(r);
+    }
+
+    private void writeArrayMethods(TypeRef type) {
+        String name = methodNames.get(methodKey(type));
+        TypeRef component = type.getArgument(0);
+        String componentType = javaType(component);
+        String arrayType = componentType + "[]";
+
+        StringBuilder w = begin("void", "write" + name, "JsonWriter out, " + arrayType + " value");
+        writeNullCheck(w);
+        line(w, 2, "out.beginArray();");
+        line(w, 2, "for (" + componentType + " element : value) {");
+        line(w, 3, writeStatement(component, "element"));
+        line(w, 2, "}");
+        line(w, 2, "out.endArray();");
+        end(w);
+
+        // 长度未知, 按倍数扩容后截断
+        String read = component.getKind() == TypeKind.PRIMITIVE ? readPrimitive(component.getName()) : readExpression(component);
+        String elementType = componentType;
+        String dimensions = "";
+        while (elementType.endsWith("[]")) {
+            elementType = elementType.substring(0, elementType.length() - 2);
+            dimensions += "[]";
+        }
+        StringBuilder r = begin(arrayType, "read" + name, "JsonReader in");
+        line(r, 2, "if (isNull(in)) return null;");
+        line(r, 2, arrayType + " value = new " + elementType + "[16]" + dimensions + ";");
+        line(r, 2, "int size = 0;");
+        line(r, 2, "in.beginArray();");
+        line(r, 2, "while (in.hasNext()) {");
+        line(r, 3, "if (size == value.length) value = java.util.Arrays.copyOf(value, size * 2);");
+        line(r, 3, "value[size++] = " + read + ";");
+        line(r, 2, "}");
+        line(r, 2, "in.endArray();");
+        line(r, 2, "return size == value.length ? value : java.util.Arrays.copyOf(value, size);");
+        end(r);
+    }
+
+    // 与 toJson 一致写为内容本身, 空的 Optional 写为 null(字段中不写出); null 读为空的 Optional
+    private void writeOptionalMethods(TypeRef type) {
+        String name = methodNames.get(methodKey(type));
+        TypeRef content = optionalContent(type);
+        String contentType = javaType(content);
+
+        StringBuilder w = begin("void", "write" + name, "JsonWriter out, " + OPTIONAL + "<? extends " + contentType + "> value");
+        line(w, 2, "if (value == null || !value.isPresent()) {");
+        line(w, 3, "out.nullValue();");
+        line(w, 3, "return;");
+        line(w, 2, "}");
+        line(w, 2, writeStatement(content, "value.get()"));
+        end(w);
+
+        StringBuilder r = begin(javaType(type), "read" + name, "JsonReader in");
+        line(r, 2, "return " + OPTIONAL + ".<" + contentType + ">ofNullable(" + readExpression(content) + ");");
+        end(r);
+    }
+
+    // 需转换的常用类型, 转换前判断 null
+    private void writeScalarMethods(TypeRef type) {
+        String name = methodNames.get(methodKey(type));
+        String javaType = javaType(type);
+        Scalar scalar = scalars.get(javaType);
+
+        StringBuilder w = begin("void", "write" + name, "JsonWriter out, " + javaType + " value");
+        line(w, 2, "out.value(value == null ? null : " + scalar.write.replace("%s", "value") + ");");
+        end(w);
+
+        StringBuilder r = begin(javaType, "read" + name, "JsonReader in");
+        line(r, 2, "return isNull(in) ? null : " + scalar.read + ";");
+        end(r);
+    }
+
+    // 公共方法: null 判断与 Object 的读写
+    private void writeHelpers(StringBuilder sb) {
+        sb.append('\n');
+        line(sb, 1, "private static boolean isNull(JsonReader in) throws IOException {");
+        line(sb, 2, "if (in.peek() != JsonToken.NULL) return false;");
+        line(sb, 2, "in.nextNull();");
+        line(sb, 2, "return true;");
+        line(sb, 1, "}");
+        if (!usesAny) return;
+
+        // 与 Gson 读写 Object 一致: 数字读为 Double, 对象读为 LinkedHashMap
+        sb.append('\n');
+        line(sb, 1, "private static void writeAny(JsonWriter out, Object value) throws IOException {");
+        line(sb, 2, "if (value == null) {");
+        line(sb, 3, "out.nullValue();");
+        line(sb, 2, "} else if (value instanceof String) {");
+        line(sb, 3, "out.value((String) value);");
+        line(sb, 2, "} else if (value instanceof Number) {");
+        line(sb, 3, "out.value((Number) value);");
+        line(sb, 2, "} else if (value instanceof Boolean) {");
+        line(sb, 3, "out.value((Boolean) value);");
+        line(sb, 2, "} else if (value instanceof Character) {");
+        line(sb, 3, "out.value(value.toString());");
+        line(sb, 2, "} else if (value instanceof Enum) {");
+        line(sb, 3, "out.value(((Enum<?>) value).name());");
+        line(sb, 2, "} else if (value instanceof java.util.Map) {");
+        line(sb, 3, "out.beginObject();");
+        line(sb, 3, "for (java.util.Map.Entry<?, ?> entry : ((java.util.Map<?, ?>) value).entrySet()) {");
+        line(sb, 4, "out.name(String.valueOf(entry.getKey()));");
+        line(sb, 4, "writeAny(out, entry.getValue());");
+        line(sb, 3, "}");
+        line(sb, 3, "out.endObject();");
+        line(sb, 2, "} else if (value instanceof Iterable) {");
+        line(sb, 3, "out.beginArray();");
+        line(sb, 3, "for (Object element : (Iterable<?>) value) {");
+        line(sb, 4, "writeAny(out, element);");
+        line(sb, 3, "}");
+        line(sb, 3, "out.endArray();");
+        line(sb, 2, "} else if (value instanceof Object[]) {");
+        line(sb, 3, "out.beginArray();");
+        line(sb, 3, "for (Object element : (Object[]) value) {");
+        line(sb, 4, "writeAny(out, element);");
+        line(sb, 3, "}");
+        line(sb, 3, "out.endArray();");
+        line(sb, 2, "} else {");
+        line(sb, 3, "throw new IllegalArgumentException(\"No JSON codec for \" + value.getClass().getName());");
+        line(sb, 2, "}");
+        line(sb, 1, "}");
+        sb.append('\n');
+        line(sb, 1, "private static Object readAny(JsonReader in) throws IOException {");
+        line(sb, 2, "switch (in.peek()) {");
+        line(sb, 3, "case BEGIN_ARRAY: {");
+        line(sb, 4, "java.util.List<Object> value = new java.util.ArrayList<>();");
+        line(sb, 4, "in.beginArray();");
+        line(sb, 4, "while (in.hasNext()) {");
+        line(sb, 5, "value.add(readAny(in));");
+        line(sb, 4, "}");
+        line(sb, 4, "in.endArray();");
+        line(sb, 4, "return value;");
+        line(sb, 3, "}");
+        line(sb, 3, "case BEGIN_OBJECT: {");
+        line(sb, 4, "java.util.Map<String, Object> value = new java.util.LinkedHashMap<>();");
+        line(sb, 4, "in.beginObject();");
+        line(sb, 4, "while (in.hasNext()) {");
+        line(sb, 5, "value.put(in.nextName(), readAny(in));");
+        line(sb, 4, "}");
+        line(sb, 4, "in.endObject();");
+        line(sb, 4, "return value;");
+        line(sb, 3, "}");
+        line(sb, 3, "case STRING:");
+        line(sb, 4, "return in.nextString();");
+        line(sb, 3, "case NUMBER:");
+        line(sb, 4, "return in.nextDouble();");
+        line(sb, 3, "case BOOLEAN:");
+        line(sb, 4, "return in.nextBoolean();");
+        line(sb, 3, "default:");
+        line(sb, 4, "in.nextNull();");
+        line(sb, 4, "return null;");
+        line(sb, 2, "}");
+        line(sb, 1, "}");
+    }
+
+    // 是否可以不经反射读写
+    private boolean supported(TypeRef type) {
+        TypeRef content = optionalContent(type);
+        if (content != null) return supported(content);
+
+        switch (type.getKind()) {
+            case PRIMITIVE:
+                return true;
+            case TYPE_VARIABLE:
+                // 映射为 Optional 的其他包装类型不能直接读写
+                return type.getJavaType() == null;
+            case OBJECT:
+                return OBJECT.equals(javaType(type));
+            case NORMAL:
+                return scalars.containsKey(javaType(type));
+            case ARRAY: {
+                // 不能创建泛型数组
+                TypeRef component = type.getArgument(0);
+                return type.getJavaType() == null && supported(component) && javaType(component).indexOf('<') < 0;
+            }
+            case LIST:
+                return collections.containsKey(rawJavaType(type)) && supported(element(type));
+            case MAP: {
+                if (!maps.containsKey(rawJavaType(type))) return false;
+                TypeRef key = mapKey(type);
+                boolean keySupported = key.getJavaType() == null && (key.getKind() == TypeKind.ENUM || key.getKind() == TypeKind.TYPE_VARIABLE)
+                        || (key.getKind() == TypeKind.OBJECT || key.getKind() == TypeKind.NORMAL) && optionalContent(key) == null && supported(key);
+                return keySupported && supported(mapValue(type));
+            }
+            case ENUM:
+                return type.getJavaType() == null || type.getJavaType().equals(type.getQualifiedName());
+            case CLASS:
+                return (type.getJavaType() == null || type.getJavaType().equals(type.getQualifiedName()))
+                        && resolver.resolve(type) != null;
+            default:
+                return false;
+        }
+    }
+
+    // 可以直接作为 JsonWriter 调用写出的类型, 返回如 value(value.getName()); 否则返回 null
+    private String inlineWrite(TypeRef type, String expression) {
+        if (optionalContent(type) != null) return null;
+        switch (type.getKind()) {
+            case PRIMITIVE:
+                switch (type.getName()) {
+                    case "char":
+                        return "value(String.valueOf(" + expression + "))";
+                    case "float":
+                        // 与 Gson 一致, 按 float 的十进制表示写出
+                        return "value(Float.valueOf(" + expression + "))";
+                    default:
+                        return "value(" + expression + ")";
+                }
+            case NORMAL: {
+                Scalar scalar = scalars.get(javaType(type));
+                return scalar.direct ? "value(" + expression + ")" : null;
+            }
+            default:
+                return null;
+        }
+    }
+
+    // 写出一个值的语句
+    private String writeStatement(TypeRef type, String expression) {
+        String write = inlineWrite(type, expression);
+        if (write != null) return "out." + write + ";";
+        if (optionalContent(type) == null && (type.getKind() == TypeKind.OBJECT || type.getKind() == TypeKind.TYPE_VARIABLE)) {
+            usesAny = true;
+            return "writeAny(out, " + expression + ");";
+        }
+        return "write" + methodName(type) + "(out, " + expression + ");";
+    }
+
+    // 读取一个非基本类型的值的表达式
+    private String readExpression(TypeRef type) {
+        if (optionalContent(type) != null) return "read" + methodName(type) + "(in)";
+        if (type.getKind() == TypeKind.NORMAL) {
+            Scalar scalar = scalars.get(javaType(type));
+            if (scalar.direct) return "isNull(in) ? null : " + scalar.read;
+        }
+        if (type.getKind() == TypeKind.OBJECT || type.getKind() == TypeKind.TYPE_VARIABLE) {
+            usesAny = true;
+            return "readAny(in)";
+        }
+        return "read" + methodName(type) + "(in)";
+    }
+
+    private static String readPrimitive(String name) {
+        switch (name) {
+            case "boolean":
+                return "in.nextBoolean()";
+            case "byte":
+                return "(byte) in.nextInt()";
+            case "short":
+                return "(short) in.nextInt()";
+            case "int":
+                return "in.nextInt()";
+            case "long":
+                return "in.nextLong()";
+            case "float":
+                return "(float) in.nextDouble()";
+            case "char":
+                return "in.nextString().charAt(0)";
+            default:
+                return "in.nextDouble()";
+        }
+    }
+
+    // map 的 key 写为字符串
+    private static String keyToString(TypeRef key, String expression) {
+        if (key.getKind() == TypeKind.ENUM) return expression + ".name()";
+
+        Scalar scalar = key.getKind() == TypeKind.NORMAL ? scalars.get(javaType(key)) : null;
+        if (scalar == null || scalar.direct) return "String.valueOf(" + expression + ")";
+        return "String.valueOf(" + scalar.write.replace("%s", expression) + ")";
+    }
+
+    // 由字符串还原 map 的 key
+    private String keyFromString(TypeRef key, String expression) {
+        if (key.getKind() == TypeKind.ENUM) return "parse" + methodName(key) + "(" + expression + ")";
+
+        Scalar scalar = key.getKind() == TypeKind.NORMAL ? scalars.get(javaType(key)) : null;
+        return scalar == null ? expression : scalar.parse.replace("%s", expression);
+    }
+
+    // 源码中的类型, 如 java.util.List<com.foo.Order>
+    private static String javaType(TypeRef type) {
+        TypeRef content = optionalContent(type);
+        if (content != null) return OPTIONAL + "<" + javaType(content) + ">";
+        switch (type.getKind()) {
+            case PRIMITIVE:
+                return type.getName();
+            case ARRAY:
+                return javaType(type.getArgument(0)) + "[]";
+            case LIST:
+            case MAP:
+            case CLASS: {
+                StringBuilder sb = new StringBuilder(rawJavaType(type));
+                if (!type.getArguments().isEmpty()) {
+                    sb.append('<');
+                    for (int i = 0; i < type.getArguments().size(); i++) {
+                        if (i > 0) sb.append(", ");
+                        sb.append(javaType(type.getArgument(i)));
+                    }
+                    sb.append('>');
+                }
+                return sb.toString();
+            }
+            default:
+                return rawJavaType(type);
+        }
+    }
+
+    private static String rawJavaType(TypeRef type) {
+        switch (type.getKind()) {
+            case CLASS:
+            case ENUM:
+                return type.getQualifiedName();
+            case NORMAL:
+                return type.getJavaType() != null ? type.getJavaType() : normalJavaTypes.getOrDefault(type.getName(), OBJECT);
+            case LIST:
+                return type.getJavaType() != null ? type.getJavaType() : "java.util.List";
+            case MAP:
+                return type.getJavaType() != null ? type.getJavaType() : "java.util.Map";
+            case OBJECT:
+                return type.getJavaType() != null ? type.getJavaType() : OBJECT;
+            default:
+                return OBJECT;
+        }
+    }
+
+    // Optional 的内容, 声明类型取自 Optional 的泛型参数(见 TypeRef.wrappedIn); 不是 Optional 时返回 null
+    private static TypeRef optionalContent(TypeRef type) {
+        String javaType = type.getJavaType();
+        if (OPTIONAL.equals(javaType)) return type.withJavaType(null);
+        if (javaType == null || !javaType.startsWith(OPTIONAL + "<")) return null;
+        return type.withJavaType(javaType.substring(OPTIONAL.length() + 1, javaType.length() - 1));
+    }
+
+    // 读取集合时创建的类型, 如 java.util.ArrayList<com.foo.Order>
+    private String readType(TypeRef type) {
+        if (type.getKind() == TypeKind.LIST) return collection(type)[0] + "<" + javaType(element(type)) + ">";
+        return maps.get(rawJavaType(type))[0] + "<" + javaType(mapKey(type)) + ", " + javaType(mapValue(type)) + ">";
+    }
+
+    private static String[] collection(TypeRef type) {
+        return collections.get(rawJavaType(type));
+    }
+
+    // 没有泛型参数时按 Object 处理, map 的 key 为 String
+    private static TypeRef element(TypeRef type) {
+        TypeRef element = type.getArgument(0);
+        return element == null ? TypeRef.object() : element;
+    }
+
+    private static TypeRef mapKey(TypeRef type) {
+        TypeRef key = type.getArgument(0);
+        return key == null ? TypeRef.normal("String") : key;
+    }
+
+    private static TypeRef mapValue(TypeRef type) {
+        TypeRef value = type.getArgument(1);
+        return value == null ? TypeRef.object() : value;
+    }
+
+    private StringBuilder begin(String returnType, String name, String parameters) {
+        methods.append('\n');
+        line(methods, 1, "private static " + returnType + " " + name + "(" + parameters + ") throws IOException {");
+        return methods;
+    }
+
+    private static void end(StringBuilder sb) {
+        line(sb, 1, "}");
+    }
+
+    private static void writeNullCheck(StringBuilder sb) {
+        line(sb, 2, "if (value == null) {");
+        line(sb, 3, "out.nullValue();");
+        line(sb, 3, "return;");
+        line(sb, 2, "}");
+    }
+
+    private static void line(StringBuilder sb, int depth, String code) {
+        for (int i = 0; i < depth; i++) sb.append(INDENT);
+        sb.append(code).append('\n');
+    }
+
+    // 常用类型的读写: write 为非 null 值写出前的转换, read 为读取表达式, parse 为由字符串(map 的 key)还原
+    private static class Scalar {
+        private final String write;
+
+        private final String read;
+
+        private final String parse;
+
+        private final boolean direct; // JsonWriter.value 可直接写出, 含 null
+
+        private Scalar(String write, String read, String parse) {
+            this(write, read, parse, false);
+        }
+
+        private Scalar(String write, String read, String parse, boolean direct) {
+            this.write = write;
+            this.read = read;
+            this.parse = parse;
+            this.direct = direct;
+        }
+
+        static Scalar direct(String read, String parse) {
+            return new Scalar("%s", read, parse, true);
+        }
+
+        static Scalar string(String write, String parse) {
+            return new Scalar(write, parse.replace("%s", "in.nextString()"), parse);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.hardy.generator;
+
+import com.hardy.model.AnnotationModel;
+import com.hardy.model.FieldModel;
+import com.hardy.model.Schema;
+import com.hardy.model.SchemaType;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 约束注解处理注册表, 以注解全名为key, 一次遍历字段上的所有注解
+ * 默认注册 javax.validation.constraints 与 jakarta.validation.constraints 中支持的注解, 也可注册其他包中的注解
+ * 组合注解在构建类结构时已展开为其上的约束注解, 见 PsiModelBuilder / ReflectModelBuilder
+ **/
+public class ConstraintRegistry {
+
+    private static final String[] PACKAGES = {"javax.validation.constraints.", "jakarta.validation.constraints."};
+
+    private static final Map<String, ConstraintHandler> handlers = new ConcurrentHashMap<>();
+
+    static {
+        registerAll("NotNull", (annotation, type, schema) -> type == SchemaType.STRING || type == SchemaType.INTEGER || type == SchemaType.NUMBER);
+        registerAll("NotBlank", (annotation, type, schema) -> {
+            if (type != SchemaType.STRING) return false;
+
+            if (schema.getMinLength() == null || schema.getMinLength() < 1) schema.setMinLength(1);
+            return true;
+        });
+        registerAll("Pattern", (annotation, type, schema) -> {
+            String regexp = annotation.getString("regexp");
+            if (type == SchemaType.STRING && regexp != null && !regexp.isEmpty()) schema.setPattern(regexp);
+            return false;
+        });
+        registerAll("Size", (annotation, type, schema) -> {
+            if (type != SchemaType.STRING) return false;
+
+            Long min = annotation.getLong("min");
+            Long max = annotation.getLong("max");
+            // 与 NotBlank 同时存在时保留更严格的下限, 与注解顺序无关
+            if (min != null && (schema.getMinLength() == null || min > schema.getMinLength())) schema.setMinLength(min.intValue());
+            if (max != null) schema.setMaxLength(max.intValue());
+            return false;
+        });
+        registerAll("Min", (annotation, type, schema) -> {
+            Long value = annotation.getLong("value");
+            if (value == null) return false;
+
+            if (type == SchemaType.INTEGER) schema.setMinimum(value.intValue());
+            else if (type == SchemaType.NUMBER) schema.setMinimum(value.doubleValue());
+            return false;
+        });
+        registerAll("Max", (annotation, type, schema) -> {
+            Long value = annotation.getLong("value");
+            if (value == null) return false;
+
+            if (type == SchemaType.INTEGER) schema.setMaximum(value.intValue());
+            else if (type == SchemaType.NUMBER) schema.setMaximum(value.doubleValue());
+            return false;
+        });
+        registerAll("DecimalMin", (annotation, type, schema) -> {
+            String value = annotation.getString("value");
+            if (type != SchemaType.NUMBER || value == null) return false;
+
+            schema.setMinimum(Double.valueOf(value));
+            if (Boolean.FALSE.equals(annotation.getBoolean("inclusive"))) schema.setExclusiveMinimum(true);
+            return false;
+        });
+        registerAll("DecimalMax", (annotation, type, schema) -> {
+            String value = annotation.getString("value");
+            if (type != SchemaType.NUMBER || value == null) return false;
+
+            schema.setMaximum(Double.valueOf(value));
+            if (Boolean.FALSE.equals(annotation.getBoolean("inclusive"))) schema.setExclusiveMaximum(true);
+            return false;
+        });
+        registerAll("Positive", (annotation, type, schema) -> {
+            if (isNumeric(type)) {
+                schema.setMinimum(0);
+                schema.setExclusiveMinimum(true);
+            }
+            return false;
+        });
+        registerAll("PositiveOrZero", (annotation, type, schema) -> {
+            if (isNumeric(type)) schema.setMinimum(0);
+            return false;
+        });
+        registerAll("Negative", (annotation, type, schema) -> {
+            if (isNumeric(type)) {
+                schema.setMaximum(0);
+                schema.setExclusiveMaximum(true);
+            }
+            return false;
+        });
+        registerAll("NegativeOrZero", (annotation, type, schema) -> {
+            if (isNumeric(type)) schema.setMaximum(0);
+            return false;
+        });
+    }
+
+    /**
+     * 注册或替换注解的处理, 构建类结构时将保留该注解; 应在生成前注册, 已缓存的类结构与组合注解不会重新展开
+     */
+    public static void register(String qualifiedName, ConstraintHandler handler) {
+        AnnotationModel.registerConstraint(qualifiedName);
+        handlers.put(qualifiedName, handler);
+    }
+
+    // javax 与 jakarta 中同名的注解
+    private static void registerAll(String simpleName, ConstraintHandler handler) {
+        for (String prefix : PACKAGES) {
+            register(prefix + simpleName, handler);
+        }
+    }
+
+    private static boolean isNumeric(SchemaType type) {
+        return type == SchemaType.INTEGER || type == SchemaType.NUMBER;
+    }
+
+    /**
+     * 将字段上的约束应用到 schema, 返回字段是否必需; 各类字段(含数组、对象与引用)的 schema 都经过这里
+     */
+    public static boolean apply(Schema schema, FieldModel field) {
+        List<AnnotationModel> annotations = field.getAnnotations();
+        if (annotations.isEmpty()) return false;
+
+        // 引用的类按对象处理, 与展开时一致
+        SchemaType type = schema.getRef() != null ? SchemaType.OBJECT : SchemaType.of(schema.getType());
+        if (type == null) return false;
+
+        boolean require = false;
+        for (AnnotationModel annotation : annotations) {
+            ConstraintHandler handler = handlers.get(annotation.getQualifiedName());
+            if (handler != null && handler.apply(annotation, type, schema)) require = true;
+        }
+        return require;
+    }
+
+    /**
+     * 单个约束注解的处理
+     */
+    public interface ConstraintHandler {
+
+        /**
+         * @param type schema 的类型, 约束按类型生效
+         * @return 字段是否必需
+         */
+        boolean apply(AnnotationModel annotation, SchemaType type, Schema schema);
+    }
+}
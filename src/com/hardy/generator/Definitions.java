@@ -0,0 +1,78 @@
+package com.hardy.generator;
+
+import com.hardy.model.ClassModel;
+import com.hardy.model.Schema;
+
+import java.util.*;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: schema 中 definitions 的登记, 类首次被引用时登记名字并排队, 根类展开后依次生成
+ **/
+class Definitions {
+
+    private final String rootName; // 为 null 时没有根类, 如 OpenAPI 的 components
+
+    private final String prefix;
+
+    private final boolean qualifiedNames; // 总是使用类全名, 名字不随其他类的增减变化
+
+    private final Map<String, String> names = new HashMap<>(); // 类全名(特化后带泛型参数) -> definitions 中的名字
+
+    private final Set<String> used = new HashSet<>();
+
+    private final Queue<ClassModel> pending = new ArrayDeque<>();
+
+    Definitions(String rootName) {
+        this(rootName, Schema.DEFINITIONS_PREFIX);
+    }
+
+    Definitions(String rootName, String prefix) {
+        this(rootName, prefix, false);
+    }
+
+    Definitions(String rootName, String prefix, boolean qualifiedNames) {
+        this.rootName = rootName;
+        this.prefix = prefix;
+        this.qualifiedNames = qualifiedNames;
+    }
+
+    /**
+     * 获取对类的引用, 泛型类按特化后的类区分
+     */
+    String ref(ClassModel model) {
+        // 引用根类
+        if (model.getQualifiedName().equals(rootName)) return "#";
+
+        String name = names.get(model.getQualifiedName());
+        if (name == null) {
+            name = define(model);
+            pending.add(model);
+        }
+        return prefix + name;
+    }
+
+    /**
+     * 下一个待生成的类, 没有时返回 null
+     */
+    ClassModel poll() {
+        return pending.poll();
+    }
+
+    boolean hasPending() {
+        return !pending.isEmpty();
+    }
+
+    String nameOf(ClassModel model) {
+        return names.get(model.getQualifiedName());
+    }
+
+    // 优先使用类名, 重名时使用类全名, 特化后的类全名中的 <>, 等替换为 _
+    private String define(ClassModel model) {
+        String name = qualifiedNames || used.contains(model.getName()) ? model.getQualifiedName().replaceAll("[^\\w.\\-]", "_") : model.getName();
+        names.put(model.getQualifiedName(), name);
+        used.add(name);
+        return name;
+    }
+}
@@ -0,0 +1,130 @@
+package com.hardy.generator;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+import com.hardy.metrics.GenerationMetrics;
+import com.hardy.model.*;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 由类结构生成 json 示例, 边遍历边写出, 每次生成使用一个新实例
+ **/
+public class JsonGenerator {
+
+    private static final Gson GSON = new Gson();
+
+    private final ClassModelResolver resolver;
+
+    private final Set<String> visiting = new HashSet<>(); // 正在展开的类
+
+    public JsonGenerator(ClassModelResolver resolver) {
+        this.resolver = resolver;
+    }
+
+    public void generate(ClassModel model, JsonWriter writer) throws IOException {
+        // 结果收集保证有序
+        classParser(model, writer);
+        writer.flush();
+    }
+
+    private void classParser(ClassModel model, JsonWriter writer) throws IOException {
+        // 记录正在展开的类, 用于检测循环引用
+        visiting.add(model.getQualifiedName());
+
+        // 父类字段在前
+        Collection<FieldModel> fields = resolver.fields(model, true);
+        GenerationMetrics.classVisited(fields.size());
+
+        writer.beginObject();
+        for (FieldModel field : fields) {
+            writer.name(field.getName());
+            getField(field.getType(), writer);
+        }
+        writer.endObject();
+
+        visiting.remove(model.getQualifiedName());
+    }
+
+    private void getField(TypeRef type, JsonWriter writer) throws IOException {
+        switch (type.getKind()) {
+            // 基本类型
+            case PRIMITIVE:
+                GSON.toJson(NormalTypeConst.getPrimitive(type.getName()), Object.class, writer);
+                break;
+            // 数组
+            case ARRAY:
+                writer.beginArray();
+                getField(type.getArgument(0), writer);
+                writer.endArray();
+                break;
+            // 列表
+            case LIST: {
+                writer.beginArray();
+                // 不存在泛型
+                TypeRef generic = type.getArgument(0);
+                if (generic == null) writer.beginObject().endObject();
+                else getField(generic, writer);
+                writer.endArray();
+                break;
+            }
+            // map
+            case MAP: {
+                writer.beginObject();
+                // 不存在泛型时为空对象
+                TypeRef genericKey = type.getArgument(0);
+                TypeRef genericVal = type.getArgument(1);
+                if (genericKey != null && genericVal != null) {
+                    writer.name(mapKey(genericKey));
+                    getField(genericVal, writer);
+                }
+                writer.endObject();
+                break;
+            }
+            // 其他类型
+            case NORMAL:
+                GSON.toJson(NormalTypeConst.get(type.getName()), Object.class, writer);
+                break;
+            // 枚举, 取第一个常量
+            case ENUM:
+                writer.value(enumConstant(type));
+                break;
+            // 其他的类
+            case CLASS: {
+                // 泛型类按泛型参数特化; 循环引用时不再展开
+                ClassModel model = resolver.resolve(type);
+                if (model == null || visiting.contains(model.getQualifiedName())) writer.beginObject().endObject();
+                else classParser(model, writer);
+                break;
+            }
+            // 如果是Object
+            default:
+                writer.beginObject().endObject();
+        }
+    }
+
+    // map 的 key, 基本类型取默认值, 枚举取第一个常量, 其他类型取类型名
+    private String mapKey(TypeRef type) {
+        switch (type.getKind()) {
+            case PRIMITIVE:
+                return String.valueOf(NormalTypeConst.getPrimitive(type.getName()));
+            case NORMAL:
+                return String.valueOf(NormalTypeConst.get(type.getName()));
+            case ENUM:
+                return enumConstant(type);
+            default:
+                return type.getName();
+        }
+    }
+
+    // 枚举的第一个常量, 无法解析或没有常量时为空字符串
+    private String enumConstant(TypeRef type) {
+        ClassModel model = resolver.resolve(type.getQualifiedName());
+        return model == null || model.getEnumConstants().isEmpty() ? "" : model.getEnumConstants().get(0);
+    }
+}
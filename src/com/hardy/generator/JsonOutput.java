@@ -0,0 +1,92 @@
+package com.hardy.generator;
+
+import com.google.gson.stream.JsonWriter;
+import com.hardy.metrics.GenerationMetrics;
+import com.hardy.metrics.GenerationMetrics.Phase;
+import com.hardy.model.ClassModel;
+import com.hardy.model.ClassModelResolver;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 输出目标, 生成器直接向 JsonWriter 写入, 不再构建中间对象
+ **/
+public class JsonOutput {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    public static final String SCHEMA_SUFFIX = ".schema.json";
+    public static final String JSON_SUFFIX = ".json";
+
+    /**
+     * 单个类生成的文件名: 类全名.schema.json / 类全名.json
+     */
+    public static String fileName(String qualifiedName, boolean schema) {
+        return qualifiedName + (schema ? SCHEMA_SUFFIX : JSON_SUFFIX);
+    }
+
+    /**
+     * 由文件名得到类全名, 不是生成的文件时返回 null
+     */
+    public static String classOf(String fileName) {
+        if (fileName.endsWith(SCHEMA_SUFFIX)) return fileName.substring(0, fileName.length() - SCHEMA_SUFFIX.length());
+        if (fileName.endsWith(JSON_SUFFIX)) return fileName.substring(0, fileName.length() - JSON_SUFFIX.length());
+        return null;
+    }
+
+    /**
+     * 生成类的 json 或 schema 并写出
+     */
+    public static void generate(ClassModelResolver resolver, ClassModel model, Writer out,
+                                boolean schema, boolean useDefinitions, boolean pretty) throws IOException {
+        long start = System.nanoTime();
+        JsonWriter writer = newWriter(out, pretty);
+        if (schema) new SchemaWriter(resolver, useDefinitions).generate(model, writer);
+        else new JsonGenerator(resolver).generate(model, writer);
+        GenerationMetrics.addTime(Phase.GENERATE, start);
+    }
+
+    /**
+     * 与 Gson 默认配置输出一致
+     */
+    public static JsonWriter newWriter(Writer out, boolean pretty) {
+        JsonWriter writer = new JsonWriter(out);
+        if (pretty) writer.setIndent("  ");
+        writer.setHtmlSafe(true);
+        return writer;
+    }
+
+    /**
+     * 带缓冲的文件写入, 文件已存在时覆盖
+     */
+    public static Writer newFileWriter(File file) throws IOException {
+        FileChannel channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        return new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), BUFFER_SIZE), BUFFER_SIZE);
+    }
+
+    /**
+     * 复制内容, 每个换行后追加缩进, 用于将单独生成的json嵌入到外层对象中
+     */
+    public static void copyIndented(Reader in, Writer out, String indent) throws IOException {
+        char[] buffer = new char[BUFFER_SIZE];
+        int n;
+        while ((n = in.read(buffer)) != -1) {
+            int start = 0;
+            for (int i = 0; i < n; i++) {
+                if (buffer[i] != '\n') continue;
+
+                out.write(buffer, start, i + 1 - start);
+                out.write(indent);
+                start = i + 1;
+            }
+            out.write(buffer, start, n - start);
+        }
+    }
+}
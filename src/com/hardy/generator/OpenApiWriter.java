@@ -0,0 +1,111 @@
+package com.hardy.generator;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+import com.hardy.model.*;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 由接口列表生成一份 OpenAPI 3 文档, 参数/请求体/返回值中的类统一放入 components/schemas
+ * 所有接口共享同一份 definitions, 每个类只展开一次; 类结构在本次生成内只解析一次
+ **/
+public class OpenApiWriter {
+
+    public static final String COMPONENTS_PREFIX = "#/components/schemas/";
+
+    private static final Gson GSON = new Gson();
+
+    private static final String JSON_MEDIA_TYPE = "application/json";
+
+    private final ScopedResolver resolver;
+
+    private final Definitions definitions = new Definitions(null, COMPONENTS_PREFIX);
+
+    private final SchemaGenerator generator;
+
+    public OpenApiWriter(ClassModelResolver resolver) {
+        this.resolver = new ScopedResolver(resolver);
+        this.generator = new SchemaGenerator(this.resolver, definitions);
+    }
+
+    public void write(List<Endpoint> endpoints, String title, JsonWriter writer) throws IOException {
+        // 同一路径的不同方法合并, 重复的接口保留第一个
+        KV paths = KV.create();
+        Set<String> operationIds = new HashSet<>();
+        for (Endpoint endpoint : endpoints) {
+            KV item = (KV) paths.computeIfAbsent(endpoint.getPath(), k -> KV.create());
+            if (item.containsKey(endpoint.getHttpMethod())) continue;
+
+            item.set(endpoint.getHttpMethod(), operation(endpoint, operationIds));
+        }
+
+        // 依次展开被引用的类, 展开过程中可能登记新的类
+        KV schemas = KV.create();
+        for (ClassModel model = definitions.poll(); model != null; model = definitions.poll()) {
+            schemas.set(definitions.nameOf(model), generator.classSchema(model));
+        }
+
+        KV document = KV.create()
+                .set("openapi", "3.0.3")
+                .set("info", KV.create().set("title", title).set("version", "1.0.0"))
+                .set("paths", paths);
+        if (!schemas.isEmpty()) document.set("components", KV.create().set("schemas", schemas));
+
+        GSON.toJson(document, KV.class, writer);
+        writer.flush();
+    }
+
+    /**
+     * 本次生成解析的类数
+     */
+    public int resolvedClasses() {
+        return resolver.size();
+    }
+
+    private KV operation(Endpoint endpoint, Set<String> operationIds) {
+        // operationId 需唯一, 重载的方法追加序号
+        String operationId = endpoint.getOperationId();
+        for (int i = 2; !operationIds.add(operationId); i++) {
+            operationId = endpoint.getOperationId() + "_" + i;
+        }
+
+        KV operation = KV.create();
+        operation.set("tags", new String[]{endpoint.getTag()});
+        if (!endpoint.getSummary().isEmpty()) operation.set("summary", endpoint.getSummary());
+        operation.set("operationId", operationId);
+
+        if (!endpoint.getParameters().isEmpty()) {
+            KV[] parameters = new KV[endpoint.getParameters().size()];
+            for (int i = 0; i < parameters.length; i++) {
+                Endpoint.Parameter parameter = endpoint.getParameters().get(i);
+                parameters[i] = KV.create()
+                        .set("name", parameter.getName())
+                        .set("in", parameter.getIn())
+                        .set("required", parameter.isRequired())
+                        .set("schema", generator.typeSchema(parameter.getType()));
+            }
+            operation.set("parameters", parameters);
+        }
+
+        if (endpoint.getRequestBody() != null) {
+            operation.set("requestBody", KV.create()
+                    .set("required", true)
+                    .set("content", content(endpoint.getRequestBody())));
+        }
+
+        KV response = KV.create().set("description", "OK");
+        if (endpoint.getResponse() != null) response.set("content", content(endpoint.getResponse()));
+        operation.set("responses", KV.create().set("200", response));
+        return operation;
+    }
+
+    private KV content(TypeRef type) {
+        return KV.create().set(JSON_MEDIA_TYPE, KV.create().set("schema", generator.typeSchema(type)));
+    }
+}
@@ -0,0 +1,376 @@
+package com.hardy.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 按正则生成匹配的随机字符串, 支持常用子集: 字面量, 转义, 字符类, 分组, 选择, 量词
+ * 不支持的写法(反向引用, 零宽断言等)或生成结果不匹配时 compile 返回 null, 由调用方退化处理
+ **/
+class PatternSampler {
+
+    private static final int UNBOUNDED_EXTRA = 4; // * + {n,} 最多多生成的次数
+
+    private static final int VERIFY_TIMES = 16;
+
+    private static final char[] DIGITS = chars("0-9");
+    private static final char[] WORDS = chars("a-zA-Z0-9_");
+    private static final char[] SPACES = {' ', '\t'};
+    private static final char[] PRINTABLE = chars(" -~");
+    private static final char[] ANY = chars("a-zA-Z0-9");
+
+    private final Node root;
+
+    private PatternSampler(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * 解析正则并校验生成结果, 不支持时返回 null
+     */
+    static PatternSampler compile(String regex) {
+        Node root;
+        try {
+            Parser parser = new Parser(regex);
+            root = parser.alternation();
+            if (parser.pos != regex.length()) return null;
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            return null;
+        }
+
+        // 用 java.util.regex 校验若干次, 避免解析的语义与 JDK 不一致
+        Pattern pattern = Pattern.compile(regex);
+        PatternSampler sampler = new PatternSampler(root);
+        SampleRandom random = new SampleRandom();
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < VERIFY_TIMES; i++) {
+            random.reset(regex.hashCode(), i);
+            out.setLength(0);
+            sampler.sample(random, out);
+            if (!pattern.matcher(out).matches()) return null;
+        }
+        return sampler;
+    }
+
+    void sample(SampleRandom random, StringBuilder out) {
+        root.sample(random, out);
+    }
+
+    // 字符类写法(如 a-z0-9_)展开为字符数组, 只用于常量
+    private static char[] chars(String spec) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < spec.length(); i++) {
+            char c = spec.charAt(i);
+            if (i + 2 < spec.length() && spec.charAt(i + 1) == '-') {
+                for (char x = c; x <= spec.charAt(i + 2); x++) sb.append(x);
+                i += 2;
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString().toCharArray();
+    }
+
+    private interface Node {
+        void sample(SampleRandom random, StringBuilder out);
+    }
+
+    private static class Literal implements Node {
+        private final char c;
+
+        private Literal(char c) {
+            this.c = c;
+        }
+
+        @Override
+        public void sample(SampleRandom random, StringBuilder out) {
+            out.append(c);
+        }
+    }
+
+    private static class CharSet implements Node {
+        private final char[] chars;
+
+        private CharSet(char[] chars) {
+            this.chars = chars;
+        }
+
+        @Override
+        public void sample(SampleRandom random, StringBuilder out) {
+            out.append(chars[random.nextInt(chars.length)]);
+        }
+    }
+
+    private static class Sequence implements Node {
+        private final Node[] nodes;
+
+        private Sequence(List<Node> nodes) {
+            this.nodes = nodes.toArray(new Node[0]);
+        }
+
+        @Override
+        public void sample(SampleRandom random, StringBuilder out) {
+            for (Node node : nodes) node.sample(random, out);
+        }
+    }
+
+    private static class Alternation implements Node {
+        private final Node[] nodes;
+
+        private Alternation(List<Node> nodes) {
+            this.nodes = nodes.toArray(new Node[0]);
+        }
+
+        @Override
+        public void sample(SampleRandom random, StringBuilder out) {
+            nodes[random.nextInt(nodes.length)].sample(random, out);
+        }
+    }
+
+    private static class Repeat implements Node {
+        private final Node node;
+        private final int min;
+        private final int max;
+
+        private Repeat(Node node, int min, int max) {
+            this.node = node;
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        public void sample(SampleRandom random, StringBuilder out) {
+            int times = (int) random.nextLong(min, max);
+            for (int i = 0; i < times; i++) node.sample(random, out);
+        }
+    }
+
+    // 递归下降解析
+    private static class Parser {
+        private final String regex;
+        private int pos;
+
+        private Parser(String regex) {
+            this.regex = regex;
+        }
+
+        private Node alternation() {
+            List<Node> branches = new ArrayList<>();
+            branches.add(sequence());
+            while (pos < regex.length() && regex.charAt(pos) == '|') {
+                pos++;
+                branches.add(sequence());
+            }
+            return branches.size() == 1 ? branches.get(0) : new Alternation(branches);
+        }
+
+        private Node sequence() {
+            List<Node> nodes = new ArrayList<>();
+            while (pos < regex.length()) {
+                char c = regex.charAt(pos);
+                if (c == '|' || c == ')') break;
+
+                // 锚点不生成字符
+                if (c == '^' || c == '$') {
+                    pos++;
+                    continue;
+                }
+                Node atom = atom();
+                nodes.add(quantifier(atom));
+            }
+            return nodes.size() == 1 ? nodes.get(0) : new Sequence(nodes);
+        }
+
+        private Node atom() {
+            char c = regex.charAt(pos++);
+            switch (c) {
+                case '(': {
+                    if (regex.startsWith("?:", pos)) {
+                        pos += 2;
+                    } else if (regex.startsWith("?<", pos) && pos + 2 < regex.length()
+                            && regex.charAt(pos + 2) != '=' && regex.charAt(pos + 2) != '!') {
+                        // 命名分组
+                        pos = regex.indexOf('>', pos) + 1;
+                        if (pos == 0) throw new IllegalArgumentException();
+                    } else if (pos < regex.length() && regex.charAt(pos) == '?') {
+                        throw new IllegalArgumentException("unsupported group");
+                    }
+                    Node group = alternation();
+                    expect(')');
+                    return group;
+                }
+                case '[':
+                    return new CharSet(charClass());
+                case '.':
+                    return new CharSet(ANY);
+                case '\\':
+                    return escape();
+                case '*':
+                case '+':
+                case '?':
+                case '{':
+                    throw new IllegalArgumentException("dangling quantifier");
+                default:
+                    return new Literal(c);
+            }
+        }
+
+        private Node escape() {
+            char c = regex.charAt(pos++);
+            char[] set = predefined(c);
+            if (set != null) return new CharSet(set);
+            if (Character.isLetterOrDigit(c)) {
+                char control = control(c);
+                if (control == 0) throw new IllegalArgumentException("unsupported escape \\" + c);
+                return new Literal(control);
+            }
+            return new Literal(c);
+        }
+
+        // \d \w \s 及其取反
+        private char[] predefined(char c) {
+            switch (c) {
+                case 'd':
+                    return DIGITS;
+                case 'w':
+                    return WORDS;
+                case 's':
+                    return SPACES;
+                case 'D':
+                    return exclude(PRINTABLE, DIGITS);
+                case 'W':
+                    return exclude(PRINTABLE, WORDS);
+                case 'S':
+                    return exclude(PRINTABLE, SPACES);
+                default:
+                    return null;
+            }
+        }
+
+        private static char control(char c) {
+            switch (c) {
+                case 't':
+                    return '\t';
+                case 'n':
+                    return '\n';
+                case 'r':
+                    return '\r';
+                case 'f':
+                    return '\f';
+                default:
+                    return 0;
+            }
+        }
+
+        // [...] 中的字符, 取反时从可打印字符中排除
+        private char[] charClass() {
+            boolean negate = pos < regex.length() && regex.charAt(pos) == '^';
+            if (negate) pos++;
+
+            StringBuilder sb = new StringBuilder();
+            boolean first = true;
+            while (regex.charAt(pos) != ']' || first) {
+                first = false;
+                char c = regex.charAt(pos++);
+                if (c == '[' || (c == '&' && regex.charAt(pos) == '&')) throw new IllegalArgumentException("unsupported class");
+                if (c == '\\') {
+                    char e = regex.charAt(pos++);
+                    char[] set = predefined(e);
+                    if (set != null) {
+                        sb.append(set);
+                        continue;
+                    }
+                    if (Character.isLetterOrDigit(e)) {
+                        c = control(e);
+                        if (c == 0) throw new IllegalArgumentException("unsupported escape \\" + e);
+                    } else {
+                        c = e;
+                    }
+                }
+
+                // 范围
+                if (regex.charAt(pos) == '-' && regex.charAt(pos + 1) != ']') {
+                    pos++;
+                    char end = regex.charAt(pos++);
+                    if (end == '\\') end = regex.charAt(pos++);
+                    if (end < c) throw new IllegalArgumentException("bad range");
+                    for (char x = c; x <= end; x++) sb.append(x);
+                } else {
+                    sb.append(c);
+                }
+            }
+            pos++;
+
+            char[] chars = sb.toString().toCharArray();
+            if (negate) chars = exclude(PRINTABLE, chars);
+            if (chars.length == 0) throw new IllegalArgumentException("empty class");
+            return chars;
+        }
+
+        private Node quantifier(Node atom) {
+            if (pos >= regex.length()) return atom;
+
+            int min;
+            int max;
+            char c = regex.charAt(pos);
+            switch (c) {
+                case '?':
+                    min = 0;
+                    max = 1;
+                    pos++;
+                    break;
+                case '*':
+                    min = 0;
+                    max = UNBOUNDED_EXTRA;
+                    pos++;
+                    break;
+                case '+':
+                    min = 1;
+                    max = 1 + UNBOUNDED_EXTRA;
+                    pos++;
+                    break;
+                case '{': {
+                    int close = regex.indexOf('}', pos);
+                    if (close < 0) throw new IllegalArgumentException("bad quantifier");
+                    String[] parts = regex.substring(pos + 1, close).split(",", -1);
+                    min = Integer.parseInt(parts[0].trim());
+                    if (parts.length == 1) max = min;
+                    else if (parts[1].trim().isEmpty()) max = min + UNBOUNDED_EXTRA;
+                    else max = Integer.parseInt(parts[1].trim());
+                    if (max < min) throw new IllegalArgumentException("bad quantifier");
+                    pos = close + 1;
+                    break;
+                }
+                default:
+                    return atom;
+            }
+
+            // 懒惰/占有量词不影响生成
+            if (pos < regex.length() && (regex.charAt(pos) == '?' || regex.charAt(pos) == '+')) pos++;
+            return new Repeat(atom, min, max);
+        }
+
+        private void expect(char c) {
+            if (pos >= regex.length() || regex.charAt(pos) != c) throw new IllegalArgumentException("expected " + c);
+            pos++;
+        }
+
+        private static char[] exclude(char[] all, char[] excluded) {
+            StringBuilder sb = new StringBuilder();
+            for (char c : all) {
+                boolean found = false;
+                for (char e : excluded) {
+                    if (c == e) {
+                        found = true;
+                        break;
+                    }
+                }
+                if (!found) sb.append(c);
+            }
+            return sb.toString().toCharArray();
+        }
+    }
+}
@@ -0,0 +1,342 @@
+package com.hardy.generator;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+import com.hardy.model.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 预览用的延迟展开树, 节点的子节点在首次访问时才解析, 嵌套的类不会提前展开
+ * 深度与节点总数有上限, 超出时以占位节点表示; 可只导出已展开的部分
+ **/
+public class PreviewTree {
+
+    public static final int DEFAULT_MAX_DEPTH = 3;
+
+    public static final int DEFAULT_MAX_NODES = 2000;
+
+    private static final Gson GSON = new Gson();
+
+    private final ClassModelResolver resolver;
+
+    private final boolean schema; // 生成 schema, 否则生成 json
+
+    private final int maxDepth;
+
+    private final int maxNodes;
+
+    private final Node root;
+
+    private int nodeCount = 1;
+
+    public PreviewTree(ClassModelResolver resolver, ClassModel model, boolean schema, int maxDepth, int maxNodes) {
+        this.resolver = resolver;
+        this.schema = schema;
+        this.maxDepth = maxDepth;
+        this.maxNodes = maxNodes;
+        this.root = new Node(null, model.getName(), TypeRef.clazz(model.getName(), model.getQualifiedName(), Collections.emptyList()), null);
+        this.root.model = model;
+        this.root.expanded = true;
+    }
+
+    public Node getRoot() {
+        return root;
+    }
+
+    public boolean isSchema() {
+        return schema;
+    }
+
+    /**
+     * 已创建的节点数, 不含占位节点
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * 导出已展开的部分, 未展开的类为空对象, 未展开的数组/列表为空数组
+     */
+    public void export(JsonWriter writer) throws IOException {
+        if (schema) GSON.toJson(toSchema(root), Schema.class, writer);
+        else writeJson(root, writer);
+        writer.flush();
+    }
+
+    // ************** 节点 **************
+
+    public class Node {
+
+        private final Node parent;
+
+        private final String name; // 字段名, 数组元素为 [0], 占位节点为提示信息
+
+        private final TypeRef type; // 占位节点为 null
+
+        private final FieldModel field; // 类的字段, 其他为 null
+
+        private final int depth;
+
+        private ClassModel model; // CLASS 节点加载时解析
+
+        private List<Node> children; // 首次访问时加载
+
+        private boolean expanded;
+
+        private Node(Node parent, String name, TypeRef type, FieldModel field) {
+            this.parent = parent;
+            this.name = name;
+            this.type = type;
+            this.field = field;
+            this.depth = parent == null ? 0 : parent.depth + 1;
+        }
+
+        public Node getParent() {
+            return parent;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public TypeRef getType() {
+            return type;
+        }
+
+        public boolean isPlaceholder() {
+            return type == null;
+        }
+
+        /**
+         * 没有子节点的类型, 不需要解析即可判断
+         */
+        public boolean isLeaf() {
+            if (type == null) return true;
+            switch (type.getKind()) {
+                case CLASS:
+                case ARRAY:
+                case LIST:
+                    return false;
+                case MAP:
+                    return type.getArgument(1) == null;
+                default:
+                    return true;
+            }
+        }
+
+        public boolean isLoaded() {
+            return children != null;
+        }
+
+        /**
+         * 子节点, 首次调用时解析; 需在可读取类结构的线程中调用
+         */
+        public List<Node> getChildren() {
+            if (children == null) children = load();
+            return children;
+        }
+
+        public boolean isExpanded() {
+            return expanded;
+        }
+
+        public void setExpanded(boolean expanded) {
+            this.expanded = expanded;
+        }
+
+        /**
+         * 显示的文本, 如 name: List&lt;Order&gt;, json 模式下叶子节点附带示例值
+         */
+        public String getLabel() {
+            if (type == null) return name;
+
+            // map 的 key 可能为空字符串
+            String label = (name.isEmpty() ? "\"\"" : name) + ": " + typeLabel(type);
+            if (!schema && isLeaf()) label += " = " + GSON.toJson(leafValue(type));
+            return label;
+        }
+
+        @Override
+        public String toString() {
+            return getLabel();
+        }
+
+        private List<Node> load() {
+            if (isLeaf()) return Collections.emptyList();
+            if (depth >= maxDepth) return placeholder("… max depth " + maxDepth + " reached");
+
+            List<Node> nodes = new ArrayList<>();
+            switch (type.getKind()) {
+                case CLASS: {
+                    if (model == null) model = resolver.resolve(type);
+                    if (model == null) return Collections.emptyList();
+
+                    // 循环引用时不再展开
+                    for (Node n = parent; n != null; n = n.parent) {
+                        if (n.model != null && n.model.getQualifiedName().equals(model.getQualifiedName())) {
+                            return placeholder("… recursive reference to " + model.getName());
+                        }
+                    }
+
+                    // json 包含静态字段, 与 JsonGenerator 一致
+                    Collection<FieldModel> fields = resolver.fields(model, !schema);
+                    int i = 0;
+                    for (FieldModel f : fields) {
+                        if (nodeCount >= maxNodes) {
+                            nodes.add(new Node(this, "… " + (fields.size() - i) + " more (node budget " + maxNodes + " reached)", null, null));
+                            break;
+                        }
+                        nodes.add(new Node(this, f.getName(), f.getType(), f));
+                        nodeCount++;
+                        i++;
+                    }
+                    return nodes;
+                }
+                case ARRAY:
+                case LIST: {
+                    TypeRef element = type.getArgument(0);
+                    return child("[0]", element == null ? TypeRef.object() : element);
+                }
+                case MAP:
+                    return child(mapKey(type.getArgument(0)), type.getArgument(1));
+                default:
+                    return Collections.emptyList();
+            }
+        }
+
+        private List<Node> child(String name, TypeRef type) {
+            if (nodeCount >= maxNodes) return placeholder("… node budget " + maxNodes + " reached");
+
+            nodeCount++;
+            return Collections.singletonList(new Node(this, name, type, null));
+        }
+
+        private List<Node> placeholder(String message) {
+            return Collections.singletonList(new Node(this, message, null, null));
+        }
+
+        // 已展开且已加载的子节点, 不含占位节点
+        private List<Node> exported() {
+            if (!expanded || children == null) return Collections.emptyList();
+
+            List<Node> nodes = new ArrayList<>(children.size());
+            for (Node child : children) {
+                if (!child.isPlaceholder()) nodes.add(child);
+            }
+            return nodes;
+        }
+    }
+
+    // ************** 导出 **************
+
+    private void writeJson(Node node, JsonWriter writer) throws IOException {
+        switch (node.type.getKind()) {
+            case ARRAY:
+            case LIST:
+                writer.beginArray();
+                for (Node child : node.exported()) {
+                    writeJson(child, writer);
+                }
+                writer.endArray();
+                break;
+            case CLASS:
+            case MAP:
+                writer.beginObject();
+                for (Node child : node.exported()) {
+                    writer.name(child.name);
+                    writeJson(child, writer);
+                }
+                writer.endObject();
+                break;
+            default:
+                GSON.toJson(leafValue(node.type), Object.class, writer);
+        }
+    }
+
+    private Schema toSchema(Node node) {
+        switch (node.type.getKind()) {
+            case PRIMITIVE:
+            case NORMAL:
+                return Schema.createBasic(node.type.getName());
+            case ENUM:
+                return SchemaGenerator.genEnum(resolver, node.type);
+            case ARRAY:
+            case LIST: {
+                List<Node> children = node.exported();
+                if (!children.isEmpty()) return Schema.createArray(toSchema(children.get(0)));
+
+                // 未展开时元素为基本类型仍可确定, 其他按对象处理
+                TypeRef element = node.type.getArgument(0);
+                boolean basic = element != null && (element.getKind() == TypeKind.PRIMITIVE || element.getKind() == TypeKind.NORMAL);
+                return Schema.createArray(basic ? Schema.createBasic(element.getName()) : Schema.createObject());
+            }
+            case CLASS: {
+                Schema root = Schema.createObject();
+                for (Node child : node.exported()) {
+                    Schema schema = toSchema(child);
+                    schema.setDescription(child.field.getDescription());
+                    if (ConstraintRegistry.apply(schema, child.field)) root.addRequire(child.name);
+                    root.getProperties().set(child.name, schema);
+                }
+                return root;
+            }
+            // Object / map
+            default:
+                return Schema.createObject();
+        }
+    }
+
+    // 叶子节点的示例值, 与 JsonGenerator 一致
+    private Object leafValue(TypeRef type) {
+        switch (type.getKind()) {
+            case PRIMITIVE:
+                return NormalTypeConst.getPrimitive(type.getName());
+            case NORMAL:
+                return NormalTypeConst.get(type.getName());
+            case ENUM:
+                return enumConstant(type);
+            default:
+                return Collections.emptyMap();
+        }
+    }
+
+    // map 的 key, 基本类型取默认值, 枚举取第一个常量, 其他类型取类型名, 与 JsonGenerator 一致
+    private String mapKey(TypeRef type) {
+        if (type == null) return "key";
+        switch (type.getKind()) {
+            case PRIMITIVE:
+                return String.valueOf(NormalTypeConst.getPrimitive(type.getName()));
+            case NORMAL:
+                return String.valueOf(NormalTypeConst.get(type.getName()));
+            case ENUM:
+                return enumConstant(type);
+            default:
+                return type.getName();
+        }
+    }
+
+    private String enumConstant(TypeRef type) {
+        ClassModel model = resolver.resolve(type.getQualifiedName());
+        return model == null || model.getEnumConstants().isEmpty() ? "" : model.getEnumConstants().get(0);
+    }
+
+    // 类型的显示名, 如 Page<Order> / Map<String, Long>
+    private static String typeLabel(TypeRef type) {
+        if (type.getKind() == TypeKind.ARRAY) return typeLabel(type.getArgument(0)) + "[]";
+        if (type.getArguments().isEmpty()) return type.getName();
+
+        StringBuilder sb = new StringBuilder(type.getName()).append('<');
+        for (int i = 0; i < type.getArguments().size(); i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(typeLabel(type.getArguments().get(i)));
+        }
+        return sb.append('>').toString();
+    }
+}
@@ -0,0 +1,739 @@
+package com.hardy.generator;
+
+import com.hardy.model.*;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.LongConsumer;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 批量生成随机的 json 示例, 每行一条(NDJSON), 用于压测的请求体
+ * 由类的 schema 编译为生成节点, 取值满足其中的约束(required/minLength/maxLength/pattern/minimum/maximum/enum),
+ * 带 format 的字符串生成对应格式的值
+ * 直接写出 UTF-8 字节, 不构建每条记录的对象; 第 i 条记录只由 (种子, i) 决定, 与线程数无关
+ * 编译后不依赖PSI, 线程安全
+ **/
+public class SampleGenerator {
+
+    public static final String NDJSON_SUFFIX = ".ndjson";
+
+    private static final int BLOCK = 1024; // 每个任务生成的记录数
+
+    private static final int FLUSH_SIZE = 64 * 1024;
+
+    private static final double OPTIONAL_RATE = 0.8; // 非必需字段出现的概率
+
+    private static final int MAX_RECURSION = 2; // 循环引用的类最多重复展开的层数
+
+    private static final int MAX_OBJECTS = 256; // 每条记录最多展开的对象数, 避免 Node<Node<T>> 这类结构指数增长
+
+    private static final int MAX_ITEMS = 3; // 数组最多的元素个数
+
+    private static final int DEFAULT_LENGTH = 16; // 没有 maxLength 时字符串比最小长度多出的最大长度
+
+    private static final int MAX_EXTRA_LENGTH = 64; // maxLength 很大时同样限制字符串长度
+
+    private static final long DEFAULT_RANGE = 100000; // 没有上下限时数值的范围
+
+    private static final int PATTERN_RETRIES = 8;
+
+    private static final int PATTERN_PROBES = 32; // 编译时试生成的次数
+
+    private static final long MIN_EPOCH_SECOND = 946684800L; // 时间取值范围 2000-01-01 至 2030-01-01 (UTC)
+
+    private static final long MAX_EPOCH_SECOND = 1893456000L;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final byte[] ALPHANUMERIC = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789".getBytes(StandardCharsets.US_ASCII);
+
+    private final Node root;
+
+    private final ThreadLocal<Worker> workers;
+
+    private SampleGenerator(Node root, int objectCount) {
+        this.root = root;
+        this.workers = ThreadLocal.withInitial(() -> new Worker(objectCount));
+    }
+
+    /**
+     * 由类结构编译, 在IDE中需在读操作中调用
+     */
+    public static SampleGenerator compile(ClassModelResolver resolver, ClassModel model) {
+        return compile(new SchemaGenerator(resolver, true, true).generate(model));
+    }
+
+    /**
+     * 由 schema 编译, 引用只支持 # 与 #/definitions/
+     */
+    public static SampleGenerator compile(SchemaNode schema) {
+        Compiler compiler = new Compiler(schema);
+        Node root = compiler.object("#");
+        return new SampleGenerator(root, compiler.ids);
+    }
+
+    /**
+     * 生成第 index 条记录, 不含换行
+     */
+    public String sample(long seed, long index) {
+        Buffer buffer = new Buffer(256);
+        Worker worker = workers.get();
+        worker.reset(seed, index);
+        root.write(worker, buffer);
+        return new String(buffer.bytes, 0, buffer.size, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 生成 count 条记录写出, 多线程生成, 按序号顺序写出
+     *
+     * @param progress 每写出一批后在调用线程中回调已写出的记录数, 可抛出异常以取消
+     * @return 写出的字节数
+     */
+    public long generate(long count, long seed, int threads, OutputStream out, LongConsumer progress) throws IOException {
+        // 单线程时缓冲满即写出
+        if (threads <= 1) {
+            Buffer buffer = new Buffer(FLUSH_SIZE * 2);
+            Worker worker = workers.get();
+            long written = 0;
+            for (long i = 0; i < count; i++) {
+                worker.reset(seed, i);
+                root.write(worker, buffer);
+                buffer.write('\n');
+                if (buffer.size >= FLUSH_SIZE) {
+                    out.write(buffer.bytes, 0, buffer.size);
+                    written += buffer.size;
+                    buffer.size = 0;
+                }
+                if ((i + 1) % BLOCK == 0) progress.accept(i + 1);
+            }
+            out.write(buffer.bytes, 0, buffer.size);
+            progress.accept(count);
+            return written + buffer.size;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "JsonTool sample generator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Queue<Buffer> free = new ConcurrentLinkedQueue<>(); // 写出后复用的缓冲
+        Deque<Future<Buffer>> running = new ArrayDeque<>();
+        long written = 0;
+        try {
+            long next = 0;
+            long done = 0;
+            while (done < count) {
+                // 最多同时生成 2 * threads 批, 限制内存占用
+                while (next < count && running.size() < threads * 2) {
+                    long start = next;
+                    long end = Math.min(count, start + BLOCK);
+                    running.add(executor.submit(() -> {
+                        Buffer buffer = free.poll();
+                        if (buffer == null) buffer = new Buffer(FLUSH_SIZE);
+                        block(seed, start, end, buffer);
+                        return buffer;
+                    }));
+                    next = end;
+                }
+
+                Buffer buffer = await(running.poll());
+                out.write(buffer.bytes, 0, buffer.size);
+                written += buffer.size;
+                buffer.size = 0;
+                free.add(buffer);
+
+                done = Math.min(count, done + BLOCK);
+                progress.accept(done);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return written;
+    }
+
+    private void block(long seed, long start, long end, Buffer buffer) {
+        Worker worker = workers.get();
+        for (long i = start; i < end; i++) {
+            worker.reset(seed, i);
+            root.write(worker, buffer);
+            buffer.write('\n');
+        }
+    }
+
+    private static Buffer await(Future<Buffer> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("sample generation interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IOException(cause);
+        }
+    }
+
+    // 每个线程的随机数与展开状态
+    private static class Worker {
+        private final SampleRandom random = new SampleRandom();
+        private final StringBuilder scratch = new StringBuilder();
+        private final int[] active; // 各对象节点正在展开的层数
+        private int objects; // 当前记录已展开的对象数
+
+        private Worker(int objectCount) {
+            this.active = new int[objectCount];
+        }
+
+        private void reset(long seed, long index) {
+            random.reset(seed, index);
+            objects = 0;
+        }
+    }
+
+    // 可增长的字节缓冲
+    private static class Buffer {
+        private byte[] bytes;
+        private int size;
+
+        private Buffer(int capacity) {
+            bytes = new byte[capacity];
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+        }
+
+        private void write(int b) {
+            ensure(1);
+            bytes[size++] = (byte) b;
+        }
+
+        private void write(byte[] b) {
+            ensure(b.length);
+            System.arraycopy(b, 0, bytes, size, b.length);
+            size += b.length;
+        }
+
+        private void number(long value) {
+            if (value == Long.MIN_VALUE) {
+                write(Long.toString(value).getBytes(StandardCharsets.US_ASCII));
+                return;
+            }
+            ensure(20);
+            if (value < 0) {
+                bytes[size++] = '-';
+                value = -value;
+            }
+            int end = size + digits(value);
+            for (int i = end - 1; i >= size; i--) {
+                bytes[i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            size = end;
+        }
+
+        private static int digits(long value) {
+            int n = 1;
+            while (value >= 10) {
+                value /= 10;
+                n++;
+            }
+            return n;
+        }
+
+        // 带引号的json字符串, 转义并编码为 UTF-8
+        private void string(CharSequence text) {
+            ensure(text.length() * 3 + 2);
+            bytes[size++] = '"';
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c < 0x80) {
+                    if (c == '"' || c == '\\') {
+                        bytes[size++] = '\\';
+                        bytes[size++] = (byte) c;
+                    } else if (c < 0x20) {
+                        ensure(6);
+                        bytes[size++] = '\\';
+                        bytes[size++] = 'u';
+                        bytes[size++] = '0';
+                        bytes[size++] = '0';
+                        bytes[size++] = (byte) Character.forDigit(c >> 4, 16);
+                        bytes[size++] = (byte) Character.forDigit(c & 0xf, 16);
+                    } else {
+                        bytes[size++] = (byte) c;
+                    }
+                } else if (c < 0x800) {
+                    bytes[size++] = (byte) (0xc0 | c >> 6);
+                    bytes[size++] = (byte) (0x80 | c & 0x3f);
+                } else if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+                    int code = Character.toCodePoint(c, text.charAt(++i));
+                    bytes[size++] = (byte) (0xf0 | code >> 18);
+                    bytes[size++] = (byte) (0x80 | code >> 12 & 0x3f);
+                    bytes[size++] = (byte) (0x80 | code >> 6 & 0x3f);
+                    bytes[size++] = (byte) (0x80 | code & 0x3f);
+                } else {
+                    bytes[size++] = (byte) (0xe0 | c >> 12);
+                    bytes[size++] = (byte) (0x80 | c >> 6 & 0x3f);
+                    bytes[size++] = (byte) (0x80 | c & 0x3f);
+                }
+            }
+            ensure(1);
+            bytes[size++] = '"';
+        }
+    }
+
+    // 生成节点
+    private interface Node {
+        void write(Worker worker, Buffer out);
+
+        // 循环引用已展开到最大层数或记录已足够大
+        default boolean saturated(Worker worker) {
+            return false;
+        }
+    }
+
+    private static class ObjectNode implements Node {
+        private final int id;
+        private byte[][] names = new byte[0][]; // "name":
+        private Node[] values = new Node[0];
+        private boolean[] required = new boolean[0];
+
+        private ObjectNode(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean saturated(Worker worker) {
+            return worker.active[id] > MAX_RECURSION || worker.objects >= MAX_OBJECTS;
+        }
+
+        @Override
+        public void write(Worker worker, Buffer out) {
+            out.write('{');
+            if (saturated(worker)) {
+                out.write('}');
+                return;
+            }
+
+            worker.active[id]++;
+            worker.objects++;
+            boolean first = true;
+            for (int i = 0; i < values.length; i++) {
+                // 非必需字段随机省略, 已展开到最大层数的引用直接省略
+                if (!required[i] && (!worker.random.chance(OPTIONAL_RATE) || values[i].saturated(worker))) continue;
+
+                if (!first) out.write(',');
+                out.write(names[i]);
+                values[i].write(worker, out);
+                first = false;
+            }
+            worker.active[id]--;
+            out.write('}');
+        }
+    }
+
+    private static class ArrayNode implements Node {
+        private final Node items;
+
+        private ArrayNode(Node items) {
+            this.items = items;
+        }
+
+        @Override
+        public void write(Worker worker, Buffer out) {
+            out.write('[');
+            int size = items.saturated(worker) ? 0 : 1 + worker.random.nextInt(MAX_ITEMS);
+            for (int i = 0; i < size; i++) {
+                if (i > 0) out.write(',');
+                items.write(worker, out);
+            }
+            out.write(']');
+        }
+    }
+
+    private static class BooleanNode implements Node {
+        private static final byte[] TRUE = "true".getBytes(StandardCharsets.US_ASCII);
+        private static final byte[] FALSE = "false".getBytes(StandardCharsets.US_ASCII);
+
+        @Override
+        public void write(Worker worker, Buffer out) {
+            out.write(worker.random.nextBoolean() ? TRUE : FALSE);
+        }
+    }
+
+    private static class IntegerNode implements Node {
+        private final long min;
+        private final long max;
+
+        private IntegerNode(long min, long max) {
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        public void write(Worker worker, Buffer out) {
+            out.number(worker.random.nextLong(min, max));
+        }
+    }
+
+    // 保留两位小数, 以分为单位取值
+    private static class NumberNode implements Node {
+        private final long min;
+        private final long max;
+
+        private NumberNode(long min, long max) {
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        public void write(Worker worker, Buffer out) {
+            long cents = worker.random.nextLong(min, max);
+            if (cents < 0) {
+                out.write('-');
+                cents = -cents;
+            }
+            out.number(cents / 100);
+            out.write('.');
+            out.write('0' + (int) (cents % 100 / 10));
+            out.write('0' + (int) (cents % 10));
+        }
+    }
+
+    private static class EnumNode implements Node {
+        private final byte[][] values; // 带引号
+
+        private EnumNode(byte[][] values) {
+            this.values = values;
+        }
+
+        @Override
+        public void write(Worker worker, Buffer out) {
+            out.write(values[worker.random.nextInt(values.length)]);
+        }
+    }
+
+    private static class StringNode implements Node {
+        private final int minLength;
+        private final int maxLength;
+
+        private StringNode(int minLength, int maxLength) {
+            this.minLength = minLength;
+            this.maxLength = maxLength;
+        }
+
+        @Override
+        public void write(Worker worker, Buffer out) {
+            int length = (int) worker.random.nextLong(minLength, maxLength);
+            out.ensure(length + 2);
+            out.bytes[out.size++] = '"';
+            for (int i = 0; i < length; i++) {
+                out.bytes[out.size++] = ALPHANUMERIC[worker.random.nextInt(ALPHANUMERIC.length)];
+            }
+            out.bytes[out.size++] = '"';
+        }
+    }
+
+    // 带 format 的字符串, 只支持 NormalTypeConst 中的格式
+    private static class FormatNode implements Node {
+        private final String format;
+
+        private FormatNode(String format) {
+            this.format = format;
+        }
+
+        // 不支持的格式返回 null
+        static FormatNode of(String format) {
+            switch (format) {
+                case "date-time":
+                case "date":
+                case "uuid":
+                case "uri":
+                case "duration":
+                    return new FormatNode(format);
+                default:
+                    return null;
+            }
+        }
+
+        @Override
+        public void write(Worker worker, Buffer out) {
+            SampleRandom random = worker.random;
+            StringBuilder scratch = worker.scratch;
+            scratch.setLength(0);
+            switch (format) {
+                case "date-time": {
+                    // 如 2017-03-09T21:04:51Z
+                    long second = random.nextLong(MIN_EPOCH_SECOND, MAX_EPOCH_SECOND - 1);
+                    date(Math.floorDiv(second, 86400), scratch);
+                    int time = (int) Math.floorMod(second, 86400);
+                    scratch.append('T');
+                    twoDigits(time / 3600, scratch);
+                    twoDigits(time / 60 % 60, scratch.append(':'));
+                    twoDigits(time % 60, scratch.append(':'));
+                    scratch.append('Z');
+                    break;
+                }
+                case "date":
+                    date(random.nextLong(MIN_EPOCH_SECOND / 86400, MAX_EPOCH_SECOND / 86400 - 1), scratch);
+                    break;
+                case "uuid": {
+                    // 随机 UUID(版本 4)
+                    long high = random.nextLong() & ~0xf000L | 0x4000L;
+                    long low = random.nextLong() & 0x3fffffffffffffffL | 0x8000000000000000L;
+                    hex(high >>> 32, 8, scratch);
+                    hex(high >>> 16, 4, scratch.append('-'));
+                    hex(high, 4, scratch.append('-'));
+                    hex(low >>> 48, 4, scratch.append('-'));
+                    hex(low, 12, scratch.append('-'));
+                    break;
+                }
+                case "uri":
+                    scratch.append("https://example.com/");
+                    for (int i = 0; i < 8; i++) {
+                        scratch.append((char) ALPHANUMERIC[random.nextInt(ALPHANUMERIC.length)]);
+                    }
+                    break;
+                default:
+                    // ISO 8601 的天数, Duration 与 Period 都能解析
+                    scratch.append('P').append(random.nextInt(366)).append('D');
+            }
+            out.string(scratch);
+        }
+
+        // 公历日期, 算法见 java.time.LocalDate.ofEpochDay
+        private static void date(long epochDay, StringBuilder out) {
+            long zeroDay = epochDay + 719528 - 60;
+            long yearEstimate = (400 * zeroDay + 591) / 146097;
+            long dayOfYear = zeroDay - (365 * yearEstimate + yearEstimate / 4 - yearEstimate / 100 + yearEstimate / 400);
+            if (dayOfYear < 0) {
+                yearEstimate--;
+                dayOfYear = zeroDay - (365 * yearEstimate + yearEstimate / 4 - yearEstimate / 100 + yearEstimate / 400);
+            }
+            int marchDay0 = (int) dayOfYear;
+            int marchMonth0 = (marchDay0 * 5 + 2) / 153;
+            int month = (marchMonth0 + 2) % 12 + 1;
+            int day = marchDay0 - (marchMonth0 * 306 + 5) / 10 + 1;
+            long year = yearEstimate + marchMonth0 / 10;
+
+            out.append(year);
+            twoDigits(month, out.append('-'));
+            twoDigits(day, out.append('-'));
+        }
+
+        private static void twoDigits(int value, StringBuilder out) {
+            out.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+        }
+
+        private static void hex(long value, int digits, StringBuilder out) {
+            for (int i = digits - 1; i >= 0; i--) {
+                out.append(HEX[(int) (value >>> (i * 4)) & 0xf]);
+            }
+        }
+    }
+
+    // 带正则的字符串, 长度不满足时重新生成; 重试后仍不满足时失败, 不写出不合法的值
+    private static class PatternNode implements Node {
+        private final PatternSampler sampler; // 不支持的正则为 null, 随机生成后用正则校验
+        private final Pattern pattern;
+        private final int minLength;
+        private final int maxLength;
+        private final int randomMaxLength; // 不支持的正则随机生成时的最大长度
+
+        private PatternNode(Pattern pattern, int minLength, int maxLength, int randomMaxLength) {
+            this.sampler = PatternSampler.compile(pattern.pattern());
+            this.pattern = pattern;
+            this.minLength = minLength;
+            this.maxLength = maxLength;
+            this.randomMaxLength = randomMaxLength;
+
+            // 编译时先试生成若干次, 难以满足的正则与长度组合在写出前就报告
+            SampleRandom random = new SampleRandom();
+            StringBuilder scratch = new StringBuilder();
+            for (int i = 0; i < PATTERN_PROBES; i++) {
+                random.reset(pattern.pattern().hashCode(), i);
+                if (!next(random, scratch)) throw new IllegalArgumentException(unsatisfiable());
+            }
+        }
+
+        @Override
+        public void write(Worker worker, Buffer out) {
+            if (!next(worker.random, worker.scratch)) throw new IllegalStateException(unsatisfiable());
+            out.string(worker.scratch);
+        }
+
+        // 生成到 scratch 中, 返回是否满足正则与长度
+        private boolean next(SampleRandom random, StringBuilder scratch) {
+            for (int i = 0; i < PATTERN_RETRIES; i++) {
+                scratch.setLength(0);
+                if (sampler != null) {
+                    sampler.sample(random, scratch);
+                    if (scratch.length() >= minLength && scratch.length() <= maxLength) return true;
+                } else {
+                    for (int j = (int) random.nextLong(minLength, randomMaxLength); j > 0; j--) {
+                        scratch.append((char) ALPHANUMERIC[random.nextInt(ALPHANUMERIC.length)]);
+                    }
+                    if (pattern.matcher(scratch).matches()) return true;
+                }
+            }
+            return false;
+        }
+
+        private String unsatisfiable() {
+            return "cannot generate a string matching pattern " + pattern.pattern()
+                    + (maxLength == Integer.MAX_VALUE ? " with length >= " + minLength : " with length " + minLength + ".." + maxLength)
+                    + (sampler == null ? " (the pattern uses syntax the sample generator does not support)" : "");
+        }
+    }
+
+    // schema -> 生成节点, 同一个引用只编译一次
+    private static class Compiler {
+        private final SchemaNode root;
+        private final Map<String, ObjectNode> objects = new HashMap<>();
+        private int ids;
+
+        private Compiler(SchemaNode root) {
+            this.root = root;
+        }
+
+        private ObjectNode object(String ref) {
+            ObjectNode node = objects.get(ref);
+            if (node != null) return node;
+
+            SchemaNode target = SchemaNode.resolveRef(root, ref);
+            if (target == null) throw new IllegalArgumentException("unresolved reference: " + ref);
+
+            // 先登记再编译字段, 支持循环引用
+            node = new ObjectNode(ids++);
+            objects.put(ref, node);
+            fill(node, target);
+            return node;
+        }
+
+        private void fill(ObjectNode node, SchemaNode schema) {
+            int size = schema.getPropertyCount();
+            if (size == 0) return;
+
+            List<String> required = schema.getRequired() == null ? Collections.emptyList() : schema.getRequired();
+            node.names = new byte[size][];
+            node.values = new Node[size];
+            node.required = new boolean[size];
+
+            Buffer name = new Buffer(32);
+            for (int i = 0; i < size; i++) {
+                name.size = 0;
+                name.string(schema.getPropertyName(i));
+                name.write(':');
+                node.names[i] = Arrays.copyOf(name.bytes, name.size);
+                node.values[i] = compile(schema.getProperty(i));
+                node.required[i] = required.contains(schema.getPropertyName(i));
+            }
+        }
+
+        private Node compile(SchemaNode schema) {
+            if (schema.getRef() != null) return object(schema.getRef());
+
+            SchemaType type = SchemaType.of(schema.getType());
+            if (type == null) type = SchemaType.OBJECT;
+            switch (type) {
+                case BOOLEAN:
+                    return new BooleanNode();
+                case INTEGER:
+                    return integer(schema);
+                case NUMBER:
+                    return number(schema);
+                case STRING:
+                    return string(schema);
+                case ARRAY:
+                    return new ArrayNode(schema.getItems() == null ? new ObjectNode(ids++) : compile(schema.getItems()));
+                default: {
+                    ObjectNode node = new ObjectNode(ids++);
+                    fill(node, schema);
+                    return node;
+                }
+            }
+        }
+
+        private static Node integer(SchemaNode schema) {
+            Number minimum = schema.getMinimum();
+            Number maximum = schema.getMaximum();
+            long min = minimum == null ? 0 : (long) Math.ceil(minimum.doubleValue());
+            long max = maximum == null ? 0 : (long) Math.floor(maximum.doubleValue());
+            if (minimum != null && Boolean.TRUE.equals(schema.getExclusiveMinimum()) && min == minimum.doubleValue()) min++;
+            if (maximum != null && Boolean.TRUE.equals(schema.getExclusiveMaximum()) && max == maximum.doubleValue()) max--;
+
+            // 只有一侧限制时取该侧附近的范围
+            if (minimum == null && maximum == null) max = DEFAULT_RANGE;
+            else if (maximum == null) max = saturatedAdd(min, DEFAULT_RANGE);
+            else if (minimum == null) min = saturatedAdd(max, -DEFAULT_RANGE);
+            if (min > max) max = min;
+            return new IntegerNode(min, max);
+        }
+
+        private static Node number(SchemaNode schema) {
+            Number minimum = schema.getMinimum();
+            Number maximum = schema.getMaximum();
+            long min = minimum == null ? 0 : cents(Math.ceil(minimum.doubleValue() * 100));
+            long max = maximum == null ? 0 : cents(Math.floor(maximum.doubleValue() * 100));
+            if (minimum != null && Boolean.TRUE.equals(schema.getExclusiveMinimum()) && min == minimum.doubleValue() * 100) min++;
+            if (maximum != null && Boolean.TRUE.equals(schema.getExclusiveMaximum()) && max == maximum.doubleValue() * 100) max--;
+
+            if (minimum == null && maximum == null) max = DEFAULT_RANGE * 100;
+            else if (maximum == null) max = saturatedAdd(min, DEFAULT_RANGE * 100);
+            else if (minimum == null) min = saturatedAdd(max, -DEFAULT_RANGE * 100);
+            if (min > max) max = min;
+            return new NumberNode(min, max);
+        }
+
+        // 避免取反时溢出
+        private static long cents(double value) {
+            return Math.max(-Long.MAX_VALUE, (long) value);
+        }
+
+        private static long saturatedAdd(long a, long b) {
+            long sum = a + b;
+            if (((a ^ sum) & (b ^ sum)) < 0) return b > 0 ? Long.MAX_VALUE : -Long.MAX_VALUE;
+            return sum;
+        }
+
+        private static Node string(SchemaNode schema) {
+            List<String> enumValues = schema.getEnumValues();
+            if (enumValues != null && !enumValues.isEmpty()) {
+                byte[][] values = new byte[enumValues.size()][];
+                Buffer buffer = new Buffer(32);
+                for (int i = 0; i < values.length; i++) {
+                    buffer.size = 0;
+                    buffer.string(enumValues.get(i));
+                    values[i] = Arrays.copyOf(buffer.bytes, buffer.size);
+                }
+                return new EnumNode(values);
+            }
+
+            int minLength = schema.getMinLength() == null ? 0 : Math.max(0, schema.getMinLength());
+            int maxLength = schema.getMaxLength() == null ? minLength + DEFAULT_LENGTH
+                    : Math.max(minLength, (int) Math.min(schema.getMaxLength(), (long) minLength + MAX_EXTRA_LENGTH));
+            if (schema.getPattern() == null) {
+                // 格式决定取值, 长度约束不再生效
+                FormatNode format = schema.getFormat() == null ? null : FormatNode.of(schema.getFormat());
+                return format != null ? format : new StringNode(minLength, maxLength);
+            }
+
+            // 正则决定长度, 没有 maxLength 时不限制最大长度
+            try {
+                int patternMaxLength = schema.getMaxLength() == null ? Integer.MAX_VALUE : Math.max(minLength, schema.getMaxLength());
+                return new PatternNode(Pattern.compile(schema.getPattern()), minLength, patternMaxLength, maxLength);
+            } catch (PatternSyntaxException e) {
+                throw new IllegalArgumentException("invalid pattern " + schema.getPattern() + ": " + e.getDescription(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.hardy.generator;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: SplitMix64 随机数, 按 (种子, 序号) 重置, 同一序号的记录在任意线程数下生成相同内容
+ * 非线程安全, 每个线程使用一个实例
+ **/
+class SampleRandom {
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private long state;
+
+    /**
+     * 重置为第 index 条记录的随机序列
+     */
+    void reset(long seed, long index) {
+        state = mix(seed ^ mix(index * GOLDEN_GAMMA + GOLDEN_GAMMA));
+    }
+
+    long nextLong() {
+        return mix(state += GOLDEN_GAMMA);
+    }
+
+    /**
+     * [0, bound)
+     */
+    int nextInt(int bound) {
+        return (int) ((nextLong() >>> 33) * bound >>> 31);
+    }
+
+    /**
+     * [min, max]
+     */
+    long nextLong(long min, long max) {
+        long range = max - min + 1;
+        if (range <= 0) {
+            // 跨度超过 long 时直接取值, 直到落入范围
+            long value;
+            do {
+                value = nextLong();
+            } while (value < min || value > max);
+            return value;
+        }
+        return min + Math.floorMod(nextLong(), range);
+    }
+
+    boolean nextBoolean() {
+        return nextLong() < 0;
+    }
+
+    /**
+     * 以 probability 的概率返回 true
+     */
+    boolean chance(double probability) {
+        return (nextLong() >>> 11) * 0x1.0p-53 < probability;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,137 @@
+package com.hardy.generator;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.hardy.model.*;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 一组类的 schema 快照, 用于与之后的版本比较兼容性
+ * 每个类(含被引用的类)只生成一次, 以类全名为名字放在 definitions 中并通过 $ref 引用, 名字不随其他类的增减变化
+ * 保存格式本身是一份 JSON Schema: {"version": 1, "roots": [类全名...], "definitions": {类全名: schema}}
+ **/
+public class SchemaBaseline {
+
+    private static final int VERSION = 1;
+
+    private static final Gson GSON = new Gson();
+
+    private final List<String> roots; // 选中的类, 已排序
+
+    private final Map<String, SchemaNode> classes; // 名字 -> schema, 含被引用的类, 按名字排序
+
+    private SchemaBaseline(List<String> roots, Map<String, SchemaNode> classes) {
+        this.roots = Collections.unmodifiableList(roots);
+        this.classes = Collections.unmodifiableMap(classes);
+    }
+
+    /**
+     * 生成类及其引用的所有类的 schema, 不存在的类忽略; 在IDE中需在读操作中调用
+     */
+    public static SchemaBaseline generate(ClassModelResolver resolver, Collection<String> classNames) {
+        ScopedResolver scoped = new ScopedResolver(resolver);
+        Definitions definitions = new Definitions(null, Schema.DEFINITIONS_PREFIX, true);
+        SchemaGenerator generator = new SchemaGenerator(scoped, definitions);
+
+        List<String> roots = new ArrayList<>();
+        for (String name : new TreeSet<>(classNames)) {
+            ClassModel model = scoped.resolve(name);
+            if (model == null) continue;
+
+            definitions.ref(model);
+            roots.add(definitions.nameOf(model));
+        }
+
+        // 依次展开登记的类, 展开过程中可能登记新的类
+        Map<String, SchemaNode> classes = new TreeMap<>();
+        for (ClassModel model = definitions.poll(); model != null; model = definitions.poll()) {
+            classes.put(definitions.nameOf(model), generator.classSchema(model));
+        }
+        return new SchemaBaseline(roots, classes);
+    }
+
+    public void write(Writer out, boolean pretty) throws IOException {
+        JsonWriter writer = JsonOutput.newWriter(out, pretty);
+        writer.beginObject();
+        writer.name("version").value(VERSION);
+        writer.name("roots").beginArray();
+        for (String root : roots) {
+            writer.value(root);
+        }
+        writer.endArray();
+
+        writer.name("definitions").beginObject();
+        for (Map.Entry<String, SchemaNode> entry : classes.entrySet()) {
+            writer.name(entry.getKey());
+            GSON.toJson(entry.getValue(), SchemaNode.class, writer);
+        }
+        writer.endObject();
+        writer.endObject();
+        writer.flush();
+    }
+
+    /**
+     * 读取 write 写出的快照, 格式不符时抛出 IOException
+     */
+    public static SchemaBaseline read(Reader in) throws IOException {
+        JsonReader reader = new JsonReader(in);
+        List<String> roots = new ArrayList<>();
+        Map<String, SchemaNode> classes = new TreeMap<>();
+        SchemaNode.Interner interner = new SchemaNode.Interner();
+        int version = -1;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "version":
+                    version = reader.nextInt();
+                    break;
+                case "roots":
+                    reader.beginArray();
+                    while (reader.hasNext()) roots.add(reader.nextString());
+                    reader.endArray();
+                    break;
+                case "definitions":
+                    reader.beginObject();
+                    while (reader.hasNext()) classes.put(reader.nextName(), SchemaNode.read(reader, interner));
+                    reader.endObject();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (version != VERSION) throw new IOException("unsupported baseline version: " + version);
+        return new SchemaBaseline(roots, classes);
+    }
+
+    public List<String> getRoots() {
+        return roots;
+    }
+
+    public Map<String, SchemaNode> getClasses() {
+        return classes;
+    }
+
+    /**
+     * 类的 schema, 不存在时返回 null
+     */
+    public SchemaNode get(String name) {
+        return classes.get(name);
+    }
+
+    /**
+     * $ref 指向的类名, 不是本快照中的引用时返回 null
+     */
+    public static String refName(String ref) {
+        return ref != null && ref.startsWith(Schema.DEFINITIONS_PREFIX) ? ref.substring(Schema.DEFINITIONS_PREFIX.length()) : null;
+    }
+}
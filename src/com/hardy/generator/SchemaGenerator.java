@@ -0,0 +1,166 @@
+package com.hardy.generator;
+
+import com.hardy.metrics.GenerationMetrics;
+import com.hardy.model.*;
+
+import java.util.*;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 由类结构生成 json schema, 每次生成使用一个新实例
+ * 以可变的 Schema 构建并应用约束, 完成后转换为紧凑的 SchemaNode, 本实例生成的相同子树共享
+ **/
+public class SchemaGenerator {
+
+    private final ClassModelResolver resolver;
+
+    private final boolean useDefinitions; // 每个类只生成一次, 通过 $ref 引用
+
+    private final boolean narrow; // 范围限制在 Java 类型内, 如 byte 为 -128..127, 仅用于生成示例
+
+    private final Set<String> visiting = new HashSet<>(); // 正在展开的类
+
+    private Definitions definitions;
+
+    private final SchemaNode.Interner interner = new SchemaNode.Interner();
+
+    public SchemaGenerator(ClassModelResolver resolver, boolean useDefinitions) {
+        this(resolver, useDefinitions, false);
+    }
+
+    /**
+     * narrow 为 true 时 byte、short、char 及其包装类带上 Java 类型的取值范围, 使生成的示例能读回该类型, 见 SampleGenerator
+     */
+    SchemaGenerator(ClassModelResolver resolver, boolean useDefinitions, boolean narrow) {
+        this.resolver = resolver;
+        this.useDefinitions = useDefinitions;
+        this.narrow = narrow;
+    }
+
+    /**
+     * 多个根共享同一份 definitions, 所有类均通过 $ref 引用, 见 OpenApiWriter
+     */
+    SchemaGenerator(ClassModelResolver resolver, Definitions definitions) {
+        this(resolver, true);
+        this.definitions = definitions;
+    }
+
+    public SchemaNode generate(ClassModel model) {
+        definitions = new Definitions(model.getQualifiedName());
+
+        // 结果收集保证有序
+        Schema root = classParser(model);
+
+        // 依次生成被引用的类, 生成过程中可能登记新的类
+        if (definitions.hasPending()) {
+            KV kv = KV.create();
+            for (ClassModel c = definitions.poll(); c != null; c = definitions.poll()) {
+                kv.set(definitions.nameOf(c), SchemaNode.of(classParser(c), interner));
+            }
+            root.setDefinitions(kv);
+        }
+        return SchemaNode.of(root, interner);
+    }
+
+    /**
+     * 类型的 schema, 其中的类登记到 definitions
+     */
+    SchemaNode typeSchema(TypeRef type) {
+        return SchemaNode.of(genField(type), interner);
+    }
+
+    /**
+     * 类展开后的 schema, 用于生成 definitions 中的类
+     */
+    SchemaNode classSchema(ClassModel model) {
+        return SchemaNode.of(classParser(model), interner);
+    }
+
+    private Schema classParser(ClassModel model) {
+        Schema root = Schema.createObject();
+
+        // 记录正在展开的类, 用于检测循环引用
+        visiting.add(model.getQualifiedName());
+
+        // 构造schema, 父类字段在前
+        Collection<FieldModel> fields = resolver.fields(model, false);
+        GenerationMetrics.classVisited(fields.size());
+        for (FieldModel field : fields) {
+            getField(field, root);
+        }
+
+        visiting.remove(model.getQualifiedName());
+        return root;
+    }
+
+    private void getField(FieldModel field, Schema root) {
+        // 生成基础的schema
+        Schema schema = genField(field.getType());
+
+        // 构建注释
+        schema.setDescription(field.getDescription());
+
+        // 构建注解
+        boolean require = ConstraintRegistry.apply(schema, field);
+
+        // 约束不能超出 Java 类型的取值范围, 如 byte 上的 @Max(1000)
+        if (narrow) schema.narrowTo(field.getType());
+
+        // 添加到root schema
+        if (require) root.addRequire(field.getName());
+        root.getProperties().set(field.getName(), schema);
+    }
+
+    // 构建字段的schema
+    private Schema genField(TypeRef type) {
+        switch (type.getKind()) {
+            // 基本类型 / 正常类型
+            case PRIMITIVE:
+            case NORMAL: {
+                Schema schema = Schema.createBasic(type.getName());
+                // 数组与列表的元素同样限制
+                if (narrow) schema.narrowTo(type);
+                return schema;
+            }
+            // 枚举
+            case ENUM:
+                return genEnum(resolver, type);
+            // 数组
+            case ARRAY:
+                return Schema.createArray(genField(type.getArgument(0)));
+            // 列表
+            case LIST: {
+                // 不存在泛型
+                TypeRef generic = type.getArgument(0);
+                if (generic == null) return Schema.createArray(Schema.createObject());
+
+                return Schema.createArray(genField(generic));
+            }
+            // 其他的类, 泛型类按泛型参数特化
+            case CLASS: {
+                ClassModel model = resolver.resolve(type);
+                if (model == null) return Schema.createObject();
+
+                // definitions 模式或循环引用时使用 $ref
+                if (useDefinitions || visiting.contains(model.getQualifiedName())) {
+                    return Schema.createRef(definitions.ref(model));
+                }
+                return classParser(model);
+            }
+            // Object / map
+            default:
+                return Schema.createObject();
+        }
+    }
+
+    // 枚举为带可选值的字符串
+    static Schema genEnum(ClassModelResolver resolver, TypeRef type) {
+        Schema schema = Schema.createBasic("String");
+
+        ClassModel model = resolver.resolve(type.getQualifiedName());
+        if (model != null && !model.getEnumConstants().isEmpty()) schema.setEnumValues(model.getEnumConstants());
+        return schema;
+    }
+
+}
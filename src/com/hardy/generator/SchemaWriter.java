@@ -0,0 +1,199 @@
+package com.hardy.generator;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
+import com.hardy.metrics.GenerationMetrics;
+import com.hardy.model.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 由类结构生成 json schema, 边遍历边写出, 输出与 SchemaGenerator 生成后再序列化一致
+ * 每次生成使用一个新实例
+ **/
+public class SchemaWriter {
+
+    private static final Gson GSON = new Gson();
+
+    // 由结构决定、已单独写出的属性
+    private static final Set<String> STRUCTURE = new HashSet<>(Arrays.asList("$ref", "type", "properties", "items",
+            "description", "required", "definitions"));
+
+    private final ClassModelResolver resolver;
+
+    private final boolean useDefinitions; // 每个类只生成一次, 通过 $ref 引用
+
+    private final Set<String> visiting = new HashSet<>(); // 正在展开的类
+
+    private Definitions definitions;
+
+    public SchemaWriter(ClassModelResolver resolver, boolean useDefinitions) {
+        this.resolver = resolver;
+        this.useDefinitions = useDefinitions;
+    }
+
+    public void generate(ClassModel model, JsonWriter writer) throws IOException {
+        definitions = new Definitions(model.getQualifiedName());
+        classParser(model, null, true, writer);
+        writer.flush();
+    }
+
+    // 字段顺序与 Schema 中属性的声明顺序一致; field 为字段的注释与约束, 根节点及数组元素为空
+    private void classParser(ClassModel model, Schema field, boolean root, JsonWriter writer) throws IOException {
+        // 记录正在展开的类, 用于检测循环引用
+        visiting.add(model.getQualifiedName());
+
+        writer.beginObject();
+        writer.name("type").value(SchemaType.OBJECT.val);
+
+        // 父类字段在前
+        Collection<FieldModel> fields = resolver.fields(model, false);
+        GenerationMetrics.classVisited(fields.size());
+
+        List<String> required = null;
+        writer.name("properties").beginObject();
+        for (FieldModel f : fields) {
+            writer.name(f.getName());
+            if (genField(f.getType(), f, writer)) {
+                if (required == null) required = new ArrayList<>();
+                required.add(f.getName());
+            }
+        }
+        writer.endObject();
+
+        visiting.remove(model.getQualifiedName());
+
+        if (field != null && field.getDescription() != null) writer.name("description").value(field.getDescription());
+        if (required != null) {
+            writer.name("required").beginArray();
+            for (String name : required) writer.value(name);
+            writer.endArray();
+        }
+
+        // 依次生成被引用的类, 生成过程中可能登记新的类
+        if (root && definitions.hasPending()) {
+            writer.name("definitions").beginObject();
+            for (ClassModel c = definitions.poll(); c != null; c = definitions.poll()) {
+                writer.name(definitions.nameOf(c));
+                classParser(c, null, false, writer);
+            }
+            writer.endObject();
+        }
+        writeConstraints(field, writer);
+        writer.endObject();
+    }
+
+    // 写出字段的schema, field 为空时表示数组元素; 返回是否必需
+    // 各类字段都应用约束, 与 SchemaGenerator 一致; 数组、对象与引用的约束写在结构之后, 与 Schema 序列化的顺序相同
+    private boolean genField(TypeRef type, FieldModel field, JsonWriter writer) throws IOException {
+        switch (type.getKind()) {
+            // 基本类型 / 正常类型 / 枚举
+            case PRIMITIVE:
+            case NORMAL:
+            case ENUM: {
+                Schema schema = type.getKind() == TypeKind.ENUM
+                        ? SchemaGenerator.genEnum(resolver, type) : Schema.createBasic(type.getName());
+                boolean require = constrain(schema, field);
+                GSON.toJson(schema, Schema.class, writer);
+                return require;
+            }
+            // 数组 / 列表
+            case ARRAY:
+            case LIST: {
+                Schema schema = Schema.createArray(null);
+                boolean require = constrain(schema, field);
+
+                writer.beginObject();
+                writer.name("type").value(SchemaType.ARRAY.val);
+                writer.name("items");
+
+                // 不存在泛型
+                TypeRef generic = type.getArgument(0);
+                if (generic == null) genObject(null, writer);
+                else genField(generic, null, writer);
+
+                if (schema.getDescription() != null) writer.name("description").value(schema.getDescription());
+                writeConstraints(schema, writer);
+                writer.endObject();
+                return require;
+            }
+            // 其他的类, 泛型类按泛型参数特化
+            case CLASS: {
+                ClassModel model = resolver.resolve(type);
+                if (model == null) {
+                    Schema schema = Schema.createObject();
+                    boolean require = constrain(schema, field);
+                    genObject(schema, writer);
+                    return require;
+                }
+
+                // definitions 模式或循环引用时使用 $ref
+                if (useDefinitions || visiting.contains(model.getQualifiedName())) {
+                    String ref = definitions.ref(model);
+                    Schema schema = Schema.createRef(ref);
+                    boolean require = constrain(schema, field);
+
+                    writer.beginObject();
+                    writer.name("$ref").value(ref);
+                    if (schema.getDescription() != null) writer.name("description").value(schema.getDescription());
+                    writeConstraints(schema, writer);
+                    writer.endObject();
+                    return require;
+                }
+
+                Schema schema = Schema.createObject();
+                boolean require = constrain(schema, field);
+                classParser(model, schema, false, writer);
+                return require;
+            }
+            // Object / map
+            default: {
+                Schema schema = Schema.createObject();
+                boolean require = constrain(schema, field);
+                genObject(schema, writer);
+                return require;
+            }
+        }
+    }
+
+    // 字段的注释与约束, 与 SchemaGenerator.getField 相同; 数组元素没有
+    private static boolean constrain(Schema schema, FieldModel field) {
+        if (field == null) return false;
+
+        schema.setDescription(field.getDescription());
+        return ConstraintRegistry.apply(schema, field);
+    }
+
+    private static void genObject(Schema field, JsonWriter writer) throws IOException {
+        writer.beginObject();
+        writer.name("type").value(SchemaType.OBJECT.val);
+        writer.name("properties").beginObject().endObject();
+        if (field != null && field.getDescription() != null) writer.name("description").value(field.getDescription());
+        writeConstraints(field, writer);
+        writer.endObject();
+    }
+
+    // 约束处理设置的属性(结构以外的部分), 没有约束时不序列化
+    private static void writeConstraints(Schema field, JsonWriter writer) throws IOException {
+        if (field == null || !field.hasConstraints()) return;
+
+        JsonObject tree = GSON.toJsonTree(field, Schema.class).getAsJsonObject();
+        for (Map.Entry<String, JsonElement> entry : tree.entrySet()) {
+            if (STRUCTURE.contains(entry.getKey())) continue;
+
+            writer.name(entry.getKey());
+            GSON.toJson(entry.getValue(), writer);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.hardy.index;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 索引中记录的类的结构, 只由源码文本得到, 不解析类型
+ * 类型名与注解名按源码中的写法, 注解名尽量通过 import 补全为全名
+ **/
+public class BeanShape {
+
+    // 类的种类
+    public static final byte CLASS = 0;
+    public static final byte INTERFACE = 1;
+    public static final byte ENUM = 2;
+    public static final byte ANNOTATION = 3;
+
+    private final String qualifiedName;
+
+    private final byte kind;
+
+    private final String superName; // extends 的写法, 没有时为空字符串
+
+    private final List<String> annotations; // 类上的注解
+
+    private final List<Field> fields;
+
+    private final long fingerprint; // 影响生成结果的源码文本(字段/父类/泛型参数/import, 注解类型为全部源码)的哈希
+
+    public BeanShape(String qualifiedName, byte kind, String superName, List<String> annotations,
+                     List<Field> fields, long fingerprint) {
+        this.qualifiedName = qualifiedName;
+        this.kind = kind;
+        this.superName = superName;
+        this.annotations = Collections.unmodifiableList(annotations);
+        this.fields = Collections.unmodifiableList(fields);
+        this.fingerprint = fingerprint;
+    }
+
+    public String getQualifiedName() {
+        return qualifiedName;
+    }
+
+    public byte getKind() {
+        return kind;
+    }
+
+    public String getSuperName() {
+        return superName;
+    }
+
+    public List<String> getAnnotations() {
+        return annotations;
+    }
+
+    public List<Field> getFields() {
+        return fields;
+    }
+
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof BeanShape)) return false;
+        BeanShape that = (BeanShape) o;
+        return kind == that.kind && fingerprint == that.fingerprint
+                && qualifiedName.equals(that.qualifiedName) && superName.equals(that.superName)
+                && annotations.equals(that.annotations) && fields.equals(that.fields);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(qualifiedName, fingerprint);
+    }
+
+    /**
+     * 字段
+     */
+    public static class Field {
+
+        // 字段类型的种类, 只区分基本类型/数组/其他
+        public static final byte PRIMITIVE = 0;
+        public static final byte ARRAY = 1;
+        public static final byte REFERENCE = 2;
+
+        private final String name;
+
+        private final String type; // 类型的写法, 如 List<String>
+
+        private final byte kind;
+
+        private final boolean staticField;
+
+        private final List<Constraint> constraints;
+
+        public Field(String name, String type, byte kind, boolean staticField, List<Constraint> constraints) {
+            this.name = name;
+            this.type = type;
+            this.kind = kind;
+            this.staticField = staticField;
+            this.constraints = Collections.unmodifiableList(constraints);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public byte getKind() {
+            return kind;
+        }
+
+        public boolean isStatic() {
+            return staticField;
+        }
+
+        public List<Constraint> getConstraints() {
+            return constraints;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Field)) return false;
+            Field that = (Field) o;
+            return kind == that.kind && staticField == that.staticField && name.equals(that.name)
+                    && type.equals(that.type) && constraints.equals(that.constraints);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, type);
+        }
+    }
+
+    /**
+     * 约束注解, 属性为源码中参数列表的写法, 如 (min = 1, max = 10)
+     */
+    public static class Constraint {
+
+        private final String qualifiedName;
+
+        private final String attributes;
+
+        public Constraint(String qualifiedName, String attributes) {
+            this.qualifiedName = qualifiedName;
+            this.attributes = attributes;
+        }
+
+        public String getQualifiedName() {
+            return qualifiedName;
+        }
+
+        public String getAttributes() {
+            return attributes;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Constraint)) return false;
+            Constraint that = (Constraint) o;
+            return qualifiedName.equals(that.qualifiedName) && attributes.equals(that.attributes);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(qualifiedName, attributes);
+        }
+    }
+}
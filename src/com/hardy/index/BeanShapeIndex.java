@@ -0,0 +1,301 @@
+package com.hardy.index;
+
+import com.hardy.model.AnnotationModel;
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.psi.*;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.IOUtil;
+import com.intellij.util.io.KeyDescriptor;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 类全名 -> 类的结构(字段, 约束注解, 指纹), 持久化, 重启IDE后无需重新解析
+ * 只读取源码文本, 索引时不解析类型; 查询需在读操作中且不在 dumb mode
+ **/
+public class BeanShapeIndex extends FileBasedIndexExtension<String, BeanShape> {
+
+    public static final ID<String, BeanShape> NAME = ID.create("com.hardy.JsonTool.BeanShape");
+
+    private static final String[] CONSTRAINT_PACKAGES = {"javax.validation.constraints.", "jakarta.validation.constraints."};
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /**
+     * 查询类的结构, 不存在时返回 null
+     */
+    public static BeanShape get(String qualifiedName, GlobalSearchScope scope) {
+        List<BeanShape> values = FileBasedIndex.getInstance().getValues(NAME, qualifiedName, scope);
+        return values.isEmpty() ? null : values.get(0);
+    }
+
+    /**
+     * 范围内所有类的结构
+     */
+    public static List<BeanShape> getAll(GlobalSearchScope scope) {
+        FileBasedIndex index = FileBasedIndex.getInstance();
+        List<String> keys = new ArrayList<>();
+        index.processAllKeys(NAME, key -> {
+            keys.add(key);
+            return true;
+        }, scope, null);
+
+        // 已删除的类的 key 可能仍存在, 以查询到的值为准
+        List<BeanShape> shapes = new ArrayList<>();
+        for (String key : keys) {
+            ProgressManager.checkCanceled();
+            shapes.addAll(index.getValues(NAME, key, scope));
+        }
+        return shapes;
+    }
+
+    @NotNull
+    @Override
+    public ID<String, BeanShape> getName() {
+        return NAME;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, BeanShape, FileContent> getIndexer() {
+        return inputData -> {
+            PsiFile file = inputData.getPsiFile();
+            if (!(file instanceof PsiJavaFile)) return Collections.emptyMap();
+
+            PsiJavaFile javaFile = (PsiJavaFile) file;
+            Imports imports = new Imports(javaFile);
+            Map<String, BeanShape> result = new HashMap<>();
+            for (PsiClass clazz : javaFile.getClasses()) {
+                indexClass(clazz, imports, result);
+            }
+            return result;
+        };
+    }
+
+    private static void indexClass(PsiClass clazz, Imports imports, Map<String, BeanShape> result) {
+        String qualifiedName = clazz.getQualifiedName();
+        if (qualifiedName != null) result.put(qualifiedName, shapeOf(clazz, qualifiedName, imports));
+
+        for (PsiClass inner : clazz.getInnerClasses()) {
+            indexClass(inner, imports, result);
+        }
+    }
+
+    private static BeanShape shapeOf(PsiClass clazz, String qualifiedName, Imports imports) {
+        byte kind = clazz.isAnnotationType() ? BeanShape.ANNOTATION
+                : clazz.isInterface() ? BeanShape.INTERFACE
+                : clazz.isEnum() ? BeanShape.ENUM
+                : BeanShape.CLASS;
+
+        PsiReferenceList extendsList = clazz.getExtendsList();
+        PsiJavaCodeReferenceElement[] supers = extendsList == null ? PsiJavaCodeReferenceElement.EMPTY_ARRAY : extendsList.getReferenceElements();
+        String superName = kind == BeanShape.CLASS && supers.length > 0 ? supers[0].getText() : "";
+
+        List<String> annotations = new ArrayList<>();
+        PsiModifierList modifierList = clazz.getModifierList();
+        if (modifierList != null) {
+            for (PsiAnnotation annotation : modifierList.getAnnotations()) {
+                PsiJavaCodeReferenceElement reference = annotation.getNameReferenceElement();
+                if (reference != null) annotations.add(imports.qualify(reference.getText()));
+            }
+        }
+
+        // 指纹: 字段(含注释与注解)/父类/泛型参数/import, 注解类型为全部源码, 与空白无关
+        long fingerprint = hash(FNV_OFFSET, String.valueOf(kind));
+        fingerprint = hash(fingerprint, superName);
+        if (clazz.getTypeParameterList() != null) fingerprint = hash(fingerprint, clazz.getTypeParameterList().getText());
+        fingerprint = hash(fingerprint, imports.text);
+        // 组合注解的约束在注解类型本身的注解与属性默认值上
+        if (kind == BeanShape.ANNOTATION) fingerprint = hash(fingerprint, clazz.getText());
+
+        List<BeanShape.Field> fields = new ArrayList<>();
+        for (PsiField field : clazz.getFields()) {
+            fingerprint = hash(fingerprint, field.getText());
+
+            PsiTypeElement typeElement = field.getTypeElement();
+            String type = typeElement == null ? "" : typeElement.getText();
+            byte fieldKind = type.endsWith("]") || type.endsWith("...") ? BeanShape.Field.ARRAY
+                    : field.getType() instanceof PsiPrimitiveType ? BeanShape.Field.PRIMITIVE
+                    : BeanShape.Field.REFERENCE;
+
+            fields.add(new BeanShape.Field(field.getName(), type, fieldKind,
+                    field.hasModifierProperty(PsiModifier.STATIC), constraints(field, imports)));
+        }
+
+        return new BeanShape(qualifiedName, kind, superName, annotations, fields, fingerprint);
+    }
+
+    // 字段上的约束注解
+    private static List<BeanShape.Constraint> constraints(PsiField field, Imports imports) {
+        PsiModifierList modifierList = field.getModifierList();
+        if (modifierList == null) return Collections.emptyList();
+
+        List<BeanShape.Constraint> constraints = new ArrayList<>();
+        for (PsiAnnotation annotation : modifierList.getAnnotations()) {
+            PsiJavaCodeReferenceElement reference = annotation.getNameReferenceElement();
+            if (reference == null) continue;
+
+            String qualifiedName = imports.qualify(reference.getText());
+            if (AnnotationModel.isValidationConstraint(qualifiedName)) {
+                constraints.add(new BeanShape.Constraint(qualifiedName, annotation.getParameterList().getText()));
+            }
+        }
+        return constraints;
+    }
+
+    // FNV-1a, 连续的空白按一个空格计算
+    private static long hash(long hash, String text) {
+        boolean space = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = true;
+                continue;
+            }
+            if (space) {
+                hash = (hash ^ ' ') * FNV_PRIME;
+                space = false;
+            }
+            hash = (hash ^ c) * FNV_PRIME;
+        }
+        // 分隔符, 使 "ab"+"c" 与 "a"+"bc" 不同
+        return (hash ^ 0xff) * FNV_PRIME;
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public DataExternalizer<BeanShape> getValueExternalizer() {
+        return new Externalizer();
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return new DefaultFileTypeSpecificInputFilter(JavaFileType.INSTANCE);
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    @Override
+    public int getVersion() {
+        return 2;
+    }
+
+    // 通过 import 将注解的简单名补全为全名, 只处理语法, 不解析
+    private static class Imports {
+
+        private final Map<String, String> singles = new HashMap<>(); // 简单名 -> 全名
+
+        private final List<String> onDemand = new ArrayList<>(); // 包名.
+
+        private final String text;
+
+        private Imports(PsiJavaFile file) {
+            PsiImportList importList = file.getImportList();
+            text = importList == null ? "" : importList.getText();
+            if (importList == null) return;
+
+            for (PsiImportStatement statement : importList.getImportStatements()) {
+                PsiJavaCodeReferenceElement reference = statement.getImportReference();
+                if (reference == null) continue;
+
+                String name = reference.getText().replaceAll("\\s", "");
+                if (statement.isOnDemand()) {
+                    onDemand.add(name + ".");
+                } else {
+                    singles.put(name.substring(name.lastIndexOf('.') + 1), name);
+                }
+            }
+        }
+
+        private String qualify(String name) {
+            name = name.replaceAll("\\s", "");
+            if (name.indexOf('.') >= 0) return name;
+
+            String qualifiedName = singles.get(name);
+            if (qualifiedName != null) return qualifiedName;
+
+            // 按需导入只补全约束注解所在的包
+            for (String prefix : onDemand) {
+                for (String constraintPackage : CONSTRAINT_PACKAGES) {
+                    if (prefix.equals(constraintPackage)) return prefix + name;
+                }
+            }
+            return name;
+        }
+    }
+
+    private static class Externalizer implements DataExternalizer<BeanShape> {
+
+        @Override
+        public void save(@NotNull DataOutput out, BeanShape value) throws IOException {
+            IOUtil.writeUTF(out, value.getQualifiedName());
+            out.writeByte(value.getKind());
+            IOUtil.writeUTF(out, value.getSuperName());
+            out.writeInt(value.getAnnotations().size());
+            for (String annotation : value.getAnnotations()) IOUtil.writeUTF(out, annotation);
+
+            out.writeInt(value.getFields().size());
+            for (BeanShape.Field field : value.getFields()) {
+                IOUtil.writeUTF(out, field.getName());
+                IOUtil.writeUTF(out, field.getType());
+                out.writeByte(field.getKind());
+                out.writeBoolean(field.isStatic());
+                out.writeInt(field.getConstraints().size());
+                for (BeanShape.Constraint constraint : field.getConstraints()) {
+                    IOUtil.writeUTF(out, constraint.getQualifiedName());
+                    IOUtil.writeUTF(out, constraint.getAttributes());
+                }
+            }
+            out.writeLong(value.getFingerprint());
+        }
+
+        @Override
+        public BeanShape read(@NotNull DataInput in) throws IOException {
+            String qualifiedName = IOUtil.readUTF(in);
+            byte kind = in.readByte();
+            String superName = IOUtil.readUTF(in);
+
+            int size = in.readInt();
+            List<String> annotations = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) annotations.add(IOUtil.readUTF(in));
+
+            size = in.readInt();
+            List<BeanShape.Field> fields = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                String name = IOUtil.readUTF(in);
+                String type = IOUtil.readUTF(in);
+                byte fieldKind = in.readByte();
+                boolean staticField = in.readBoolean();
+
+                int count = in.readInt();
+                List<BeanShape.Constraint> constraints = new ArrayList<>(count);
+                for (int j = 0; j < count; j++) {
+                    constraints.add(new BeanShape.Constraint(IOUtil.readUTF(in), IOUtil.readUTF(in)));
+                }
+                fields.add(new BeanShape.Field(name, type, fieldKind, staticField, constraints));
+            }
+            return new BeanShape(qualifiedName, kind, superName, annotations, fields, in.readLong());
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.hardy.infer;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 由推断结果生成 Java bean 源码, 嵌套对象生成为静态内部类, 字段带 getter / setter
+ * 类型: 字符串 String, 整数在 int 范围内为 Integer 否则 Long, 小数 Double, 数组 List, 多种类型或只出现过 null 为 Object
+ **/
+public class BeanSourceWriter {
+
+    private static final Set<String> KEYWORDS = new HashSet<>(Arrays.asList(
+            "abstract", "assert", "boolean", "break", "byte", "case", "catch", "char", "class", "const", "continue",
+            "default", "do", "double", "else", "enum", "extends", "false", "final", "finally", "float", "for", "goto",
+            "if", "implements", "import", "instanceof", "int", "interface", "long", "native", "new", "null", "package",
+            "private", "protected", "public", "return", "short", "static", "strictfp", "super", "switch", "synchronized",
+            "this", "throw", "throws", "transient", "true", "try", "void", "volatile", "while"));
+
+    private static final String INDENT = "    ";
+
+    // 已使用的类名(小写), 内部类不能与外层类同名; 不区分大小写, 以免类文件在不区分大小写的文件系统中冲突
+    private final Set<String> classNames = new HashSet<>();
+
+    private boolean usesList;
+
+    private boolean usesMap;
+
+    /**
+     * 写出类的源码, 顶层为数组时取数组元素的结构; 顶层不是对象时抛出 IllegalArgumentException
+     */
+    public static void write(Shape shape, String qualifiedName, long samples, Writer out) throws IOException {
+        Shape root = shape;
+        while (root.valueTypes() == Shape.ARRAY && root.items != null) root = root.items;
+        if (root.valueTypes() != Shape.OBJECT) throw new IllegalArgumentException("samples are not JSON objects");
+
+        int dot = qualifiedName.lastIndexOf('.');
+        String packageName = dot < 0 ? null : qualifiedName.substring(0, dot);
+        String className = qualifiedName.substring(dot + 1);
+
+        // 先生成类体, 再按用到的类型写出 import
+        BeanSourceWriter writer = new BeanSourceWriter();
+        StringBuilder body = new StringBuilder();
+        writer.classNames.add(className.toLowerCase(Locale.ROOT));
+        body.append("/**\n * Inferred from ").append(samples).append(" JSON samples\n */\n");
+        writer.writeClass(root, className, "", false, body);
+
+        if (packageName != null) out.write("package " + packageName + ";\n\n");
+        if (writer.usesList) out.write("import java.util.List;\n");
+        if (writer.usesMap) out.write("import java.util.Map;\n");
+        if (writer.usesList || writer.usesMap) out.write('\n');
+        out.write(body.toString());
+    }
+
+    private void writeClass(Shape shape, String className, String indent, boolean nested, StringBuilder out) {
+        // 字段名 -> 类型
+        Map<String, String> fieldTypes = new LinkedHashMap<>();
+        Map<String, String> jsonNames = new LinkedHashMap<>();
+        List<Consumer<StringBuilder>> nestedClasses = new ArrayList<>();
+        // 已使用的字段名(小写), getter / setter 由字段名首字母大写得到, 只差大小写的字段名会生成相同的方法
+        // getClass 为 Object 的 final 方法, 预先占用
+        Set<String> fieldNames = new HashSet<>(Collections.singleton("class"));
+
+        for (Map.Entry<String, Shape> entry : shape.properties.entrySet()) {
+            String field = unique(identifier(entry.getKey(), false), fieldNames);
+            fieldTypes.put(field, type(entry.getValue(), field, indent + INDENT, nestedClasses));
+            jsonNames.put(field, entry.getKey());
+        }
+
+        out.append(indent).append(nested ? "public static class " : "public class ").append(className).append(" {\n");
+        for (Map.Entry<String, String> field : fieldTypes.entrySet()) {
+            String name = field.getKey();
+            String jsonName = jsonNames.get(name);
+            out.append('\n');
+            String comment = comment(jsonName, name, shape.isRequired(shape.properties.get(jsonName)));
+            if (comment != null) out.append(indent).append(INDENT).append("// ").append(comment).append('\n');
+            out.append(indent).append(INDENT).append("private ").append(field.getValue()).append(' ').append(name).append(";\n");
+        }
+
+        for (Map.Entry<String, String> field : fieldTypes.entrySet()) {
+            String name = field.getKey();
+            String type = field.getValue();
+            String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+            out.append('\n')
+                    .append(indent).append(INDENT).append("public ").append(type).append(" get").append(suffix).append("() {\n")
+                    .append(indent).append(INDENT).append(INDENT).append("return ").append(name).append(";\n")
+                    .append(indent).append(INDENT).append("}\n\n")
+                    .append(indent).append(INDENT).append("public void set").append(suffix).append('(').append(type).append(' ').append(name).append(") {\n")
+                    .append(indent).append(INDENT).append(INDENT).append("this.").append(name).append(" = ").append(name).append(";\n")
+                    .append(indent).append(INDENT).append("}\n");
+        }
+
+        // 内部类按登记顺序写在字段与方法之后
+        for (Consumer<StringBuilder> nestedClass : nestedClasses) {
+            out.append('\n');
+            nestedClass.accept(out);
+        }
+        out.append(indent).append("}\n");
+    }
+
+    // 字段类型, 对象类型登记一个内部类
+    private String type(Shape shape, String field, String indent, List<Consumer<StringBuilder>> nestedClasses) {
+        switch (shape.valueTypes()) {
+            case Shape.STRING:
+                return "String";
+            case Shape.BOOLEAN:
+                return "Boolean";
+            case Shape.INTEGER:
+                return shape.minInteger >= Integer.MIN_VALUE && shape.maxInteger <= Integer.MAX_VALUE ? "Integer" : "Long";
+            case Shape.NUMBER:
+                return "Double";
+            case Shape.ARRAY:
+                usesList = true;
+                return "List<" + (shape.items == null ? "Object" : type(shape.items, singular(field), indent, nestedClasses)) + ">";
+            case Shape.OBJECT: {
+                // 字段过多的对象多为以 id 等为 key 的 map
+                if (shape.truncated) {
+                    usesMap = true;
+                    return "Map<String, Object>";
+                }
+                String name = unique(identifier(field, true), classNames);
+                // 类名与字段名相同时(如 json 中的 "Arr")字段声明为 Arr Arr, 换一个类名
+                String className = name.equals(field) ? unique(name, classNames) : name;
+                nestedClasses.add(out -> writeClass(shape, className, indent, true, out));
+                return className;
+            }
+            default:
+                return "Object";
+        }
+    }
+
+    // 字段注释: json 中的名字与字段名不同、可能缺失或为 null
+    private static String comment(String jsonName, String field, boolean required) {
+        List<String> notes = new ArrayList<>();
+        if (!jsonName.equals(field)) notes.add("\"" + jsonName + "\" in JSON");
+        if (!required) notes.add("optional");
+        return notes.isEmpty() ? null : String.join(", ", notes);
+    }
+
+    /**
+     * json 名字转为合法标识符: 分隔符后的字母大写, 不能以数字开头, 关键字后加下划线; type 为 true 时首字母大写
+     */
+    public static String identifier(String name, boolean type) {
+        StringBuilder sb = new StringBuilder();
+        boolean upper = type;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (!Character.isJavaIdentifierPart(c) || c == '$') {
+                upper = sb.length() > 0 || type;
+                continue;
+            }
+            if (sb.length() == 0 && !Character.isJavaIdentifierStart(c)) sb.append('_');
+            sb.append(upper ? Character.toUpperCase(c) : c);
+            upper = false;
+        }
+        if (sb.length() == 0) return type ? "Value" : "value";
+        if (type && Character.isLowerCase(sb.charAt(0))) sb.setCharAt(0, Character.toUpperCase(sb.charAt(0)));
+
+        String identifier = sb.toString();
+        return KEYWORDS.contains(identifier) ? identifier + "_" : identifier;
+    }
+
+    // 数组元素的类名, 去掉复数后缀: items -> Item, categories -> Category
+    private static String singular(String name) {
+        if (name.endsWith("ies") && name.length() > 3) return name.substring(0, name.length() - 3) + "y";
+        if (name.endsWith("s") && !name.endsWith("ss") && name.length() > 1) return name.substring(0, name.length() - 1);
+        return name + "Item";
+    }
+
+    // 不区分大小写的唯一名字, used 中记录小写
+    private static String unique(String name, Set<String> used) {
+        String result = name;
+        for (int i = 2; !used.add(result.toLowerCase(Locale.ROOT)); i++) result = name + i;
+        return result;
+    }
+}
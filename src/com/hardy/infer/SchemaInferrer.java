@@ -0,0 +1,300 @@
+package com.hardy.infer;
+
+import com.google.gson.Strictness;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.hardy.util.FileChunks;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.LongConsumer;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 由 json 样本推断结构, 与 toJson 方向相反; 边读边推断, 不把文件读入内存
+ * NDJSON 按行分块, 顶层为数组的 json 按元素分块, 各块多线程推断后按文件顺序合并, 结果与单线程一致
+ **/
+public class SchemaInferrer {
+
+    private final int threads;
+
+    private final LongConsumer progress; // 已处理的字节数
+
+    public SchemaInferrer(int threads, LongConsumer progress) {
+        this.threads = threads;
+        this.progress = progress;
+    }
+
+    /**
+     * .ndjson / .jsonl 按每行一个样本处理, 其他文件为 json: 顶层为数组时每个元素是一个样本, 否则每个顶层值是一个样本
+     */
+    public Inference inferFile(File file) throws IOException {
+        String name = file.getName().toLowerCase();
+        return name.endsWith(".ndjson") || name.endsWith(".jsonl") ? inferNdjson(file) : inferJson(file);
+    }
+
+    /**
+     * 推断 NDJSON 文件, 空行忽略, 不合法的行计入 malformed 并跳过
+     */
+    public Inference inferNdjson(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return inferChunks(channel, FileChunks.lineBounds(channel), false);
+        }
+    }
+
+    /**
+     * 推断 json 文件, 顶层数组按元素分块并行, 其他情况顺序读取
+     */
+    public Inference inferJson(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long[] bounds = arrayBounds(channel);
+            if (bounds != null) return inferChunks(channel, bounds, true);
+        }
+
+        Inference inference = new Inference();
+        try (Reader in = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+            inferValues(new BufferedReader(in, 64 * 1024), inference);
+        }
+        progress.accept(file.length());
+        return inference;
+    }
+
+    /**
+     * 推断一段 json, 每个顶层值是一个样本, 顶层数组的每个元素是一个样本
+     */
+    public static Inference infer(Reader in) throws IOException {
+        Inference inference = new Inference();
+        inferValues(in, inference);
+        return inference;
+    }
+
+    private static void inferValues(Reader in, Inference inference) throws IOException {
+        JsonReader reader = new JsonReader(in);
+        lenient(reader); // 允许多个顶层值
+        while (reader.peek() != JsonToken.END_DOCUMENT) {
+            if (reader.peek() == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+                while (reader.hasNext()) inference.sample(reader);
+                reader.endArray();
+            } else {
+                inference.sample(reader);
+            }
+        }
+    }
+
+    // Gson 2.11 起以 setStrictness 代替 setLenient; 旧版本的 IDE 自带的 Gson 没有 Strictness, 退回 setLenient
+    @SuppressWarnings("deprecation")
+    private static void lenient(JsonReader reader) {
+        try {
+            reader.setStrictness(Strictness.LENIENT);
+        } catch (NoClassDefFoundError | NoSuchMethodError e) {
+            reader.setLenient(true);
+        }
+    }
+
+    private Inference inferChunks(FileChannel channel, long[] bounds, boolean elements) throws IOException {
+        int chunks = bounds.length - 1;
+        List<Inference> results = new ArrayList<>(chunks);
+        if (threads <= 1 || chunks == 1) {
+            for (int i = 0; i < chunks; i++) results.add(inferChunk(channel, bounds[i], bounds[i + 1], elements));
+        } else {
+            ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, chunks), runnable -> {
+                Thread thread = new Thread(runnable, "JsonTool schema inference");
+                thread.setDaemon(true);
+                return thread;
+            });
+            try {
+                List<Future<Inference>> futures = new ArrayList<>(chunks);
+                for (int i = 0; i < chunks; i++) {
+                    long start = bounds[i];
+                    long end = bounds[i + 1];
+                    futures.add(executor.submit(() -> inferChunk(channel, start, end, elements)));
+                }
+                for (Future<Inference> future : futures) results.add(await(future));
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        // 按文件顺序合并, 字段顺序与单线程一致
+        Inference inference = results.get(0);
+        for (int i = 1; i < results.size(); i++) inference.merge(results.get(i));
+        return inference;
+    }
+
+    private Inference inferChunk(FileChannel channel, long start, long end, boolean elements) throws IOException {
+        CharBuffer decoded = FileChunks.read(channel, start, end);
+        char[] chars = decoded.array();
+        int length = decoded.limit();
+
+        Inference inference = new Inference();
+        if (elements) {
+            // 块内为以逗号分隔的若干元素(第一块之后以分隔的逗号开头), 补上括号作为一个数组读取
+            int offset = 0;
+            while (offset < length && Character.isWhitespace(chars[offset])) offset++;
+            if (offset < length && chars[offset] == ',') offset++;
+
+            char[] array = new char[length - offset + 2];
+            array[0] = '[';
+            System.arraycopy(chars, offset, array, 1, length - offset);
+            array[array.length - 1] = ']';
+
+            JsonReader reader = new JsonReader(new CharArrayReader(array));
+            reader.beginArray();
+            while (reader.hasNext()) inference.sample(reader);
+            reader.endArray();
+        } else {
+            int lineStart = 0;
+            while (lineStart < length) {
+                int lineEnd = lineStart;
+                while (lineEnd < length && chars[lineEnd] != '\n') lineEnd++;
+                if (!isBlank(chars, lineStart, lineEnd)) inference.line(chars, lineStart, lineEnd);
+                lineStart = lineEnd + 1;
+            }
+        }
+        progress.accept(end - start);
+        return inference;
+    }
+
+    private static boolean isBlank(char[] chars, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!Character.isWhitespace(chars[i])) return false;
+        }
+        return true;
+    }
+
+    /**
+     * 顶层为数组时, 在约每 CHUNK_SIZE 字节后的顶层逗号处切分, 返回值与 FileChunks.lineBounds 相同, 首尾不含括号;
+     * 不是数组时返回 null. 需要顺序扫描一遍字节, 只跟踪字符串与嵌套层数, 比解析快得多
+     */
+    static long[] arrayBounds(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        List<Long> bounds = new ArrayList<>();
+        long position = 0;
+        long next = FileChunks.CHUNK_SIZE;
+        int depth = 0;
+        boolean inString = false;
+        boolean escape = false;
+
+        int n;
+        while ((n = channel.read(buffer, position)) > 0) {
+            for (int i = 0; i < n; i++) {
+                byte b = buffer.get(i);
+                long offset = position + i;
+                if (depth == 0) {
+                    // 跳过开头的空白与 BOM, 第一个字符不是 [ 时不分块
+                    if (b == '[') {
+                        depth = 1;
+                        bounds.add(offset + 1);
+                    } else if (b != ' ' && b != '\t' && b != '\r' && b != '\n' && (b & 0x80) == 0) {
+                        return null;
+                    }
+                    continue;
+                }
+
+                if (inString) {
+                    if (escape) escape = false;
+                    else if (b == '\\') escape = true;
+                    else if (b == '"') inString = false;
+                    continue;
+                }
+
+                switch (b) {
+                    case '"':
+                        inString = true;
+                        break;
+                    case '[':
+                    case '{':
+                        depth++;
+                        break;
+                    case ']':
+                    case '}':
+                        if (--depth == 0) {
+                            bounds.add(offset);
+                            return FileChunks.toArray(bounds);
+                        }
+                        break;
+                    case ',':
+                        // 逗号留在下一块的开头
+                        if (depth == 1 && offset >= next) {
+                            bounds.add(offset);
+                            next = offset + FileChunks.CHUNK_SIZE;
+                        }
+                        break;
+                    default:
+                }
+            }
+            position += n;
+            buffer.clear();
+        }
+        return null; // 数组未结束, 按普通 json 读取以报告错误
+    }
+
+    private static Inference await(Future<Inference> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("inference interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * 推断结果: 所有样本合并后的结构, 样本数与不合法的行数
+     */
+    public static class Inference {
+
+        private final Shape shape = new Shape();
+
+        private long malformed;
+
+        private void sample(JsonReader reader) throws IOException {
+            shape.read(reader);
+        }
+
+        // 每行一个样本, 先单独推断, 合法时再合并, 不合法的行不影响结果
+        private void line(char[] chars, int start, int end) {
+            Shape line = new Shape();
+            try {
+                JsonReader reader = new JsonReader(new CharArrayReader(chars, start, end - start));
+                line.read(reader);
+                if (reader.peek() != JsonToken.END_DOCUMENT) throw new IOException("unexpected content after the document");
+            } catch (IOException | IllegalStateException | NumberFormatException e) {
+                malformed++;
+                return;
+            }
+            shape.merge(line);
+        }
+
+        private void merge(Inference other) {
+            shape.merge(other.shape);
+            malformed += other.malformed;
+        }
+
+        public Shape getShape() {
+            return shape;
+        }
+
+        public long getSamples() {
+            return shape.getCount();
+        }
+
+        public long getMalformed() {
+            return malformed;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.hardy.infer;
+
+import com.google.gson.stream.JsonReader;
+import com.hardy.model.KV;
+import com.hardy.model.Schema;
+import com.hardy.model.SchemaType;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 一组 json 值的推断结果, 边读边累计类型、字段出现次数、数值范围与字符串长度, 不保存值本身
+ * 各线程分别推断后按顺序合并, 对象字段按首次出现的顺序排列; 非线程安全
+ **/
+public class Shape {
+
+    public static final int MAX_PROPERTIES = 1000; // 每个对象最多记录的字段数, 以 id 等为 key 的 map 不会无限增长
+
+    static final int NULL = 1;
+    static final int BOOLEAN = 1 << 1;
+    static final int INTEGER = 1 << 2;
+    static final int NUMBER = 1 << 3;
+    static final int STRING = 1 << 4;
+    static final int OBJECT = 1 << 5;
+    static final int ARRAY = 1 << 6;
+
+    private static final SchemaType[] TYPES = {
+            null, SchemaType.BOOLEAN, SchemaType.INTEGER, SchemaType.NUMBER, SchemaType.STRING, SchemaType.OBJECT, SchemaType.ARRAY};
+
+    int types;                   // 出现过的类型
+
+    long count;                  // 出现次数, 含 null
+
+    long objects;                // 为对象的次数
+
+    Map<String, Shape> properties; // 没有出现过对象时为 null
+
+    boolean truncated;           // 字段数超过 MAX_PROPERTIES, 之后出现的字段未记录
+
+    Shape items;                 // 所有数组元素合并后的结果, 数组均为空时为 null
+
+    int minLength = Integer.MAX_VALUE;
+
+    int maxLength = -1;
+
+    long minInteger = Long.MAX_VALUE;
+
+    long maxInteger = Long.MIN_VALUE;
+
+    double minNumber = Double.POSITIVE_INFINITY;
+
+    double maxNumber = Double.NEGATIVE_INFINITY;
+
+    /**
+     * 读取并累计一个值
+     */
+    void read(JsonReader reader) throws IOException {
+        count++;
+        switch (reader.peek()) {
+            case NULL:
+                reader.nextNull();
+                types |= NULL;
+                break;
+            case BOOLEAN:
+                reader.nextBoolean();
+                types |= BOOLEAN;
+                break;
+            case NUMBER:
+                number(reader.nextString());
+                break;
+            case STRING:
+                string(reader.nextString());
+                break;
+            case BEGIN_ARRAY:
+                types |= ARRAY;
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    if (items == null) items = new Shape();
+                    items.read(reader);
+                }
+                reader.endArray();
+                break;
+            case BEGIN_OBJECT:
+                types |= OBJECT;
+                objects++;
+                if (properties == null) properties = new LinkedHashMap<>();
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String name = reader.nextName();
+                    Shape property = properties.get(name);
+                    if (property == null) {
+                        if (properties.size() >= MAX_PROPERTIES) {
+                            truncated = true;
+                            reader.skipValue();
+                            continue;
+                        }
+                        property = new Shape();
+                        properties.put(name, property);
+                    }
+                    property.read(reader);
+                }
+                reader.endObject();
+                break;
+            default:
+                throw new IllegalStateException("unexpected " + reader.peek() + " at " + reader.getPath());
+        }
+    }
+
+    // 不含小数点与指数且在 long 范围内的为整数
+    private void number(String value) {
+        if (value.indexOf('.') < 0 && value.indexOf('e') < 0 && value.indexOf('E') < 0) {
+            try {
+                long v = Long.parseLong(value);
+                types |= INTEGER;
+                minInteger = Math.min(minInteger, v);
+                maxInteger = Math.max(maxInteger, v);
+                return;
+            } catch (NumberFormatException e) {
+                // 超出 long 范围, 按小数记录
+            }
+        }
+
+        double v = Double.parseDouble(value);
+        types |= NUMBER;
+        minNumber = Math.min(minNumber, v);
+        maxNumber = Math.max(maxNumber, v);
+    }
+
+    // 长度按码点计算, 与校验一致
+    private void string(String value) {
+        types |= STRING;
+        int length = value.codePointCount(0, value.length());
+        minLength = Math.min(minLength, length);
+        maxLength = Math.max(maxLength, length);
+    }
+
+    /**
+     * 合并另一部分的结果, other 中的子节点直接并入, 之后不能再使用 other
+     */
+    void merge(Shape other) {
+        types |= other.types;
+        count += other.count;
+        objects += other.objects;
+        truncated |= other.truncated;
+
+        if (other.properties != null) {
+            if (properties == null) properties = new LinkedHashMap<>();
+            for (Map.Entry<String, Shape> entry : other.properties.entrySet()) {
+                Shape property = properties.get(entry.getKey());
+                if (property != null) property.merge(entry.getValue());
+                else if (properties.size() < MAX_PROPERTIES) properties.put(entry.getKey(), entry.getValue());
+                else truncated = true;
+            }
+        }
+        if (other.items != null) {
+            if (items == null) items = other.items;
+            else items.merge(other.items);
+        }
+
+        minLength = Math.min(minLength, other.minLength);
+        maxLength = Math.max(maxLength, other.maxLength);
+        minInteger = Math.min(minInteger, other.minInteger);
+        maxInteger = Math.max(maxInteger, other.maxInteger);
+        minNumber = Math.min(minNumber, other.minNumber);
+        maxNumber = Math.max(maxNumber, other.maxNumber);
+    }
+
+    /**
+     * 推断的值的个数
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * 除 null 外的类型, 同时出现整数与小数时只保留 NUMBER
+     */
+    int valueTypes() {
+        int value = types & ~NULL;
+        return (value & NUMBER) != 0 ? value & ~INTEGER : value;
+    }
+
+    /**
+     * 字段在每个对象中都出现且不为 null
+     */
+    boolean isRequired(Shape property) {
+        return property.count >= objects && (property.types & NULL) == 0;
+    }
+
+    /**
+     * 转换为 schema: 只有一种类型(不计 null)时给出 type, 多种类型时不限定 type 并在 description 中列出;
+     * 可能为 null 或不总是出现的字段不在 required 中; 范围与长度为样本中的最小/最大值
+     */
+    public Schema<Number> toSchema() {
+        Schema<Number> schema = new Schema<>();
+        int value = valueTypes();
+        if (Integer.bitCount(value) == 1) schema.setType(TYPES[Integer.numberOfTrailingZeros(value)].val);
+
+        if ((value & OBJECT) != 0) {
+            KV kv = KV.create();
+            for (Map.Entry<String, Shape> entry : properties.entrySet()) {
+                kv.set(entry.getKey(), entry.getValue().toSchema());
+                if (isRequired(entry.getValue())) schema.addRequire(entry.getKey());
+            }
+            schema.setProperties(kv);
+        }
+        if ((value & ARRAY) != 0) schema.setItems(items == null ? new Schema<>() : items.toSchema());
+
+        if ((value & STRING) != 0) {
+            schema.setMinLength(minLength);
+            schema.setMaxLength(maxLength);
+        }
+        if ((value & INTEGER) != 0) {
+            schema.setMinimum(integral(minInteger));
+            schema.setMaximum(integral(maxInteger));
+        } else if ((value & NUMBER) != 0) {
+            // 整数部分一并计入
+            schema.setMinimum(Math.min(minNumber, (types & INTEGER) != 0 ? minInteger : Double.POSITIVE_INFINITY));
+            schema.setMaximum(Math.max(maxNumber, (types & INTEGER) != 0 ? maxInteger : Double.NEGATIVE_INFINITY));
+        }
+
+        schema.setDescription(description(value));
+        return schema;
+    }
+
+    private String description(int value) {
+        List<String> notes = new ArrayList<>();
+        if (value == 0 && (types & NULL) != 0) notes.add("always null");
+        else if ((types & NULL) != 0) notes.add("nullable");
+
+        if (Integer.bitCount(value) > 1) {
+            List<String> names = new ArrayList<>();
+            for (int i = 1; i < TYPES.length; i++) {
+                if ((value & 1 << i) != 0) names.add(TYPES[i].val);
+            }
+            notes.add("one of: " + String.join(", ", names));
+        }
+        if (truncated) notes.add("more than " + MAX_PROPERTIES + " distinct properties, only the first are listed");
+        return notes.isEmpty() ? null : String.join("; ", notes);
+    }
+
+    // 与其他约束一致, int 范围内使用 Integer
+    private static Number integral(long value) {
+        return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE ? (Number) (int) value : (Number) value;
+    }
+}
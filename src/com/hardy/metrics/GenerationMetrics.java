@@ -0,0 +1,166 @@
+package com.hardy.metrics;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 生成过程的计数与耗时, 全局累加, 每次生成取开始与结束时的差值
+ * 同时进行的多次生成会互相计入; 结束时记录到最近的历史中并发出 JFR 事件
+ **/
+public final class GenerationMetrics {
+
+    /**
+     * 阶段耗时, 注释与注解包含在解析中, 解析可能嵌套在生成中
+     */
+    public enum Phase {
+        RESOLVE("resolve"),       // 由 PSI / 反射构建类结构
+        COMMENT("comment"),       // 提取字段注释
+        ANNOTATION("annotation"), // 处理约束注解
+        GENERATE("generate");     // 遍历类结构并写出
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private static final int HISTORY_SIZE = 50;
+
+    // 快照中的下标, 之后依次为各阶段耗时
+    static final int CLASSES = 0;
+    static final int FIELDS = 1;
+    static final int RESOLVE_CALLS = 2;
+    static final int CACHE_HITS = 3;
+    static final int CACHE_MISSES = 4;
+    static final int PHASES = 5;
+
+    private static final LongAdder[] counters = new LongAdder[PHASES + Phase.values().length];
+
+    private static final Deque<RunMetrics> history = new ArrayDeque<>();
+
+    private static final List<Consumer<RunMetrics>> listeners = new CopyOnWriteArrayList<>();
+
+    static {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+        }
+    }
+
+    private GenerationMetrics() {
+    }
+
+    /**
+     * 展开一个类, 及其字段数
+     */
+    public static void classVisited(int fields) {
+        counters[CLASSES].increment();
+        counters[FIELDS].add(fields);
+    }
+
+    /**
+     * 一次类结构查询, 是否命中缓存
+     */
+    public static void resolveCall(boolean hit) {
+        counters[RESOLVE_CALLS].increment();
+        counters[hit ? CACHE_HITS : CACHE_MISSES].increment();
+    }
+
+    /**
+     * 累加阶段耗时, start 为 System.nanoTime() 的开始时间
+     */
+    public static void addTime(Phase phase, long start) {
+        counters[PHASES + phase.ordinal()].add(System.nanoTime() - start);
+    }
+
+    /**
+     * 开始一次生成
+     */
+    public static Run start(String name) {
+        return new Run(name);
+    }
+
+    /**
+     * 最近的生成记录, 新的在前
+     */
+    public static List<RunMetrics> history() {
+        synchronized (history) {
+            return new ArrayList<>(history);
+        }
+    }
+
+    public static void clearHistory() {
+        synchronized (history) {
+            history.clear();
+        }
+    }
+
+    /**
+     * 每次生成结束时通知, 在结束生成的线程中调用
+     */
+    public static void addListener(Consumer<RunMetrics> listener) {
+        listeners.add(listener);
+    }
+
+    public static void removeListener(Consumer<RunMetrics> listener) {
+        listeners.remove(listener);
+    }
+
+    private static long[] snapshot() {
+        long[] values = new long[counters.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = counters[i].sum();
+        }
+        return values;
+    }
+
+    /**
+     * 一次进行中的生成
+     */
+    public static class Run {
+
+        private final String name;
+
+        private final long start = System.nanoTime();
+
+        private final long[] before = snapshot();
+
+        private final Object event = JfrEvents.begin();
+
+        private Run(String name) {
+            this.name = name;
+        }
+
+        /**
+         * 结束生成, outputBytes 为输出的字节数
+         */
+        public RunMetrics finish(long outputBytes) {
+            long[] values = snapshot();
+            for (int i = 0; i < values.length; i++) {
+                values[i] -= before[i];
+            }
+            RunMetrics metrics = new RunMetrics(name, System.nanoTime() - start, values, outputBytes);
+            JfrEvents.commit(event, metrics);
+
+            synchronized (history) {
+                history.addFirst(metrics);
+                if (history.size() > HISTORY_SIZE) history.removeLast();
+            }
+            for (Consumer<RunMetrics> listener : listeners) {
+                listener.accept(metrics);
+            }
+            return metrics;
+        }
+    }
+}
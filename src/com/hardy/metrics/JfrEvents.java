@@ -0,0 +1,111 @@
+package com.hardy.metrics;
+
+import com.hardy.metrics.GenerationMetrics.Phase;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 生成事件 com.hardy.Generation, 通过 jdk.jfr.EventFactory 反射创建
+ * 插件需兼容没有 JFR 的 Java 8 运行时, 不可用时所有方法为空操作
+ **/
+final class JfrEvents {
+
+    private static final String EVENT_NAME = "com.hardy.Generation";
+
+    private static final Object FACTORY; // jdk.jfr.EventFactory, 不可用时为 null
+
+    private static Method newEvent;
+
+    private static Method begin;
+
+    private static Method commit;
+
+    private static Method set;
+
+    static {
+        Object factory = null;
+        try {
+            Class<?> annotationElement = Class.forName("jdk.jfr.AnnotationElement");
+            Class<?> valueDescriptor = Class.forName("jdk.jfr.ValueDescriptor");
+            Constructor<?> annotation = annotationElement.getConstructor(Class.class, Object.class);
+            Constructor<?> value = valueDescriptor.getConstructor(Class.class, String.class, List.class);
+
+            List<Object> eventAnnotations = Arrays.asList(
+                    annotation.newInstance(Class.forName("jdk.jfr.Name"), EVENT_NAME),
+                    annotation.newInstance(Class.forName("jdk.jfr.Label"), "JsonTool Generation"),
+                    annotation.newInstance(Class.forName("jdk.jfr.Category"), new String[]{"JsonTool"}));
+            List<Object> timespan = Collections.singletonList(annotation.newInstance(Class.forName("jdk.jfr.Timespan"), "NANOSECONDS"));
+            List<Object> bytes = Collections.singletonList(annotation.newInstance(Class.forName("jdk.jfr.DataAmount"), "BYTES"));
+
+            // 字段顺序与 commit 中的下标一致
+            List<Object> fields = new ArrayList<>();
+            fields.add(value.newInstance(String.class, "name", Collections.emptyList()));
+            for (String name : new String[]{"classesVisited", "fieldsProcessed", "resolveCalls", "cacheHits", "cacheMisses"}) {
+                fields.add(value.newInstance(long.class, name, Collections.emptyList()));
+            }
+            for (Phase phase : Phase.values()) {
+                fields.add(value.newInstance(long.class, phase.getLabel() + "Time", timespan));
+            }
+            fields.add(value.newInstance(long.class, "outputBytes", bytes));
+
+            Class<?> eventFactory = Class.forName("jdk.jfr.EventFactory");
+            factory = eventFactory.getMethod("create", List.class, List.class).invoke(null, eventAnnotations, fields);
+            newEvent = eventFactory.getMethod("newEvent");
+
+            Class<?> event = Class.forName("jdk.jfr.Event");
+            begin = event.getMethod("begin");
+            commit = event.getMethod("commit");
+            set = event.getMethod("set", int.class, Object.class);
+        } catch (Throwable e) {
+            factory = null;
+        }
+        FACTORY = factory;
+    }
+
+    private JfrEvents() {
+    }
+
+    /**
+     * 开始事件, JFR 不可用时返回 null
+     */
+    static Object begin() {
+        if (FACTORY == null) return null;
+        try {
+            Object event = newEvent.invoke(FACTORY);
+            begin.invoke(event);
+            return event;
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 填充并提交事件, 只有正在录制时才会记录
+     */
+    static void commit(Object event, RunMetrics metrics) {
+        if (event == null) return;
+        try {
+            int i = 0;
+            set.invoke(event, i++, metrics.getName());
+            set.invoke(event, i++, metrics.getClassesVisited());
+            set.invoke(event, i++, metrics.getFieldsProcessed());
+            set.invoke(event, i++, metrics.getResolveCalls());
+            set.invoke(event, i++, metrics.getCacheHits());
+            set.invoke(event, i++, metrics.getCacheMisses());
+            for (Phase phase : Phase.values()) {
+                set.invoke(event, i++, metrics.getPhaseNanos(phase));
+            }
+            set.invoke(event, i, metrics.getOutputBytes());
+            commit.invoke(event);
+        } catch (ReflectiveOperationException e) {
+            // 记录失败不影响生成
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.hardy.metrics;
+
+import com.hardy.metrics.GenerationMetrics.Phase;
+
+import java.util.Locale;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 一次生成的计数与耗时, 不可变
+ **/
+public class RunMetrics {
+
+    private final String name;
+
+    private final long wallNanos;
+
+    private final long[] values; // 下标见 GenerationMetrics
+
+    private final long outputBytes;
+
+    RunMetrics(String name, long wallNanos, long[] values, long outputBytes) {
+        this.name = name;
+        this.wallNanos = wallNanos;
+        this.values = values;
+        this.outputBytes = outputBytes;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    public long getClassesVisited() {
+        return values[GenerationMetrics.CLASSES];
+    }
+
+    public long getFieldsProcessed() {
+        return values[GenerationMetrics.FIELDS];
+    }
+
+    public long getResolveCalls() {
+        return values[GenerationMetrics.RESOLVE_CALLS];
+    }
+
+    public long getCacheHits() {
+        return values[GenerationMetrics.CACHE_HITS];
+    }
+
+    public long getCacheMisses() {
+        return values[GenerationMetrics.CACHE_MISSES];
+    }
+
+    /**
+     * 阶段耗时, 多线程生成时为各线程之和
+     */
+    public long getPhaseNanos(Phase phase) {
+        return values[GenerationMetrics.PHASES + phase.ordinal()];
+    }
+
+    /**
+     * 写出耗时, 生成耗时减去其中嵌套的解析耗时
+     */
+    public long getSerializeNanos() {
+        return Math.max(getPhaseNanos(Phase.GENERATE) - getPhaseNanos(Phase.RESOLVE), 0);
+    }
+
+    public long getOutputBytes() {
+        return outputBytes;
+    }
+
+    /**
+     * 单行摘要, 用于日志与通知
+     */
+    public String summary() {
+        return String.format(Locale.ROOT,
+                "%s: %.1f ms, %d classes, %d fields, %d resolve calls (%d hits, %d misses), "
+                        + "resolve %.1f ms (comment %.1f ms, annotation %.1f ms), generate %.1f ms (serialize %.1f ms), %d bytes",
+                name, millis(wallNanos), getClassesVisited(), getFieldsProcessed(),
+                getResolveCalls(), getCacheHits(), getCacheMisses(),
+                millis(getPhaseNanos(Phase.RESOLVE)), millis(getPhaseNanos(Phase.COMMENT)), millis(getPhaseNanos(Phase.ANNOTATION)),
+                millis(getPhaseNanos(Phase.GENERATE)), millis(getSerializeNanos()), outputBytes);
+    }
+
+    @Override
+    public String toString() {
+        return summary();
+    }
+
+    public static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
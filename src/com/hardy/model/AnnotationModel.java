@@ -0,0 +1,76 @@
+package com.hardy.model;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 字段上的约束注解, 属性值在构建时已解析(含默认值)
+ **/
+public class AnnotationModel {
+
+    // 约束注解所在的包
+    private static final String[] CONSTRAINT_PACKAGES = {"javax.validation.constraints.", "jakarta.validation.constraints."};
+
+    // 其他包中注册了处理的注解全名, 见 ConstraintRegistry.register
+    private static final Set<String> registered = ConcurrentHashMap.newKeySet();
+
+    private final String qualifiedName;
+
+    private final Map<String, Object> attributes;
+
+    public AnnotationModel(String qualifiedName, Map<String, Object> attributes) {
+        this.qualifiedName = qualifiedName;
+        this.attributes = Collections.unmodifiableMap(attributes);
+    }
+
+    public String getQualifiedName() {
+        return qualifiedName;
+    }
+
+    public Map<String, Object> getAttributes() {
+        return attributes;
+    }
+
+    public String getString(String name) {
+        Object value = attributes.get(name);
+        return value == null ? null : value.toString();
+    }
+
+    public Long getLong(String name) {
+        Object value = attributes.get(name);
+        return value instanceof Number ? ((Number) value).longValue() : null;
+    }
+
+    public Boolean getBoolean(String name) {
+        Object value = attributes.get(name);
+        return value instanceof Boolean ? (Boolean) value : null;
+    }
+
+    /**
+     * 是否为约束注解: javax / jakarta 的约束注解, 或注册了处理的注解
+     */
+    public static boolean isConstraint(String qualifiedName) {
+        return isValidationConstraint(qualifiedName) || registered.contains(qualifiedName);
+    }
+
+    /**
+     * 是否为 javax / jakarta 的约束注解, 与注册无关, 可用于索引等需要只取决于文件内容的场合
+     */
+    public static boolean isValidationConstraint(String qualifiedName) {
+        for (String prefix : CONSTRAINT_PACKAGES) {
+            if (qualifiedName.startsWith(prefix)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * 将注解登记为约束注解, 构建类结构时保留该注解及其属性
+     */
+    public static void registerConstraint(String qualifiedName) {
+        registered.add(qualifiedName);
+    }
+}
@@ -0,0 +1,89 @@
+package com.hardy.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 单个类解析后的结构(仅本类声明的字段), 不可变, 可在线程间共享
+ * 泛型类按泛型参数特化后, 全名为带泛型参数的唯一标识, 见 Generics
+ **/
+public class ClassModel {
+
+    private final String qualifiedName;
+
+    private final String name;
+
+    private final List<String> typeParameters; // 泛型变量名, 特化后为空
+
+    private final String superQualifiedName; // 无父类或父类为Object时为 null
+
+    private final List<TypeRef> superTypeArguments; // 父类的泛型参数, 可引用本类的泛型变量
+
+    private final List<FieldModel> fields;
+
+    private final List<String> enumConstants; // 枚举常量名, 非枚举时为空
+
+    private final Visibility noArgConstructor; // 无参构造函数的可见性, 没有或不能直接创建(接口、抽象类、非静态内部类)时为 null
+
+    public ClassModel(String qualifiedName, String name, String superQualifiedName, List<FieldModel> fields) {
+        this(qualifiedName, name, superQualifiedName, fields, Collections.emptyList());
+    }
+
+    public ClassModel(String qualifiedName, String name, String superQualifiedName, List<FieldModel> fields,
+                      List<String> enumConstants) {
+        this(qualifiedName, name, Collections.emptyList(), superQualifiedName, Collections.emptyList(), fields, enumConstants);
+    }
+
+    public ClassModel(String qualifiedName, String name, List<String> typeParameters,
+                      String superQualifiedName, List<TypeRef> superTypeArguments,
+                      List<FieldModel> fields, List<String> enumConstants) {
+        this(qualifiedName, name, typeParameters, superQualifiedName, superTypeArguments, fields, enumConstants, null);
+    }
+
+    public ClassModel(String qualifiedName, String name, List<String> typeParameters,
+                      String superQualifiedName, List<TypeRef> superTypeArguments,
+                      List<FieldModel> fields, List<String> enumConstants, Visibility noArgConstructor) {
+        this.qualifiedName = qualifiedName;
+        this.name = name;
+        this.typeParameters = Collections.unmodifiableList(typeParameters);
+        this.superQualifiedName = superQualifiedName;
+        this.superTypeArguments = Collections.unmodifiableList(superTypeArguments);
+        this.fields = Collections.unmodifiableList(fields);
+        this.enumConstants = Collections.unmodifiableList(enumConstants);
+        this.noArgConstructor = noArgConstructor;
+    }
+
+    public String getQualifiedName() {
+        return qualifiedName;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<String> getTypeParameters() {
+        return typeParameters;
+    }
+
+    public String getSuperQualifiedName() {
+        return superQualifiedName;
+    }
+
+    public List<TypeRef> getSuperTypeArguments() {
+        return superTypeArguments;
+    }
+
+    public List<FieldModel> getFields() {
+        return fields;
+    }
+
+    public List<String> getEnumConstants() {
+        return enumConstants;
+    }
+
+    public Visibility getNoArgConstructor() {
+        return noArgConstructor;
+    }
+}
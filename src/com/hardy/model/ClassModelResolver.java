@@ -0,0 +1,77 @@
+package com.hardy.model;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 根据类全名获取类结构
+ **/
+public interface ClassModelResolver {
+
+    // 泛型参数的最大嵌套层数, 超过时不再特化, 避免 A<T> 中引用 A<List<T>> 时无限展开
+    int MAX_GENERIC_DEPTH = 8;
+
+    /**
+     * 获取类结构, 类不存在时返回 null
+     */
+    ClassModel resolve(String qualifiedName);
+
+    /**
+     * 获取类型对应的类结构, 泛型类按泛型参数特化, 类不存在时返回 null
+     */
+    default ClassModel resolve(TypeRef type) {
+        ClassModel model = resolve(type.getQualifiedName());
+        if (model == null || model.getTypeParameters().isEmpty() || type.getArguments().isEmpty()) return model;
+        if (type.depth() > MAX_GENERIC_DEPTH) return model;
+
+        return specialize(model, type.getArguments());
+    }
+
+    /**
+     * 按泛型参数特化类结构, 实现类可按 (类, 泛型参数) 缓存结果
+     */
+    default ClassModel specialize(ClassModel model, List<TypeRef> arguments) {
+        return Generics.specialize(model, arguments);
+    }
+
+    /**
+     * 收集类及其所有父类, 父类在前, 父类按子类给出的泛型参数特化
+     * 编辑中的代码可能出现循环继承, 遇到已收集的类时停止
+     */
+    default LinkedList<ClassModel> hierarchy(ClassModel model) {
+        LinkedList<ClassModel> models = new LinkedList<>();
+        Set<String> visited = new HashSet<>();
+        // 特化后的全名带泛型参数, 按原类全名判断
+        String name = model == null ? null : model.getQualifiedName();
+        if (name != null && name.indexOf('<') > 0) name = name.substring(0, name.indexOf('<'));
+        visited.add(name);
+
+        while (model != null) {
+            models.addFirst(model);
+            String superName = model.getSuperQualifiedName();
+            if (superName == null || !visited.add(superName)) break;
+            model = resolve(TypeRef.clazz(superName, superName, model.getSuperTypeArguments()));
+        }
+        return models;
+    }
+
+    /**
+     * 类及其父类的所有字段, 父类字段在前, 同名字段以子类为准但保留首次出现的位置
+     */
+    default Collection<FieldModel> fields(ClassModel model, boolean includeStatic) {
+        Map<String, FieldModel> fields = new LinkedHashMap<>();
+        for (ClassModel c : hierarchy(model)) {
+            for (FieldModel field : c.getFields()) {
+                if (includeStatic || !field.isStatic()) fields.put(field.getName(), field);
+            }
+        }
+        return fields.values();
+    }
+}
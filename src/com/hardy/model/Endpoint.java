@@ -0,0 +1,109 @@
+package com.hardy.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: REST 接口的一个操作, 由 Spring / JAX-RS 的控制器方法得到, 不依赖PSI
+ **/
+public class Endpoint {
+
+    private final String httpMethod; // 小写, 如 get / post
+
+    private final String path; // 以 / 开头, 路径变量为 {name}
+
+    private final String tag; // 所在控制器的类名
+
+    private final String operationId;
+
+    private final String summary;
+
+    private final List<Parameter> parameters;
+
+    private final TypeRef requestBody; // 没有时为 null
+
+    private final TypeRef response; // void 或无法确定类型时为 null
+
+    public Endpoint(String httpMethod, String path, String tag, String operationId, String summary,
+                    List<Parameter> parameters, TypeRef requestBody, TypeRef response) {
+        this.httpMethod = httpMethod;
+        this.path = path;
+        this.tag = tag;
+        this.operationId = operationId;
+        this.summary = summary;
+        this.parameters = Collections.unmodifiableList(parameters);
+        this.requestBody = requestBody;
+        this.response = response;
+    }
+
+    public String getHttpMethod() {
+        return httpMethod;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    public String getOperationId() {
+        return operationId;
+    }
+
+    public String getSummary() {
+        return summary;
+    }
+
+    public List<Parameter> getParameters() {
+        return parameters;
+    }
+
+    public TypeRef getRequestBody() {
+        return requestBody;
+    }
+
+    public TypeRef getResponse() {
+        return response;
+    }
+
+    /**
+     * 路径/查询/请求头参数
+     */
+    public static class Parameter {
+
+        private final String name;
+
+        private final String in; // path / query / header
+
+        private final TypeRef type;
+
+        private final boolean required;
+
+        public Parameter(String name, String in, TypeRef type, boolean required) {
+            this.name = name;
+            this.in = in;
+            this.type = type;
+            this.required = required;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getIn() {
+            return in;
+        }
+
+        public TypeRef getType() {
+            return type;
+        }
+
+        public boolean isRequired() {
+            return required;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.hardy.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 字段结构
+ **/
+public class FieldModel {
+
+    private final String name;
+
+    private final TypeRef type;
+
+    private final String description; // 注释
+
+    private final List<AnnotationModel> annotations; // 约束注解
+
+    private final boolean staticField;
+
+    private final Visibility visibility;
+
+    private final boolean finalField;
+
+    private final String getter; // 公开的 getter 方法名, 没有时为 null
+
+    private final String setter; // 公开的 setter 方法名, 没有时为 null
+
+    // 未记录访问方式的字段, 视为私有且没有 getter / setter
+    public FieldModel(String name, TypeRef type, String description, List<AnnotationModel> annotations, boolean staticField) {
+        this(name, type, description, annotations, staticField, Visibility.PRIVATE, false, null, null);
+    }
+
+    public FieldModel(String name, TypeRef type, String description, List<AnnotationModel> annotations, boolean staticField,
+                      Visibility visibility, boolean finalField, String getter, String setter) {
+        this.name = name;
+        this.type = type;
+        this.description = description;
+        this.annotations = Collections.unmodifiableList(annotations);
+        this.staticField = staticField;
+        this.visibility = visibility;
+        this.finalField = finalField;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    /**
+     * 替换字段类型, 其他不变, 用于泛型特化
+     */
+    public FieldModel withType(TypeRef type) {
+        return new FieldModel(name, type, description, annotations, staticField, visibility, finalField, getter, setter);
+    }
+
+    /**
+     * 按 JavaBeans 约定的 getter 名: boolean 为 isXxx, 字段名已是 isXxx 时即字段名
+     */
+    public static String getterName(String name, boolean primitiveBoolean) {
+        if (primitiveBoolean) return isPrefixed(name) ? name : "is" + capitalize(name);
+        return "get" + capitalize(name);
+    }
+
+    /**
+     * 按 JavaBeans 约定的 setter 名: boolean 字段名为 isXxx 时为 setXxx
+     */
+    public static String setterName(String name, boolean primitiveBoolean) {
+        if (primitiveBoolean && isPrefixed(name)) return "set" + name.substring(2);
+        return "set" + capitalize(name);
+    }
+
+    private static boolean isPrefixed(String name) {
+        return name.length() > 2 && name.startsWith("is") && Character.isUpperCase(name.charAt(2));
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public TypeRef getType() {
+        return type;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public List<AnnotationModel> getAnnotations() {
+        return annotations;
+    }
+
+    public boolean isStatic() {
+        return staticField;
+    }
+
+    public Visibility getVisibility() {
+        return visibility;
+    }
+
+    public boolean isFinal() {
+        return finalField;
+    }
+
+    public String getGetter() {
+        return getter;
+    }
+
+    public String getSetter() {
+        return setter;
+    }
+}
@@ -0,0 +1,55 @@
+package com.hardy.model;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 稳定的 64 位哈希(FNV-1a 后再做一次混合), 只取决于写入的内容, 与对象地址、JVM 无关, 可以保存后再比较
+ **/
+final class Fingerprint {
+
+    private static final long OFFSET = 0xcbf29ce484222325L;
+
+    private static final long PRIME = 0x100000001b3L;
+
+    private long hash = OFFSET;
+
+    Fingerprint add(long value) {
+        for (int i = 0; i < 64; i += 8) {
+            hash ^= (value >>> i) & 0xff;
+            hash *= PRIME;
+        }
+        return this;
+    }
+
+    // 连同长度写入, 相邻的字符串不会混淆; null 与空字符串不同
+    Fingerprint add(String value) {
+        if (value == null) return add(-1L);
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            hash ^= c & 0xff;
+            hash *= PRIME;
+            hash ^= c >>> 8;
+            hash *= PRIME;
+        }
+        return add(value.length());
+    }
+
+    Fingerprint add(String[] values) {
+        if (values == null) return add(-1L);
+
+        for (String value : values) add(value);
+        return add(values.length);
+    }
+
+    long get() {
+        // murmur3 fmix64, 使低位也充分混合
+        long h = hash;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,59 @@
+package com.hardy.model;
+
+import java.util.*;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 泛型特化, 将类结构中的泛型变量替换为给定的泛型参数
+ * 特化后的类全名为带泛型参数的唯一标识(见 TypeRef.getKey), 类名为可读的名字(见 TypeRef.getDisplayName)
+ **/
+public class Generics {
+
+    /**
+     * 特化类结构, 缺少的泛型参数按Object处理; 字段及父类的泛型参数中的泛型变量均会替换
+     */
+    public static ClassModel specialize(ClassModel model, List<TypeRef> arguments) {
+        Map<String, TypeRef> bindings = new HashMap<>();
+        List<String> parameters = model.getTypeParameters();
+        for (int i = 0; i < parameters.size(); i++) {
+            bindings.put(parameters.get(i), i < arguments.size() ? arguments.get(i) : TypeRef.object());
+        }
+
+        List<FieldModel> fields = new ArrayList<>(model.getFields().size());
+        for (FieldModel field : model.getFields()) {
+            TypeRef type = substitute(field.getType(), bindings);
+            // 未引用泛型变量的字段直接复用
+            fields.add(type == field.getType() ? field : field.withType(type));
+        }
+
+        TypeRef self = TypeRef.clazz(model.getName(), model.getQualifiedName(), arguments);
+        return new ClassModel(self.getKey(), self.getDisplayName(), Collections.emptyList(),
+                model.getSuperQualifiedName(), substitute(model.getSuperTypeArguments(), bindings),
+                fields, model.getEnumConstants(), model.getNoArgConstructor());
+    }
+
+    // 替换泛型变量, 没有变化时返回原对象
+    private static TypeRef substitute(TypeRef type, Map<String, TypeRef> bindings) {
+        if (type.getKind() == TypeKind.TYPE_VARIABLE) {
+            TypeRef bound = bindings.get(type.getName());
+            if (bound == null) return type;
+            // 泛型变量带有声明的类全名时(如 Optional<T> 记为 T)保留, 生成代码时仍需识别
+            return type.getJavaType() != null ? bound.wrappedIn(type.getJavaType()) : bound;
+        }
+        if (type.getArguments().isEmpty()) return type;
+
+        List<TypeRef> arguments = substitute(type.getArguments(), bindings);
+        return arguments == type.getArguments() ? type : type.withArguments(arguments);
+    }
+
+    private static List<TypeRef> substitute(List<TypeRef> types, Map<String, TypeRef> bindings) {
+        List<TypeRef> result = null;
+        for (int i = 0; i < types.size(); i++) {
+            TypeRef type = substitute(types.get(i), bindings);
+            if (type != types.get(i) && result == null) result = new ArrayList<>(types);
+            if (result != null) result.set(i, type);
+        }
+        return result == null ? types : result;
+    }
+}
@@ -12,6 +12,11 @@ public class NormalTypeConst {
 
     private static final Map<String, Object> normalTypes = new HashMap<>();
 
+    private static final Map<String, Object> primitiveTypes = new HashMap<>();
+
+    // 常用类型在 schema 中的 format
+    private static final Map<String, String> formats = new HashMap<>();
+
     static {
         normalTypes.put("Boolean", false);
         normalTypes.put("Byte", 0);
@@ -22,7 +27,27 @@ public class NormalTypeConst {
         normalTypes.put("Double", 0.0);
         normalTypes.put("String", "");
         normalTypes.put("BigDecimal", "0.0");
+        normalTypes.put("BigInteger", 0);
         normalTypes.put("Date", "");
+        normalTypes.put("LocalDate", "");
+        normalTypes.put("UUID", "");
+        normalTypes.put("URI", "");
+        normalTypes.put("Duration", "");
+
+        formats.put("Date", "date-time");
+        formats.put("LocalDate", "date");
+        formats.put("UUID", "uuid");
+        formats.put("URI", "uri");
+        formats.put("Duration", "duration");
+
+        primitiveTypes.put("boolean", false);
+        primitiveTypes.put("byte", (byte) 0);
+        primitiveTypes.put("char", '\0');
+        primitiveTypes.put("short", (short) 0);
+        primitiveTypes.put("int", 0);
+        primitiveTypes.put("long", 0L);
+        primitiveTypes.put("float", 0.0F);
+        primitiveTypes.put("double", 0.0D);
     }
 
     public static boolean isNormalType(String typeName) {
@@ -32,4 +57,16 @@ public class NormalTypeConst {
     public static Object get(String typeName) {
         return normalTypes.get(typeName);
     }
+
+    /**
+     * schema 中的 format, 没有时返回 null
+     */
+    public static String format(String typeName) {
+        return formats.get(typeName);
+    }
+
+    // 基本类型默认值
+    public static Object getPrimitive(String typeName) {
+        return primitiveTypes.get(typeName);
+    }
 }
@@ -0,0 +1,116 @@
+package com.hardy.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 一次生成内的类结构缓存, 线程安全, 可在 fork-join 线程池中并行展开类图, 每个类及每个 (类, 泛型参数) 只解析一次
+ * 只并行获取类结构, 生成仍在调用线程中按字段顺序进行, 输出顺序不变
+ **/
+public class ParallelResolver implements ClassModelResolver {
+
+    private final ClassModelResolver delegate;
+
+    // 不存在的类以 Optional.empty() 缓存
+    private final Map<String, Optional<ClassModel>> models = new ConcurrentHashMap<>(256);
+
+    private final Map<String, ClassModel> specialized = new ConcurrentHashMap<>(256);
+
+    private final Set<String> visited = ConcurrentHashMap.newKeySet(); // 已展开的类型, 带泛型参数
+
+    public ParallelResolver(ClassModelResolver delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public ClassModel resolve(String qualifiedName) {
+        // delegate 解析时不会回调本类, 可以直接使用 computeIfAbsent, 同一个类的并发请求等待首次解析完成
+        return models.computeIfAbsent(qualifiedName, name -> Optional.ofNullable(delegate.resolve(name))).orElse(null);
+    }
+
+    @Override
+    public ClassModel specialize(ClassModel model, List<TypeRef> arguments) {
+        String key = TypeRef.clazz(model.getName(), model.getQualifiedName(), arguments).getKey();
+        return specialized.computeIfAbsent(key, k -> delegate.specialize(model, arguments));
+    }
+
+    /**
+     * 并行解析类及其字段、父类中直接或间接引用的所有类, 返回时均已缓存
+     * 解析失败或取消时抛出 delegate 的异常
+     */
+    public void prefetch(ClassModel root, ForkJoinPool pool) {
+        // 根类自身的引用(如 Node<T> 中的 List<Node<T>>)不再重复解析与展开
+        models.putIfAbsent(root.getQualifiedName(), Optional.of(root));
+        visited.add(TypeRef.clazz(root.getName(), root.getQualifiedName(), typeVariables(root)).getKey());
+        pool.invoke(new Expand(root, null));
+    }
+
+    /**
+     * 已解析的类数
+     */
+    public int size() {
+        return models.size();
+    }
+
+    private static List<TypeRef> typeVariables(ClassModel model) {
+        List<TypeRef> variables = new ArrayList<>();
+        for (String name : model.getTypeParameters()) {
+            variables.add(TypeRef.typeVariable(name));
+        }
+        return variables;
+    }
+
+    // 展开一个类: 解析类结构及父类, 再为字段中尚未展开的类各分出一个子任务
+    private class Expand extends RecursiveAction {
+
+        private ClassModel model;
+
+        private final TypeRef type;
+
+        private Expand(ClassModel model, TypeRef type) {
+            this.model = model;
+            this.type = type;
+        }
+
+        @Override
+        protected void compute() {
+            if (model == null) model = resolve(type);
+            if (model == null) return;
+
+            List<Expand> tasks = new ArrayList<>();
+            for (FieldModel field : fields(model, true)) {
+                collect(field.getType(), tasks);
+            }
+            invokeAll(tasks);
+        }
+
+        private void collect(TypeRef type, List<Expand> tasks) {
+            switch (type.getKind()) {
+                case ARRAY:
+                case LIST:
+                case MAP:
+                    for (TypeRef argument : type.getArguments()) {
+                        if (argument != null) collect(argument, tasks);
+                    }
+                    break;
+                case ENUM:
+                    // 枚举只需要常量, 不再展开
+                    if (visited.add(type.getQualifiedName())) resolve(type.getQualifiedName());
+                    break;
+                case CLASS:
+                    // 泛型参数已代入特化后的字段, 由子任务展开
+                    if (visited.add(type.getKey())) tasks.add(new Expand(null, type));
+                    break;
+                default:
+            }
+        }
+    }
+}
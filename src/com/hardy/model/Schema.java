@@ -1,8 +1,14 @@
 package com.hardy.model;
 
+import com.google.gson.annotations.SerializedName;
+
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Author: Hardy
@@ -10,7 +16,39 @@ import java.util.List;
  * Description:
  **/
 public class Schema<T> {
+
+    public static final String DEFINITIONS_PREFIX = "#/definitions/";
+
+    // 基本类型 / 常用类型名 -> schema 类型, 其余为 number
+    private static final Map<String, SchemaType> basicTypes = new HashMap<>();
+
+    // 取值范围比 json 小的整数类型 -> {最小值, 最大值}, 按基本类型名、常用类型名或类全名
+    private static final Map<String, int[]> javaRanges = new HashMap<>();
+
+    // 只有一个字符的类型
+    private static final Set<String> charTypes = new HashSet<>(Arrays.asList("char", "java.lang.Character"));
+
+    static {
+        for (String name : new String[]{"boolean", "Boolean"})
+            basicTypes.put(name, SchemaType.BOOLEAN);
+        for (String name : new String[]{"char", "string", "String", "bigdecimal", "BigDecimal", "date", "Date",
+                "LocalDate", "UUID", "URI", "Duration"})
+            basicTypes.put(name, SchemaType.STRING);
+        for (String name : new String[]{"byte", "Byte", "short", "Short", "int", "long", "Long",
+                "integer", "Integer", "biginteger", "BigInteger"})
+            basicTypes.put(name, SchemaType.INTEGER);
+
+        for (String name : new String[]{"byte", "Byte", "java.lang.Byte"})
+            javaRanges.put(name, new int[]{Byte.MIN_VALUE, Byte.MAX_VALUE});
+        for (String name : new String[]{"short", "Short", "java.lang.Short"})
+            javaRanges.put(name, new int[]{Short.MIN_VALUE, Short.MAX_VALUE});
+    }
+
+
     // ************** base **************
+    @SerializedName("$ref")
+    private String ref; // 引用 definitions 中的类
+
     private String type;
 
     private KV properties;
@@ -20,12 +58,17 @@ public class Schema<T> {
     private String description;
 
     private List<String> required;
+
+    private KV definitions; // 仅根节点
     // ***********************************
 
     // string 约束
     private Integer minLength; // size > ?
     private Integer maxLength; // size < ?
     private String pattern;   // 正则
+    private String format;    // 格式, 如 date-time、uuid
+    @SerializedName("enum")
+    private List<String> enumValues; // 枚举常量
 
     //  约束
 
@@ -50,22 +93,57 @@ public class Schema<T> {
         return schema;
     }
 
+    public static Schema createRef(String ref) {
+        Schema schema = new Schema<>();
+        schema.setRef(ref);
+        return schema;
+    }
+
     public static Schema createBasic(String typeName) {
-        String type = typeName.toLowerCase();
+        SchemaType type = basicTypes.get(typeName);
+        if (type == null) type = basicTypes.getOrDefault(typeName.toLowerCase(), SchemaType.NUMBER);
 
-        if ("boolean".equals(type))
-            return new Schema<>(SchemaType.BOOLEAN);
-        else if (Arrays.asList("char", "string", "bigdecimal", "date").contains(type))
-            return new Schema<>(SchemaType.STRING);
-        else if (Arrays.asList("byte", "short", "int", "long", "integer", "biginteger").contains(type))
-            return new Schema<Integer>(SchemaType.INTEGER);
-        else
-            return new Schema<Double>(SchemaType.NUMBER);
+        Schema schema = new Schema<>(type);
+        schema.setFormat(NormalTypeConst.format(typeName));
+        return schema;
     }
 
     public Schema() {
     }
 
+    /**
+     * 将数值范围与字符串长度限制在 Java 类型的取值范围内, 仅用于生成示例(见 SampleGenerator), 需在应用约束注解后调用
+     */
+    @SuppressWarnings("unchecked")
+    public void narrowTo(TypeRef type) {
+        if (type.getKind() != TypeKind.PRIMITIVE && type.getKind() != TypeKind.NORMAL) return;
+
+        // 映射为常用类型的类(如 com.foo.Code=Byte)按映射的类型名
+        String javaType = type.getJavaType() == null ? type.getName() : type.getJavaType();
+        int[] range = javaRanges.containsKey(javaType) ? javaRanges.get(javaType) : javaRanges.get(type.getName());
+        if (range != null) {
+            if (minimum == null || ((Number) minimum).doubleValue() < range[0]) {
+                minimum = (T) Integer.valueOf(range[0]);
+                exclusiveMinimum = null;
+            }
+            if (maximum == null || ((Number) maximum).doubleValue() > range[1]) {
+                maximum = (T) Integer.valueOf(range[1]);
+                exclusiveMaximum = null;
+            }
+        } else if (charTypes.contains(javaType) || charTypes.contains(type.getName())) {
+            minLength = 1;
+            maxLength = 1;
+        }
+    }
+
+    /**
+     * 是否有字符串或数值约束(长度、正则、格式、枚举、范围)
+     */
+    public boolean hasConstraints() {
+        return minLength != null || maxLength != null || pattern != null || format != null || enumValues != null
+                || minimum != null || maximum != null || exclusiveMinimum != null || exclusiveMaximum != null;
+    }
+
     private Schema(SchemaType type) {
         this.type = type.val;
     }
@@ -77,6 +155,18 @@ public class Schema<T> {
         required.add(fieldName);
     }
 
+    public List<String> getRequired() {
+        return required;
+    }
+
+    public String getRef() {
+        return ref;
+    }
+
+    public void setRef(String ref) {
+        this.ref = ref;
+    }
+
     public String getType() {
         return type;
     }
@@ -101,6 +191,14 @@ public class Schema<T> {
         this.items = items;
     }
 
+    public KV getDefinitions() {
+        return definitions;
+    }
+
+    public void setDefinitions(KV definitions) {
+        this.definitions = definitions;
+    }
+
     public String getDescription() {
         return description;
     }
@@ -133,6 +231,22 @@ public class Schema<T> {
         this.pattern = pattern;
     }
 
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public List<String> getEnumValues() {
+        return enumValues;
+    }
+
+    public void setEnumValues(List<String> enumValues) {
+        this.enumValues = enumValues;
+    }
+
     public T getMinimum() {
         return minimum;
     }
@@ -149,7 +263,7 @@ public class Schema<T> {
         this.maximum = maximum;
     }
 
-    public boolean getExclusiveMinimum() {
+    public Boolean getExclusiveMinimum() {
         return exclusiveMinimum;
     }
 
@@ -157,7 +271,7 @@ public class Schema<T> {
         this.exclusiveMinimum = exclusiveMinimum;
     }
 
-    public boolean getExclusiveMaximum() {
+    public Boolean getExclusiveMaximum() {
         return exclusiveMaximum;
     }
 
@@ -0,0 +1,416 @@
+package com.hardy.model;
+
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 不可变的紧凑 schema 节点, 由 Schema 构建完成后转换得到, 可在线程间共享
+ * 属性以数组保存, 约束为基本类型并单独存放; 通过 Interner 转换时相同的子树只保留一份
+ * 序列化输出与 Gson 序列化 Schema 一致, 见 SchemaNodeAdapter
+ * 每个节点带有稳定的结构指纹, 子节点的指纹参与计算, 指纹相同的子树结构相同, 可用于跳过未变化的部分
+ **/
+@JsonAdapter(SchemaNodeAdapter.class)
+public final class SchemaNode {
+
+    private static final String[] NO_NAMES = {};
+
+    private static final SchemaNode[] NO_NODES = {};
+
+    final String ref;
+
+    final String type;
+
+    final String description;
+
+    final String[] propertyNames; // 没有 properties 时为 null, 与空对象区分
+
+    final SchemaNode[] properties;
+
+    final SchemaNode items;
+
+    final String[] required; // 没有时为 null
+
+    final String[] definitionNames; // 仅根节点, 没有时为 null
+
+    final SchemaNode[] definitions;
+
+    final Constraints constraints; // 没有约束时为 null
+
+    private final int hash;
+
+    private final long fingerprint;
+
+    private SchemaNode(String ref, String type, String description, String[] propertyNames, SchemaNode[] properties,
+                       SchemaNode items, String[] required, String[] definitionNames, SchemaNode[] definitions,
+                       Constraints constraints) {
+        this.ref = ref;
+        this.type = type;
+        this.description = description;
+        this.propertyNames = propertyNames;
+        this.properties = properties;
+        this.items = items;
+        this.required = required;
+        this.definitionNames = definitionNames;
+        this.definitions = definitions;
+        this.constraints = constraints;
+
+        // 子节点已驻留, 按引用计算
+        int h = Objects.hash(ref, type, description, items == null ? 0 : System.identityHashCode(items), constraints);
+        h = 31 * h + Arrays.hashCode(propertyNames);
+        h = 31 * h + identityHash(properties);
+        h = 31 * h + Arrays.hashCode(required);
+        h = 31 * h + Arrays.hashCode(definitionNames);
+        this.hash = 31 * h + identityHash(definitions);
+
+        // 子节点的指纹已计算, 自底向上; description 不影响结构, 不计入
+        Fingerprint f = new Fingerprint().add(ref).add(type).add(propertyNames).add(required).add(definitionNames);
+        fingerprint(f, properties);
+        fingerprint(f, definitions);
+        f.add(items == null ? 0 : items.fingerprint);
+        f.add(constraints == null ? 0 : 1);
+        if (constraints != null) constraints.fingerprint(f);
+        this.fingerprint = f.get();
+    }
+
+    private static void fingerprint(Fingerprint f, SchemaNode[] nodes) {
+        if (nodes == null) return;
+
+        for (SchemaNode node : nodes) f.add(node.fingerprint);
+    }
+
+    /**
+     * 转换为紧凑节点, 本次转换内相同的子树共享
+     */
+    public static SchemaNode of(Schema<?> schema) {
+        return of(schema, new Interner());
+    }
+
+    /**
+     * 转换为紧凑节点, 相同的子树从 interner 中复用
+     */
+    public static SchemaNode of(Schema<?> schema, Interner interner) {
+        String[] propertyNames = null;
+        SchemaNode[] properties = null;
+        if (schema.getProperties() != null) {
+            propertyNames = names(schema.getProperties());
+            properties = nodes(schema.getProperties(), interner);
+        }
+
+        String[] definitionNames = null;
+        SchemaNode[] definitions = null;
+        if (schema.getDefinitions() != null) {
+            definitionNames = names(schema.getDefinitions());
+            definitions = nodes(schema.getDefinitions(), interner);
+        }
+
+        SchemaNode items = schema.getItems() == null ? null : of(schema.getItems(), interner);
+        String[] required = schema.getRequired() == null ? null : schema.getRequired().toArray(NO_NAMES);
+        Constraints constraints = Constraints.of(schema);
+        if (constraints != null) constraints = interner.intern(constraints);
+
+        return interner.intern(new SchemaNode(schema.getRef(), schema.getType(), schema.getDescription(),
+                propertyNames, properties, items, required, definitionNames, definitions, constraints));
+    }
+
+    /**
+     * 读取 SchemaNodeAdapter 写出的节点, 相同的子树从 interner 中复用
+     */
+    public static SchemaNode read(JsonReader in, Interner interner) throws IOException {
+        return of(SchemaNodeAdapter.readSchema(in), interner);
+    }
+
+    /**
+     * 解析根节点中的 $ref, 只支持 # 与 #/definitions/名字, 不存在时返回 null
+     */
+    public static SchemaNode resolveRef(SchemaNode root, String ref) {
+        if ("#".equals(ref)) return root;
+        if (!ref.startsWith(Schema.DEFINITIONS_PREFIX) || root.definitionNames == null) return null;
+
+        String name = ref.substring(Schema.DEFINITIONS_PREFIX.length());
+        for (int i = 0; i < root.definitionNames.length; i++) {
+            if (root.definitionNames[i].equals(name)) return root.definitions[i];
+        }
+        return null;
+    }
+
+    private static String[] names(KV kv) {
+        return kv.isEmpty() ? NO_NAMES : kv.keySet().toArray(NO_NAMES);
+    }
+
+    private static SchemaNode[] nodes(KV kv, Interner interner) {
+        if (kv.isEmpty()) return NO_NODES;
+
+        SchemaNode[] nodes = new SchemaNode[kv.size()];
+        int i = 0;
+        for (Object value : kv.values()) {
+            nodes[i++] = value instanceof SchemaNode ? (SchemaNode) value : of((Schema) value, interner);
+        }
+        return nodes;
+    }
+
+    private static int identityHash(SchemaNode[] nodes) {
+        if (nodes == null) return 0;
+
+        int h = 1;
+        for (SchemaNode node : nodes) {
+            h = 31 * h + System.identityHashCode(node);
+        }
+        return h;
+    }
+
+    private static boolean identical(SchemaNode[] a, SchemaNode[] b) {
+        if (a == b) return true;
+        if (a == null || b == null || a.length != b.length) return false;
+
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] != b[i]) return false;
+        }
+        return true;
+    }
+
+    public String getRef() {
+        return ref;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * 结构指纹, 只取决于节点及其子节点的内容(不含 description), 与运行环境无关
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    public SchemaNode getItems() {
+        return items;
+    }
+
+    /**
+     * 属性数, 没有 properties 时为 0
+     */
+    public int getPropertyCount() {
+        return propertyNames == null ? 0 : propertyNames.length;
+    }
+
+    public String getPropertyName(int index) {
+        return propertyNames[index];
+    }
+
+    public SchemaNode getProperty(int index) {
+        return properties[index];
+    }
+
+    public List<String> getRequired() {
+        return required == null ? null : Collections.unmodifiableList(Arrays.asList(required));
+    }
+
+    public Integer getMinLength() {
+        return constraints == null || constraints.minLength < 0 ? null : constraints.minLength;
+    }
+
+    public Integer getMaxLength() {
+        return constraints == null || constraints.maxLength < 0 ? null : constraints.maxLength;
+    }
+
+    public String getPattern() {
+        return constraints == null ? null : constraints.pattern;
+    }
+
+    public String getFormat() {
+        return constraints == null ? null : constraints.format;
+    }
+
+    public List<String> getEnumValues() {
+        return constraints == null || constraints.enumValues == null
+                ? null : Collections.unmodifiableList(Arrays.asList(constraints.enumValues));
+    }
+
+    /**
+     * 下限, 整数约束为 Integer, 其他为 Double
+     */
+    public Number getMinimum() {
+        return constraints == null ? null : constraints.minimum();
+    }
+
+    public Number getMaximum() {
+        return constraints == null ? null : constraints.maximum();
+    }
+
+    public Boolean getExclusiveMinimum() {
+        return constraints == null ? null : constraints.flag(Constraints.EXCLUSIVE_MINIMUM_SET, Constraints.EXCLUSIVE_MINIMUM);
+    }
+
+    public Boolean getExclusiveMaximum() {
+        return constraints == null ? null : constraints.flag(Constraints.EXCLUSIVE_MAXIMUM_SET, Constraints.EXCLUSIVE_MAXIMUM);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SchemaNode)) return false;
+
+        SchemaNode that = (SchemaNode) o;
+        return hash == that.hash
+                && items == that.items
+                && Objects.equals(ref, that.ref)
+                && Objects.equals(type, that.type)
+                && Objects.equals(description, that.description)
+                && Objects.equals(constraints, that.constraints)
+                && Arrays.equals(propertyNames, that.propertyNames)
+                && identical(properties, that.properties)
+                && Arrays.equals(required, that.required)
+                && Arrays.equals(definitionNames, that.definitionNames)
+                && identical(definitions, that.definitions);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    /**
+     * 字符串与数值约束, 数值以 double 保存并记录原来是否为整数, 以保持输出格式
+     */
+    static final class Constraints {
+
+        static final int HAS_MINIMUM = 1;
+        static final int HAS_MAXIMUM = 1 << 1;
+        static final int MINIMUM_INTEGRAL = 1 << 2;
+        static final int MAXIMUM_INTEGRAL = 1 << 3;
+        static final int EXCLUSIVE_MINIMUM_SET = 1 << 4;
+        static final int EXCLUSIVE_MINIMUM = 1 << 5;
+        static final int EXCLUSIVE_MAXIMUM_SET = 1 << 6;
+        static final int EXCLUSIVE_MAXIMUM = 1 << 7;
+
+        final int minLength; // 没有时为 -1
+        final int maxLength;
+        final String pattern;
+        final String format;
+        final String[] enumValues;
+        final double minimum;
+        final double maximum;
+        final int flags;
+
+        private Constraints(int minLength, int maxLength, String pattern, String format, String[] enumValues,
+                            double minimum, double maximum, int flags) {
+            this.minLength = minLength;
+            this.maxLength = maxLength;
+            this.pattern = pattern;
+            this.format = format;
+            this.enumValues = enumValues;
+            this.minimum = minimum;
+            this.maximum = maximum;
+            this.flags = flags;
+        }
+
+        // 没有任何约束时返回 null
+        private static Constraints of(Schema<?> schema) {
+            Number minimum = (Number) schema.getMinimum();
+            Number maximum = (Number) schema.getMaximum();
+            if (schema.getMinLength() == null && schema.getMaxLength() == null && schema.getPattern() == null
+                    && schema.getFormat() == null && schema.getEnumValues() == null && minimum == null && maximum == null
+                    && schema.getExclusiveMinimum() == null && schema.getExclusiveMaximum() == null) {
+                return null;
+            }
+
+            int flags = 0;
+            if (minimum != null) flags |= HAS_MINIMUM | (isIntegral(minimum) ? MINIMUM_INTEGRAL : 0);
+            if (maximum != null) flags |= HAS_MAXIMUM | (isIntegral(maximum) ? MAXIMUM_INTEGRAL : 0);
+            if (schema.getExclusiveMinimum() != null) {
+                flags |= EXCLUSIVE_MINIMUM_SET | (schema.getExclusiveMinimum() ? EXCLUSIVE_MINIMUM : 0);
+            }
+            if (schema.getExclusiveMaximum() != null) {
+                flags |= EXCLUSIVE_MAXIMUM_SET | (schema.getExclusiveMaximum() ? EXCLUSIVE_MAXIMUM : 0);
+            }
+
+            List<String> enumValues = schema.getEnumValues();
+            return new Constraints(
+                    schema.getMinLength() == null ? -1 : schema.getMinLength(),
+                    schema.getMaxLength() == null ? -1 : schema.getMaxLength(),
+                    schema.getPattern(),
+                    schema.getFormat(),
+                    enumValues == null ? null : enumValues.toArray(NO_NAMES),
+                    minimum == null ? 0 : minimum.doubleValue(),
+                    maximum == null ? 0 : maximum.doubleValue(),
+                    flags);
+        }
+
+        // 约束中的整数均为 int
+        private static boolean isIntegral(Number value) {
+            return value instanceof Integer || value instanceof Short || value instanceof Byte;
+        }
+
+        boolean has(int flag) {
+            return (flags & flag) != 0;
+        }
+
+        Number minimum() {
+            if (!has(HAS_MINIMUM)) return null;
+            return has(MINIMUM_INTEGRAL) ? (Number) (int) minimum : (Number) minimum;
+        }
+
+        Number maximum() {
+            if (!has(HAS_MAXIMUM)) return null;
+            return has(MAXIMUM_INTEGRAL) ? (Number) (int) maximum : (Number) maximum;
+        }
+
+        Boolean flag(int set, int value) {
+            return has(set) ? Boolean.valueOf(has(value)) : null;
+        }
+
+        void fingerprint(Fingerprint f) {
+            f.add(minLength).add(maxLength).add(pattern).add(format).add(enumValues)
+                    .add(Double.doubleToLongBits(minimum)).add(Double.doubleToLongBits(maximum)).add(flags);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Constraints)) return false;
+
+            Constraints that = (Constraints) o;
+            return minLength == that.minLength && maxLength == that.maxLength && flags == that.flags
+                    && Double.compare(minimum, that.minimum) == 0 && Double.compare(maximum, that.maximum) == 0
+                    && Objects.equals(pattern, that.pattern) && Objects.equals(format, that.format)
+                    && Arrays.equals(enumValues, that.enumValues);
+        }
+
+        @Override
+        public int hashCode() {
+            int h = Objects.hash(minLength, maxLength, pattern, format, minimum, maximum, flags);
+            return 31 * h + Arrays.hashCode(enumValues);
+        }
+    }
+
+    /**
+     * 相同节点只保留一份, 转换时自底向上驻留; 非线程安全
+     */
+    public static class Interner {
+
+        private final Map<Object, Object> table = new HashMap<>();
+
+        @SuppressWarnings("unchecked")
+        <T> T intern(T value) {
+            Object existing = table.putIfAbsent(value, value);
+            return existing == null ? value : (T) existing;
+        }
+
+        /**
+         * 不同节点与约束的数量
+         */
+        public int size() {
+            return table.size();
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.hardy.model;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: SchemaNode 的序列化, 字段顺序与取值格式与 Gson 序列化 Schema 一致, 空值省略
+ * 读取时只识别写出的字段, 其他字段跳过
+ **/
+class SchemaNodeAdapter extends TypeAdapter<SchemaNode> {
+
+    @Override
+    public void write(JsonWriter out, SchemaNode node) throws IOException {
+        if (node == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        if (node.ref != null) out.name("$ref").value(node.ref);
+        if (node.type != null) out.name("type").value(node.type);
+        if (node.propertyNames != null) {
+            out.name("properties");
+            writeMap(out, node.propertyNames, node.properties);
+        }
+        if (node.items != null) {
+            out.name("items");
+            write(out, node.items);
+        }
+        if (node.description != null) out.name("description").value(node.description);
+        if (node.required != null) {
+            out.name("required");
+            writeArray(out, node.required);
+        }
+        if (node.definitionNames != null) {
+            out.name("definitions");
+            writeMap(out, node.definitionNames, node.definitions);
+        }
+
+        SchemaNode.Constraints c = node.constraints;
+        if (c != null) {
+            if (c.minLength >= 0) out.name("minLength").value(c.minLength);
+            if (c.maxLength >= 0) out.name("maxLength").value(c.maxLength);
+            if (c.pattern != null) out.name("pattern").value(c.pattern);
+            if (c.format != null) out.name("format").value(c.format);
+            if (c.enumValues != null) {
+                out.name("enum");
+                writeArray(out, c.enumValues);
+            }
+            // 整数按 int 输出, 其他按 double 输出, 与 Integer / Double 的序列化一致
+            if (c.has(SchemaNode.Constraints.HAS_MINIMUM)) {
+                out.name("minimum");
+                if (c.has(SchemaNode.Constraints.MINIMUM_INTEGRAL)) out.value((long) c.minimum);
+                else out.value(c.minimum);
+            }
+            if (c.has(SchemaNode.Constraints.HAS_MAXIMUM)) {
+                out.name("maximum");
+                if (c.has(SchemaNode.Constraints.MAXIMUM_INTEGRAL)) out.value((long) c.maximum);
+                else out.value(c.maximum);
+            }
+            if (c.has(SchemaNode.Constraints.EXCLUSIVE_MINIMUM_SET)) {
+                out.name("exclusiveMinimum").value(c.has(SchemaNode.Constraints.EXCLUSIVE_MINIMUM));
+            }
+            if (c.has(SchemaNode.Constraints.EXCLUSIVE_MAXIMUM_SET)) {
+                out.name("exclusiveMaximum").value(c.has(SchemaNode.Constraints.EXCLUSIVE_MAXIMUM));
+            }
+        }
+        out.endObject();
+    }
+
+    private void writeMap(JsonWriter out, String[] names, SchemaNode[] nodes) throws IOException {
+        out.beginObject();
+        for (int i = 0; i < names.length; i++) {
+            out.name(names[i]);
+            write(out, nodes[i]);
+        }
+        out.endObject();
+    }
+
+    private static void writeArray(JsonWriter out, String[] values) throws IOException {
+        out.beginArray();
+        for (String value : values) {
+            out.value(value);
+        }
+        out.endArray();
+    }
+
+    @Override
+    public SchemaNode read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return SchemaNode.of(readSchema(in), new SchemaNode.Interner());
+    }
+
+    /**
+     * 读取为可变的 Schema, 数值在 int 范围内的整数为 Integer, 其他为 Double, 与生成时一致
+     */
+    static Schema<Number> readSchema(JsonReader in) throws IOException {
+        Schema<Number> schema = new Schema<>();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "$ref":
+                    schema.setRef(in.nextString());
+                    break;
+                case "type":
+                    schema.setType(in.nextString());
+                    break;
+                case "properties":
+                    schema.setProperties(readMap(in));
+                    break;
+                case "items":
+                    schema.setItems(readSchema(in));
+                    break;
+                case "description":
+                    schema.setDescription(in.nextString());
+                    break;
+                case "required":
+                    for (String name : readArray(in)) schema.addRequire(name);
+                    break;
+                case "definitions":
+                    schema.setDefinitions(readMap(in));
+                    break;
+                case "minLength":
+                    schema.setMinLength(in.nextInt());
+                    break;
+                case "maxLength":
+                    schema.setMaxLength(in.nextInt());
+                    break;
+                case "pattern":
+                    schema.setPattern(in.nextString());
+                    break;
+                case "format":
+                    schema.setFormat(in.nextString());
+                    break;
+                case "enum":
+                    schema.setEnumValues(readArray(in));
+                    break;
+                case "minimum":
+                    schema.setMinimum(readNumber(in));
+                    break;
+                case "maximum":
+                    schema.setMaximum(readNumber(in));
+                    break;
+                case "exclusiveMinimum":
+                    schema.setExclusiveMinimum(in.nextBoolean());
+                    break;
+                case "exclusiveMaximum":
+                    schema.setExclusiveMaximum(in.nextBoolean());
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return schema;
+    }
+
+    private static KV readMap(JsonReader in) throws IOException {
+        KV kv = KV.create();
+        in.beginObject();
+        while (in.hasNext()) {
+            kv.set(in.nextName(), readSchema(in));
+        }
+        in.endObject();
+        return kv;
+    }
+
+    private static List<String> readArray(JsonReader in) throws IOException {
+        List<String> values = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            values.add(in.nextString());
+        }
+        in.endArray();
+        return values;
+    }
+
+    private static Number readNumber(JsonReader in) throws IOException {
+        String value = in.nextString();
+        if (value.indexOf('.') < 0 && value.indexOf('e') < 0 && value.indexOf('E') < 0) {
+            long v = Long.parseLong(value);
+            if (v >= Integer.MIN_VALUE && v <= Integer.MAX_VALUE) return (int) v;
+        }
+        return Double.parseDouble(value);
+    }
+}
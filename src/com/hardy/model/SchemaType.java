@@ -21,4 +21,14 @@ public enum SchemaType {
     SchemaType(String val) {
         this.val = val;
     }
+
+    // 由类型名获取, 不存在时返回 null
+    public static SchemaType of(String val) {
+        if (val == null) return null;
+
+        for (SchemaType type : values()) {
+            if (type.val.equals(val)) return type;
+        }
+        return null;
+    }
 }
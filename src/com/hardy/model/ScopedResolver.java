@@ -0,0 +1,46 @@
+package com.hardy.model;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 一次生成内的类结构缓存, 包装其他 resolver, 每个类及每个 (类, 泛型参数) 的特化只解析一次
+ * 不存在的类同样缓存; 非线程安全
+ **/
+public class ScopedResolver implements ClassModelResolver {
+
+    private final ClassModelResolver delegate;
+
+    private final Map<String, ClassModel> models = new HashMap<>();
+
+    private final Map<String, ClassModel> specialized = new HashMap<>();
+
+    public ScopedResolver(ClassModelResolver delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public ClassModel resolve(String qualifiedName) {
+        if (models.containsKey(qualifiedName)) return models.get(qualifiedName);
+
+        ClassModel model = delegate.resolve(qualifiedName);
+        models.put(qualifiedName, model);
+        return model;
+    }
+
+    @Override
+    public ClassModel specialize(ClassModel model, List<TypeRef> arguments) {
+        String key = TypeRef.clazz(model.getName(), model.getQualifiedName(), arguments).getKey();
+        return specialized.computeIfAbsent(key, k -> delegate.specialize(model, arguments));
+    }
+
+    /**
+     * 已解析的类数
+     */
+    public int size() {
+        return models.size();
+    }
+}
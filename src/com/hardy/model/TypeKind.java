@@ -0,0 +1,19 @@
+package com.hardy.model;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 字段类型分类
+ **/
+public enum TypeKind {
+
+    OBJECT,     // Object
+    PRIMITIVE,  // 基本类型
+    NORMAL,     // 常用类型, 见 NormalTypeConst
+    ARRAY,      // 数组
+    LIST,       // 列表
+    MAP,        // map
+    ENUM,       // 枚举
+    TYPE_VARIABLE, // 泛型变量, 生成前按泛型参数替换, 无法替换时按Object处理
+    CLASS       // 其他的类
+}
@@ -0,0 +1,174 @@
+package com.hardy.model;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 字段类型描述, 不依赖PSI; 嵌套的类只记录全名, 使用时再通过 ClassModelResolver 获取
+ **/
+public class TypeRef {
+
+    private static final TypeRef OBJECT = new TypeRef(TypeKind.OBJECT, "Object", null, null, Collections.emptyList());
+
+    private final TypeKind kind;
+
+    private final String name; // 类型名, 如 int / String / List
+
+    private final String qualifiedName; // CLASS / ENUM 时为类全名
+
+    // 字段声明的类全名, 用于生成代码, 如 NORMAL 的 String 可能为 java.time.LocalDateTime; 未知时为 null, 不参与 getKey
+    // 包装类型(Optional)记为包装类型及内容的声明类型, 如 java.util.Optional<java.time.LocalDateTime>, 见 wrappedIn
+    private final String javaType;
+
+    // ARRAY: [元素]; LIST: [元素] 或空; MAP: [key, value] 或空; CLASS: 泛型参数
+    private final List<TypeRef> arguments;
+
+    public static TypeRef object() {
+        return OBJECT;
+    }
+
+    public static TypeRef primitive(String name) {
+        return new TypeRef(TypeKind.PRIMITIVE, name, null, null, Collections.emptyList());
+    }
+
+    public static TypeRef normal(String name) {
+        return new TypeRef(TypeKind.NORMAL, name, null, null, Collections.emptyList());
+    }
+
+    public static TypeRef array(TypeRef component) {
+        return new TypeRef(TypeKind.ARRAY, component.name + "[]", null, null, Collections.singletonList(component));
+    }
+
+    public static TypeRef list(String name, List<TypeRef> arguments) {
+        return new TypeRef(TypeKind.LIST, name, null, null, arguments);
+    }
+
+    public static TypeRef map(String name, List<TypeRef> arguments) {
+        return new TypeRef(TypeKind.MAP, name, null, null, arguments);
+    }
+
+    public static TypeRef typeVariable(String name) {
+        return new TypeRef(TypeKind.TYPE_VARIABLE, name, null, null, Collections.emptyList());
+    }
+
+    public static TypeRef enumType(String name, String qualifiedName) {
+        return new TypeRef(TypeKind.ENUM, name, qualifiedName, null, Collections.emptyList());
+    }
+
+    public static TypeRef clazz(String name, String qualifiedName, List<TypeRef> arguments) {
+        return new TypeRef(TypeKind.CLASS, name, qualifiedName, null, arguments);
+    }
+
+    private TypeRef(TypeKind kind, String name, String qualifiedName, String javaType, List<TypeRef> arguments) {
+        this.kind = kind;
+        this.name = name;
+        this.qualifiedName = qualifiedName;
+        this.javaType = javaType;
+        this.arguments = arguments;
+    }
+
+    public TypeKind getKind() {
+        return kind;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getQualifiedName() {
+        return qualifiedName;
+    }
+
+    public String getJavaType() {
+        return javaType;
+    }
+
+    public List<TypeRef> getArguments() {
+        return arguments;
+    }
+
+    // 第 index 个泛型参数, 不存在时返回 null
+    public TypeRef getArgument(int index) {
+        return index < arguments.size() ? arguments.get(index) : null;
+    }
+
+    /**
+     * 替换泛型参数, 其他不变
+     */
+    public TypeRef withArguments(List<TypeRef> arguments) {
+        if (kind == TypeKind.ARRAY) return array(arguments.get(0)).withJavaType(javaType);
+        return new TypeRef(kind, name, qualifiedName, javaType, arguments);
+    }
+
+    /**
+     * 记录字段声明的类全名, 其他不变
+     */
+    public TypeRef withJavaType(String javaType) {
+        if (Objects.equals(this.javaType, javaType)) return this;
+        return new TypeRef(kind, name, qualifiedName, javaType, arguments);
+    }
+
+    /**
+     * 作为包装类型(如 Optional)的内容, 结构不变; 内容的声明类型保留为包装类型的泛型参数, 如 java.util.Optional<java.lang.Byte>
+     */
+    public TypeRef wrappedIn(String wrapper) {
+        return withJavaType(javaType == null ? wrapper : wrapper + "<" + javaType + ">");
+    }
+
+    /**
+     * 唯一标识, 类使用全名, 带上泛型参数, 如 com.foo.Page<com.foo.Order>
+     */
+    public String getKey() {
+        StringBuilder sb = new StringBuilder();
+        appendKey(sb);
+        return sb.toString();
+    }
+
+    private void appendKey(StringBuilder sb) {
+        if (kind == TypeKind.ARRAY) {
+            arguments.get(0).appendKey(sb);
+            sb.append("[]");
+            return;
+        }
+
+        sb.append(qualifiedName != null ? qualifiedName : name);
+        if (arguments.isEmpty()) return;
+
+        sb.append('<');
+        for (int i = 0; i < arguments.size(); i++) {
+            if (i > 0) sb.append(',');
+            arguments.get(i).appendKey(sb);
+        }
+        sb.append('>');
+    }
+
+    /**
+     * 可读的名字, 可用作标识符, 如 PageOfOrder / MapOfStringAndLong / OrderArray
+     */
+    public String getDisplayName() {
+        if (kind == TypeKind.ARRAY) return arguments.get(0).getDisplayName() + "Array";
+        if (arguments.isEmpty()) return name;
+
+        StringBuilder sb = new StringBuilder(name).append("Of");
+        for (int i = 0; i < arguments.size(); i++) {
+            if (i > 0) sb.append("And");
+            sb.append(arguments.get(i).getDisplayName());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 泛型参数的嵌套层数, 没有泛型参数时为 0
+     */
+    public int depth() {
+        int depth = 0;
+        for (TypeRef argument : arguments) {
+            depth = Math.max(depth, argument.depth() + 1);
+        }
+        return depth;
+    }
+
+}
@@ -0,0 +1,14 @@
+package com.hardy.model;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 字段或构造函数的可见性, 生成代码时据此判断能否直接访问
+ **/
+public enum Visibility {
+
+    PUBLIC,
+    PROTECTED,
+    PACKAGE,    // 未加修饰符, 同一个包中可见
+    PRIVATE
+}
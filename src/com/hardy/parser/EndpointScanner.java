@@ -0,0 +1,269 @@
+package com.hardy.parser;
+
+import com.hardy.model.Endpoint;
+import com.hardy.model.TypeKind;
+import com.hardy.model.TypeRef;
+import com.intellij.codeInsight.AnnotationUtil;
+import com.intellij.psi.*;
+import com.intellij.psi.javadoc.PsiDocComment;
+
+import java.util.*;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 从 Spring(@RestController) / JAX-RS(@Path) 控制器中读取接口, 参数与返回值类型按 PsiModelBuilder 解析
+ * 需在读操作中调用
+ **/
+public class EndpointScanner {
+
+    private static final String SPRING = "org.springframework.web.bind.annotation.";
+
+    private static final String[] JAX_RS = {"javax.ws.rs.", "jakarta.ws.rs."};
+
+    public static final String[] CONTROLLER_ANNOTATIONS = {
+            SPRING + "RestController", "javax.ws.rs.Path", "jakarta.ws.rs.Path"};
+
+    // Spring 的映射注解 -> http 方法
+    private static final Map<String, String> SPRING_MAPPINGS = new LinkedHashMap<>();
+
+    // 返回值的包装类型, 取其泛型参数
+    private static final Set<String> WRAPPERS = new HashSet<>(Arrays.asList(
+            "org.springframework.http.ResponseEntity", "org.springframework.http.HttpEntity",
+            "org.springframework.web.context.request.async.DeferredResult",
+            "org.springframework.web.context.request.async.WebAsyncTask",
+            "org.springframework.util.concurrent.ListenableFuture",
+            "reactor.core.publisher.Mono", "java.util.concurrent.CompletableFuture",
+            "java.util.concurrent.CompletionStage", "java.util.concurrent.Future", "java.util.concurrent.Callable"));
+
+    private static final String FLUX = "reactor.core.publisher.Flux";
+
+    // 没有内容的返回值
+    private static final Set<String> NO_CONTENT = new HashSet<>(Arrays.asList(
+            "java.lang.Void", "javax.ws.rs.core.Response", "jakarta.ws.rs.core.Response"));
+
+    static {
+        for (String method : new String[]{"Get", "Post", "Put", "Delete", "Patch"}) {
+            SPRING_MAPPINGS.put(SPRING + method + "Mapping", method.toLowerCase());
+        }
+    }
+
+    /**
+     * 类是否为控制器
+     */
+    public static boolean isController(PsiClass clazz) {
+        return AnnotationUtil.findAnnotation(clazz, CONTROLLER_ANNOTATIONS) != null;
+    }
+
+    /**
+     * 控制器中声明的所有接口, 不是控制器时返回空
+     */
+    public static List<Endpoint> scan(PsiClass clazz) {
+        if (AnnotationUtil.findAnnotation(clazz, SPRING + "RestController") != null) return scanSpring(clazz);
+
+        for (String prefix : JAX_RS) {
+            PsiAnnotation path = AnnotationUtil.findAnnotation(clazz, prefix + "Path");
+            if (path != null) return scanJaxRs(clazz, prefix, stringValue(path, "value"));
+        }
+        return Collections.emptyList();
+    }
+
+    // ************** Spring **************
+
+    private static List<Endpoint> scanSpring(PsiClass clazz) {
+        PsiAnnotation classMapping = AnnotationUtil.findAnnotation(clazz, SPRING + "RequestMapping");
+        String base = classMapping == null ? "" : stringValue(classMapping, "value", "path");
+
+        List<Endpoint> endpoints = new ArrayList<>();
+        for (PsiMethod method : clazz.getMethods()) {
+            String httpMethod = null;
+            String path = null;
+            for (Map.Entry<String, String> mapping : SPRING_MAPPINGS.entrySet()) {
+                PsiAnnotation annotation = AnnotationUtil.findAnnotation(method, mapping.getKey());
+                if (annotation != null) {
+                    httpMethod = mapping.getValue();
+                    path = stringValue(annotation, "value", "path");
+                    break;
+                }
+            }
+            if (httpMethod == null) {
+                PsiAnnotation annotation = AnnotationUtil.findAnnotation(method, SPRING + "RequestMapping");
+                if (annotation == null) continue;
+
+                // 未指定方法时按 get 处理
+                String requestMethod = stringValue(annotation, "method");
+                httpMethod = requestMethod.isEmpty() ? "get" : requestMethod.substring(requestMethod.lastIndexOf('.') + 1).toLowerCase();
+                path = stringValue(annotation, "value", "path");
+            }
+
+            List<Endpoint.Parameter> parameters = new ArrayList<>();
+            TypeRef body = null;
+            for (PsiParameter parameter : method.getParameterList().getParameters()) {
+                TypeRef type = PsiModelBuilder.typeRef(parameter.getType());
+                if (AnnotationUtil.findAnnotation(parameter, SPRING + "RequestBody") != null) {
+                    body = type;
+                    continue;
+                }
+
+                PsiAnnotation annotation;
+                if ((annotation = AnnotationUtil.findAnnotation(parameter, SPRING + "PathVariable")) != null) {
+                    parameters.add(new Endpoint.Parameter(name(annotation, parameter), "path", type, true));
+                } else if ((annotation = AnnotationUtil.findAnnotation(parameter, SPRING + "RequestParam")) != null) {
+                    parameters.add(new Endpoint.Parameter(name(annotation, parameter), "query", type, springRequired(annotation, parameter)));
+                } else if ((annotation = AnnotationUtil.findAnnotation(parameter, SPRING + "RequestHeader")) != null) {
+                    parameters.add(new Endpoint.Parameter(name(annotation, parameter), "header", type, springRequired(annotation, parameter)));
+                } else if (isSimple(type) && !isInfrastructure(parameter.getType())) {
+                    // 未标注的简单类型按查询参数绑定
+                    parameters.add(new Endpoint.Parameter(parameter.getName(), "query", type, false));
+                }
+            }
+
+            endpoints.add(endpoint(clazz, method, httpMethod, join(base, path), parameters, body));
+        }
+        return endpoints;
+    }
+
+    // required 默认为 true, 有 defaultValue 或参数为 Optional 时不是必需
+    private static boolean springRequired(PsiAnnotation annotation, PsiParameter parameter) {
+        if (annotation.findDeclaredAttributeValue("defaultValue") != null || isOptional(parameter.getType())) return false;
+        return !"false".equals(stringValue(annotation, "required"));
+    }
+
+    // ************** JAX-RS **************
+
+    private static List<Endpoint> scanJaxRs(PsiClass clazz, String prefix, String base) {
+        List<Endpoint> endpoints = new ArrayList<>();
+        for (PsiMethod method : clazz.getMethods()) {
+            String httpMethod = null;
+            for (String name : new String[]{"GET", "POST", "PUT", "DELETE", "PATCH", "HEAD", "OPTIONS"}) {
+                if (AnnotationUtil.findAnnotation(method, prefix + name) != null) {
+                    httpMethod = name.toLowerCase();
+                    break;
+                }
+            }
+            if (httpMethod == null) continue;
+
+            PsiAnnotation pathAnnotation = AnnotationUtil.findAnnotation(method, prefix + "Path");
+            String path = pathAnnotation == null ? "" : stringValue(pathAnnotation, "value");
+
+            List<Endpoint.Parameter> parameters = new ArrayList<>();
+            TypeRef body = null;
+            for (PsiParameter parameter : method.getParameterList().getParameters()) {
+                TypeRef type = PsiModelBuilder.typeRef(parameter.getType());
+                boolean optional = isOptional(parameter.getType());
+
+                PsiAnnotation annotation;
+                if ((annotation = AnnotationUtil.findAnnotation(parameter, prefix + "PathParam")) != null) {
+                    parameters.add(new Endpoint.Parameter(stringValue(annotation, "value"), "path", type, true));
+                } else if ((annotation = AnnotationUtil.findAnnotation(parameter, prefix + "QueryParam")) != null) {
+                    parameters.add(new Endpoint.Parameter(stringValue(annotation, "value"), "query", type, false));
+                } else if ((annotation = AnnotationUtil.findAnnotation(parameter, prefix + "HeaderParam")) != null) {
+                    parameters.add(new Endpoint.Parameter(stringValue(annotation, "value"), "header", type, !optional));
+                } else if (parameter.getModifierList() == null || parameter.getModifierList().getAnnotations().length == 0) {
+                    // 未标注的参数为请求体
+                    body = type;
+                }
+            }
+
+            endpoints.add(endpoint(clazz, method, httpMethod, join(base, path), parameters, body));
+        }
+        return endpoints;
+    }
+
+    // ************** 公共 **************
+
+    private static Endpoint endpoint(PsiClass clazz, PsiMethod method, String httpMethod, String path,
+                                     List<Endpoint.Parameter> parameters, TypeRef body) {
+        PsiType returnType = method.getReturnType();
+        TypeRef response = returnType == null || PsiType.VOID.equals(returnType) ? null : unwrap(PsiModelBuilder.typeRef(returnType));
+        return new Endpoint(httpMethod, path, clazz.getName(), clazz.getName() + "_" + method.getName(),
+                summary(method), parameters, body, response);
+    }
+
+    /**
+     * 去掉返回值的包装类型, 如 ResponseEntity<T> / Mono<T> -> T, Flux<T> -> T 的数组; 没有内容时返回 null
+     */
+    public static TypeRef unwrap(TypeRef type) {
+        while (type != null && type.getKind() == TypeKind.CLASS) {
+            String name = type.getQualifiedName();
+            if (NO_CONTENT.contains(name)) return null;
+            if (FLUX.equals(name)) return type.getArgument(0) == null ? null : TypeRef.array(type.getArgument(0));
+            if (!WRAPPERS.contains(name)) break;
+
+            type = type.getArgument(0);
+        }
+        return type;
+    }
+
+    // 注释的第一行
+    private static String summary(PsiMethod method) {
+        PsiDocComment comment = method.getDocComment();
+        if (comment == null) return "";
+
+        StringBuilder sb = new StringBuilder();
+        for (PsiElement element : comment.getDescriptionElements()) {
+            sb.append(element.getText());
+        }
+        for (String line : sb.toString().split("\n")) {
+            if (!line.trim().isEmpty()) return line.trim();
+        }
+        return "";
+    }
+
+    private static String name(PsiAnnotation annotation, PsiParameter parameter) {
+        String name = stringValue(annotation, "value", "name");
+        return name.isEmpty() ? parameter.getName() : name;
+    }
+
+    // 拼接路径, 去掉 Spring 路径变量中的正则, 如 {id:\d+} -> {id}
+    static String join(String base, String path) {
+        String joined = ("/" + base + "/" + path).replaceAll("/+", "/");
+        if (joined.length() > 1 && joined.endsWith("/")) joined = joined.substring(0, joined.length() - 1);
+        return joined.replaceAll("\\{([^}:]+):[^}]*}", "{$1}");
+    }
+
+    private static boolean isSimple(TypeRef type) {
+        switch (type.getKind()) {
+            case PRIMITIVE:
+            case NORMAL:
+            case ENUM:
+                return true;
+            case ARRAY:
+            case LIST:
+                return type.getArgument(0) != null && isSimple(type.getArgument(0));
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isOptional(PsiType type) {
+        return type.getCanonicalText().startsWith("java.util.Optional");
+    }
+
+    // 框架注入的参数, 如 HttpServletRequest / Principal / Locale
+    private static boolean isInfrastructure(PsiType type) {
+        String name = type.getCanonicalText();
+        return name.startsWith("javax.servlet.") || name.startsWith("jakarta.servlet.") || name.startsWith("org.springframework.")
+                || name.startsWith("java.security.") || name.startsWith("java.util.Locale") || name.startsWith("java.io.");
+    }
+
+    /**
+     * 注解属性的字符串值, 依次尝试给出的属性名, 数组取第一个, 枚举取名字; 没有时返回空字符串
+     */
+    private static String stringValue(PsiAnnotation annotation, String... names) {
+        for (String name : names) {
+            PsiAnnotationMemberValue value = annotation.findDeclaredAttributeValue(name);
+            if (value instanceof PsiArrayInitializerMemberValue) {
+                PsiAnnotationMemberValue[] initializers = ((PsiArrayInitializerMemberValue) value).getInitializers();
+                value = initializers.length == 0 ? null : initializers[0];
+            }
+            if (value == null) continue;
+
+            Object constant = JavaPsiFacade.getInstance(annotation.getProject()).getConstantEvaluationHelper()
+                    .computeConstantExpression(value);
+            String text = constant != null ? String.valueOf(constant) : value.getText();
+            if (!text.isEmpty()) return text;
+        }
+        return "";
+    }
+}
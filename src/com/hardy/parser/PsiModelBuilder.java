@@ -0,0 +1,297 @@
+package com.hardy.parser;
+
+import com.hardy.metrics.GenerationMetrics;
+import com.hardy.metrics.GenerationMetrics.Phase;
+import com.hardy.model.*;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.psi.*;
+import com.intellij.psi.util.InheritanceUtil;
+import com.intellij.psi.util.PsiUtil;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 将 PsiClass 解析为 ClassModel, 需在读操作中调用
+ **/
+public class PsiModelBuilder {
+
+    // 组合注解全名 -> 展开后的约束注解, 只缓存库中的注解
+    private static final Map<String, List<AnnotationModel>> composedConstraints = new ConcurrentHashMap<>();
+
+    public static ClassModel build(PsiClass clazz) {
+        // 库中的类(class 文件)没有注释, 不读取其文本, 避免反编译
+        boolean compiled = clazz instanceof PsiCompiledElement;
+
+        List<FieldModel> fields = new ArrayList<>();
+        for (PsiField field : clazz.getFields()) {
+            ProgressManager.checkCanceled();
+            if (ignored(field.getType())) continue;
+
+            // 注释与注解分别计时
+            long start = System.nanoTime();
+            String comment = compiled ? "" : genComment(field);
+            GenerationMetrics.addTime(Phase.COMMENT, start);
+
+            start = System.nanoTime();
+            List<AnnotationModel> annotations = genAnnotations(field);
+            GenerationMetrics.addTime(Phase.ANNOTATION, start);
+
+            boolean primitiveBoolean = PsiType.BOOLEAN.equals(field.getType());
+            fields.add(new FieldModel(
+                    field.getName(),
+                    typeRef(field.getType()),
+                    comment,
+                    annotations,
+                    field.hasModifierProperty(PsiModifier.STATIC),
+                    visibility(field),
+                    field.hasModifierProperty(PsiModifier.FINAL),
+                    accessor(clazz, FieldModel.getterName(field.getName(), primitiveBoolean), 0),
+                    accessor(clazz, FieldModel.setterName(field.getName(), primitiveBoolean), 1)));
+        }
+
+        PsiClass superClass = clazz.getSuperClass();
+        String superName = null;
+        List<TypeRef> superArguments = Collections.emptyList();
+        if (superClass != null && !"Object".equals(superClass.getName())) {
+            superName = superClass.getQualifiedName();
+
+            // 父类的泛型参数, 如 extends Page<T>
+            for (PsiClassType type : clazz.getExtendsListTypes()) {
+                if (superClass.equals(type.resolve())) superArguments = typeArguments(type);
+            }
+        }
+
+        List<String> typeParameters = new ArrayList<>();
+        for (PsiTypeParameter parameter : clazz.getTypeParameters()) {
+            typeParameters.add(parameter.getName());
+        }
+
+        return new ClassModel(clazz.getQualifiedName(), clazz.getName(), typeParameters,
+                superName, superArguments, fields, enumConstants(clazz), noArgConstructor(clazz));
+    }
+
+    // 公开的实例方法(含继承的), 参数个数相同时返回方法名, 否则返回 null
+    private static String accessor(PsiClass clazz, String name, int parameters) {
+        for (PsiMethod method : clazz.findMethodsByName(name, true)) {
+            if (method.getParameterList().getParametersCount() == parameters
+                    && method.hasModifierProperty(PsiModifier.PUBLIC) && !method.hasModifierProperty(PsiModifier.STATIC)) {
+                return name;
+            }
+        }
+        return null;
+    }
+
+    // 无参构造函数的可见性; 未声明构造函数时默认构造函数与类的可见性相同
+    private static Visibility noArgConstructor(PsiClass clazz) {
+        if (clazz.isInterface() || clazz.isEnum() || clazz.hasModifierProperty(PsiModifier.ABSTRACT)) return null;
+        if (clazz.getContainingClass() != null && !clazz.hasModifierProperty(PsiModifier.STATIC)) return null;
+
+        PsiMethod[] constructors = clazz.getConstructors();
+        if (constructors.length == 0) return visibility(clazz);
+        for (PsiMethod constructor : constructors) {
+            if (constructor.getParameterList().getParametersCount() == 0) return visibility(constructor);
+        }
+        return null;
+    }
+
+    private static Visibility visibility(PsiModifierListOwner owner) {
+        if (owner.hasModifierProperty(PsiModifier.PUBLIC)) return Visibility.PUBLIC;
+        if (owner.hasModifierProperty(PsiModifier.PROTECTED)) return Visibility.PROTECTED;
+        if (owner.hasModifierProperty(PsiModifier.PRIVATE)) return Visibility.PRIVATE;
+        return Visibility.PACKAGE;
+    }
+
+    // 枚举常量名
+    private static List<String> enumConstants(PsiClass clazz) {
+        if (!clazz.isEnum()) return Collections.emptyList();
+
+        List<String> constants = new ArrayList<>();
+        for (PsiField field : clazz.getFields()) {
+            if (field instanceof PsiEnumConstant) constants.add(field.getName());
+        }
+        return constants;
+    }
+
+    /**
+     * 解析字段/参数类型, 类的分类见 TypeClassifier
+     */
+    public static TypeRef typeRef(PsiType type) {
+        // 通配符取上界, ? 即 Object
+        if (type instanceof PsiWildcardType) {
+            type = ((PsiWildcardType) type).getExtendsBound();
+        }
+
+        // 基本类型
+        if (type instanceof PsiPrimitiveType) {
+            return TypeRef.primitive(type.getPresentableText());
+        }
+        // 数组
+        else if (type instanceof PsiArrayType) {
+            return TypeRef.array(typeRef(((PsiArrayType) type).getComponentType()));
+        }
+
+        PsiClass clazz = PsiUtil.resolveClassInType(type);
+        // 泛型变量, 生成时按泛型参数替换
+        if (clazz instanceof PsiTypeParameter) {
+            return TypeRef.typeVariable(clazz.getName());
+        }
+        // 无法解析的类型及局部类按Object处理
+        if (clazz == null || clazz.getQualifiedName() == null) {
+            return TypeRef.object();
+        }
+
+        String qualifiedName = clazz.getQualifiedName();
+        String target = TypeClassifier.getInstance().classify(qualifiedName,
+                base -> InheritanceUtil.isInheritor(clazz, base),
+                clazz instanceof PsiCompiledElement);
+
+        // 普通的类
+        if (target == null) {
+            return TypeRef.clazz(clazz.getName(), qualifiedName, typeArguments(type));
+        }
+
+        switch (target) {
+            case TypeClassifier.OBJECT:
+            case TypeClassifier.IGNORE:
+                return TypeRef.object().withJavaType(qualifiedName);
+            case TypeClassifier.LIST:
+                return TypeRef.list(clazz.getName(), typeArguments(type)).withJavaType(qualifiedName);
+            case TypeClassifier.MAP:
+                return TypeRef.map(clazz.getName(), typeArguments(type)).withJavaType(qualifiedName);
+            case TypeClassifier.ENUM:
+                return TypeRef.enumType(clazz.getName(), qualifiedName);
+            case TypeClassifier.OPTIONAL: {
+                List<TypeRef> arguments = typeArguments(type);
+                // 记录 Optional 本身及内容的声明类型, 生成代码时据此识别
+                return (arguments.isEmpty() ? TypeRef.object() : arguments.get(0)).wrappedIn(qualifiedName);
+            }
+            // 常用类型
+            default:
+                return TypeRef.normal(target).withJavaType(qualifiedName);
+        }
+    }
+
+    // 不输出的字段, 如日志对象
+    private static boolean ignored(PsiType type) {
+        PsiClass clazz = PsiUtil.resolveClassInType(type);
+        if (clazz == null || clazz instanceof PsiTypeParameter || clazz.getQualifiedName() == null) return false;
+
+        String qualifiedName = clazz.getQualifiedName();
+        return TypeClassifier.IGNORE.equals(TypeClassifier.getInstance().classify(qualifiedName,
+                base -> InheritanceUtil.isInheritor(clazz, base),
+                clazz instanceof PsiCompiledElement));
+    }
+
+    // 获取泛型参数
+    private static List<TypeRef> typeArguments(PsiType type) {
+        if (!(type instanceof PsiClassType)) return Collections.emptyList();
+
+        PsiType[] parameters = ((PsiClassType) type).getParameters();
+        if (parameters.length == 0) return Collections.emptyList();
+
+        List<TypeRef> arguments = new ArrayList<>(parameters.length);
+        for (PsiType parameter : parameters) {
+            arguments.add(typeRef(parameter));
+        }
+        return arguments;
+    }
+
+    // 构建注释
+    private static String genComment(PsiField field) {
+        // 获取注释 //** . */
+        if (field.getDocComment() != null && field.getDocComment().getText() != null) {
+            return field.getDocComment().getText().replaceAll("[/*]", "").trim();
+        }
+        // 获取 // 注释
+        else {
+            StringBuilder sb = new StringBuilder();
+            for (String s : field.getText().split("\n")) {
+                String temp = s.trim();
+                if (temp.startsWith("//")) {
+                    sb.append(temp.replaceAll("//*", "").trim());
+                    sb.append(" ");
+                }
+            }
+            return sb.toString();
+        }
+    }
+
+    // 收集约束注解, 并解析其属性值; 组合注解展开为其上的约束注解
+    private static List<AnnotationModel> genAnnotations(PsiField field) {
+        PsiModifierList modifierList = field.getModifierList();
+        if (modifierList == null) return Collections.emptyList();
+
+        PsiAnnotation[] annotations = modifierList.getAnnotations();
+        if (annotations.length == 0) return Collections.emptyList();
+
+        List<AnnotationModel> models = new ArrayList<>();
+        for (PsiAnnotation annotation : annotations) {
+            collectConstraints(annotation, models, new HashSet<>());
+        }
+        return models;
+    }
+
+    // 返回 false 表示有注解因已展开而跳过, 此时的展开结果不完整(已在同一次展开的其他注解中展开), 不能缓存
+    private static boolean collectConstraints(PsiAnnotation annotation, List<AnnotationModel> models, Set<String> visited) {
+        String qualifiedName = annotation.getQualifiedName();
+        if (qualifiedName == null) return true;
+
+        if (AnnotationModel.isConstraint(qualifiedName)) {
+            models.add(new AnnotationModel(qualifiedName, attributes(annotation)));
+            return true;
+        }
+
+        // JDK 的元注解及已展开的注解不再展开
+        if (qualifiedName.startsWith("java.")) return true;
+        if (!visited.add(qualifiedName)) return false;
+
+        PsiClass type = annotationType(annotation);
+        if (type == null) return true;
+
+        // 库中的注解不会变化, 完整的展开结果可缓存
+        boolean compiled = type instanceof PsiCompiledElement;
+        List<AnnotationModel> composed = compiled ? composedConstraints.get(qualifiedName) : null;
+        boolean complete = true;
+        if (composed == null) {
+            composed = new ArrayList<>();
+            PsiModifierList modifierList = type.getModifierList();
+            if (modifierList != null) {
+                for (PsiAnnotation meta : modifierList.getAnnotations()) {
+                    complete &= collectConstraints(meta, composed, visited);
+                }
+            }
+            if (compiled && complete) composedConstraints.put(qualifiedName, Collections.unmodifiableList(composed));
+        }
+        models.addAll(composed);
+        return complete;
+    }
+
+    private static PsiClass annotationType(PsiAnnotation annotation) {
+        PsiJavaCodeReferenceElement reference = annotation.getNameReferenceElement();
+        PsiElement type = reference == null ? null : reference.resolve();
+        return type instanceof PsiClass && ((PsiClass) type).isAnnotationType() ? (PsiClass) type : null;
+    }
+
+    // 读取注解属性(含默认值)的常量值, 整数统一为 Long, 忽略数组等非常量属性, 与 ReflectModelBuilder 一致
+    private static Map<String, Object> attributes(PsiAnnotation annotation) {
+        PsiClass type = annotationType(annotation);
+        if (type == null) return Collections.emptyMap();
+
+        PsiConstantEvaluationHelper helper = JavaPsiFacade.getInstance(annotation.getProject()).getConstantEvaluationHelper();
+        Map<String, Object> attributes = new HashMap<>();
+        for (PsiMethod method : type.getMethods()) {
+            PsiAnnotationMemberValue value = annotation.findAttributeValue(method.getName());
+            if (!(value instanceof PsiExpression)) continue;
+
+            Object constant = helper.computeConstantExpression(value);
+            if (constant instanceof Integer || constant instanceof Long || constant instanceof Short || constant instanceof Byte) {
+                constant = ((Number) constant).longValue();
+            }
+            if (constant != null) attributes.put(method.getName(), constant);
+        }
+        return attributes;
+    }
+}
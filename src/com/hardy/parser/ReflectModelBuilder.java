@@ -0,0 +1,265 @@
+package com.hardy.parser;
+
+import com.hardy.model.*;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.*;
+import java.util.*;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 通过反射将编译后的类解析为 ClassModel, 不依赖IDE; 字节码中没有注释, 字段描述为空
+ **/
+public class ReflectModelBuilder {
+
+    // 注解类型 -> 展开后的约束注解, 随类卸载
+    private static final ClassValue<List<AnnotationModel>> composedConstraints = new ClassValue<List<AnnotationModel>>() {
+        @Override
+        protected List<AnnotationModel> computeValue(Class<?> type) {
+            return Collections.unmodifiableList(composed(type, new HashSet<>()));
+        }
+    };
+
+    /**
+     * 解析类, 遇到的嵌套类会登记到 known 中, 以便之后按全名获取
+     */
+    public static ClassModel build(Class<?> clazz, Map<String, Class<?>> known) {
+        Set<String> methods = publicMethods(clazz);
+
+        List<FieldModel> fields = new ArrayList<>();
+        // getDeclaredFields 在 HotSpot 上按声明顺序返回
+        for (Field field : clazz.getDeclaredFields()) {
+            if (field.isSynthetic() || ignored(field.getType())) continue;
+
+            int modifiers = field.getModifiers();
+            boolean primitiveBoolean = field.getType() == boolean.class;
+            String getter = FieldModel.getterName(field.getName(), primitiveBoolean);
+            String setter = FieldModel.setterName(field.getName(), primitiveBoolean);
+            fields.add(new FieldModel(
+                    field.getName(),
+                    typeRef(field.getGenericType(), known),
+                    "",
+                    genAnnotations(field),
+                    Modifier.isStatic(modifiers),
+                    visibility(modifiers),
+                    Modifier.isFinal(modifiers),
+                    methods.contains(getter + "/0") ? getter : null,
+                    methods.contains(setter + "/1") ? setter : null));
+        }
+
+        Class<?> superClass = clazz.getSuperclass();
+        String superName = null;
+        List<TypeRef> superArguments = Collections.emptyList();
+        if (superClass != null && superClass != Object.class) {
+            superName = superClass.getCanonicalName();
+            if (superName != null) known.put(superName, superClass);
+
+            // 父类的泛型参数, 如 extends Page<T>
+            superArguments = typeArguments(clazz.getGenericSuperclass(), known);
+        }
+
+        List<String> typeParameters = new ArrayList<>();
+        for (TypeVariable<?> parameter : clazz.getTypeParameters()) {
+            typeParameters.add(parameter.getName());
+        }
+
+        return new ClassModel(clazz.getCanonicalName(), clazz.getSimpleName(), typeParameters,
+                superName, superArguments, fields, enumConstants(clazz), noArgConstructor(clazz));
+    }
+
+    // 公开的实例方法(含继承的), 如 getName/0; 方法签名引用的类缺失时视为没有
+    private static Set<String> publicMethods(Class<?> clazz) {
+        Set<String> methods = new HashSet<>();
+        try {
+            for (Method method : clazz.getMethods()) {
+                if (!Modifier.isStatic(method.getModifiers())) methods.add(method.getName() + "/" + method.getParameterCount());
+            }
+        } catch (LinkageError e) {
+            return Collections.emptySet();
+        }
+        return methods;
+    }
+
+    // 无参构造函数的可见性, 与 PsiModelBuilder 一致
+    private static Visibility noArgConstructor(Class<?> clazz) {
+        int modifiers = clazz.getModifiers();
+        if (clazz.isInterface() || clazz.isEnum() || clazz.isArray() || clazz.isPrimitive() || Modifier.isAbstract(modifiers)) return null;
+        if (clazz.getEnclosingClass() != null && !Modifier.isStatic(modifiers)) return null;
+
+        try {
+            return visibility(clazz.getDeclaredConstructor().getModifiers());
+        } catch (NoSuchMethodException | LinkageError e) {
+            return null;
+        }
+    }
+
+    private static Visibility visibility(int modifiers) {
+        if (Modifier.isPublic(modifiers)) return Visibility.PUBLIC;
+        if (Modifier.isProtected(modifiers)) return Visibility.PROTECTED;
+        if (Modifier.isPrivate(modifiers)) return Visibility.PRIVATE;
+        return Visibility.PACKAGE;
+    }
+
+    // 枚举常量名, 只读取字段, 不触发类初始化
+    private static List<String> enumConstants(Class<?> clazz) {
+        if (!clazz.isEnum()) return Collections.emptyList();
+
+        List<String> constants = new ArrayList<>();
+        for (Field field : clazz.getDeclaredFields()) {
+            if (field.isEnumConstant()) constants.add(field.getName());
+        }
+        return constants;
+    }
+
+    // 解析字段类型, 规则与 PsiModelBuilder 一致
+    private static TypeRef typeRef(Type type, Map<String, Class<?>> known) {
+        // 通配符取上界
+        if (type instanceof WildcardType) {
+            type = ((WildcardType) type).getUpperBounds()[0];
+        }
+        // 泛型变量, 生成时按泛型参数替换
+        if (type instanceof TypeVariable) {
+            return TypeRef.typeVariable(((TypeVariable<?>) type).getName());
+        }
+        // 泛型数组
+        if (type instanceof GenericArrayType) {
+            return TypeRef.array(typeRef(((GenericArrayType) type).getGenericComponentType(), known));
+        }
+
+        Class<?> clazz = rawClass(type);
+        if (clazz == null) return TypeRef.object();
+
+        // 基本类型
+        if (clazz.isPrimitive()) {
+            return TypeRef.primitive(clazz.getSimpleName());
+        }
+        // 数组
+        else if (clazz.isArray()) {
+            return TypeRef.array(typeRef(clazz.getComponentType(), known));
+        }
+
+        // 局部类与匿名类按Object处理
+        String qualifiedName = clazz.getCanonicalName();
+        if (qualifiedName == null) return TypeRef.object();
+
+        // 已加载的类不会再变化, 分类结果可缓存
+        String target = TypeClassifier.getInstance().classify(qualifiedName, base -> isInheritor(clazz, base), true);
+
+        // 普通的类
+        if (target == null) {
+            known.put(qualifiedName, clazz);
+            return TypeRef.clazz(clazz.getSimpleName(), qualifiedName, typeArguments(type, known));
+        }
+
+        switch (target) {
+            case TypeClassifier.OBJECT:
+            case TypeClassifier.IGNORE:
+                return TypeRef.object().withJavaType(qualifiedName);
+            case TypeClassifier.LIST:
+                return TypeRef.list(clazz.getSimpleName(), typeArguments(type, known)).withJavaType(qualifiedName);
+            case TypeClassifier.MAP:
+                return TypeRef.map(clazz.getSimpleName(), typeArguments(type, known)).withJavaType(qualifiedName);
+            case TypeClassifier.ENUM:
+                known.put(qualifiedName, clazz);
+                return TypeRef.enumType(clazz.getSimpleName(), qualifiedName);
+            case TypeClassifier.OPTIONAL: {
+                List<TypeRef> arguments = typeArguments(type, known);
+                // 记录 Optional 本身及内容的声明类型, 生成代码时据此识别
+                return (arguments.isEmpty() ? TypeRef.object() : arguments.get(0)).wrappedIn(qualifiedName);
+            }
+            // 常用类型
+            default:
+                return TypeRef.normal(target).withJavaType(qualifiedName);
+        }
+    }
+
+    // 不输出的字段, 如日志对象
+    private static boolean ignored(Class<?> clazz) {
+        if (clazz.isPrimitive() || clazz.isArray() || clazz.getCanonicalName() == null) return false;
+        return TypeClassifier.IGNORE.equals(TypeClassifier.getInstance().classify(clazz.getCanonicalName(), base -> isInheritor(clazz, base), true));
+    }
+
+    // clazz 是否为全名为 base 的类的子类(含自身), 按名称遍历父类与接口, 不加载 base
+    private static boolean isInheritor(Class<?> clazz, String base) {
+        if (clazz == null) return false;
+        if (base.equals(clazz.getCanonicalName())) return true;
+        if (isInheritor(clazz.getSuperclass(), base)) return true;
+
+        for (Class<?> face : clazz.getInterfaces()) {
+            if (isInheritor(face, base)) return true;
+        }
+        return false;
+    }
+
+    private static Class<?> rawClass(Type type) {
+        if (type instanceof Class) return (Class<?>) type;
+        if (type instanceof ParameterizedType) return rawClass(((ParameterizedType) type).getRawType());
+        return null;
+    }
+
+    // 获取泛型参数
+    private static List<TypeRef> typeArguments(Type type, Map<String, Class<?>> known) {
+        if (!(type instanceof ParameterizedType)) return Collections.emptyList();
+
+        Type[] parameters = ((ParameterizedType) type).getActualTypeArguments();
+        List<TypeRef> arguments = new ArrayList<>(parameters.length);
+        for (Type parameter : parameters) {
+            arguments.add(typeRef(parameter, known));
+        }
+        return arguments;
+    }
+
+    // 收集约束注解, 需要运行时保留; 组合注解展开为其上的约束注解
+    private static List<AnnotationModel> genAnnotations(Field field) {
+        Annotation[] annotations = field.getAnnotations();
+        if (annotations.length == 0) return Collections.emptyList();
+
+        List<AnnotationModel> models = new ArrayList<>();
+        for (Annotation annotation : annotations) {
+            String qualifiedName = annotationName(annotation);
+            if (AnnotationModel.isConstraint(qualifiedName)) models.add(new AnnotationModel(qualifiedName, attributes(annotation)));
+            else models.addAll(composedConstraints.get(annotation.annotationType()));
+        }
+        return models;
+    }
+
+    // 注解类型上的约束注解, 递归展开
+    private static List<AnnotationModel> composed(Class<?> type, Set<Class<?>> visited) {
+        if (type.getName().startsWith("java.") || !visited.add(type)) return Collections.emptyList();
+
+        List<AnnotationModel> models = new ArrayList<>();
+        for (Annotation meta : type.getAnnotations()) {
+            String qualifiedName = annotationName(meta);
+            if (AnnotationModel.isConstraint(qualifiedName)) models.add(new AnnotationModel(qualifiedName, attributes(meta)));
+            else models.addAll(composed(meta.annotationType(), visited));
+        }
+        return models;
+    }
+
+    // 注解全名, 嵌套的注解以 . 分隔, 与 PSI 及注册时使用的全名一致
+    private static String annotationName(Annotation annotation) {
+        Class<?> type = annotation.annotationType();
+        return type.getCanonicalName() == null ? type.getName() : type.getCanonicalName();
+    }
+
+    // 读取注解属性, 整数统一为 Long, 忽略数组(groups/payload)
+    private static Map<String, Object> attributes(Annotation annotation) {
+        Map<String, Object> attributes = new HashMap<>();
+        for (Method method : annotation.annotationType().getDeclaredMethods()) {
+            if (method.getParameterCount() != 0 || method.getReturnType().isArray()) continue;
+
+            try {
+                method.setAccessible(true);
+                Object value = method.invoke(annotation);
+                if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+                    value = ((Number) value).longValue();
+                }
+                attributes.put(method.getName(), value);
+            } catch (ReflectiveOperationException | RuntimeException ignore) {
+                // 无法读取的属性忽略
+            }
+        }
+        return attributes;
+    }
+}
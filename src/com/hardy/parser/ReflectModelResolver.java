@@ -0,0 +1,103 @@
+package com.hardy.parser;
+
+import com.hardy.metrics.GenerationMetrics;
+import com.hardy.metrics.GenerationMetrics.Phase;
+import com.hardy.model.ClassModel;
+import com.hardy.model.ClassModelResolver;
+import com.hardy.model.Generics;
+import com.hardy.model.TypeRef;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 基于反射的类结构获取, 线程安全, 每个类只解析一次
+ **/
+public class ReflectModelResolver implements ClassModelResolver {
+
+    private final ClassLoader classLoader;
+
+    private final Map<String, Class<?>> known = new ConcurrentHashMap<>();
+
+    private final Map<String, ClassModel> models = new ConcurrentHashMap<>();
+
+    private final Map<String, ClassModel> specialized = new ConcurrentHashMap<>(); // 带泛型参数的全名 -> 特化后的类
+
+    public ReflectModelResolver(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    @Override
+    public ClassModel resolve(String qualifiedName) {
+        ClassModel model = models.get(qualifiedName);
+        if (model != null) {
+            GenerationMetrics.resolveCall(true);
+            return model;
+        }
+
+        Class<?> clazz = loadClass(qualifiedName);
+        if (clazz == null) {
+            GenerationMetrics.resolveCall(false);
+            return null;
+        }
+        return get(clazz);
+    }
+
+    public ClassModel get(Class<?> clazz) {
+        // 局部类与匿名类不缓存
+        if (clazz.getCanonicalName() == null) return build(clazz);
+
+        ClassModel model = models.get(clazz.getCanonicalName());
+        if (model != null) {
+            GenerationMetrics.resolveCall(true);
+            return model;
+        }
+
+        // 解析时只登记嵌套类, 不会递归调用, 可以直接使用 computeIfAbsent
+        return models.computeIfAbsent(clazz.getCanonicalName(), name -> build(clazz));
+    }
+
+    // 未命中缓存时由反射构建, 计入解析耗时
+    private ClassModel build(Class<?> clazz) {
+        GenerationMetrics.resolveCall(false);
+        long start = System.nanoTime();
+        try {
+            return ReflectModelBuilder.build(clazz, known);
+        } finally {
+            GenerationMetrics.addTime(Phase.RESOLVE, start);
+        }
+    }
+
+    /**
+     * 类结构不会变化, 每个 (类, 泛型参数) 只特化一次
+     */
+    @Override
+    public ClassModel specialize(ClassModel model, List<TypeRef> arguments) {
+        String key = TypeRef.clazz(model.getName(), model.getQualifiedName(), arguments).getKey();
+        return specialized.computeIfAbsent(key, k -> Generics.specialize(model, arguments));
+    }
+
+    /**
+     * 按全名加载类, 内部类的全名以 . 分隔, 需依次尝试替换为 $
+     */
+    public Class<?> loadClass(String qualifiedName) {
+        Class<?> clazz = known.get(qualifiedName);
+        if (clazz != null) return clazz;
+
+        String name = qualifiedName;
+        while (true) {
+            try {
+                clazz = Class.forName(name, false, classLoader);
+                known.put(qualifiedName, clazz);
+                return clazz;
+            } catch (ClassNotFoundException | LinkageError e) {
+                int index = name.lastIndexOf('.');
+                if (index < 0) return null;
+                name = name.substring(0, index) + '$' + name.substring(index + 1);
+            }
+        }
+    }
+}
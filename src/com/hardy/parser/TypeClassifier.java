@@ -0,0 +1,209 @@
+package com.hardy.parser;
+
+import com.hardy.model.NormalTypeConst;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 类型分类注册表, 按类全名及真实继承关系判断字段类型的分类, 不依赖PSI
+ * 分类结果为: 常用类型名(见 NormalTypeConst) / List / Map / Object / Enum / Optional / Ignore, 普通的类为 null
+ * 用户映射可使用除 Enum 外的分类
+ * 顺序: 用户映射(精确) -> 内置映射(精确) -> 用户映射(继承) -> 内置映射(继承) -> JDK 中的类按 Object 处理
+ * 常用的 JDK 及库中的类都在精确映射中, 不必检查继承关系, 也不会为此加载库中的类
+ **/
+public class TypeClassifier {
+
+    public static final String LIST = "List";
+    public static final String MAP = "Map";
+    public static final String OBJECT = "Object";
+    public static final String ENUM = "Enum";
+    public static final String OPTIONAL = "Optional"; // 取第一个泛型参数
+    public static final String IGNORE = "Ignore"; // 该类型的字段不输出, 如日志对象; 作为泛型参数等时按 Object 处理
+
+    // 未映射时按 Object 处理、不展开字段的包, 其中的类多为实现细节
+    private static final String[] OPAQUE_PACKAGES = {"java.", "javax.", "jdk.", "sun.", "com.sun."};
+
+    private static final String BEAN = ""; // 缓存中表示普通的类
+
+    private static final TypeClassifier INSTANCE = new TypeClassifier();
+
+    // 按全名精确匹配
+    private static final Map<String, String> exactTypes = new HashMap<>();
+
+    // 按继承关系匹配, 有序, 先匹配者优先
+    private static final Map<String, String> superTypes = new LinkedHashMap<>();
+
+    static {
+        exactTypes.put("java.lang.Object", OBJECT);
+        exactTypes.put("java.lang.Class", "String");
+        exactTypes.put("java.lang.Number", "Double");
+        exactTypes.put("java.lang.Boolean", "Boolean");
+        exactTypes.put("java.lang.Byte", "Byte");
+        exactTypes.put("java.lang.Short", "Short");
+        exactTypes.put("java.lang.Integer", "Integer");
+        exactTypes.put("java.lang.Long", "Long");
+        exactTypes.put("java.lang.Float", "Float");
+        exactTypes.put("java.lang.Double", "Double");
+        exactTypes.put("java.lang.Character", "String");
+        exactTypes.put("java.lang.String", "String");
+        exactTypes.put("java.math.BigDecimal", "BigDecimal");
+        exactTypes.put("java.math.BigInteger", "BigInteger");
+        exactTypes.put("java.util.UUID", "UUID");
+        exactTypes.put("java.util.Optional", OPTIONAL);
+        exactTypes.put("java.util.OptionalInt", "Integer");
+        exactTypes.put("java.util.OptionalLong", "Long");
+        exactTypes.put("java.util.OptionalDouble", "Double");
+        exactTypes.put("java.util.concurrent.atomic.AtomicBoolean", "Boolean");
+        exactTypes.put("java.util.concurrent.atomic.AtomicInteger", "Integer");
+        exactTypes.put("java.util.concurrent.atomic.AtomicLong", "Long");
+        exactTypes.put("java.util.concurrent.atomic.LongAdder", "Long");
+        exactTypes.put("java.util.concurrent.atomic.DoubleAdder", "Double");
+
+        // 时间: 带时区的时刻为 Date(date-time), 日期为 LocalDate(date), 其他为字符串
+        for (String name : new String[]{"java.util.Date", "java.util.Calendar", "java.util.GregorianCalendar", "java.sql.Timestamp",
+                "java.time.Instant", "java.time.OffsetDateTime", "java.time.ZonedDateTime", "javax.xml.datatype.XMLGregorianCalendar",
+                "org.joda.time.DateTime", "org.joda.time.Instant"})
+            exactTypes.put(name, "Date");
+        for (String name : new String[]{"java.time.LocalDate", "java.sql.Date", "org.joda.time.LocalDate"})
+            exactTypes.put(name, "LocalDate");
+        for (String name : new String[]{"java.time.LocalDateTime", "java.time.LocalTime", "java.time.OffsetTime", "java.time.YearMonth",
+                "java.time.MonthDay", "java.time.ZoneId", "java.time.ZoneOffset", "java.sql.Time", "java.util.TimeZone",
+                "org.joda.time.LocalDateTime", "org.joda.time.LocalTime", "org.joda.time.DateTimeZone"})
+            exactTypes.put(name, "String");
+        exactTypes.put("java.time.Year", "Integer");
+        for (String name : new String[]{"java.time.Duration", "java.time.Period", "org.joda.time.Duration", "org.joda.time.Period"})
+            exactTypes.put(name, "Duration");
+
+        // 以字符串形式序列化的常用类
+        exactTypes.put("java.net.URI", "URI");
+        exactTypes.put("java.net.URL", "URI");
+        for (String name : new String[]{"java.util.Locale", "java.util.Currency", "java.util.regex.Pattern", "java.nio.charset.Charset",
+                "java.io.File", "java.nio.file.Path", "java.net.InetAddress"})
+            exactTypes.put(name, "String");
+
+        // 常用的集合接口与实现, 避免逐个检查继承关系
+        for (String name : new String[]{"java.util.Collection", "java.util.List", "java.util.ArrayList", "java.util.LinkedList",
+                "java.util.Set", "java.util.HashSet", "java.util.LinkedHashSet", "java.util.SortedSet", "java.util.TreeSet",
+                "java.util.Queue", "java.util.Deque", "java.util.ArrayDeque", "java.lang.Iterable"})
+            exactTypes.put(name, LIST);
+        for (String name : new String[]{"java.util.Map", "java.util.HashMap", "java.util.LinkedHashMap", "java.util.SortedMap",
+                "java.util.TreeMap", "java.util.concurrent.ConcurrentMap", "java.util.concurrent.ConcurrentHashMap"})
+            exactTypes.put(name, MAP);
+
+        // 库中的 json 树
+        for (String name : new String[]{"com.fasterxml.jackson.databind.JsonNode", "com.google.gson.JsonElement", "com.alibaba.fastjson.JSONObject"})
+            exactTypes.put(name, OBJECT);
+
+        // 日志对象
+        for (String name : new String[]{"org.slf4j.Logger", "java.util.logging.Logger", "java.lang.System.Logger", "org.apache.log4j.Logger",
+                "org.apache.logging.log4j.Logger", "org.apache.commons.logging.Log", "ch.qos.logback.classic.Logger",
+                "com.intellij.openapi.diagnostic.Logger"})
+            exactTypes.put(name, IGNORE);
+
+        superTypes.put("java.util.Map", MAP);
+        superTypes.put("java.util.Collection", LIST);
+        superTypes.put("java.lang.Enum", ENUM);
+        superTypes.put("java.util.Date", "Date");
+        superTypes.put("java.util.Calendar", "Date");
+        superTypes.put("java.time.temporal.TemporalAccessor", "Date");
+        superTypes.put("java.lang.CharSequence", "String");
+        superTypes.put("java.lang.Number", "Double");
+        superTypes.put("com.fasterxml.jackson.databind.JsonNode", OBJECT);
+        superTypes.put("com.google.gson.JsonElement", OBJECT);
+    }
+
+    private volatile Map<String, String> userTypes = Collections.emptyMap();
+
+    // 类全名 -> 分类, 只缓存不会变化的类(如库中的类)
+    private final Map<String, String> cache = new ConcurrentHashMap<>();
+
+    public static TypeClassifier getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * 对类分类
+     *
+     * @param qualifiedName 类全名
+     * @param isInheritor   是否为给定全名的类的子类(含自身)
+     * @param cacheable     类结构是否不会再变化, 为 true 时缓存结果
+     * @return 分类, 普通的类返回 null
+     */
+    public String classify(String qualifiedName, Predicate<String> isInheritor, boolean cacheable) {
+        String target = cacheable ? cache.get(qualifiedName) : null;
+        if (target == null) {
+            target = compute(qualifiedName, isInheritor);
+            if (cacheable) cache.put(qualifiedName, target);
+        }
+        return BEAN.equals(target) ? null : target;
+    }
+
+    private String compute(String qualifiedName, Predicate<String> isInheritor) {
+        Map<String, String> user = userTypes;
+
+        String target = user.get(qualifiedName);
+        if (target != null) return target;
+
+        target = exactTypes.get(qualifiedName);
+        if (target != null) return target;
+
+        for (Map.Entry<String, String> entry : user.entrySet()) {
+            if (isInheritor.test(entry.getKey())) return entry.getValue();
+        }
+        for (Map.Entry<String, String> entry : superTypes.entrySet()) {
+            if (isInheritor.test(entry.getKey())) return entry.getValue();
+        }
+
+        // JDK 中未映射的类(如 Thread、ClassLoader)不展开
+        for (String prefix : OPAQUE_PACKAGES) {
+            if (qualifiedName.startsWith(prefix)) return OBJECT;
+        }
+        return BEAN;
+    }
+
+    /**
+     * 设置用户映射, 替换之前的映射并清空缓存
+     */
+    public void setUserMappings(Map<String, String> mappings) {
+        userTypes = Collections.unmodifiableMap(new LinkedHashMap<>(mappings));
+        cache.clear();
+    }
+
+    /**
+     * 解析用户映射, 每行一条 "类全名=分类", # 开头为注释, 无效的行忽略
+     */
+    public static Map<String, String> parseMappings(String text) {
+        Map<String, String> mappings = new LinkedHashMap<>();
+        if (text == null) return mappings;
+
+        for (String line : text.split("\n")) {
+            String temp = line.trim();
+            if (temp.isEmpty() || temp.startsWith("#")) continue;
+
+            int index = temp.indexOf('=');
+            if (index <= 0) continue;
+
+            String qualifiedName = temp.substring(0, index).trim();
+            String target = temp.substring(index + 1).trim();
+            if (isValidTarget(target)) mappings.put(qualifiedName, target);
+        }
+        return mappings;
+    }
+
+    public static boolean isValidTarget(String target) {
+        switch (target) {
+            case LIST:
+            case MAP:
+            case OBJECT:
+            case OPTIONAL:
+            case IGNORE:
+                return true;
+            default:
+                return NormalTypeConst.isNormalType(target);
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.hardy.server;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonWriter;
+import com.hardy.service.GeneratedOutputCache;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.IndexNotReadyException;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.project.ProjectManager;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.*;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.ide.HttpRequestHandler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 通过IDE内置的本地 HTTP 服务(默认端口 63342)提供类的 json / schema, 文档站点与 mock 服务可直接拉取
+ * <p>
+ * GET  /jsontool/json?class=com.foo.Bar[&project=名字]
+ * GET  /jsontool/schema?class=com.foo.Bar
+ * GET  /jsontool/batch?kind=json|schema&class=com.foo.A&class=com.foo.B, 或 POST 类名的 json 数组, 返回 {类名: 结果, 不存在时为 null}
+ * <p>
+ * 响应带内容的 ETag, 请求带 If-None-Match 且内容未变化时返回 304; 生成结果按PSI修改计数缓存, 见 GeneratedOutputCache
+ **/
+public class SchemaRequestHandler extends HttpRequestHandler {
+
+    private static final Logger LOG = Logger.getInstance(SchemaRequestHandler.class);
+
+    private static final String PREFIX = "/jsontool/";
+
+    private static final int MAX_BATCH = 500; // 单次批量请求最多的类数
+
+    private static final Gson GSON = new Gson();
+
+    @Override
+    public boolean isSupported(@NotNull FullHttpRequest request) {
+        HttpMethod method = request.method();
+        return (method == HttpMethod.GET || method == HttpMethod.HEAD || method == HttpMethod.POST)
+                && request.uri().startsWith(PREFIX);
+    }
+
+    @Override
+    public boolean process(@NotNull QueryStringDecoder urlDecoder, @NotNull FullHttpRequest request, @NotNull ChannelHandlerContext context) {
+        // 请求在返回后释放, 先取出需要的内容, 生成在后台线程中进行, 不阻塞服务线程
+        Channel channel = context.channel();
+        boolean keepAlive = HttpUtil.isKeepAlive(request);
+        boolean head = request.method() == HttpMethod.HEAD;
+        String ifNoneMatch = request.headers().get(HttpHeaderNames.IF_NONE_MATCH);
+        String body = request.method() == HttpMethod.POST ? request.content().toString(StandardCharsets.UTF_8) : null;
+        Reply reply = new Reply(channel, keepAlive, head);
+
+        // 只接受命令行工具与本地页面的请求, 其他网站的页面不能读取项目中的类
+        if (!isLocalOrigin(request.headers().get(HttpHeaderNames.ORIGIN))) {
+            reply.error(HttpResponseStatus.FORBIDDEN, "origin not allowed");
+            return true;
+        }
+
+        String endpoint = urlDecoder.path().substring(PREFIX.length());
+        Map<String, List<String>> parameters = urlDecoder.parameters();
+        Project project = project(first(parameters, "project"));
+        if (project == null) {
+            reply.error(HttpResponseStatus.NOT_FOUND, "project not found");
+            return true;
+        }
+
+        ApplicationManager.getApplication().executeOnPooledThread(() -> {
+            try {
+                if (DumbService.isDumb(project)) {
+                    reply.error(HttpResponseStatus.SERVICE_UNAVAILABLE, "indexing in progress, retry later");
+                    return;
+                }
+
+                switch (endpoint) {
+                    case "json":
+                    case "schema":
+                        single(project, first(parameters, "class"), endpoint.equals("schema"), ifNoneMatch, reply);
+                        break;
+                    case "batch":
+                        batch(project, parameters, body, ifNoneMatch, reply);
+                        break;
+                    default:
+                        reply.error(HttpResponseStatus.NOT_FOUND, "unknown endpoint: " + endpoint);
+                }
+            } catch (IndexNotReadyException | ProcessCanceledException e) {
+                reply.error(HttpResponseStatus.SERVICE_UNAVAILABLE, "project is changing, retry later");
+            } catch (Exception e) {
+                LOG.warn("Serve " + urlDecoder.uri() + " failed", e);
+                reply.error(HttpResponseStatus.INTERNAL_SERVER_ERROR, String.valueOf(e.getMessage()));
+            }
+        });
+        return true;
+    }
+
+    private static void single(Project project, String className, boolean schema, String ifNoneMatch, Reply reply) {
+        if (className == null || className.isEmpty()) {
+            reply.error(HttpResponseStatus.BAD_REQUEST, "missing parameter: class");
+            return;
+        }
+
+        GeneratedOutputCache.Output output = GeneratedOutputCache.getInstance(project).get(className, schema, new EmptyProgressIndicator());
+        if (output == null) {
+            reply.error(HttpResponseStatus.NOT_FOUND, "class not found: " + className);
+            return;
+        }
+        reply.content(output.getContent(), output.getEtag(), ifNoneMatch, schema);
+    }
+
+    private static void batch(Project project, Map<String, List<String>> parameters, String body, String ifNoneMatch, Reply reply) throws IOException {
+        String kind = first(parameters, "kind");
+        if (kind != null && !kind.equals("json") && !kind.equals("schema")) {
+            reply.error(HttpResponseStatus.BAD_REQUEST, "kind must be json or schema");
+            return;
+        }
+        boolean schema = !"json".equals(kind);
+
+        // 类名来自 class 参数与请求体中的 json 数组, 去重并保持顺序
+        Set<String> classNames = new LinkedHashSet<>(parameters.getOrDefault("class", Collections.emptyList()));
+        if (body != null && !body.trim().isEmpty()) {
+            try {
+                String[] names = GSON.fromJson(body, String[].class);
+                if (names != null) classNames.addAll(Arrays.asList(names));
+            } catch (JsonParseException e) {
+                reply.error(HttpResponseStatus.BAD_REQUEST, "request body must be a JSON array of class names");
+                return;
+            }
+        }
+        classNames.remove(null);
+        if (classNames.isEmpty() || classNames.size() > MAX_BATCH) {
+            reply.error(HttpResponseStatus.BAD_REQUEST, "between 1 and " + MAX_BATCH + " classes expected");
+            return;
+        }
+
+        // 结果原样嵌入, 每个类的生成都走缓存
+        GeneratedOutputCache cache = GeneratedOutputCache.getInstance(project);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Writer out = new OutputStreamWriter(bytes, StandardCharsets.UTF_8)) {
+            JsonWriter writer = new JsonWriter(out);
+            writer.beginObject();
+            for (String className : classNames) {
+                GeneratedOutputCache.Output output = cache.get(className, schema, new EmptyProgressIndicator());
+                writer.name(className);
+                if (output == null) writer.nullValue();
+                else writer.jsonValue(new String(output.getContent(), StandardCharsets.UTF_8));
+            }
+            writer.endObject();
+        }
+        byte[] content = bytes.toByteArray();
+        reply.content(content, GeneratedOutputCache.Output.etag(content), ifNoneMatch, schema);
+    }
+
+    // 按名字查找打开的项目, 未指定时为第一个打开的项目
+    private static Project project(String name) {
+        for (Project project : ProjectManager.getInstance().getOpenProjects()) {
+            if (project.isDisposed()) continue;
+            if (name == null || name.equals(project.getName())) return project;
+        }
+        return null;
+    }
+
+    // 命令行工具不带 Origin; 浏览器中只允许本机页面
+    private static boolean isLocalOrigin(String origin) {
+        if (origin == null) return true;
+
+        try {
+            String host = new URI(origin).getHost();
+            return "localhost".equals(host) || "127.0.0.1".equals(host) || "[::1]".equals(host);
+        } catch (URISyntaxException e) {
+            return false;
+        }
+    }
+
+    private static String first(Map<String, List<String>> parameters, String name) {
+        List<String> values = parameters.get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    // If-None-Match 可能是以逗号分隔的多个 ETag, 或 *
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) return false;
+
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            if (tag.equals("*") || tag.equals(etag)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * 写回响应, 可在任意线程调用
+     */
+    private static class Reply {
+        private final Channel channel;
+        private final boolean keepAlive;
+        private final boolean head;
+
+        Reply(Channel channel, boolean keepAlive, boolean head) {
+            this.channel = channel;
+            this.keepAlive = keepAlive;
+            this.head = head;
+        }
+
+        void content(byte[] content, String etag, String ifNoneMatch, boolean schema) {
+            // 内容未变化时只返回 304, 不传输内容
+            if (matches(ifNoneMatch, etag)) {
+                FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.NOT_MODIFIED);
+                response.headers().set(HttpHeaderNames.ETAG, etag);
+                response.headers().set(HttpHeaderNames.CACHE_CONTROL, "no-cache");
+                send(response, 0);
+                return;
+            }
+
+            FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK,
+                    head ? Unpooled.EMPTY_BUFFER : Unpooled.wrappedBuffer(content));
+            response.headers().set(HttpHeaderNames.CONTENT_TYPE, (schema ? "application/schema+json" : "application/json") + "; charset=utf-8");
+            response.headers().set(HttpHeaderNames.ETAG, etag);
+            // 每次使用前向服务确认, 未变化时为 304
+            response.headers().set(HttpHeaderNames.CACHE_CONTROL, "no-cache");
+            send(response, content.length);
+        }
+
+        void error(HttpResponseStatus status, String message) {
+            byte[] content = GSON.toJson(Collections.singletonMap("error", message)).getBytes(StandardCharsets.UTF_8);
+            FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, status,
+                    head ? Unpooled.EMPTY_BUFFER : Unpooled.wrappedBuffer(content));
+            response.headers().set(HttpHeaderNames.CONTENT_TYPE, "application/json; charset=utf-8");
+            if (status == HttpResponseStatus.SERVICE_UNAVAILABLE) response.headers().set(HttpHeaderNames.RETRY_AFTER, "5");
+            send(response, content.length);
+        }
+
+        private void send(FullHttpResponse response, int contentLength) {
+            HttpUtil.setContentLength(response, contentLength);
+            if (keepAlive) response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.KEEP_ALIVE);
+
+            ChannelFuture future = channel.writeAndFlush(response);
+            if (!keepAlive) future.addListener(ChannelFutureListener.CLOSE);
+        }
+    }
+}
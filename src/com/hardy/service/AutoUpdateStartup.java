@@ -0,0 +1,18 @@
+package com.hardy.service;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.startup.StartupActivity;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 项目打开后开始监听类的修改, 见 SchemaAutoUpdater
+ **/
+public class AutoUpdateStartup implements StartupActivity {
+
+    @Override
+    public void runActivity(@NotNull Project project) {
+        SchemaAutoUpdater.getInstance(project).start();
+    }
+}
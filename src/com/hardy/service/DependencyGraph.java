@@ -0,0 +1,88 @@
+package com.hardy.service;
+
+import com.hardy.model.ClassModel;
+import com.hardy.model.FieldModel;
+import com.hardy.model.TypeKind;
+import com.hardy.model.TypeRef;
+
+import java.util.*;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 类之间的依赖关系(父类, 字段及泛型参数中的类), 同时维护反向边, 用于查找受修改影响的类
+ * 字段注解引用的注解类型与常量所在的类不在类结构中, 由调用方从PSI中得到后一并加入, 见 SchemaAutoUpdater
+ * 线程安全, 不依赖PSI
+ **/
+public class DependencyGraph {
+
+    private final Map<String, Set<String>> dependencies = new HashMap<>(); // 类 -> 直接依赖的类
+
+    private final Map<String, Set<String>> dependents = new HashMap<>();   // 类 -> 直接依赖它的类
+
+    /**
+     * 替换类的依赖
+     */
+    public synchronized void update(String qualifiedName, Set<String> depends) {
+        Set<String> old = dependencies.put(qualifiedName, depends);
+        if (old != null) {
+            for (String dependency : old) {
+                Set<String> set = dependents.get(dependency);
+                if (set != null) set.remove(qualifiedName);
+            }
+        }
+        for (String dependency : depends) {
+            dependents.computeIfAbsent(dependency, k -> new HashSet<>()).add(qualifiedName);
+        }
+    }
+
+    public synchronized boolean contains(String qualifiedName) {
+        return dependencies.containsKey(qualifiedName);
+    }
+
+    /**
+     * 直接或间接依赖给定类的所有类, 包含给定的类本身
+     */
+    public synchronized Set<String> affected(Collection<String> changed) {
+        Set<String> result = new HashSet<>(changed);
+        Deque<String> queue = new ArrayDeque<>(changed);
+        while (!queue.isEmpty()) {
+            Set<String> set = dependents.get(queue.poll());
+            if (set == null) continue;
+
+            for (String dependent : set) {
+                if (result.add(dependent)) queue.add(dependent);
+            }
+        }
+        return result;
+    }
+
+    public synchronized void clear() {
+        dependencies.clear();
+        dependents.clear();
+    }
+
+    /**
+     * 类结构中直接引用的类
+     */
+    public static Set<String> dependenciesOf(ClassModel model) {
+        Set<String> result = new HashSet<>();
+        if (model.getSuperQualifiedName() != null) result.add(model.getSuperQualifiedName());
+        for (TypeRef argument : model.getSuperTypeArguments()) {
+            collect(argument, result);
+        }
+
+        for (FieldModel field : model.getFields()) {
+            collect(field.getType(), result);
+        }
+        return result;
+    }
+
+    private static void collect(TypeRef type, Set<String> result) {
+        if (type.getKind() == TypeKind.CLASS || type.getKind() == TypeKind.ENUM) result.add(type.getQualifiedName());
+
+        for (TypeRef argument : type.getArguments()) {
+            collect(argument, result);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.hardy.service;
+
+import com.hardy.generator.JsonOutput;
+import com.hardy.model.ClassModel;
+import com.hardy.setting.JsonToolSettings;
+import com.hardy.util.ReadActionUtil;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.util.PsiModificationTracker;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 项目级的生成结果缓存, 以 (种类, 设置, 类全名) 为key, 按全局PSI修改计数失效, 超出容量时淘汰最久未使用的结果
+ * 失效后重新生成(类结构由 TypeModelCache 复用), 内容未变化时 ETag 不变
+ **/
+public class GeneratedOutputCache {
+
+    private static final int MAX_SIZE = 1000;
+
+    private final Project project;
+
+    // 访问顺序的 LinkedHashMap 即 LRU
+    private final Map<String, Output> cache = new LinkedHashMap<String, Output>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Output> eldest) {
+            return size() > MAX_SIZE;
+        }
+    };
+
+    public static GeneratedOutputCache getInstance(Project project) {
+        return ServiceManager.getService(project, GeneratedOutputCache.class);
+    }
+
+    public GeneratedOutputCache(Project project) {
+        this.project = project;
+    }
+
+    /**
+     * 类的 json 或 schema, 按当前设置生成, 类不存在时返回 null; 不能在读操作中调用
+     */
+    public Output get(String qualifiedName, boolean schema, ProgressIndicator indicator) {
+        JsonToolSettings settings = JsonToolSettings.getInstance();
+        boolean useDefinitions = settings.useDefinitions;
+        boolean pretty = settings.prettyPrint;
+        String key = (schema ? "schema" : "json") + (useDefinitions ? "+definitions" : "") + (pretty ? "+pretty" : "") + ":" + qualifiedName;
+
+        // PSI 无任何变化时直接命中; 修改计数在读操作中获取, 与生成的内容一致
+        return ReadActionUtil.compute(() -> {
+            long count = PsiModificationTracker.SERVICE.getInstance(project).getModificationCount();
+            synchronized (cache) {
+                Output output = cache.get(key);
+                if (output != null && output.modificationCount == count) return output;
+            }
+
+            TypeModelCache models = TypeModelCache.getInstance(project);
+            ClassModel model = models.resolve(qualifiedName);
+            if (model == null) return null;
+
+            StringWriter out = new StringWriter();
+            try {
+                JsonOutput.generate(models, model, out, schema, useDefinitions, pretty);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+
+            Output output = new Output(out.toString().getBytes(StandardCharsets.UTF_8), count);
+            synchronized (cache) {
+                cache.put(key, output);
+            }
+            return output;
+        }, indicator);
+    }
+
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * 生成的内容及其 ETag, ETag 只取决于内容
+     */
+    public static class Output {
+        private final byte[] content;
+        private final String etag;
+        private final long modificationCount; // 生成时的全局PSI修改计数
+
+        private Output(byte[] content, long modificationCount) {
+            this.content = content;
+            this.etag = etag(content);
+            this.modificationCount = modificationCount;
+        }
+
+        public byte[] getContent() {
+            return content;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        /**
+         * 内容的强 ETag, 带引号
+         */
+        public static String etag(byte[] content) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-1").digest(content);
+                StringBuilder sb = new StringBuilder("\"");
+                for (int i = 0; i < 10; i++) {
+                    sb.append(Character.forDigit((digest[i] >> 4) & 0xf, 16)).append(Character.forDigit(digest[i] & 0xf, 16));
+                }
+                return sb.append('"').toString();
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package com.hardy.service;
+
+import com.hardy.generator.JsonOutput;
+import com.hardy.index.BeanShape;
+import com.hardy.index.BeanShapeIndex;
+import com.hardy.model.ClassModel;
+import com.hardy.setting.JsonToolSettings;
+import com.hardy.util.ReadActionUtil;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.*;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.Alarm;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 自动更新批量生成目录中已有的文件(需在配置中开启)
+ * 监听PSI修改, 记录被修改的类, 停止输入一段时间后在后台按依赖关系找出受影响的类, 只重新生成这些类的文件
+ * 内容未变化的文件不会重写
+ **/
+public class SchemaAutoUpdater implements Disposable {
+
+    private static final Logger LOG = Logger.getInstance(SchemaAutoUpdater.class);
+
+    private static final int DELAY = 1000; // ms
+
+    private final Project project;
+
+    private final Alarm alarm = new Alarm(Alarm.ThreadToUse.SWING_THREAD, this);
+
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet(); // 待处理的被修改的类
+
+    private final DependencyGraph graph = new DependencyGraph();
+
+    private final Map<String, Long> fingerprints = new ConcurrentHashMap<>(); // 类 -> 上次处理修改时的结构指纹
+
+    private boolean running; // 仅在UI线程访问
+
+    public static SchemaAutoUpdater getInstance(Project project) {
+        return ServiceManager.getService(project, SchemaAutoUpdater.class);
+    }
+
+    public SchemaAutoUpdater(Project project) {
+        this.project = project;
+    }
+
+    /**
+     * 开始监听, 项目打开后调用
+     */
+    public void start() {
+        PsiManager.getInstance(project).addPsiTreeChangeListener(new Listener(), this);
+    }
+
+    @Override
+    public void dispose() {
+        dirty.clear();
+        graph.clear();
+        fingerprints.clear();
+    }
+
+    private static boolean isEnabled() {
+        JsonToolSettings settings = JsonToolSettings.getInstance();
+        return settings.autoRegenerate && !settings.bulkOutputDir.isEmpty();
+    }
+
+    // 记录文件中被修改的类, 在写操作中调用
+    private void changed(PsiFile file) {
+        if (!isEnabled()) {
+            // 关闭期间的修改不再跟踪, 重新开启时重建依赖关系
+            graph.clear();
+            fingerprints.clear();
+            return;
+        }
+        if (!(file instanceof PsiJavaFile)) return;
+
+        VirtualFile virtualFile = file.getVirtualFile();
+        if (virtualFile == null || !ProjectRootManager.getInstance(project).getFileIndex().isInContent(virtualFile)) return;
+
+        int size = dirty.size();
+        for (PsiClass clazz : ((PsiJavaFile) file).getClasses()) {
+            collectClass(clazz);
+        }
+        if (dirty.size() == size) return;
+
+        // 停止修改一段时间后再处理
+        alarm.cancelAllRequests();
+        alarm.addRequest(this::flush, DELAY);
+    }
+
+    private void collectClass(PsiClass clazz) {
+        if (clazz.getQualifiedName() != null) dirty.add(clazz.getQualifiedName());
+
+        for (PsiClass inner : clazz.getInnerClasses()) {
+            collectClass(inner);
+        }
+    }
+
+    // 在UI线程中调用, 同一时间只运行一个更新任务
+    private void flush() {
+        if (project.isDisposed() || dirty.isEmpty()) return;
+        if (running) {
+            alarm.addRequest(this::flush, DELAY);
+            return;
+        }
+
+        Set<String> changed = new HashSet<>(dirty);
+        dirty.removeAll(changed);
+        running = true;
+
+        ProgressManager.getInstance().run(new Task.Backgroundable(project, "Updating generated JSON", true) {
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                update(changed, indicator);
+            }
+
+            @Override
+            public void onThrowable(@NotNull Throwable error) {
+                LOG.warn("Update generated JSON failed", error);
+            }
+
+            @Override
+            public void onFinished() {
+                running = false;
+                if (!dirty.isEmpty()) alarm.addRequest(SchemaAutoUpdater.this::flush, DELAY);
+            }
+        });
+    }
+
+    private void update(Set<String> changed, ProgressIndicator indicator) {
+        JsonToolSettings settings = JsonToolSettings.getInstance();
+        File outputDir = new File(settings.bulkOutputDir);
+        Map<String, List<File>> outputs = outputs(outputDir);
+        if (outputs.isEmpty()) return;
+
+        TypeModelCache cache = TypeModelCache.getInstance(project);
+        GlobalSearchScope scope = GlobalSearchScope.projectScope(project);
+        indicator.setText("Resolving dependencies");
+
+        // 先补全未记录的输出类的依赖, 再刷新被修改的类的依赖
+        // 结构指纹与上次处理时相同的类(如只修改了方法体)直接跳过, 不解析PSI
+        DumbService.getInstance(project).waitForSmartMode();
+        Map<String, Long> pending = new HashMap<>(); // 读操作可能重新开始, 完成后再记录新的指纹
+        Set<String> modified = ReadActionUtil.compute(() -> {
+            pending.clear();
+            for (String root : outputs.keySet()) walk(cache, root, scope);
+
+            Set<String> result = new HashSet<>();
+            for (String name : changed) {
+                if (!graph.contains(name) || !fingerprintChanged(name, scope, pending)) continue;
+
+                Set<String> depends = dependencies(cache, name, scope);
+                graph.update(name, depends);
+                result.add(name);
+
+                // 新增的依赖
+                for (String dependency : depends) walk(cache, dependency, scope);
+            }
+            return result;
+        }, indicator);
+
+        pending.forEach((name, fingerprint) -> {
+            if (fingerprint == null) fingerprints.remove(name);
+            else fingerprints.put(name, fingerprint);
+        });
+        if (modified.isEmpty()) return;
+
+        Set<String> affected = graph.affected(modified);
+        affected.retainAll(outputs.keySet());
+        if (affected.isEmpty()) return;
+
+        List<File> written = new ArrayList<>();
+        indicator.setIndeterminate(false);
+        int done = 0;
+        for (String root : affected) {
+            indicator.setText("Updating " + root);
+            for (File file : outputs.get(root)) {
+                boolean schema = file.getName().endsWith(JsonOutput.SCHEMA_SUFFIX);
+
+                // 重新生成
+                String content = ReadActionUtil.compute(() -> {
+                    ClassModel model = cache.resolve(root);
+                    if (model == null) return null;
+
+                    StringWriter out = new StringWriter();
+                    try {
+                        JsonOutput.generate(cache, model, out, schema, settings.useDefinitions, settings.prettyPrint);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                    return out.toString();
+                }, indicator);
+
+                try {
+                    if (content != null && write(file, content)) written.add(file);
+                } catch (IOException ex) {
+                    LOG.warn("Write " + file + " failed", ex);
+                }
+            }
+            indicator.setFraction((double) ++done / affected.size());
+        }
+
+        if (!written.isEmpty()) LocalFileSystem.getInstance().refreshIoFiles(written, true, false, null);
+    }
+
+    // 记录从 root 可达的所有类的依赖, 已记录的类不再解析, 需在读操作中调用
+    // 不记录指纹: 此时类可能已被修改, 当前的指纹不能作为修改前的基准
+    private void walk(TypeModelCache cache, String root, GlobalSearchScope scope) {
+        Deque<String> queue = new ArrayDeque<>();
+        queue.add(root);
+        while (!queue.isEmpty()) {
+            String name = queue.poll();
+            if (graph.contains(name)) continue;
+
+            Set<String> depends = dependencies(cache, name, scope);
+            graph.update(name, depends);
+            queue.addAll(depends);
+        }
+    }
+
+    // 类结构中引用的类, 以及字段注解(注解类型为其本身的注解)引用的项目中的注解类型与常量所在的类
+    // 修改常量或组合注解的定义时, 使用它们的类的约束随之变化
+    private Set<String> dependencies(TypeModelCache cache, String name, GlobalSearchScope scope) {
+        ClassModel model = cache.resolve(name);
+        Set<String> result = model == null ? new HashSet<>() : DependencyGraph.dependenciesOf(model);
+        PsiClass clazz = JavaPsiFacade.getInstance(project).findClass(name, scope);
+        if (clazz != null) {
+            if (clazz.isAnnotationType()) collectAnnotations(clazz.getModifierList(), result);
+            for (PsiField field : clazz.getFields()) {
+                collectAnnotations(field.getModifierList(), result);
+            }
+            result.remove(name);
+        }
+        return result;
+    }
+
+    // 库中的注解与常量不会变化, 只记录源码中的
+    private static void collectAnnotations(PsiModifierList modifierList, Set<String> result) {
+        if (modifierList == null) return;
+
+        for (PsiAnnotation annotation : modifierList.getAnnotations()) {
+            PsiJavaCodeReferenceElement reference = annotation.getNameReferenceElement();
+            PsiElement type = reference == null ? null : reference.resolve();
+            if (type instanceof PsiClass && !(type instanceof PsiCompiledElement)) addClass((PsiClass) type, result);
+
+            annotation.getParameterList().accept(new JavaRecursiveElementWalkingVisitor() {
+                @Override
+                public void visitReferenceExpression(PsiReferenceExpression expression) {
+                    super.visitReferenceExpression(expression);
+                    PsiElement target = expression.resolve();
+                    if (target instanceof PsiField && !(target instanceof PsiCompiledElement)) {
+                        addClass(((PsiField) target).getContainingClass(), result);
+                    }
+                }
+            });
+        }
+    }
+
+    private static void addClass(PsiClass clazz, Set<String> result) {
+        if (clazz != null && clazz.getQualifiedName() != null) result.add(clazz.getQualifiedName());
+    }
+
+    // 从索引中读取类的结构指纹, 返回与上次记录相比是否变化, 新的指纹放入 pending
+    // 不在项目中的类与还没有记录指纹的类(如启动或重新开启后第一次修改)视为变化
+    private boolean fingerprintChanged(String name, GlobalSearchScope scope, Map<String, Long> pending) {
+        BeanShape shape = BeanShapeIndex.get(name, scope);
+        Long fingerprint = shape == null ? null : shape.getFingerprint();
+        pending.put(name, fingerprint);
+
+        Long old = fingerprints.get(name);
+        return fingerprint == null || old == null || !fingerprint.equals(old);
+    }
+
+    // 输出目录中单个类生成的文件, 类全名 -> 文件; 忽略合并的文件
+    private static Map<String, List<File>> outputs(File outputDir) {
+        Map<String, List<File>> outputs = new HashMap<>();
+        File[] files = outputDir.listFiles();
+        if (files == null) return outputs;
+
+        for (File file : files) {
+            String name = JsonOutput.classOf(file.getName());
+            if (name == null || "bundle".equals(name) || !file.isFile()) continue;
+
+            outputs.computeIfAbsent(name, k -> new ArrayList<>(1)).add(file);
+        }
+        return outputs;
+    }
+
+    // 内容有变化时写入, 返回是否写入
+    private static boolean write(File file, String content) throws IOException {
+        if (content.equals(FileUtil.loadFile(file, StandardCharsets.UTF_8))) return false;
+
+        try (Writer out = JsonOutput.newFileWriter(file)) {
+            out.write(content);
+        }
+        return true;
+    }
+
+    private class Listener extends PsiTreeChangeAdapter {
+
+        @Override
+        public void childAdded(@NotNull PsiTreeChangeEvent event) {
+            changed(event);
+        }
+
+        @Override
+        public void childRemoved(@NotNull PsiTreeChangeEvent event) {
+            changed(event);
+        }
+
+        @Override
+        public void childReplaced(@NotNull PsiTreeChangeEvent event) {
+            changed(event);
+        }
+
+        @Override
+        public void childrenChanged(@NotNull PsiTreeChangeEvent event) {
+            changed(event);
+        }
+
+        @Override
+        public void childMoved(@NotNull PsiTreeChangeEvent event) {
+            changed(event);
+        }
+
+        // 删除文件前记录其中的类
+        @Override
+        public void beforeChildRemoval(@NotNull PsiTreeChangeEvent event) {
+            if (event.getChild() instanceof PsiFile) changed((PsiFile) event.getChild());
+        }
+
+        private void changed(PsiTreeChangeEvent event) {
+            PsiFile file = event.getFile();
+            if (file == null && event.getChild() instanceof PsiFile) file = (PsiFile) event.getChild();
+            if (file != null) SchemaAutoUpdater.this.changed(file);
+        }
+    }
+}
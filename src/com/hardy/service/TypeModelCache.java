@@ -0,0 +1,214 @@
+package com.hardy.service;
+
+import com.hardy.metrics.GenerationMetrics;
+import com.hardy.metrics.GenerationMetrics.Phase;
+import com.hardy.model.ClassModel;
+import com.hardy.model.ClassModelResolver;
+import com.hardy.model.Generics;
+import com.hardy.model.ParallelResolver;
+import com.hardy.model.TypeRef;
+import com.hardy.parser.PsiModelBuilder;
+import com.hardy.setting.JsonToolSettings;
+import com.hardy.util.ReadActionUtil;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.PsiModificationTracker;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 项目级类结构缓存, 以类全名为key, 按所在文件的修改戳及 Java 结构修改计数失效, 超出容量时淘汰最久未使用的类
+ * 类结构还取决于其他文件: 字段类型的继承关系、注解属性引用的常量、组合注解的定义, 这些修改只体现在 Java 结构修改计数上
+ * 需在读操作中调用
+ **/
+public class TypeModelCache implements ClassModelResolver {
+
+    private static final int MAX_SIZE = 5000;
+
+    private final Project project;
+
+    // 访问顺序的 LinkedHashMap 即 LRU
+    private final Map<String, Entry> cache = new LinkedHashMap<String, Entry>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_SIZE;
+        }
+    };
+
+    // 带泛型参数的全名 -> 特化后的类, 原类结构未变化时复用
+    private final Map<String, Specialized> specialized = new LinkedHashMap<String, Specialized>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Specialized> eldest) {
+            return size() > MAX_SIZE;
+        }
+    };
+
+    public static TypeModelCache getInstance(Project project) {
+        return ServiceManager.getService(project, TypeModelCache.class);
+    }
+
+    public TypeModelCache(Project project) {
+        this.project = project;
+
+        // 加载配置, 注册自定义类型映射
+        JsonToolSettings.getInstance();
+    }
+
+    @Override
+    public ClassModel resolve(String qualifiedName) {
+        ProgressManager.checkCanceled();
+
+        // PSI 无任何变化时直接命中, 不再查找类
+        long count = modificationCount();
+        synchronized (cache) {
+            Entry entry = cache.get(qualifiedName);
+            if (entry != null && entry.checkedCount == count) {
+                GenerationMetrics.resolveCall(true);
+                return entry.model;
+            }
+        }
+
+        PsiClass clazz = JavaPsiFacade.getInstance(project).findClass(qualifiedName, GlobalSearchScope.allScope(project));
+        if (clazz == null) {
+            GenerationMetrics.resolveCall(false);
+            return null;
+        }
+        return get(clazz);
+    }
+
+    /**
+     * 获取类结构, 类所在文件及 Java 结构均未修改时复用缓存
+     */
+    public ClassModel get(PsiClass clazz) {
+        String qualifiedName = clazz.getQualifiedName();
+
+        // 局部类与匿名类不缓存
+        if (qualifiedName == null) return build(clazz);
+
+        long count = modificationCount();
+        long structureCount = structureModificationCount();
+        long stamp = stampOf(clazz);
+        synchronized (cache) {
+            Entry entry = cache.get(qualifiedName);
+            if (entry != null && entry.stamp == stamp && entry.structureCount == structureCount) {
+                entry.checkedCount = count;
+                GenerationMetrics.resolveCall(true);
+                return entry.model;
+            }
+        }
+
+        ClassModel model = build(clazz);
+        synchronized (cache) {
+            cache.put(qualifiedName, new Entry(model, stamp, structureCount, count));
+        }
+        return model;
+    }
+
+    /**
+     * 每个 (类, 泛型参数) 只特化一次, 原类重新构建后失效
+     */
+    @Override
+    public ClassModel specialize(ClassModel model, List<TypeRef> arguments) {
+        String key = TypeRef.clazz(model.getName(), model.getQualifiedName(), arguments).getKey();
+        synchronized (specialized) {
+            Specialized entry = specialized.get(key);
+            if (entry != null && entry.base == model) return entry.model;
+        }
+
+        ClassModel result = Generics.specialize(model, arguments);
+        synchronized (specialized) {
+            specialized.put(key, new Specialized(model, result));
+        }
+        return result;
+    }
+
+    /**
+     * 在 fork-join 线程池中并行解析类直接或间接引用的所有类并放入缓存, 返回解析的类数
+     * 每个类在各自的读操作中解析, 不能在读操作中调用, 否则有写操作等待时会与工作线程互相等待
+     * 之后的生成在读操作中顺序进行, 类结构均可命中缓存, 期间被修改的类按修改戳重新构建
+     */
+    public int prefetch(ClassModel root, ProgressIndicator indicator) {
+        ParallelResolver resolver = new ParallelResolver(new ClassModelResolver() {
+            @Override
+            public ClassModel resolve(String qualifiedName) {
+                return ReadActionUtil.compute(() -> TypeModelCache.this.resolve(qualifiedName), indicator);
+            }
+
+            @Override
+            public ClassModel specialize(ClassModel model, List<TypeRef> arguments) {
+                return TypeModelCache.this.specialize(model, arguments);
+            }
+        });
+        resolver.prefetch(root, ForkJoinPool.commonPool());
+        return resolver.size();
+    }
+
+    // 未命中缓存时由 PSI 构建, 计入解析耗时
+    private static ClassModel build(PsiClass clazz) {
+        GenerationMetrics.resolveCall(false);
+        long start = System.nanoTime();
+        try {
+            return PsiModelBuilder.build(clazz);
+        } finally {
+            GenerationMetrics.addTime(Phase.RESOLVE, start);
+        }
+    }
+
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+        synchronized (specialized) {
+            specialized.clear();
+        }
+    }
+
+    private long modificationCount() {
+        return PsiModificationTracker.SERVICE.getInstance(project).getModificationCount();
+    }
+
+    // 方法体外的修改(字段、继承关系、常量、注解等)计数, 方法体内的编辑不影响类结构
+    private long structureModificationCount() {
+        return PsiModificationTracker.SERVICE.getInstance(project).getJavaStructureModificationCount();
+    }
+
+    private static long stampOf(PsiClass clazz) {
+        PsiFile file = clazz.getContainingFile();
+        return file == null ? -1 : file.getModificationStamp();
+    }
+
+    private static class Entry {
+        private final ClassModel model;
+        private final long stamp;          // 构建时所在文件的修改戳, 本文件的注释修改不计入 Java 结构修改
+        private final long structureCount; // 构建时的 Java 结构修改计数
+        private long checkedCount;         // 最近一次校验时的全局PSI修改计数
+
+        private Entry(ClassModel model, long stamp, long structureCount, long checkedCount) {
+            this.model = model;
+            this.stamp = stamp;
+            this.structureCount = structureCount;
+            this.checkedCount = checkedCount;
+        }
+    }
+
+    private static class Specialized {
+        private final ClassModel base;  // 特化前的类
+        private final ClassModel model;
+
+        private Specialized(ClassModel base, ClassModel model) {
+            this.base = base;
+            this.model = model;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.hardy.setting;
+
+import com.hardy.service.TypeModelCache;
+import com.intellij.openapi.options.Configurable;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.project.ProjectManager;
+import org.jetbrains.annotations.Nls;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 配置页 Settings | Tools | Json Tool
+ **/
+public class JsonToolConfigurable implements Configurable {
+
+    private JPanel panel;
+
+    private JCheckBox prettyPrint;
+
+    private JCheckBox useDefinitions;
+
+    private JCheckBox autoRegenerate;
+
+    private JTextArea typeMappings;
+
+    @Nls
+    @Override
+    public String getDisplayName() {
+        return "Json Tool";
+    }
+
+    @Override
+    public JComponent createComponent() {
+        prettyPrint = new JCheckBox("Pretty print output");
+        useDefinitions = new JCheckBox("Schema: emit each class once under definitions and reference it with $ref");
+        autoRegenerate = new JCheckBox("Regenerate files in the bulk output directory when their classes change");
+
+        JPanel content = new JPanel();
+        content.setLayout(new BoxLayout(content, BoxLayout.Y_AXIS));
+        content.add(prettyPrint);
+        content.add(useDefinitions);
+        content.add(autoRegenerate);
+
+        // 自定义类型映射
+        typeMappings = new JTextArea(8, 60);
+        JPanel mappings = new JPanel(new BorderLayout());
+        mappings.setBorder(BorderFactory.createTitledBorder(
+                "Type mappings, one per line: fully.qualified.Name=String|Integer|Long|Double|Boolean|BigDecimal|Date|List|Map|Object|Optional"));
+        mappings.add(new JScrollPane(typeMappings), BorderLayout.CENTER);
+
+        panel = new JPanel(new BorderLayout());
+        panel.add(content, BorderLayout.NORTH);
+        panel.add(mappings, BorderLayout.CENTER);
+        return panel;
+    }
+
+    @Override
+    public boolean isModified() {
+        JsonToolSettings settings = JsonToolSettings.getInstance();
+        return prettyPrint.isSelected() != settings.prettyPrint
+                || useDefinitions.isSelected() != settings.useDefinitions
+                || autoRegenerate.isSelected() != settings.autoRegenerate
+                || !typeMappings.getText().equals(settings.typeMappings);
+    }
+
+    @Override
+    public void apply() {
+        JsonToolSettings settings = JsonToolSettings.getInstance();
+        settings.prettyPrint = prettyPrint.isSelected();
+        settings.useDefinitions = useDefinitions.isSelected();
+        settings.autoRegenerate = autoRegenerate.isSelected();
+
+        if (!typeMappings.getText().equals(settings.typeMappings)) {
+            settings.typeMappings = typeMappings.getText();
+            settings.applyTypeMappings();
+
+            // 已缓存的类结构中包含旧的分类
+            for (Project project : ProjectManager.getInstance().getOpenProjects()) {
+                TypeModelCache.getInstance(project).clear();
+            }
+        }
+    }
+
+    @Override
+    public void reset() {
+        JsonToolSettings settings = JsonToolSettings.getInstance();
+        prettyPrint.setSelected(settings.prettyPrint);
+        useDefinitions.setSelected(settings.useDefinitions);
+        autoRegenerate.setSelected(settings.autoRegenerate);
+        typeMappings.setText(settings.typeMappings);
+    }
+
+    @Override
+    public void disposeUIResources() {
+        panel = null;
+        prettyPrint = null;
+        useDefinitions = null;
+        autoRegenerate = null;
+        typeMappings = null;
+    }
+}
@@ -0,0 +1,66 @@
+package com.hardy.setting;
+
+import com.hardy.generator.PreviewTree;
+import com.hardy.parser.TypeClassifier;
+import com.intellij.openapi.components.PersistentStateComponent;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.components.State;
+import com.intellij.openapi.components.Storage;
+import com.intellij.util.xmlb.XmlSerializerUtil;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 插件配置
+ **/
+@State(name = "JsonToolSettings", storages = @Storage("jsonTool.xml"))
+public class JsonToolSettings implements PersistentStateComponent<JsonToolSettings> {
+
+    // 格式化输出, 否则输出压缩的json
+    public boolean prettyPrint = true;
+
+    // schema 中每个类只生成一次, 放在 definitions 中并通过 $ref 引用
+    public boolean useDefinitions = false;
+
+    // 批量生成
+    public String bulkOutputDir = "";
+    public boolean bulkSchema = true;   // 生成 schema, 否则生成 json
+    public boolean bulkBundle = false;  // 合并为一个文件
+    public String bulkAnnotation = "";  // 仅生成带有该注解的类
+
+    // 随机示例(NDJSON)
+    public long sampleCount = 10000;
+    public long sampleSeed = 0;
+    public String sampleOutputDir = "";
+
+    // 预览窗口
+    public boolean previewSchema = false;
+    public int previewMaxDepth = PreviewTree.DEFAULT_MAX_DEPTH;
+    public int previewMaxNodes = PreviewTree.DEFAULT_MAX_NODES;
+
+    // 类修改后自动重新生成批量生成目录中已有的文件
+    public boolean autoRegenerate = false;
+
+    // 自定义类型映射, 每行一条 "类全名=分类", 见 TypeClassifier
+    public String typeMappings = "";
+
+    public static JsonToolSettings getInstance() {
+        return ServiceManager.getService(JsonToolSettings.class);
+    }
+
+    @Override
+    public JsonToolSettings getState() {
+        return this;
+    }
+
+    @Override
+    public void loadState(JsonToolSettings state) {
+        XmlSerializerUtil.copyBean(state, this);
+        applyTypeMappings();
+    }
+
+    // 将自定义类型映射注册到 TypeClassifier
+    public void applyTypeMappings() {
+        TypeClassifier.getInstance().setUserMappings(TypeClassifier.parseMappings(typeMappings));
+    }
+}
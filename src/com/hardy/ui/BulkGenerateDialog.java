@@ -0,0 +1,109 @@
+package com.hardy.ui;
+
+import com.hardy.setting.JsonToolSettings;
+import com.intellij.openapi.fileChooser.FileChooserDescriptorFactory;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.openapi.ui.TextFieldWithBrowseButton;
+import com.intellij.openapi.ui.ValidationInfo;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.awt.*;
+import java.io.File;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 批量生成选项
+ **/
+public class BulkGenerateDialog extends DialogWrapper {
+
+    private final JComboBox<String> format = new JComboBox<>(new String[]{"JSON Schema", "JSON"});
+
+    private final JCheckBox bundle = new JCheckBox("Write all classes into one bundle file");
+
+    private final JTextField annotation = new JTextField();
+
+    private final TextFieldWithBrowseButton outputDir = new TextFieldWithBrowseButton();
+
+    public BulkGenerateDialog(Project project) {
+        super(project);
+        setTitle("Bulk Generate JSON");
+
+        JsonToolSettings settings = JsonToolSettings.getInstance();
+        format.setSelectedIndex(settings.bulkSchema ? 0 : 1);
+        bundle.setSelected(settings.bulkBundle);
+        annotation.setText(settings.bulkAnnotation);
+        outputDir.setText(settings.bulkOutputDir);
+        outputDir.addBrowseFolderListener("Output Directory", null, project,
+                FileChooserDescriptorFactory.createSingleFolderDescriptor());
+
+        init();
+    }
+
+    @Nullable
+    @Override
+    protected JComponent createCenterPanel() {
+        JPanel panel = new JPanel(new GridBagLayout());
+        GridBagConstraints c = new GridBagConstraints();
+        c.anchor = GridBagConstraints.WEST;
+        c.insets = new Insets(2, 2, 2, 2);
+
+        addRow(panel, c, 0, "Format:", format);
+        addRow(panel, c, 1, "Only annotated with:", annotation);
+        addRow(panel, c, 2, "Output directory:", outputDir);
+
+        c.gridx = 1;
+        c.gridy = 3;
+        panel.add(bundle, c);
+        return panel;
+    }
+
+    private static void addRow(JPanel panel, GridBagConstraints c, int row, String label, JComponent component) {
+        c.gridx = 0;
+        c.gridy = row;
+        c.weightx = 0;
+        c.fill = GridBagConstraints.NONE;
+        panel.add(new JLabel(label), c);
+
+        c.gridx = 1;
+        c.weightx = 1;
+        c.fill = GridBagConstraints.HORIZONTAL;
+        panel.add(component, c);
+    }
+
+    @Nullable
+    @Override
+    protected ValidationInfo doValidate() {
+        if (outputDir.getText().trim().isEmpty()) return new ValidationInfo("Choose an output directory", outputDir);
+        return null;
+    }
+
+    @Override
+    protected void doOKAction() {
+        // 记住本次选项
+        JsonToolSettings settings = JsonToolSettings.getInstance();
+        settings.bulkSchema = isSchema();
+        settings.bulkBundle = isBundle();
+        settings.bulkAnnotation = getAnnotation();
+        settings.bulkOutputDir = getOutputDir().getPath();
+        super.doOKAction();
+    }
+
+    public boolean isSchema() {
+        return format.getSelectedIndex() == 0;
+    }
+
+    public boolean isBundle() {
+        return bundle.isSelected();
+    }
+
+    public String getAnnotation() {
+        return annotation.getText().trim();
+    }
+
+    public File getOutputDir() {
+        return new File(outputDir.getText().trim());
+    }
+}
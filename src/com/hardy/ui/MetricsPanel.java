@@ -0,0 +1,122 @@
+package com.hardy.ui;
+
+import com.hardy.metrics.GenerationMetrics;
+import com.hardy.metrics.GenerationMetrics.Phase;
+import com.hardy.metrics.RunMetrics;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.table.JBTable;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.awt.*;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 最近的生成记录, 每次生成结束时自动刷新
+ **/
+public class MetricsPanel extends JPanel implements Disposable {
+
+    private static final String[] COLUMNS = {
+            "Run", "Wall ms", "Classes", "Fields", "Resolve calls", "Cache hits", "Cache misses",
+            "Resolve ms", "Comment ms", "Annotation ms", "Generate ms", "Serialize ms", "Bytes"};
+
+    private final MetricsTableModel model = new MetricsTableModel();
+
+    private final Consumer<RunMetrics> listener = metrics -> ApplicationManager.getApplication().invokeLater(this::refresh);
+
+    public MetricsPanel() {
+        super(new BorderLayout());
+
+        JButton refresh = new JButton("Refresh");
+        refresh.addActionListener(e -> refresh());
+        JButton clear = new JButton("Clear");
+        clear.addActionListener(e -> {
+            GenerationMetrics.clearHistory();
+            refresh();
+        });
+
+        JPanel toolbar = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        toolbar.add(refresh);
+        toolbar.add(clear);
+
+        add(toolbar, BorderLayout.NORTH);
+        add(new JBScrollPane(new JBTable(model)), BorderLayout.CENTER);
+
+        GenerationMetrics.addListener(listener);
+        refresh();
+    }
+
+    private void refresh() {
+        model.runs = GenerationMetrics.history();
+        model.fireTableDataChanged();
+    }
+
+    @Override
+    public void dispose() {
+        GenerationMetrics.removeListener(listener);
+    }
+
+    private static class MetricsTableModel extends AbstractTableModel {
+
+        private List<RunMetrics> runs = Collections.emptyList();
+
+        @Override
+        public int getRowCount() {
+            return runs.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMNS.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMNS[column];
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            RunMetrics run = runs.get(row);
+            switch (column) {
+                case 0:
+                    return run.getName();
+                case 1:
+                    return millis(run.getWallNanos());
+                case 2:
+                    return run.getClassesVisited();
+                case 3:
+                    return run.getFieldsProcessed();
+                case 4:
+                    return run.getResolveCalls();
+                case 5:
+                    return run.getCacheHits();
+                case 6:
+                    return run.getCacheMisses();
+                case 7:
+                    return millis(run.getPhaseNanos(Phase.RESOLVE));
+                case 8:
+                    return millis(run.getPhaseNanos(Phase.COMMENT));
+                case 9:
+                    return millis(run.getPhaseNanos(Phase.ANNOTATION));
+                case 10:
+                    return millis(run.getPhaseNanos(Phase.GENERATE));
+                case 11:
+                    return millis(run.getSerializeNanos());
+                default:
+                    return run.getOutputBytes();
+            }
+        }
+
+        private static String millis(long nanos) {
+            return String.format(Locale.ROOT, "%.1f", RunMetrics.millis(nanos));
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.hardy.ui;
+
+import com.hardy.generator.JsonOutput;
+import com.hardy.generator.PreviewTree;
+import com.hardy.model.ClassModel;
+import com.hardy.service.TypeModelCache;
+import com.hardy.setting.JsonToolSettings;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.wm.ToolWindow;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.content.Content;
+import com.intellij.ui.treeStructure.Tree;
+
+import javax.swing.*;
+import javax.swing.event.TreeExpansionEvent;
+import javax.swing.event.TreeExpansionListener;
+import javax.swing.event.TreeModelListener;
+import javax.swing.tree.TreeModel;
+import javax.swing.tree.TreePath;
+import java.awt.*;
+import java.awt.datatransfer.StringSelection;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 预览窗口, 以树展示类的 json / schema, 嵌套的类在展开节点时才解析
+ * 树模型直接在UI线程读取类结构, 每次展开只解析一层
+ **/
+public class PreviewPanel extends JPanel {
+
+    public static final String TOOL_WINDOW_ID = "JsonTool Preview";
+
+    private final Project project;
+
+    private final JComboBox<String> mode = new JComboBox<>(new String[]{"JSON", "Schema"});
+
+    private final JSpinner maxDepth = new JSpinner(new SpinnerNumberModel(1, 1, 64, 1));
+
+    private final JSpinner maxNodes = new JSpinner(new SpinnerNumberModel(100, 10, 1000000, 100));
+
+    private final Tree tree = new Tree(new LazyTreeModel(null));
+
+    private final JLabel status = new JLabel(" ");
+
+    private String qualifiedName; // 当前预览的类
+
+    private PreviewTree preview;
+
+    public PreviewPanel(Project project) {
+        super(new BorderLayout());
+        this.project = project;
+
+        JsonToolSettings settings = JsonToolSettings.getInstance();
+        mode.setSelectedIndex(settings.previewSchema ? 1 : 0);
+        maxDepth.setValue(settings.previewMaxDepth);
+        maxNodes.setValue(settings.previewMaxNodes);
+
+        JButton refresh = new JButton("Refresh");
+        refresh.addActionListener(e -> rebuild());
+        mode.addActionListener(e -> rebuild());
+        JButton copy = new JButton("Copy Expanded");
+        copy.addActionListener(e -> copyExpanded());
+
+        JPanel toolbar = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        toolbar.add(mode);
+        toolbar.add(new JLabel("Max depth:"));
+        toolbar.add(maxDepth);
+        toolbar.add(new JLabel("Max nodes:"));
+        toolbar.add(maxNodes);
+        toolbar.add(refresh);
+        toolbar.add(copy);
+
+        // 记录展开状态, 导出时只包含展开的节点
+        tree.addTreeExpansionListener(new TreeExpansionListener() {
+            @Override
+            public void treeExpanded(TreeExpansionEvent event) {
+                ((PreviewTree.Node) event.getPath().getLastPathComponent()).setExpanded(true);
+                updateStatus();
+            }
+
+            @Override
+            public void treeCollapsed(TreeExpansionEvent event) {
+                ((PreviewTree.Node) event.getPath().getLastPathComponent()).setExpanded(false);
+            }
+        });
+        tree.setRootVisible(true);
+
+        add(toolbar, BorderLayout.NORTH);
+        add(new JBScrollPane(tree), BorderLayout.CENTER);
+        add(status, BorderLayout.SOUTH);
+    }
+
+    /**
+     * 窗口中的预览面板, 窗口内容尚未创建时返回 null
+     */
+    public static PreviewPanel of(ToolWindow toolWindow) {
+        Content content = toolWindow.getContentManager().getContent(0);
+        return content != null && content.getComponent() instanceof PreviewPanel ? (PreviewPanel) content.getComponent() : null;
+    }
+
+    /**
+     * 预览类, 需在UI线程调用
+     */
+    public void show(String qualifiedName) {
+        this.qualifiedName = qualifiedName;
+        rebuild();
+    }
+
+    // 按当前选项重新生成, 只解析根节点
+    private void rebuild() {
+        if (qualifiedName == null) return;
+
+        boolean schema = mode.getSelectedIndex() == 1;
+        int depth = (Integer) maxDepth.getValue();
+        int nodes = (Integer) maxNodes.getValue();
+        JsonToolSettings settings = JsonToolSettings.getInstance();
+        settings.previewSchema = schema;
+        settings.previewMaxDepth = depth;
+        settings.previewMaxNodes = nodes;
+
+        // 索引未完成时无法解析, 完成后自动刷新
+        if (DumbService.isDumb(project)) {
+            status.setText("Waiting for indexing...");
+            DumbService.getInstance(project).runWhenSmart(this::rebuild);
+            return;
+        }
+
+        ClassModel model = TypeModelCache.getInstance(project).resolve(qualifiedName);
+        if (model == null) {
+            preview = null;
+            tree.setModel(new LazyTreeModel(null));
+            status.setText("Class not found: " + qualifiedName);
+            return;
+        }
+
+        preview = new PreviewTree(TypeModelCache.getInstance(project), model, schema, depth, nodes);
+        tree.setModel(new LazyTreeModel(preview));
+        tree.expandPath(new TreePath(preview.getRoot()));
+        updateStatus();
+    }
+
+    private void updateStatus() {
+        if (preview != null) status.setText(qualifiedName + ": " + preview.getNodeCount() + " nodes resolved");
+    }
+
+    // 复制已展开的部分
+    private void copyExpanded() {
+        if (preview == null) return;
+
+        StringWriter out = new StringWriter();
+        try {
+            preview.export(JsonOutput.newWriter(out, JsonToolSettings.getInstance().prettyPrint));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        StringSelection selection = new StringSelection(out.toString());
+        Toolkit.getDefaultToolkit().getSystemClipboard().setContents(selection, selection);
+        status.setText("Copied " + out.getBuffer().length() + " chars of the expanded region to clipboard");
+    }
+
+    /**
+     * 直接以 PreviewTree 的节点作为树节点, 子节点在 JTree 展开时才加载
+     */
+    private class LazyTreeModel implements TreeModel {
+
+        private final PreviewTree preview;
+
+        LazyTreeModel(PreviewTree preview) {
+            this.preview = preview;
+        }
+
+        @Override
+        public Object getRoot() {
+            return preview == null ? null : preview.getRoot();
+        }
+
+        @Override
+        public Object getChild(Object parent, int index) {
+            return children(parent).get(index);
+        }
+
+        @Override
+        public int getChildCount(Object parent) {
+            return children(parent).size();
+        }
+
+        @Override
+        public boolean isLeaf(Object node) {
+            return ((PreviewTree.Node) node).isLeaf();
+        }
+
+        @Override
+        public int getIndexOfChild(Object parent, Object child) {
+            return children(parent).indexOf(child);
+        }
+
+        // 索引中时暂不加载, 节点保持未加载状态, 重新展开时再解析
+        private List<PreviewTree.Node> children(Object parent) {
+            PreviewTree.Node node = (PreviewTree.Node) parent;
+            if (!node.isLoaded() && DumbService.isDumb(project)) return Collections.emptyList();
+            return node.getChildren();
+        }
+
+        @Override
+        public void valueForPathChanged(TreePath path, Object newValue) {
+        }
+
+        // 节点不会变化, 刷新时整体替换模型
+        @Override
+        public void addTreeModelListener(TreeModelListener l) {
+        }
+
+        @Override
+        public void removeTreeModelListener(TreeModelListener l) {
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.hardy.ui;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.wm.ToolWindow;
+import com.intellij.openapi.wm.ToolWindowFactory;
+import com.intellij.ui.content.Content;
+import com.intellij.ui.content.ContentFactory;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 预览窗口, 内容在首次打开时创建; 第一页为预览, 第二页为最近的生成记录
+ **/
+public class PreviewToolWindowFactory implements ToolWindowFactory {
+
+    @Override
+    public void createToolWindowContent(@NotNull Project project, @NotNull ToolWindow toolWindow) {
+        ContentFactory factory = ContentFactory.SERVICE.getInstance();
+        toolWindow.getContentManager().addContent(factory.createContent(new PreviewPanel(project), "Preview", false));
+
+        MetricsPanel metricsPanel = new MetricsPanel();
+        Content metrics = factory.createContent(metricsPanel, "Metrics", false);
+        metrics.setDisposer(metricsPanel);
+        toolWindow.getContentManager().addContent(metrics);
+    }
+}
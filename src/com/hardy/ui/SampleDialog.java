@@ -0,0 +1,107 @@
+package com.hardy.ui;
+
+import com.hardy.setting.JsonToolSettings;
+import com.intellij.openapi.fileChooser.FileChooserDescriptorFactory;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.openapi.ui.TextFieldWithBrowseButton;
+import com.intellij.openapi.ui.ValidationInfo;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.awt.*;
+import java.io.File;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 随机示例(NDJSON)选项
+ **/
+public class SampleDialog extends DialogWrapper {
+
+    private final JTextField count = new JTextField();
+
+    private final JTextField seed = new JTextField();
+
+    private final TextFieldWithBrowseButton outputDir = new TextFieldWithBrowseButton();
+
+    public SampleDialog(Project project, String className) {
+        super(project);
+        setTitle("Generate Samples of " + className);
+
+        JsonToolSettings settings = JsonToolSettings.getInstance();
+        count.setText(String.valueOf(settings.sampleCount));
+        seed.setText(String.valueOf(settings.sampleSeed));
+        outputDir.setText(settings.sampleOutputDir);
+        outputDir.addBrowseFolderListener("Output Directory", null, project,
+                FileChooserDescriptorFactory.createSingleFolderDescriptor());
+
+        init();
+    }
+
+    @Nullable
+    @Override
+    protected JComponent createCenterPanel() {
+        JPanel panel = new JPanel(new GridBagLayout());
+        GridBagConstraints c = new GridBagConstraints();
+        c.anchor = GridBagConstraints.WEST;
+        c.insets = new Insets(2, 2, 2, 2);
+
+        addRow(panel, c, 0, "Count:", count);
+        addRow(panel, c, 1, "Random seed:", seed);
+        addRow(panel, c, 2, "Output directory:", outputDir);
+        return panel;
+    }
+
+    private static void addRow(JPanel panel, GridBagConstraints c, int row, String label, JComponent component) {
+        c.gridx = 0;
+        c.gridy = row;
+        c.weightx = 0;
+        c.fill = GridBagConstraints.NONE;
+        panel.add(new JLabel(label), c);
+
+        c.gridx = 1;
+        c.weightx = 1;
+        c.fill = GridBagConstraints.HORIZONTAL;
+        panel.add(component, c);
+    }
+
+    @Nullable
+    @Override
+    protected ValidationInfo doValidate() {
+        if (parse(count) == null || parse(count) <= 0) return new ValidationInfo("Enter a positive count", count);
+        if (parse(seed) == null) return new ValidationInfo("Enter an integer seed", seed);
+        if (outputDir.getText().trim().isEmpty()) return new ValidationInfo("Choose an output directory", outputDir);
+        return null;
+    }
+
+    private static Long parse(JTextField field) {
+        try {
+            return Long.parseLong(field.getText().trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @Override
+    protected void doOKAction() {
+        // 记住本次选项
+        JsonToolSettings settings = JsonToolSettings.getInstance();
+        settings.sampleCount = getCount();
+        settings.sampleSeed = getSeed();
+        settings.sampleOutputDir = getOutputDir().getPath();
+        super.doOKAction();
+    }
+
+    public long getCount() {
+        return parse(count);
+    }
+
+    public long getSeed() {
+        return parse(seed);
+    }
+
+    public File getOutputDir() {
+        return new File(outputDir.getText().trim());
+    }
+}
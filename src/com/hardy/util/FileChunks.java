@@ -0,0 +1,72 @@
+package com.hardy.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 大文件分块读取, 供多线程分别处理 NDJSON 等按行分隔的文件
+ **/
+public class FileChunks {
+
+    public static final int CHUNK_SIZE = 4 * 1024 * 1024; // 分块大小, 按行对齐
+
+    /**
+     * 按约 CHUNK_SIZE 切分文件, 边界在换行之后; 返回的数组依次为各块的起点, 最后一个为文件大小
+     */
+    public static long[] lineBounds(FileChannel channel) throws IOException {
+        long size = channel.size();
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long position = CHUNK_SIZE;
+        while (position < size) {
+            // 找到 position 之后的第一个换行
+            long newline = -1;
+            long scan = position;
+            while (newline < 0 && scan < size) {
+                buffer.clear();
+                int n = channel.read(buffer, scan);
+                if (n <= 0) break;
+                for (int i = 0; i < n; i++) {
+                    if (buffer.get(i) == '\n') {
+                        newline = scan + i;
+                        break;
+                    }
+                }
+                scan += n;
+            }
+            if (newline < 0 || newline + 1 >= size) break;
+
+            bounds.add(newline + 1);
+            position = newline + 1 + CHUNK_SIZE;
+        }
+        bounds.add(size);
+        return toArray(bounds);
+    }
+
+    /**
+     * 读取 [start, end) 并按 UTF-8 解码, 内容在返回值的 array() 中, 长度为 limit()
+     */
+    public static CharBuffer read(FileChannel channel, long start, long end) throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate((int) (end - start));
+        while (bytes.hasRemaining()) {
+            if (channel.read(bytes, start + bytes.position()) < 0) break;
+        }
+        bytes.flip();
+        return StandardCharsets.UTF_8.decode(bytes);
+    }
+
+    public static long[] toArray(List<Long> bounds) {
+        long[] result = new long[bounds.size()];
+        for (int i = 0; i < result.length; i++) result[i] = bounds.get(i);
+        return result;
+    }
+}
@@ -0,0 +1,32 @@
+package com.hardy.util;
+
+import com.intellij.concurrency.SensitiveProgressWrapper;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.util.ProgressIndicatorUtils;
+import com.intellij.openapi.util.Computable;
+import com.intellij.openapi.util.Ref;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 后台读操作
+ **/
+public class ReadActionUtil {
+
+    /**
+     * 在读操作中计算, 期间若有写操作(PSI变更)则中断并重新开始, 避免返回过期结果
+     * 用户取消时抛出 ProcessCanceledException
+     */
+    public static <T> T compute(Computable<T> computable, ProgressIndicator indicator) {
+        Ref<T> result = Ref.create();
+        Runnable action = () -> result.set(computable.compute());
+
+        // 写操作只取消子进度, 不影响整个任务
+        while (!ProgressIndicatorUtils.runInReadActionWithWriteActionPriority(action, new SensitiveProgressWrapper(indicator))) {
+            // 用户取消时直接结束, 否则等待写操作完成后重试
+            indicator.checkCanceled();
+            ProgressIndicatorUtils.yieldToPendingWriteActions();
+        }
+        return result.get();
+    }
+}
@@ -0,0 +1,540 @@
+package com.hardy.validator;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.hardy.generator.SchemaGenerator;
+import com.hardy.model.*;
+import com.hardy.util.FileChunks;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 将 schema 编译为校验器, 从 JsonReader 边读边校验, 不构建文档对象
+ * 支持 type/properties/required/items/$ref 及 minLength/maxLength/pattern/enum/minimum/maximum/exclusive*
+ * 与 JSON Schema 一致: pattern 为查找(不要求整体匹配), 长度按码点计算, 未声明的字段不校验, format 只作说明不校验
+ * 编译后线程安全
+ **/
+public class SchemaValidator {
+
+    public static final int MAX_VIOLATIONS = 16; // 每个文档最多记录的违规数
+
+    private static final Pattern LOCATION = Pattern.compile(" at line (\\d+) column (\\d+)");
+
+    private final Node root;
+
+    private SchemaValidator(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * 由类结构编译, 在IDE中需在读操作中调用
+     */
+    public static SchemaValidator compile(ClassModelResolver resolver, ClassModel model) {
+        return compile(new SchemaGenerator(resolver, true).generate(model));
+    }
+
+    /**
+     * 由 schema 编译, 引用只支持 # 与 #/definitions/
+     */
+    public static SchemaValidator compile(SchemaNode schema) {
+        return new SchemaValidator(new Compiler(schema).object("#"));
+    }
+
+    /**
+     * 校验单个文档
+     */
+    public List<Violation> validate(Reader in) {
+        Context context = new Context(MAX_VIOLATIONS);
+        validate(new JsonReader(in), context);
+        return context.violations;
+    }
+
+    // 校验一个文档, 语法错误也记为违规
+    private void validate(JsonReader reader, Context context) {
+        context.document = 0;
+        try {
+            root.validate(reader, context);
+            if (reader.peek() != JsonToken.END_DOCUMENT) context.report(reader.getPath(), "unexpected content after the document");
+        } catch (IOException | IllegalStateException | NumberFormatException e) {
+            context.report(reader.getPath(), malformed(e.getMessage(), context.line > 0));
+        }
+    }
+
+    /**
+     * 由 Gson 的异常信息提取位置与原因, 如 "malformed JSON at column 9: Expected name"
+     * 不带 Gson 的设置提示(setLenient / setStrictness)与排查链接; NDJSON 每个文档占一行, 只报告列号
+     */
+    private static String malformed(String message, boolean singleLine) {
+        if (message == null) return "malformed JSON";
+        int newline = message.indexOf('\n');
+        if (newline >= 0) message = message.substring(0, newline);
+
+        Matcher matcher = LOCATION.matcher(message);
+        if (!matcher.find()) return "malformed JSON: " + message;
+
+        String reason = message.substring(0, matcher.start());
+        // 通用的语法错误只有设置提示, 没有具体原因
+        if (reason.startsWith("Use JsonReader.")) reason = "unexpected character";
+        String location = singleLine ? "column " + matcher.group(2) : "line " + matcher.group(1) + " column " + matcher.group(2);
+        return "malformed JSON at " + location + ": " + reason;
+    }
+
+    /**
+     * 多线程分块校验 NDJSON 文件, 空行忽略
+     *
+     * @param limit 报告中最多保留的违规数
+     */
+    public ValidationReport validateNdjson(File file, int threads, int limit) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long[] bounds = FileChunks.lineBounds(channel);
+            int chunks = bounds.length - 1;
+
+            List<Chunk> results = new ArrayList<>(chunks);
+            if (threads <= 1 || chunks == 1) {
+                for (int i = 0; i < chunks; i++) results.add(validateChunk(channel, bounds[i], bounds[i + 1], limit));
+            } else {
+                ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, chunks), runnable -> {
+                    Thread thread = new Thread(runnable, "JsonTool schema validator");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                try {
+                    List<Future<Chunk>> futures = new ArrayList<>(chunks);
+                    for (int i = 0; i < chunks; i++) {
+                        long start = bounds[i];
+                        long end = bounds[i + 1];
+                        futures.add(executor.submit(() -> validateChunk(channel, start, end, limit)));
+                    }
+                    for (Future<Chunk> future : futures) results.add(await(future));
+                } finally {
+                    executor.shutdownNow();
+                }
+            }
+            return merge(results, limit);
+        }
+    }
+
+    // 各块的行号从 1 开始, 合并时加上之前各块的行数
+    private static ValidationReport merge(List<Chunk> chunks, int limit) {
+        long lines = 0;
+        long documents = 0;
+        long invalid = 0;
+        long count = 0;
+        List<Violation> violations = new ArrayList<>();
+        for (Chunk chunk : chunks) {
+            for (Violation violation : chunk.violations) {
+                if (violations.size() >= limit) break;
+                violations.add(violation.atLine(lines + violation.getLine()));
+            }
+            lines += chunk.lines;
+            documents += chunk.documents;
+            invalid += chunk.invalid;
+            count += chunk.count;
+        }
+        return new ValidationReport(documents, invalid, count, violations);
+    }
+
+    private Chunk validateChunk(FileChannel channel, long start, long end, int limit) throws IOException {
+        CharBuffer decoded = FileChunks.read(channel, start, end);
+        char[] chars = decoded.array();
+        int length = decoded.limit();
+
+        Chunk chunk = new Chunk();
+        Context context = new Context(limit);
+        int lineStart = 0;
+        while (lineStart < length) {
+            int lineEnd = lineStart;
+            while (lineEnd < length && chars[lineEnd] != '\n') lineEnd++;
+            chunk.lines++;
+
+            if (!isBlank(chars, lineStart, lineEnd)) {
+                chunk.documents++;
+                context.line = chunk.lines;
+                validate(new JsonReader(new CharArrayReader(chars, lineStart, lineEnd - lineStart)), context);
+                if (context.document > 0) chunk.invalid++;
+            }
+            lineStart = lineEnd + 1;
+        }
+        chunk.count = context.count;
+        chunk.violations = context.violations;
+        return chunk;
+    }
+
+    private static boolean isBlank(char[] chars, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!Character.isWhitespace(chars[i])) return false;
+        }
+        return true;
+    }
+
+    private static Chunk await(Future<Chunk> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("validation interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IOException(cause);
+        }
+    }
+
+    // 一块的校验结果, 行号相对于块
+    private static class Chunk {
+        private long lines;
+        private long documents;
+        private long invalid;
+        private long count;
+        private List<Violation> violations;
+    }
+
+    // 校验过程中收集违规
+    private static class Context {
+        private final int limit;
+        private final List<Violation> violations = new ArrayList<>();
+        private long count;    // 全部违规数
+        private int document;  // 当前文档的违规数
+        private long line;
+
+        private Context(int limit) {
+            this.limit = limit;
+        }
+
+        private void report(String path, String message) {
+            if (++document > MAX_VIOLATIONS) return;
+
+            count++;
+            if (violations.size() < limit) violations.add(new Violation(line, path, message));
+        }
+    }
+
+    // 校验并消费一个值
+    private interface Node {
+        void validate(JsonReader reader, Context context) throws IOException;
+    }
+
+    // 类型不符时记录并跳过该值
+    private static boolean expect(JsonReader reader, Context context, JsonToken expected, String type) throws IOException {
+        JsonToken token = reader.peek();
+        if (token == expected) return true;
+
+        context.report(reader.getPath(), "expected " + type + " but was " + token.name().toLowerCase());
+        reader.skipValue();
+        return false;
+    }
+
+    private static class ObjectNode implements Node {
+        private Map<String, Property> properties = Collections.emptyMap();
+        private String[] required = new String[0];
+
+        @Override
+        public void validate(JsonReader reader, Context context) throws IOException {
+            if (!expect(reader, context, JsonToken.BEGIN_OBJECT, "object")) return;
+
+            // 没有声明字段的对象(Map/Object)不校验内容
+            if (properties.isEmpty() && required.length == 0) {
+                reader.skipValue();
+                return;
+            }
+
+            long[] seen = required.length == 0 ? null : new long[(required.length + 63) >>> 6];
+            reader.beginObject();
+            while (reader.hasNext()) {
+                Property property = properties.get(reader.nextName());
+                if (property == null) {
+                    reader.skipValue();
+                    continue;
+                }
+                if (property.required >= 0) seen[property.required >>> 6] |= 1L << property.required;
+                property.node.validate(reader, context);
+            }
+
+            if (seen != null) {
+                for (int i = 0; i < required.length; i++) {
+                    if ((seen[i >>> 6] & 1L << i) == 0) {
+                        context.report(objectPath(reader.getPath()), "required property '" + required[i] + "' is missing");
+                    }
+                }
+            }
+            reader.endObject();
+        }
+
+        // 对象内部的路径去掉最后一个字段名
+        private static String objectPath(String path) {
+            int dot = path.lastIndexOf('.');
+            return dot > 0 ? path.substring(0, dot) : "$";
+        }
+    }
+
+    private static class Property {
+        private final Node node;
+        private final int required; // 在必需字段中的序号, 非必需为 -1
+
+        private Property(Node node, int required) {
+            this.node = node;
+            this.required = required;
+        }
+    }
+
+    private static class ArrayNode implements Node {
+        private final Node items;
+
+        private ArrayNode(Node items) {
+            this.items = items;
+        }
+
+        @Override
+        public void validate(JsonReader reader, Context context) throws IOException {
+            if (!expect(reader, context, JsonToken.BEGIN_ARRAY, "array")) return;
+
+            reader.beginArray();
+            while (reader.hasNext()) {
+                if (items == null) reader.skipValue();
+                else items.validate(reader, context);
+            }
+            reader.endArray();
+        }
+    }
+
+    private static class BooleanNode implements Node {
+        @Override
+        public void validate(JsonReader reader, Context context) throws IOException {
+            if (expect(reader, context, JsonToken.BOOLEAN, "boolean")) reader.nextBoolean();
+        }
+    }
+
+    private static class StringNode implements Node {
+        private final Integer minLength;
+        private final Integer maxLength;
+        private final Pattern pattern;
+        private final ThreadLocal<Matcher> matchers; // 每个线程复用 Matcher
+        private final Set<String> values; // enum
+
+        private StringNode(SchemaNode schema) {
+            this.minLength = schema.getMinLength();
+            this.maxLength = schema.getMaxLength();
+            this.pattern = compilePattern(schema.getPattern());
+            this.matchers = pattern == null ? null : ThreadLocal.withInitial(() -> pattern.matcher(""));
+            this.values = schema.getEnumValues() == null || schema.getEnumValues().isEmpty()
+                    ? null : new HashSet<>(schema.getEnumValues());
+        }
+
+        private static Pattern compilePattern(String regex) {
+            if (regex == null) return null;
+            try {
+                return Pattern.compile(regex);
+            } catch (PatternSyntaxException e) {
+                // 无效的正则忽略
+                return null;
+            }
+        }
+
+        @Override
+        public void validate(JsonReader reader, Context context) throws IOException {
+            if (!expect(reader, context, JsonToken.STRING, "string")) return;
+
+            String path = null;
+            String value = reader.nextString();
+            if (values != null && !values.contains(value)) {
+                context.report(path = reader.getPath(), "'" + value + "' is not one of " + values);
+            }
+            if (minLength != null || maxLength != null) {
+                int length = value.codePointCount(0, value.length());
+                if (minLength != null && length < minLength) {
+                    context.report(path = path(reader, path), "length " + length + " is less than minLength " + minLength);
+                }
+                if (maxLength != null && length > maxLength) {
+                    context.report(path = path(reader, path), "length " + length + " is greater than maxLength " + maxLength);
+                }
+            }
+            if (pattern != null && !matchers.get().reset(value).find()) {
+                context.report(path(reader, path), "'" + value + "' does not match pattern " + pattern.pattern());
+            }
+        }
+
+        private static String path(JsonReader reader, String path) {
+            return path != null ? path : reader.getPath();
+        }
+    }
+
+    private static class IntegerNode implements Node {
+        private final Bounds bounds;
+
+        private IntegerNode(Bounds bounds) {
+            this.bounds = bounds;
+        }
+
+        @Override
+        public void validate(JsonReader reader, Context context) throws IOException {
+            if (!expect(reader, context, JsonToken.NUMBER, "integer")) return;
+
+            String lexeme = reader.nextString();
+            if (isSimpleInteger(lexeme) && lexeme.length() < 19) {
+                // 常见情况不创建对象
+                String message = bounds.check(Long.parseLong(lexeme));
+                if (message != null) context.report(reader.getPath(), message);
+                return;
+            }
+
+            BigDecimal value = new BigDecimal(lexeme);
+            if (value.signum() != 0 && value.stripTrailingZeros().scale() > 0) {
+                context.report(reader.getPath(), "expected integer but was " + lexeme);
+                return;
+            }
+            String message = bounds.check(value);
+            if (message != null) context.report(reader.getPath(), message);
+        }
+
+        private static boolean isSimpleInteger(String lexeme) {
+            for (int i = lexeme.charAt(0) == '-' ? 1 : 0; i < lexeme.length(); i++) {
+                char c = lexeme.charAt(i);
+                if (c < '0' || c > '9') return false;
+            }
+            return true;
+        }
+    }
+
+    private static class NumberNode implements Node {
+        private final Bounds bounds;
+
+        private NumberNode(Bounds bounds) {
+            this.bounds = bounds;
+        }
+
+        @Override
+        public void validate(JsonReader reader, Context context) throws IOException {
+            if (!expect(reader, context, JsonToken.NUMBER, "number")) return;
+
+            String message = bounds.check(reader.nextDouble());
+            if (message != null) context.report(reader.getPath(), message);
+        }
+    }
+
+    // 数值上下限, 返回违规说明, 满足时返回 null
+    private static class Bounds {
+        private final BigDecimal min;
+        private final BigDecimal max;
+        private final double minDouble;
+        private final double maxDouble;
+        private final boolean exclusiveMin;
+        private final boolean exclusiveMax;
+
+        private Bounds(SchemaNode schema) {
+            Number minimum = schema.getMinimum();
+            Number maximum = schema.getMaximum();
+            min = minimum == null ? null : new BigDecimal(minimum.toString());
+            max = maximum == null ? null : new BigDecimal(maximum.toString());
+            minDouble = minimum == null ? Double.NEGATIVE_INFINITY : minimum.doubleValue();
+            maxDouble = maximum == null ? Double.POSITIVE_INFINITY : maximum.doubleValue();
+            exclusiveMin = Boolean.TRUE.equals(schema.getExclusiveMinimum());
+            exclusiveMax = Boolean.TRUE.equals(schema.getExclusiveMaximum());
+        }
+
+        private String check(long value) {
+            if (min == null && max == null) return null;
+            return check(BigDecimal.valueOf(value));
+        }
+
+        private String check(BigDecimal value) {
+            if (min != null) {
+                int c = value.compareTo(min);
+                if (c < 0 || exclusiveMin && c == 0) return tooSmall(value);
+            }
+            if (max != null) {
+                int c = value.compareTo(max);
+                if (c > 0 || exclusiveMax && c == 0) return tooLarge(value);
+            }
+            return null;
+        }
+
+        private String check(double value) {
+            if (value < minDouble || exclusiveMin && value == minDouble) return tooSmall(value);
+            if (value > maxDouble || exclusiveMax && value == maxDouble) return tooLarge(value);
+            return null;
+        }
+
+        private String tooSmall(Object value) {
+            return value + " must be " + (exclusiveMin ? "> " : ">= ") + min.toPlainString();
+        }
+
+        private String tooLarge(Object value) {
+            return value + " must be " + (exclusiveMax ? "< " : "<= ") + max.toPlainString();
+        }
+    }
+
+    // schema -> 校验节点, 同一个引用只编译一次
+    private static class Compiler {
+        private final SchemaNode root;
+        private final Map<String, ObjectNode> objects = new HashMap<>();
+
+        private Compiler(SchemaNode root) {
+            this.root = root;
+        }
+
+        private ObjectNode object(String ref) {
+            ObjectNode node = objects.get(ref);
+            if (node != null) return node;
+
+            SchemaNode target = SchemaNode.resolveRef(root, ref);
+            if (target == null) throw new IllegalArgumentException("unresolved reference: " + ref);
+
+            // 先登记再编译字段, 支持循环引用
+            node = new ObjectNode();
+            objects.put(ref, node);
+            fill(node, target);
+            return node;
+        }
+
+        private void fill(ObjectNode node, SchemaNode schema) {
+            List<String> required = schema.getRequired() == null ? Collections.emptyList() : schema.getRequired();
+            node.required = required.toArray(new String[0]);
+
+            int size = schema.getPropertyCount();
+            if (size == 0) return;
+
+            node.properties = new HashMap<>(size * 2);
+            for (int i = 0; i < size; i++) {
+                String name = schema.getPropertyName(i);
+                node.properties.put(name, new Property(compile(schema.getProperty(i)), required.indexOf(name)));
+            }
+        }
+
+        private Node compile(SchemaNode schema) {
+            if (schema.getRef() != null) return object(schema.getRef());
+
+            SchemaType type = SchemaType.of(schema.getType());
+            if (type == null) type = SchemaType.OBJECT;
+            switch (type) {
+                case BOOLEAN:
+                    return new BooleanNode();
+                case INTEGER:
+                    return new IntegerNode(new Bounds(schema));
+                case NUMBER:
+                    return new NumberNode(new Bounds(schema));
+                case STRING:
+                    return new StringNode(schema);
+                case ARRAY:
+                    return new ArrayNode(schema.getItems() == null ? null : compile(schema.getItems()));
+                default: {
+                    ObjectNode node = new ObjectNode();
+                    fill(node, schema);
+                    return node;
+                }
+            }
+        }
+    }
+}
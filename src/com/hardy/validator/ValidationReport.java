@@ -0,0 +1,47 @@
+package com.hardy.validator;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: NDJSON 文件的校验结果, 只保留前若干处违规
+ **/
+public class ValidationReport {
+
+    private final long lines; // 非空行数
+
+    private final long invalidLines;
+
+    private final long violationCount; // 全部违规数, 每行最多计 SchemaValidator.MAX_VIOLATIONS 处
+
+    private final List<Violation> violations; // 按行号排序
+
+    ValidationReport(long lines, long invalidLines, long violationCount, List<Violation> violations) {
+        this.lines = lines;
+        this.invalidLines = invalidLines;
+        this.violationCount = violationCount;
+        this.violations = Collections.unmodifiableList(violations);
+    }
+
+    public long getLines() {
+        return lines;
+    }
+
+    public long getInvalidLines() {
+        return invalidLines;
+    }
+
+    public long getViolationCount() {
+        return violationCount;
+    }
+
+    public List<Violation> getViolations() {
+        return violations;
+    }
+
+    public boolean isValid() {
+        return invalidLines == 0;
+    }
+}
@@ -0,0 +1,43 @@
+package com.hardy.validator;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 一处不满足 schema 的值
+ **/
+public class Violation {
+
+    private final long line; // NDJSON 中的行号(从 1 开始), 单个文档时为 0
+
+    private final String path; // 如 $.items[2].name
+
+    private final String message;
+
+    public Violation(long line, String path, String message) {
+        this.line = line;
+        this.path = path;
+        this.message = message;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    // 行号在分块校验完成后才能确定
+    Violation atLine(long line) {
+        return new Violation(line, path, message);
+    }
+
+    @Override
+    public String toString() {
+        return (line > 0 ? "line " + line + ": " : "") + path + ": " + message;
+    }
+}
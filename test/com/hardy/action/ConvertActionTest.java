@@ -0,0 +1,104 @@
+package com.hardy.action;
+
+import com.google.gson.stream.JsonWriter;
+import com.hardy.generator.JsonOutput;
+import com.hardy.service.TypeModelCache;
+import com.hardy.setting.JsonToolSettings;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.testFramework.LightProjectDescriptor;
+import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+import com.intellij.util.ThrowableRunnable;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 在内存中的项目里由源码生成 json / schema, 与 testData/convert/golden 中的结果比较
+ * 覆盖父类、注释、嵌套类、泛型特化、枚举、Map、循环引用及校验注解(含 jakarta、组合注解与引用常量的属性)
+ **/
+public class ConvertActionTest extends LightJavaCodeInsightFixtureTestCase {
+
+    @Override
+    protected String getTestDataPath() {
+        return "testData/convert";
+    }
+
+    @NotNull
+    @Override
+    protected LightProjectDescriptor getProjectDescriptor() {
+        return JAVA_8;
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        myFixture.copyDirectoryToProject("src", "");
+        // 项目在测试之间复用, 不使用上一个测试缓存的类结构
+        TypeModelCache.getInstance(getProject()).clear();
+    }
+
+    public void testOrderJson() throws IOException {
+        assertGolden("Order.json", new JsonAction(), "dto.Order");
+    }
+
+    public void testOrderSchema() throws IOException {
+        assertGolden("Order.schema.json", new JsonSchemaAction(), "dto.Order");
+    }
+
+    public void testOrderSchemaWithDefinitions() throws IOException {
+        withDefinitions(() -> assertGolden("Order.definitions.schema.json", new JsonSchemaAction(), "dto.Order"));
+    }
+
+    public void testCycleJson() throws IOException {
+        assertGolden("Category.json", new JsonAction(), "dto.Category");
+    }
+
+    public void testCycleSchema() throws IOException {
+        assertGolden("Category.schema.json", new JsonSchemaAction(), "dto.Category");
+    }
+
+    public void testCycleSchemaWithDefinitions() throws IOException {
+        withDefinitions(() -> assertGolden("Category.definitions.schema.json", new JsonSchemaAction(), "dto.Category"));
+    }
+
+    // 修改被引用的类后, 再次生成时不使用缓存中的旧结构
+    public void testEditedClassRegenerated() throws IOException {
+        assertFalse(generate(new JsonAction(), "dto.Order").contains("\"note\""));
+
+        PsiClass line = myFixture.findClass("dto.Line");
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            line.add(JavaPsiFacade.getElementFactory(getProject()).createFieldFromText("private String note;", line));
+        });
+
+        assertTrue(generate(new JsonAction(), "dto.Order").contains("\"note\""));
+    }
+
+    private void assertGolden(String golden, AbstractConvertAction action, String className) throws IOException {
+        assertSameLinesWithFile(getTestDataPath() + "/golden/" + golden, generate(action, className));
+    }
+
+    private String generate(AbstractConvertAction action, String className) throws IOException {
+        PsiClass clazz = myFixture.findClass(className);
+        StringWriter out = new StringWriter();
+        JsonWriter writer = JsonOutput.newWriter(out, true);
+        action.write(clazz, writer);
+        writer.flush();
+        return out.toString();
+    }
+
+    private static void withDefinitions(ThrowableRunnable<IOException> runnable) throws IOException {
+        JsonToolSettings settings = JsonToolSettings.getInstance();
+        boolean useDefinitions = settings.useDefinitions;
+        settings.useDefinitions = true;
+        try {
+            runnable.run();
+        } finally {
+            settings.useDefinitions = useDefinitions;
+        }
+    }
+}
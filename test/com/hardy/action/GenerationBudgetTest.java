@@ -0,0 +1,163 @@
+package com.hardy.action;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonWriter;
+import com.hardy.generator.JsonOutput;
+import com.hardy.service.TypeModelCache;
+import com.intellij.psi.PsiClass;
+import com.intellij.testFramework.LightProjectDescriptor;
+import com.intellij.testFramework.PlatformTestUtil;
+import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+import com.intellij.util.ThrowableRunnable;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 在内存中构建字段很多、深层嵌套、循环引用、多层泛型与大量校验注解的类, 检查两个转换动作的输出,
+ * 并检查不使用类结构缓存时单次生成的耗时(PlatformTestUtil, 按机器速度调整)与当前线程的内存分配是否超出预算
+ **/
+public class GenerationBudgetTest extends LightJavaCodeInsightFixtureTestCase {
+
+    private static final long MB = 1024 * 1024;
+
+    private static final String[] TYPES = {"int", "String", "Long", "java.util.Date", "java.util.List<String>",
+            "java.util.Map<String, Integer>", "dto.Status", "double[]"};
+
+    @Override
+    protected String getTestDataPath() {
+        return "testData/convert";
+    }
+
+    @NotNull
+    @Override
+    protected LightProjectDescriptor getProjectDescriptor() {
+        return JAVA_8;
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        // 校验注解与 dto.Limits 等常量
+        myFixture.copyDirectoryToProject("src", "");
+        TypeModelCache.getInstance(getProject()).clear();
+    }
+
+    public void testWideClass() throws Throwable {
+        StringBuilder source = new StringBuilder("package bench;\n\npublic class Wide {\n");
+        for (int i = 0; i < 500; i++) {
+            source.append("    /** 字段 ").append(i).append(" */\n")
+                    .append("    private ").append(TYPES[i % TYPES.length]).append(" f").append(i).append(";\n");
+        }
+        PsiClass clazz = myFixture.addClass(source.append("}\n").toString());
+
+        checkBudget(clazz, 500, 300, 48 * MB);
+    }
+
+    public void testDeepNesting() throws Throwable {
+        for (int i = 63; i > 0; i--) {
+            myFixture.addClass("package bench;\n\npublic class Level" + i + " {\n    private String name;\n\n"
+                    + (i < 63 ? "    private Level" + (i + 1) + " next;\n" : "") + "}\n");
+        }
+        PsiClass clazz = myFixture.addClass("package bench;\n\npublic class Level0 {\n"
+                + "    private String name;\n\n    private Level1 next;\n}\n");
+
+        checkBudget(clazz, 2, 150, 24 * MB);
+    }
+
+    // 32 个类首尾相连, 每个类都引用下一个
+    public void testCycle() throws Throwable {
+        for (int i = 31; i > 0; i--) {
+            myFixture.addClass(cycleSource(i));
+        }
+        PsiClass clazz = myFixture.addClass(cycleSource(0));
+
+        checkBudget(clazz, 3, 150, 24 * MB);
+    }
+
+    public void testGenerics() throws Throwable {
+        myFixture.addClass("package bench;\n\npublic class Box<T> {\n    private T value;\n\n"
+                + "    private java.util.List<T> values;\n}\n");
+        myFixture.addClass("package bench;\n\npublic class Pair<A, B> {\n    private A first;\n\n    private B second;\n}\n");
+
+        String[] arguments = {"String", "Integer", "java.util.Date", "dto.Status", "Box<Long>"};
+        StringBuilder source = new StringBuilder("package bench;\n\npublic class Generic {\n");
+        for (int i = 0; i < 200; i++) {
+            String first = arguments[i % arguments.length];
+            String second = arguments[(i / arguments.length) % arguments.length];
+            source.append("    private Pair<Box<").append(first).append(">, java.util.List<Box<").append(second)
+                    .append(">>> f").append(i).append(";\n");
+        }
+        PsiClass clazz = myFixture.addClass(source.append("}\n").toString());
+
+        checkBudget(clazz, 200, 300, 48 * MB);
+    }
+
+    public void testConstraints() throws Throwable {
+        StringBuilder source = new StringBuilder("package bench;\n\nimport javax.validation.constraints.*;\n\n"
+                + "public class Constrained {\n");
+        for (int i = 0; i < 300; i++) {
+            if (i % 2 == 0) {
+                source.append("    @NotBlank\n    @Size(min = dto.Limits.NAME_MIN, max = dto.Limits.NAME_MAX)\n")
+                        .append("    @Pattern(regexp = \"^[a-z]+$\")\n    private String s").append(i).append(";\n");
+            } else {
+                source.append("    @NotNull\n    @Min(1)\n    @Max(").append(i).append(")\n    private Integer n").append(i).append(";\n");
+            }
+        }
+        PsiClass clazz = myFixture.addClass(source.append("}\n").toString());
+
+        checkBudget(clazz, 300, 300, 48 * MB);
+    }
+
+    private static String cycleSource(int i) {
+        String next = "Node" + (i + 1) % 32;
+        return "package bench;\n\npublic class Node" + i + " {\n    private String name;\n\n"
+                + "    private " + next + " next;\n\n    private java.util.List<" + next + "> others;\n}\n";
+    }
+
+    // fields 为类的顶层字段数
+    private void checkBudget(PsiClass clazz, int fields, int millis, long bytes) throws Throwable {
+        TypeModelCache cache = TypeModelCache.getInstance(getProject());
+
+        for (AbstractConvertAction action : new AbstractConvertAction[]{new JsonAction(), new JsonSchemaAction()}) {
+            String name = clazz.getName() + " " + action.getClass().getSimpleName();
+
+            // 输出是完整的 json, 顶层字段齐全
+            JsonObject output = new JsonParser().parse(generate(action, clazz)).getAsJsonObject();
+            JsonObject properties = action instanceof JsonSchemaAction ? output.getAsJsonObject("properties") : output;
+            assertEquals(name, fields, properties.size());
+
+            // 上面已生成过一次, 代码已加载, 只清空类结构缓存后统计分配
+            cache.clear();
+            long allocated = allocated(() -> generate(action, clazz));
+            assertTrue(name + " allocated " + allocated / 1024 + " KB, budget " + bytes / 1024 + " KB", allocated <= bytes);
+
+            PlatformTestUtil.startPerformanceTest(name, millis, () -> generate(action, clazz))
+                    .setup(cache::clear)
+                    .attempts(5)
+                    .assertTiming();
+        }
+    }
+
+    private static String generate(AbstractConvertAction action, PsiClass clazz) throws IOException {
+        StringWriter out = new StringWriter();
+        JsonWriter writer = JsonOutput.newWriter(out, false);
+        action.write(clazz, writer);
+        writer.flush();
+        return out.toString();
+    }
+
+    // 当前线程执行期间分配的字节数, 生成在调用线程中进行
+    private static long allocated(ThrowableRunnable<IOException> runnable) throws IOException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long id = Thread.currentThread().getId();
+        long start = threads.getThreadAllocatedBytes(id);
+        runnable.run();
+        return threads.getThreadAllocatedBytes(id) - start;
+    }
+}
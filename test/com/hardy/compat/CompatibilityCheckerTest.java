@@ -0,0 +1,65 @@
+package com.hardy.compat;
+
+import com.hardy.generator.SchemaBaseline;
+import junit.framework.TestCase;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 兼容性判断的两个方向: 旧数据按当前 schema 是否合法, 当前数据按基线读取是否合法且不缺少数据
+ **/
+public class CompatibilityCheckerTest extends TestCase {
+
+    private static final String BASELINE = "{\"version\":1,\"roots\":[\"a.Order\"],\"definitions\":{\"a.Order\":{"
+            + "\"type\":\"object\",\"required\":[\"id\",\"note\"],\"properties\":{"
+            + "\"id\":{\"type\":\"integer\"},"
+            + "\"note\":{\"type\":\"string\"},"
+            + "\"code\":{\"type\":\"string\",\"maxLength\":10},"
+            + "\"name\":{\"type\":\"string\",\"maxLength\":10},"
+            + "\"status\":{\"type\":\"string\",\"enum\":[\"NEW\",\"PAID\"]},"
+            + "\"removed\":{\"type\":\"string\"}}}}}";
+
+    private static final String CURRENT = "{\"version\":1,\"roots\":[\"a.Order\"],\"definitions\":{\"a.Order\":{"
+            + "\"type\":\"object\",\"required\":[\"id\",\"code\"],\"properties\":{"
+            + "\"id\":{\"type\":\"number\"},"
+            + "\"note\":{\"type\":\"string\"},"
+            + "\"code\":{\"type\":\"string\",\"maxLength\":8},"
+            + "\"name\":{\"type\":\"string\",\"maxLength\":20},"
+            + "\"status\":{\"type\":\"string\",\"enum\":[\"NEW\",\"PAID\",\"SHIPPED\"]},"
+            + "\"added\":{\"type\":\"string\"}}}}}";
+
+    public void testBothDirections() throws IOException {
+        CompatibilityReport report = CompatibilityChecker.compare(read(BASELINE), read(CURRENT));
+
+        Map<SchemaChange.Kind, Integer> kinds = new EnumMap<>(SchemaChange.Kind.class);
+        for (SchemaChange change : report.getChanges()) {
+            kinds.merge(change.getKind(), 1, Integer::sum);
+            // 只有新增可选属性不破坏兼容
+            assertEquals(change.toString(), change.getKind() != SchemaChange.Kind.PROPERTY_ADDED, change.isBreaking());
+        }
+
+        assertEquals(Integer.valueOf(1), kinds.get(SchemaChange.Kind.TYPE_WIDENED));
+        assertEquals(Integer.valueOf(1), kinds.get(SchemaChange.Kind.NO_LONGER_REQUIRED));
+        assertEquals(Integer.valueOf(1), kinds.get(SchemaChange.Kind.BECAME_REQUIRED));
+        assertEquals(Integer.valueOf(1), kinds.get(SchemaChange.Kind.CONSTRAINT_TIGHTENED));
+        assertEquals(Integer.valueOf(2), kinds.get(SchemaChange.Kind.CONSTRAINT_LOOSENED));
+        assertEquals(Integer.valueOf(1), kinds.get(SchemaChange.Kind.PROPERTY_REMOVED));
+        assertEquals(Integer.valueOf(1), kinds.get(SchemaChange.Kind.PROPERTY_ADDED));
+    }
+
+    public void testDirectionOfWidening() {
+        assertFalse(SchemaChange.Kind.TYPE_WIDENED.breaksOldData);
+        assertTrue(SchemaChange.Kind.TYPE_WIDENED.breaksOldReaders);
+        assertTrue(SchemaChange.Kind.CONSTRAINT_TIGHTENED.breaksOldData);
+        assertFalse(SchemaChange.Kind.CONSTRAINT_TIGHTENED.breaksOldReaders);
+    }
+
+    private static SchemaBaseline read(String json) throws IOException {
+        return SchemaBaseline.read(new StringReader(json));
+    }
+}
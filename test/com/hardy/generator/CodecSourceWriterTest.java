@@ -0,0 +1,231 @@
+package com.hardy.generator;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.hardy.parser.ReflectModelResolver;
+import junit.framework.TestCase;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 生成的编解码器可以编译并读写: 没有 getter / setter 时直接访问可见的字段, 无法访问的字段与无法创建的类在注释中列出;
+ * Optional 按内容读写(含泛型特化后的 Optional<T>); 没有可读写字段的类报错
+ **/
+public class CodecSourceWriterTest extends TestCase {
+
+    public static class Shipment {
+        public String id;
+        public int count;
+        public char grade;
+        public Character initial;
+        public Map<Character, Integer> counts;
+        public List<Parcel> parcels;
+        protected long version; // 编解码器在同一个包中, 可直接访问
+        public final String origin = "HQ";
+        public Receipt receipt;
+        private String secret;
+        private boolean sealed;
+
+        public boolean isSealed() {
+            return sealed;
+        }
+
+        public void setSealed(boolean sealed) {
+            this.sealed = sealed;
+        }
+    }
+
+    public static class Parcel {
+        public String code;
+        public double weight;
+    }
+
+    // 没有无参构造函数, 只能写出
+    public static class Receipt {
+        public final String number;
+
+        public Receipt(String number) {
+            this.number = number;
+        }
+    }
+
+    public static class Wrap<T> {
+        public Optional<T> opt;
+        public T value;
+    }
+
+    public static class Box {
+        public Optional<String> maybe;
+        public Optional<LocalDate> shipped;
+        public Optional<Parcel> parcel;
+        public List<Optional<Integer>> slots;
+        public Wrap<String> wrap;
+    }
+
+    // 只有 private 字段且没有 getter / setter
+    public static class Sealed {
+        private String id;
+    }
+
+    public static class Crate {
+        public String label;
+        public Sealed sealed;
+    }
+
+    public void testSkippedFieldsListed() throws IOException {
+        List<String> skipped = new ArrayList<>();
+        String source = generate(skipped);
+
+        assertTrue(skipped.toString(), skipped.contains("Shipment.secret (no getter, setter or accessible field)"));
+        assertTrue(skipped.toString(), skipped.contains("Shipment.origin (no setter or writable field, not read)"));
+        assertTrue(skipped.toString(), skipped.contains("Receipt.number (no setter or writable field, not read)"));
+        assertTrue(skipped.toString(), skipped.contains("Receipt (no accessible no-arg constructor, not read)"));
+        assertEquals(skipped.toString(), 4, skipped.size());
+        for (String field : skipped) {
+            assertTrue(field, source.contains(" * " + field + "\n"));
+        }
+    }
+
+    public void testGeneratedCodecCompilesAndRoundTrips() throws Exception {
+        String json = "{\"id\":\"S-1\",\"count\":3,\"grade\":\"B\",\"initial\":\"C\",\"counts\":{\"x\":1},"
+                + "\"parcels\":[{\"code\":\"P-1\",\"weight\":1.5}],\"version\":7,\"origin\":\"HQ\",\"sealed\":true}";
+
+        Path directory = Files.createTempDirectory("codec");
+        try {
+            Class<?> codec = compile(directory, "ShipmentJsonCodec", generate(new ArrayList<>()));
+            Class<?> shipmentClass = codec.getClassLoader().loadClass(Shipment.class.getName());
+
+            Object shipment = codec.getMethod("fromJson", String.class).invoke(null, json);
+            assertEquals(7L, field(shipment, "version"));
+            assertEquals('B', field(shipment, "grade"));
+            assertEquals('C', field(shipment, "initial"));
+            assertEquals(true, field(shipment, "sealed"));
+
+            Method toJson = codec.getMethod("toJson", shipmentClass);
+            assertEquals(new JsonParser().parse(json), new JsonParser().parse((String) toJson.invoke(null, shipment)));
+
+            // 没有无参构造函数的类只写出, 不能访问的字段不写出
+            Class<?> receiptClass = codec.getClassLoader().loadClass(Receipt.class.getName());
+            shipmentClass.getField("receipt").set(shipment, receiptClass.getConstructor(String.class).newInstance("R-1"));
+            Field secret = shipmentClass.getDeclaredField("secret");
+            secret.setAccessible(true);
+            secret.set(shipment, "hidden");
+
+            JsonObject written = new JsonParser().parse((String) toJson.invoke(null, shipment)).getAsJsonObject();
+            assertEquals("R-1", written.getAsJsonObject("receipt").get("number").getAsString());
+            assertFalse(written.has("secret"));
+        } finally {
+            delete(directory.toFile());
+        }
+    }
+
+    public void testOptionalCompilesAndRoundTrips() throws Exception {
+        List<String> skipped = new ArrayList<>();
+        String source = generate(Box.class, skipped);
+        assertTrue(skipped.toString(), skipped.isEmpty());
+
+        String json = "{\"maybe\":\"m\",\"shipped\":\"2026-10-17\",\"parcel\":{\"code\":\"P-1\",\"weight\":2.0},"
+                + "\"slots\":[1,null,3],\"wrap\":{\"opt\":\"o\",\"value\":\"v\"}}";
+
+        Path directory = Files.createTempDirectory("codec");
+        try {
+            Class<?> codec = compile(directory, "BoxJsonCodec", source);
+            Class<?> boxClass = codec.getClassLoader().loadClass(Box.class.getName());
+
+            Object box = codec.getMethod("fromJson", String.class).invoke(null, json);
+            assertEquals(Optional.of("m"), field(box, "maybe"));
+            assertEquals(Optional.of(LocalDate.of(2026, 10, 17)), field(box, "shipped"));
+            assertEquals(Arrays.asList(Optional.of(1), Optional.empty(), Optional.of(3)), field(box, "slots"));
+            assertEquals(Optional.of("o"), field(field(box, "wrap"), "opt"));
+
+            Method toJson = codec.getMethod("toJson", boxClass);
+            assertEquals(new JsonParser().parse(json), new JsonParser().parse((String) toJson.invoke(null, box)));
+
+            // 空的 Optional 不写出, null 读为空的 Optional
+            boxClass.getField("maybe").set(box, Optional.empty());
+            boxClass.getField("parcel").set(box, null);
+            JsonObject written = new JsonParser().parse((String) toJson.invoke(null, box)).getAsJsonObject();
+            assertFalse(written.has("maybe"));
+            assertFalse(written.has("parcel"));
+
+            box = codec.getMethod("fromJson", String.class).invoke(null, "{\"maybe\":null}");
+            assertEquals(Optional.empty(), field(box, "maybe"));
+        } finally {
+            delete(directory.toFile());
+        }
+    }
+
+    public void testNoAccessibleFieldsFails() throws IOException {
+        try {
+            generate(Crate.class, new ArrayList<>());
+            fail("Sealed has no accessible fields");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("no field of Sealed can be read or written"));
+        }
+    }
+
+    private static String generate(List<String> skipped) throws IOException {
+        return generate(Shipment.class, skipped);
+    }
+
+    private static String generate(Class<?> root, List<String> skipped) throws IOException {
+        ReflectModelResolver resolver = new ReflectModelResolver(root.getClassLoader());
+        StringWriter out = new StringWriter();
+        skipped.addAll(CodecSourceWriter.write(resolver, resolver.get(root), out));
+        return out.toString();
+    }
+
+    // 与测试类使用相同的类路径编译, 编解码器在 com.hardy.generator 包中
+    private static Class<?> compile(Path directory, String codecName, String source) throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertNotNull("tests must run on a JDK", compiler);
+
+        Path file = directory.resolve("com/hardy/generator/" + codecName + ".java");
+        Files.createDirectories(file.getParent());
+        Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+
+        ByteArrayOutputStream errors = new ByteArrayOutputStream();
+        int status = compiler.run(null, null, errors, "-encoding", "UTF-8", "-nowarn",
+                "-cp", System.getProperty("java.class.path"), "-d", directory.toString(), file.toString());
+        assertEquals(errors.toString("UTF-8") + "\n" + source, 0, status);
+
+        // 包内可见的成员只能在同一个类加载器中访问, 编解码器与测试的类一起重新加载
+        List<URL> urls = new ArrayList<>();
+        urls.add(directory.toUri().toURL());
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            urls.add(new File(entry).toURI().toURL());
+        }
+        ClassLoader loader = new URLClassLoader(urls.toArray(new URL[0]), ClassLoader.getSystemClassLoader().getParent());
+        return loader.loadClass("com.hardy.generator." + codecName);
+    }
+
+    private static Object field(Object object, String name) throws ReflectiveOperationException {
+        Field field = object.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(object);
+    }
+
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) delete(child);
+        }
+        file.delete();
+    }
+}
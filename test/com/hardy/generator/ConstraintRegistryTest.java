@@ -0,0 +1,132 @@
+package com.hardy.generator;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.hardy.model.SchemaType;
+import com.hardy.parser.ReflectModelResolver;
+import junit.framework.TestCase;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 注册自定义约束注解的处理, 直接使用及通过组合注解使用时均生效, 作用于各类字段且两种 schema 生成方式结果相同
+ **/
+public class ConstraintRegistryTest extends TestCase {
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.FIELD, ElementType.ANNOTATION_TYPE})
+    public @interface Sku {
+        String prefix() default "SKU-";
+
+        int digits() default 6;
+    }
+
+    // 组合注解, 展开为其上的 @Sku
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.FIELD)
+    @Sku(prefix = "P-", digits = 4)
+    public @interface ProductCode {
+    }
+
+    public static class Product {
+        @Sku
+        private String sku;
+
+        @ProductCode
+        private String code;
+
+        private String name;
+    }
+
+    // 标记字段必需并按类型设置约束, 作用于各类字段
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.FIELD)
+    public @interface Tagged {
+        String value();
+    }
+
+    public static class Basket {
+        @Tagged("name")
+        private String name;
+
+        @Tagged("items")
+        private List<String> items;
+
+        @Tagged("products")
+        private Product[] products;
+
+        @Tagged("product")
+        private Product product;
+
+        @Tagged("counts")
+        private Map<String, Integer> counts;
+
+        @Tagged("next")
+        private Basket next; // 循环引用, 使用 $ref
+    }
+
+    static {
+        ConstraintRegistry.register(Sku.class.getCanonicalName(), (annotation, type, schema) -> {
+            if (type != SchemaType.STRING) return false;
+
+            schema.setPattern("^" + annotation.getString("prefix") + "[0-9]{" + annotation.getLong("digits") + "}$");
+            return true;
+        });
+        ConstraintRegistry.register(Tagged.class.getCanonicalName(), (annotation, type, schema) -> {
+            if (type == SchemaType.STRING) schema.setMinLength(1);
+            else schema.setFormat(type.val + ":" + annotation.getString("value"));
+            return true;
+        });
+    }
+
+    public void testCustomHandlerApplied() throws IOException {
+        JsonObject schema = schemaOf(Product.class);
+        JsonObject properties = schema.getAsJsonObject("properties");
+
+        assertEquals("^SKU-[0-9]{6}$", properties.getAsJsonObject("sku").get("pattern").getAsString());
+        assertFalse(properties.getAsJsonObject("name").has("pattern"));
+        assertTrue(schema.getAsJsonArray("required").toString().contains("\"sku\""));
+    }
+
+    public void testCustomHandlerAppliedThroughComposedAnnotation() throws IOException {
+        JsonObject properties = schemaOf(Product.class).getAsJsonObject("properties");
+
+        assertEquals("^P-[0-9]{4}$", properties.getAsJsonObject("code").get("pattern").getAsString());
+    }
+
+    // 逐个写出与构建后序列化的两种生成方式结果相同
+    public void testCustomHandlerSameInBothGenerators() throws IOException {
+        ReflectModelResolver resolver = new ReflectModelResolver(Basket.class.getClassLoader());
+        for (boolean useDefinitions : new boolean[]{false, true}) {
+            StringWriter out = new StringWriter();
+            JsonOutput.generate(resolver, resolver.get(Basket.class), out, true, useDefinitions, false);
+            String streamed = out.toString();
+
+            assertEquals(new Gson().toJson(new SchemaGenerator(resolver, useDefinitions).generate(resolver.get(Basket.class))), streamed);
+
+            JsonObject schema = new JsonParser().parse(streamed).getAsJsonObject();
+            assertEquals("[\"name\",\"items\",\"products\",\"product\",\"counts\",\"next\"]", schema.get("required").toString());
+            JsonObject properties = schema.getAsJsonObject("properties");
+            assertEquals("array:items", properties.getAsJsonObject("items").get("format").getAsString());
+            assertEquals("object:product", properties.getAsJsonObject("product").get("format").getAsString());
+            assertEquals("object:next", properties.getAsJsonObject("next").get("format").getAsString());
+        }
+    }
+
+    private static JsonObject schemaOf(Class<?> clazz) throws IOException {
+        ReflectModelResolver resolver = new ReflectModelResolver(clazz.getClassLoader());
+        StringWriter out = new StringWriter();
+        JsonOutput.generate(resolver, resolver.get(clazz), out, true, false, false);
+        return new JsonParser().parse(out.toString()).getAsJsonObject();
+    }
+}
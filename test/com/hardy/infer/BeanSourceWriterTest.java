@@ -0,0 +1,67 @@
+package com.hardy.infer;
+
+import junit.framework.TestCase;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 生成的 bean 可以编译: 只差大小写的 key、与类名相同的字段、class 等名字不冲突
+ **/
+public class BeanSourceWriterTest extends TestCase {
+
+    public void testNamesUniqueIgnoringCase() throws Exception {
+        String json = "{\"Arr\":{\"x\":1},\"arr\":{\"y\":\"a\"},\"ARR\":[1],\"Class\":\"c\",\"class\":true,"
+                + "\"orders\":[{\"Order\":{\"id\":2},\"order\":3}]}";
+        SchemaInferrer.Inference inference = SchemaInferrer.infer(new StringReader(json));
+
+        StringWriter out = new StringWriter();
+        BeanSourceWriter.write(inference.getShape(), "demo.Sample", inference.getSamples(), out);
+        String source = out.toString();
+
+        assertTrue(source, source.contains("private Arr2 Arr;"));
+        assertTrue(source, source.contains("private Arr22 arr2;"));
+        assertTrue(source, source.contains("private List<Integer> ARR3;"));
+        assertTrue(source, source.contains("private String Class2;"));
+        assertTrue(source, source.contains("private Boolean class_;"));
+        assertTrue(source, source.contains("private Order2 Order;"));
+        assertFalse(source, source.contains("getClass()"));
+        compile(source);
+    }
+
+    private static void compile(String source) throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertNotNull("tests must run on a JDK", compiler);
+
+        Path directory = Files.createTempDirectory("bean");
+        try {
+            Path file = directory.resolve("demo/Sample.java");
+            Files.createDirectories(file.getParent());
+            Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+
+            ByteArrayOutputStream errors = new ByteArrayOutputStream();
+            int status = compiler.run(null, null, errors, "-encoding", "UTF-8", "-nowarn",
+                    "-d", directory.toString(), file.toString());
+            assertEquals(errors.toString("UTF-8") + "\n" + source, 0, status);
+        } finally {
+            delete(directory.toFile());
+        }
+    }
+
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) delete(child);
+        }
+        file.delete();
+    }
+}
@@ -0,0 +1,55 @@
+package com.hardy.model;
+
+import com.hardy.parser.ReflectModelResolver;
+import junit.framework.TestCase;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 泛型特化, 替换泛型变量时保留字段声明的类全名(如 Optional)
+ **/
+public class GenericsTest extends TestCase {
+
+    public static class Wrap<T> {
+        public Optional<T> opt;
+
+        public List<T> items;
+
+        public T value;
+    }
+
+    public void testSpecializeKeepsOptional() {
+        ReflectModelResolver resolver = new ReflectModelResolver(getClass().getClassLoader());
+        ClassModel model = resolver.get(Wrap.class);
+        ClassModel specialized = Generics.specialize(model, Collections.singletonList(TypeRef.normal("String")));
+
+        TypeRef opt = field(specialized, "opt").getType();
+        assertEquals(TypeKind.NORMAL, opt.getKind());
+        assertEquals("String", opt.getName());
+        assertEquals("java.util.Optional", opt.getJavaType());
+
+        // 未带类全名的泛型变量直接替换为泛型参数
+        TypeRef value = field(specialized, "value").getType();
+        assertEquals("String", value.getName());
+        assertNull(value.getJavaType());
+
+        // 泛型参数的声明类型保留为 Optional 的泛型参数
+        ClassModel dates = Generics.specialize(model, Collections.singletonList(TypeRef.normal("String").withJavaType("java.time.LocalDateTime")));
+        assertEquals("java.util.Optional<java.time.LocalDateTime>", field(dates, "opt").getType().getJavaType());
+
+        TypeRef items = field(specialized, "items").getType();
+        assertEquals(TypeKind.LIST, items.getKind());
+        assertEquals("String", items.getArgument(0).getName());
+    }
+
+    private static FieldModel field(ClassModel model, String name) {
+        for (FieldModel field : model.getFields()) {
+            if (field.getName().equals(name)) return field;
+        }
+        throw new AssertionError("missing field " + name);
+    }
+}
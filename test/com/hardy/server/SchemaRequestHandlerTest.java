@@ -0,0 +1,106 @@
+package com.hardy.server;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.hardy.service.TypeModelCache;
+import com.intellij.testFramework.LightProjectDescriptor;
+import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.ide.BuiltInServerManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 通过IDE内置的 HTTP 服务请求 testData/convert 中的类: GET 返回内容与 ETag, 带 If-None-Match 时返回 304, POST 批量请求
+ **/
+public class SchemaRequestHandlerTest extends LightJavaCodeInsightFixtureTestCase {
+
+    @Override
+    protected String getTestDataPath() {
+        return "testData/convert";
+    }
+
+    @NotNull
+    @Override
+    protected LightProjectDescriptor getProjectDescriptor() {
+        return JAVA_8;
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        myFixture.copyDirectoryToProject("src", "");
+        TypeModelCache.getInstance(getProject()).clear();
+    }
+
+    public void testGetThenNotModified() throws IOException {
+        HttpURLConnection connection = request("GET", "schema?class=dto.Order", null, null);
+        assertEquals(200, connection.getResponseCode());
+        assertTrue(connection.getContentType(), connection.getContentType().startsWith("application/schema+json"));
+        String etag = connection.getHeaderField("ETag");
+        assertNotNull(etag);
+        JsonObject schema = new JsonParser().parse(read(connection.getInputStream())).getAsJsonObject();
+        assertTrue(schema.getAsJsonObject("properties").has("lines"));
+
+        // 内容未变化, 不再返回内容
+        connection = request("GET", "schema?class=dto.Order", etag, null);
+        assertEquals(304, connection.getResponseCode());
+        assertEquals(etag, connection.getHeaderField("ETag"));
+
+        connection = request("GET", "json?class=dto.Missing", null, null);
+        assertEquals(404, connection.getResponseCode());
+    }
+
+    public void testBatchPost() throws IOException {
+        HttpURLConnection connection = request("POST", "batch?kind=json", null, "[\"dto.Order\",\"dto.Missing\",\"dto.Category\"]");
+        assertEquals(200, connection.getResponseCode());
+        JsonObject batch = new JsonParser().parse(read(connection.getInputStream())).getAsJsonObject();
+        assertEquals("[dto.Order, dto.Missing, dto.Category]", batch.keySet().toString());
+        assertTrue(batch.get("dto.Missing").isJsonNull());
+        assertTrue(batch.getAsJsonObject("dto.Category").has("children"));
+
+        connection = request("POST", "batch?kind=json", connection.getHeaderField("ETag"), "[\"dto.Order\",\"dto.Missing\",\"dto.Category\"]");
+        assertEquals(304, connection.getResponseCode());
+
+        connection = request("POST", "batch?kind=json", null, "{\"class\":\"dto.Order\"}");
+        assertEquals(400, connection.getResponseCode());
+    }
+
+    // 测试时可能打开了多个项目, 指定项目名
+    private HttpURLConnection request(String method, String path, String ifNoneMatch, String body) throws IOException {
+        int port = BuiltInServerManager.getInstance().waitForStart().getPort();
+        String project = URLEncoder.encode(getProject().getName(), "UTF-8");
+        URL url = new URL("http://localhost:" + port + "/jsontool/" + path + (path.contains("?") ? "&" : "?") + "project=" + project);
+
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestMethod(method);
+        if (ifNoneMatch != null) connection.setRequestProperty("If-None-Match", ifNoneMatch);
+        if (body != null) {
+            connection.setDoOutput(true);
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return connection;
+    }
+
+    private static String read(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        try (InputStream input = in) {
+            for (int n; (n = input.read(buffer)) > 0; ) {
+                out.write(buffer, 0, n);
+            }
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,58 @@
+package com.hardy.validator;
+
+import com.hardy.parser.ReflectModelResolver;
+import junit.framework.TestCase;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+/**
+ * Author: Hardy
+ * Date:   2026/10/17
+ * Description: 语法错误报告位置与简短原因, 不带 Gson 的设置提示
+ **/
+public class SchemaValidatorTest extends TestCase {
+
+    public static class Item {
+        private String name;
+
+        private int count;
+    }
+
+    private SchemaValidator validator() {
+        ReflectModelResolver resolver = new ReflectModelResolver(getClass().getClassLoader());
+        return SchemaValidator.compile(resolver, resolver.get(Item.class));
+    }
+
+    public void testMalformedDocument() {
+        List<Violation> violations = validator().validate(new StringReader("{\n  \"name\": \"a\",\n  \"count\" 1\n}"));
+        assertEquals(1, violations.size());
+        assertEquals("malformed JSON at line 3 column 12: Expected ':'", violations.get(0).getMessage());
+
+        // 通用的语法错误只给出位置
+        violations = validator().validate(new StringReader("{\"name\": abc}"));
+        assertEquals(1, violations.size());
+        String message = violations.get(0).getMessage();
+        assertTrue(message, message.startsWith("malformed JSON at line 1 column "));
+        assertFalse(message, message.contains("JsonReader"));
+    }
+
+    public void testMalformedNdjsonLine() throws IOException {
+        File file = File.createTempFile("validate", ".ndjson");
+        try {
+            Files.write(file.toPath(), "{\"name\":\"a\",\"count\":1}\n{\"name\":\"b\",}\n".getBytes(StandardCharsets.UTF_8));
+            ValidationReport report = validator().validateNdjson(file, 1, 10);
+            assertEquals(1, report.getViolations().size());
+
+            Violation violation = report.getViolations().get(0);
+            assertEquals(2, violation.getLine());
+            assertEquals("malformed JSON at column 14: Expected name", violation.getMessage());
+        } finally {
+            assertTrue(file.delete());
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package dto;
+
+import java.util.Date;
+
+public abstract class BaseEntity {
+
+    /** 主键 */
+    private Long id;
+
+    // 创建时间
+    private Date createdAt;
+}
@@ -0,0 +1,15 @@
+package dto;
+
+import java.util.List;
+
+public class Category {
+
+    /** 名称 */
+    private String name;
+
+    /** 上级分类 */
+    private Category parent;
+
+    /** 下级分类 */
+    private List<Category> children;
+}
@@ -0,0 +1,10 @@
+package dto;
+
+public final class Limits {
+    public static final int NAME_MIN = 2;
+    public static final int NAME_MAX = NAME_MIN * 16;
+    public static final String SKU_PATTERN = "^[A-Z]{3}-[0-9]{4}$";
+
+    private Limits() {
+    }
+}
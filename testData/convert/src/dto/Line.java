@@ -0,0 +1,23 @@
+package dto;
+
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+public class Line {
+
+    /** 商品编码 */
+    @Sku
+    private String sku;
+
+    /**
+     * 数量
+     */
+    @Min(1)
+    @Max(999)
+    private int quantity;
+
+    /** 单价 */
+    @DecimalMin("0.01")
+    private Double price;
+}
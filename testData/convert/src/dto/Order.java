@@ -0,0 +1,56 @@
+package dto;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Positive;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 订单
+ */
+public class Order extends BaseEntity {
+
+    private static final long serialVersionUID = 1L;
+
+    /** 订单号 */
+    @NotBlank
+    @Pattern(regexp = "^O[0-9]{8}$")
+    private String number;
+
+    /** 客户名称 */
+    @NotNull
+    @jakarta.validation.constraints.Size(min = Limits.NAME_MIN, max = Limits.NAME_MAX)
+    private String customer;
+
+    /** 状态 */
+    private Status status;
+
+    // 明细
+    // 至少一条
+    private List<Line> lines;
+
+    /** 按状态分组的明细 */
+    private Map<Status, List<Line>> linesByStatus;
+
+    /** 标签 */
+    private Set<String> tags;
+
+    /** 历史订单的明细 */
+    private Page<Line> history;
+
+    /** 折扣 */
+    @Positive
+    private double discount;
+
+    /** 是否已支付 */
+    private boolean paid;
+
+    /** 等级 */
+    private char grade;
+
+    /** 所属分类 */
+    private Category category;
+}
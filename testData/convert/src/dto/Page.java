@@ -0,0 +1,12 @@
+package dto;
+
+import java.util.List;
+
+public class Page<T> {
+
+    /** 当前页的数据 */
+    private List<T> items;
+
+    /** 总数 */
+    private long total;
+}
@@ -0,0 +1,13 @@
+package dto;
+
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+// 组合注解, 展开为其上的约束注解
+@Retention(RetentionPolicy.RUNTIME)
+@Pattern(regexp = Limits.SKU_PATTERN)
+@Size(max = 8)
+public @interface Sku {
+}
@@ -0,0 +1,13 @@
+package jakarta.validation.constraints;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Size {
+    String message() default "{jakarta.validation.constraints.Size.message}";
+
+    int min() default 0;
+
+    int max() default Integer.MAX_VALUE;
+}
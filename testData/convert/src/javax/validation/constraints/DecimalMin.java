@@ -0,0 +1,13 @@
+package javax.validation.constraints;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+@Retention(RetentionPolicy.RUNTIME)
+public @interface DecimalMin {
+    String message() default "{javax.validation.constraints.DecimalMin.message}";
+
+    String value();
+
+    boolean inclusive() default true;
+}
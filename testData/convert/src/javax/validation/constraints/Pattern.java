@@ -0,0 +1,11 @@
+package javax.validation.constraints;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Pattern {
+    String regexp();
+
+    String message() default "{javax.validation.constraints.Pattern.message}";
+}
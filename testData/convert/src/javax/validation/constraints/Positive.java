@@ -0,0 +1,9 @@
+package javax.validation.constraints;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Positive {
+    String message() default "{javax.validation.constraints.Positive.message}";
+}